@@ -0,0 +1,98 @@
+package kinggora.portal.benchmark;
+
+import kinggora.portal.domain.type.AccessLevel;
+import kinggora.portal.domain.type.CodeEnum;
+import kinggora.portal.domain.type.MemberRole;
+import kinggora.portal.domain.type.typehandler.AccessLevelHandler;
+import kinggora.portal.domain.type.typehandler.MemberRoleMaskTypeHandler;
+import kinggora.portal.domain.type.typehandler.MemberRolesTypeHandler;
+import org.apache.ibatis.type.TypeException;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * CodeEnum 타입 핸들러 getResult 처리량 벤치마크
+ * - legacy*: 요청마다 EnumSet.allOf().stream() 으로 code 를 찾고, 역할 목록은 split + collect 로 생성하던 기존 구현
+ * - accessLevel, rolesCsv, rolesMask: 조회 테이블을 사용하는 현재 구현 (rolesMask 는 member.role_mask 컬럼)
+ * ResultSet 은 고정된 값을 반환하는 Proxy 로 대체하여 변환 비용만 측정
+ * <p>
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodeEnumTypeHandlerBenchmark {
+
+    private static final String ACCESS_COLUMN = "access_read";
+    private static final String ROLES_COLUMN = "roles";
+    private static final String MASK_COLUMN = "role_mask";
+
+    private ResultSet rs;
+    private AccessLevelHandler accessLevelHandler;
+    private MemberRolesTypeHandler rolesHandler;
+    private MemberRoleMaskTypeHandler maskHandler;
+
+    @Setup
+    public void setUp() {
+        rs = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getString":
+                            return ACCESS_COLUMN.equals(args[0]) ? "USER" : "ROLE_USER,ROLE_ADMIN";
+                        case "getInt":
+                            return 3;
+                        case "wasNull":
+                            return false;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        accessLevelHandler = new AccessLevelHandler();
+        rolesHandler = new MemberRolesTypeHandler();
+        maskHandler = new MemberRoleMaskTypeHandler();
+    }
+
+    @Benchmark
+    public CodeEnum legacyAccessLevel() throws SQLException {
+        return legacyCodeEnum(AccessLevel.class, rs.getString(ACCESS_COLUMN));
+    }
+
+    @Benchmark
+    public CodeEnum accessLevel() throws SQLException {
+        return accessLevelHandler.getResult(rs, ACCESS_COLUMN);
+    }
+
+    @Benchmark
+    public List<CodeEnum> legacyRolesCsv() throws SQLException {
+        String codes = rs.getString(ROLES_COLUMN);
+        return Arrays.stream(codes.split(","))
+                .map(code -> legacyCodeEnum(MemberRole.class, code))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<CodeEnum> rolesCsv() throws SQLException {
+        return rolesHandler.getResult(rs, ROLES_COLUMN);
+    }
+
+    @Benchmark
+    public List<CodeEnum> rolesMask() throws SQLException {
+        return maskHandler.getResult(rs, MASK_COLUMN);
+    }
+
+    private static <E extends Enum<E> & CodeEnum> CodeEnum legacyCodeEnum(Class<E> type, String value) {
+        return EnumSet.allOf(type)
+                .stream()
+                .filter(codeEnum -> codeEnum.getCode().equals(value))
+                .findFirst()
+                .orElseThrow(TypeException::new);
+    }
+}
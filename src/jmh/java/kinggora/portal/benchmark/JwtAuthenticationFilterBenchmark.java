@@ -0,0 +1,102 @@
+package kinggora.portal.benchmark;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import kinggora.portal.domain.Member;
+import kinggora.portal.domain.type.MemberRole;
+import kinggora.portal.security.auth.JwtAuthenticationFilter;
+import kinggora.portal.security.user.CustomUserDetails;
+import kinggora.portal.security.user.PrincipalCache;
+import kinggora.portal.util.JwtProvider;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import javax.servlet.FilterChain;
+import java.security.Key;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * JWT 인증 필터 벤치마크
+ * - legacy: 토큰을 두 번 파싱(요청마다 JwtParser 생성)하고 요청마다 회원 조회
+ * - filter: JwtAuthenticationFilter (한 번 파싱, PrincipalCache)
+ * 회원 조회(DB) 비용은 memberLoadMicros 만큼 대기하여 흉내냄
+ * <p>
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String USERNAME = "benchmark";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"0", "300"})
+    private long memberLoadMicros;
+
+    private Key key;
+    private String token;
+    private UserDetailsService userDetailsService;
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        String secretKey = Encoders.BASE64.encode(secret);
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        JwtProvider jwtProvider = new JwtProvider(secretKey, TimeUnit.HOURS.toMillis(1), TimeUnit.DAYS.toMillis(1));
+        token = jwtProvider.generateToken(USERNAME, MemberRole.USER.getCode()).getAccessToken();
+
+        Member member = Member.builder()
+                .id(1)
+                .username(USERNAME)
+                .password("password")
+                .name("bench")
+                .roles(List.of(MemberRole.USER))
+                .build();
+        userDetailsService = username -> {
+            if (memberLoadMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(memberLoadMicros));
+            }
+            return new CustomUserDetails(member);
+        };
+        filter = new JwtAuthenticationFilter(jwtProvider, new PrincipalCache(userDetailsService, TimeUnit.MINUTES.toMillis(1), 10_000));
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        String username = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(userDetails, "", userDetails.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        blackhole.consume(authentication);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void filter(Blackhole blackhole) throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
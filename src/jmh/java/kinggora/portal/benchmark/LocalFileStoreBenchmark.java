@@ -0,0 +1,63 @@
+package kinggora.portal.benchmark;
+
+import kinggora.portal.util.LocalFileStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 파일 스토리지 업로드 벤치마크 (fsync 정책별 지연 시간)
+ * - none: rename 만 수행 (OS 페이지 캐시에만 기록)
+ * - file: rename 전에 파일 fsync
+ * - file-and-directory: file + rename 후 디렉토리 fsync
+ * 파일명은 호출마다 바꾸어 하위 디렉토리에 고르게 분산
+ * <p>
+ * 실행: ./gradlew jmh (결과는 디스크 종류에 따라 크게 달라짐)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LocalFileStoreBenchmark {
+
+    @Param({"none", "file", "file-and-directory"})
+    private String fsync;
+
+    @Param({"65536", "1048576"})
+    private int size;
+
+    private Path directory;
+    private LocalFileStore fileStore;
+    private byte[] content;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("file-store-benchmark");
+        fileStore = new LocalFileStore();
+        ReflectionTestUtils.setField(fileStore, "directory", directory.toString());
+        ReflectionTestUtils.setField(fileStore, "fsync", fsync);
+        ReflectionTestUtils.setField(fileStore, "baseUrl", "/store");
+        fileStore.init();
+        content = new byte[size];
+        new Random(0).nextBytes(content);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean upload() {
+        return fileStore.uploadFile(content, "benchmark-" + sequence++ + ".bin", "application/octet-stream");
+    }
+}
@@ -0,0 +1,102 @@
+package kinggora.portal.benchmark;
+
+import kinggora.portal.util.mime.ByteSource;
+import kinggora.portal.util.mime.MagicNumberDetector;
+import org.apache.tika.Tika;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 업로드 파일 MIME Type 판별 처리량 벤치마크
+ * - signature: MagicNumberDetector (앞부분 + ZIP 중앙 디렉토리만 읽음)
+ * - tika: 공유 Tika 인스턴스 (tika-parsers 의 컨테이너 판별기 포함)
+ * 파일 내용은 메모리(ByteSource)에서 읽어 판별
+ * <p>
+ * 실행: ./gradlew jmh (시작 비용은 MimeDetectorStartupBenchmark)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MimeDetectionBenchmark {
+
+    @Param({"signature", "tika"})
+    private String detector;
+
+    @Param({"png", "pdf", "docx", "text"})
+    private String file;
+
+    private byte[] bytes;
+    private ByteSource content;
+    private MagicNumberDetector magicNumberDetector;
+    private Tika tika;
+
+    @Setup
+    public void setUp() throws IOException {
+        bytes = sample(file);
+        content = ByteSource.of(bytes, bytes.length);
+        magicNumberDetector = new MagicNumberDetector();
+        tika = "tika".equals(detector) ? new Tika() : null;
+    }
+
+    @Benchmark
+    public String detect() throws IOException {
+        if (tika == null) {
+            return magicNumberDetector.detect(content);
+        }
+        try (InputStream in = new ByteArrayInputStream(bytes)) {
+            return tika.detect(in);
+        }
+    }
+
+    static byte[] sample(String file) throws IOException {
+        Random random = new Random(0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        switch (file) {
+            case "png":
+                BufferedImage image = new BufferedImage(640, 480, BufferedImage.TYPE_3BYTE_BGR);
+                for (int y = 0; y < image.getHeight(); y += 8) {
+                    for (int x = 0; x < image.getWidth(); x += 8) {
+                        image.setRGB(x, y, random.nextInt());
+                    }
+                }
+                ImageIO.write(image, "png", out);
+                return out.toByteArray();
+            case "pdf":
+                byte[] body = new byte[512 * 1024];
+                random.nextBytes(body);
+                out.write("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII));
+                out.write(body);
+                out.write("\n%%EOF\n".getBytes(StandardCharsets.US_ASCII));
+                return out.toByteArray();
+            case "docx":
+                byte[] part = new byte[64 * 1024];
+                try (ZipOutputStream zip = new ZipOutputStream(out)) {
+                    for (String name : new String[]{"[Content_Types].xml", "_rels/.rels", "docProps/thumbnail.jpeg",
+                            "word/media/image1.png", "word/document.xml", "word/styles.xml"}) {
+                        random.nextBytes(part);
+                        zip.putNextEntry(new ZipEntry(name));
+                        zip.write(part);
+                        zip.closeEntry();
+                    }
+                }
+                return out.toByteArray();
+            default:
+                StringBuilder sb = new StringBuilder();
+                while (sb.length() < 256 * 1024) {
+                    sb.append("게시글 첨부 텍스트 파일 line ").append(sb.length()).append('\n');
+                }
+                return sb.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package kinggora.portal.benchmark;
+
+import kinggora.portal.util.mime.ByteSource;
+import kinggora.portal.util.mime.MagicNumberDetector;
+import org.apache.tika.Tika;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MIME Type 판별기 시작 비용 벤치마크
+ * 새 JVM 마다(fork) 판별기 생성 + 첫 판별(docx) 한 번의 시간 측정 (클래스 로딩, MIME 설정 읽기 포함)
+ * - signature: MagicNumberDetector
+ * - tika: new Tika() (tika-mimetypes.xml 파싱, 파서 모듈의 판별기 로딩)
+ * <p>
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class MimeDetectorStartupBenchmark {
+
+    @Param({"signature", "tika"})
+    private String detector;
+
+    private byte[] docx;
+
+    @Setup
+    public void setUp() throws IOException {
+        docx = MimeDetectionBenchmark.sample("docx");
+    }
+
+    @Benchmark
+    public String firstDetect() throws IOException {
+        if ("tika".equals(detector)) {
+            return new Tika().detect(new ByteArrayInputStream(docx));
+        }
+        return new MagicNumberDetector().detect(ByteSource.of(docx, docx.length));
+    }
+}
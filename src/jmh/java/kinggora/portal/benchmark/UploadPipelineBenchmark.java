@@ -0,0 +1,90 @@
+package kinggora.portal.benchmark;
+
+import kinggora.portal.util.upload.UploadContent;
+import org.apache.tika.Tika;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.PathResource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지 업로드 처리 벤치마크 (MIME 판별 + 스토리지 전송 + 썸네일 디코딩)
+ * - legacy: 단계마다 업로드 파일(디스크 임시 파일)을 다시 열고, 파일마다 new Tika(), ImageIO 디스크 캐시 사용
+ * - pipeline: 앞부분만 읽어 공유 Tika 로 판별하고, 업로드 파일을 한 번 전송하면서 SHA-256 계산 (파일 전체를 메모리에 담지 않음)
+ *   썸네일은 커밋 후 스토리지에서 읽어 생성하므로 ImageIO 디스크 캐시 없이 다시 읽어 디코딩
+ * 스토리지 전송은 OutputStream.nullOutputStream 으로 대체
+ * <p>
+ * 실행: ./gradlew jmh (할당량은 -prof gc 로 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UploadPipelineBenchmark {
+
+    @Param({"legacy", "pipeline"})
+    private String mode;
+
+    private Path part;
+    private Tika tika;
+
+    @Setup
+    public void setUp() throws IOException {
+        BufferedImage image = new BufferedImage(1280, 960, BufferedImage.TYPE_3BYTE_BGR);
+        Random random = new Random(0);
+        for (int y = 0; y < image.getHeight(); y += 8) {
+            for (int x = 0; x < image.getWidth(); x += 8) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        part = Files.createTempFile("upload-benchmark", ".png");
+        ImageIO.write(image, "png", part.toFile());
+        tika = new Tika();
+        ImageIO.setUseCache("legacy".equals(mode));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(part);
+        ImageIO.setUseCache(true);
+    }
+
+    @Benchmark
+    public BufferedImage upload() throws IOException {
+        return "legacy".equals(mode) ? legacy() : pipeline();
+    }
+
+    private BufferedImage legacy() throws IOException {
+        try (InputStream in = Files.newInputStream(part)) {
+            new Tika().detect(in);
+        }
+        try (InputStream in = Files.newInputStream(part)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        try (InputStream in = Files.newInputStream(part)) {
+            return ImageIO.read(in);
+        }
+    }
+
+    private BufferedImage pipeline() throws IOException {
+        try (UploadContent content = UploadContent.open(new PathResource(part), Files.size(part), 64 * 1024)) {
+            try (InputStream in = content.newHeaderStream()) {
+                tika.detect(in);
+            }
+            try (InputStream in = content.newInputStream()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            content.getHash();
+        }
+        try (InputStream in = Files.newInputStream(part)) {
+            return ImageIO.read(in);
+        }
+    }
+}
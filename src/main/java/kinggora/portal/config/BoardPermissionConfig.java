@@ -0,0 +1,40 @@
+package kinggora.portal.config;
+
+import kinggora.portal.service.BoardInfoService;
+import kinggora.portal.web.evaluator.BoardPermission;
+import kinggora.portal.web.evaluator.BoardPermissionInterceptor;
+import kinggora.portal.web.evaluator.PermissionMatrix;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Role;
+
+/**
+ * 게시판 리소스 인가 설정
+ * &#64;BoardPermission 을 선언한 메서드에 BoardPermissionInterceptor 적용
+ * 메서드 보안(@EnableGlobalMethodSecurity)이 등록하는 auto proxy creator 가 infrastructure advisor 만 적용하므로 ROLE_INFRASTRUCTURE 로 등록
+ */
+@Configuration
+public class BoardPermissionConfig {
+
+    /**
+     * &#64;BoardPermission advisor 빈 등록
+     * 인터셉터가 사용하는 빈은 첫 호출 시 초기화(@Lazy)하여 auto proxy creator 초기화 시점에 생성되지 않도록 함
+     *
+     * @param permissionMatrix 인가 행렬
+     * @param boardInfoService 게시판 정보 서비스
+     * @return Advisor
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor boardPermissionAdvisor(@Lazy PermissionMatrix permissionMatrix,
+                                          @Lazy BoardInfoService boardInfoService) {
+        return new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(BoardPermission.class),
+                new BoardPermissionInterceptor(permissionMatrix, boardInfoService));
+    }
+}
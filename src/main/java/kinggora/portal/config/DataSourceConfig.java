@@ -1,15 +1,30 @@
 package kinggora.portal.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import kinggora.portal.config.datasource.ReplicationRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 
 /**
  * 데이터소스 설정
+ * 1. primary: 쓰기 및 일반 조회를 처리하는 HikariCP 커넥션 풀
+ * 2. replica: 읽기 전용 트랜잭션을 처리하는 HikariCP 커넥션 풀 (spring.datasource.replica.url 설정 시 등록)
+ * 3. dataSource: 트랜잭션의 readOnly 여부에 따라 primary/replica 로 라우팅하는 데이터소스
+ * <p>
+ * 스키마 마이그레이션(db/migration)은 Flyway 가 시작 시 primary 풀로 적용
+ * <p>
+ * 풀 지표(active, idle, pending, acquire, timeout)는 HikariDataSource 빈에 바인딩되는 Micrometer 지표(hikaricp.connections.*)로 노출
  */
 @Configuration
 @PropertySource("classpath:/application-db.properties")
@@ -24,12 +39,109 @@ public class DataSourceConfig {
     @Value("${spring.datasource.password}")
     private String password;
 
+    @Value("${spring.datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${spring.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${spring.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${datasource.pool.maximum-pool-size}")
+    private int MAXIMUM_POOL_SIZE;
+
+    @Value("${datasource.pool.minimum-idle}")
+    private int MINIMUM_IDLE;
+
+    @Value("${datasource.pool.connection-timeout}")
+    private long CONNECTION_TIMEOUT;
+
+    @Value("${datasource.pool.prep-stmt-cache-size}")
+    private int PREP_STMT_CACHE_SIZE;
+
+    /**
+     * 쓰기용 커넥션 풀
+     * Flyway 마이그레이션도 이 풀로 실행 (라우팅 데이터소스를 거치지 않음)
+     *
+     * @return HikariDataSource
+     */
     @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setUrl(url);
+    @FlywayDataSource
+    public HikariDataSource primaryDataSource() {
+        return createPool("primary-pool", url, username, password, false);
+    }
+
+    /**
+     * 읽기 전용 커넥션 풀
+     * replica url 이 설정되지 않았다면 등록하지 않고 primary 풀을 사용
+     *
+     * @return HikariDataSource
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.datasource.replica.url")
+    public HikariDataSource replicaDataSource() {
+        return createPool("replica-pool", replicaUrl, replicaUsername, replicaPassword, true);
+    }
+
+    /**
+     * 애플리케이션(MyBatis, 트랜잭션 매니저)이 사용하는 라우팅 데이터소스
+     * 실제 커넥션 획득을 첫 SQL 실행 시점까지 미뤄야 트랜잭션의 readOnly 속성을 보고 라우팅할 수 있으므로
+     * LazyConnectionDataSourceProxy 로 감싸서 등록
+     *
+     * @param primaryDataSource 쓰기용 커넥션 풀
+     * @param replicaDataSource 읽기 전용 커넥션 풀
+     * @return 라우팅 데이터소스
+     */
+    @Primary
+    @Bean
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource) {
+        DataSource replica = replicaDataSource.getIfAvailable(() -> primaryDataSource);
+        return lazyConnectionProxy(new ReplicationRoutingDataSource(primaryDataSource, replica));
+    }
+
+    /**
+     * 라우팅 데이터소스를 LazyConnectionDataSourceProxy 로 감싸기
+     * 커넥션 기본 속성을 미리 지정하여 프록시 초기화 시점에 커넥션을 획득하지 않도록 함
+     *
+     * @param routingDataSource 라우팅 데이터소스
+     * @return LazyConnectionDataSourceProxy
+     */
+    public static DataSource lazyConnectionProxy(ReplicationRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(routingDataSource);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    /**
+     * HikariCP 커넥션 풀 생성
+     * MariaDB 서버 측 prepared statement 를 사용하고, 커넥션 단위로 prepared statement 를 캐싱
+     * 풀은 첫 커넥션 요청 시 시작되므로 지표 수집기(MetricsTrackerFactory)가 그 전에 바인딩될 수 있음
+     *
+     * @param poolName 풀 이름 (지표의 pool 태그)
+     * @param url      jdbc url
+     * @param username 계정
+     * @param password 비밀번호
+     * @param readOnly 읽기 전용 커넥션 여부
+     * @return HikariDataSource
+     */
+    private HikariDataSource createPool(String poolName, String url, String username, String password, boolean readOnly) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(url);
         dataSource.setUsername(username);
         dataSource.setPassword(password);
+        dataSource.setReadOnly(readOnly);
+        dataSource.setMaximumPoolSize(MAXIMUM_POOL_SIZE);
+        dataSource.setMinimumIdle(MINIMUM_IDLE);
+        dataSource.setConnectionTimeout(CONNECTION_TIMEOUT);
+        dataSource.addDataSourceProperty("useServerPrepStmts", "true");
+        dataSource.addDataSourceProperty("cachePrepStmts", "true");
+        dataSource.addDataSourceProperty("prepStmtCacheSize", String.valueOf(PREP_STMT_CACHE_SIZE));
         return dataSource;
     }
 }
@@ -0,0 +1,55 @@
+package kinggora.portal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 파일 업로드 실행기 설정
+ * 요청 안의 파일 업로드, 썸네일 생성을 병렬로 실행하되 서버 전체 동시 실행 수는 file.upload.concurrency 로 제한
+ * 대기열(file.upload.queue-capacity)이 가득 차면 요청 스레드가 직접 실행 (CallerRunsPolicy, 업로드 요청 속도 조절)
+ * <p>
+ * 썸네일 생성은 별도 실행기(thumbnailExecutor)에서 업로드 요청과 분리하여 실행
+ * 대기열(file.thumbnail.queue-capacity)이 가득 차면 작업을 거절하고, 거절한 작업은 ThumbnailService.recover 가 다시 등록
+ */
+@Configuration
+public class FileUploadConfig {
+
+    @Value("${file.upload.concurrency}")
+    private int concurrency;
+    @Value("${file.upload.queue-capacity}")
+    private int queueCapacity;
+    @Value("${file.thumbnail.workers}")
+    private int thumbnailWorkers;
+    @Value("${file.thumbnail.queue-capacity}")
+    private int thumbnailQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor fileUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("file-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor thumbnailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(thumbnailWorkers);
+        executor.setMaxPoolSize(thumbnailWorkers);
+        executor.setQueueCapacity(thumbnailQueueCapacity);
+        executor.setThreadNamePrefix("thumbnail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
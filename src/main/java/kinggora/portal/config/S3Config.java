@@ -2,18 +2,26 @@ package kinggora.portal.config;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 
+import java.util.concurrent.Executors;
+
 /**
- * AWS S3 스토리지 설정
+ * AWS S3 스토리지 설정 (file.store.type=s3)
  */
 @Configuration
 @PropertySource("classpath:/application-s3.properties")
+@ConditionalOnProperty(name = "file.store.type", havingValue = "s3", matchIfMissing = true)
 public class S3Config {
     @Value("${cloud.aws.credentials.access-key}")
     private String accessKey;
@@ -21,14 +29,52 @@ public class S3Config {
     private String secretKey;
     @Value("${cloud.aws.region.static}")
     private String region;
+    @Value("${cloud.aws.s3.endpoint:}")
+    private String endpoint;
+    @Value("${file.upload.concurrency}")
+    private int uploadConcurrency;
+    @Value("${file.upload.multipart-threshold}")
+    private long multipartThreshold;
+    @Value("${file.upload.multipart-part-size}")
+    private long multipartPartSize;
 
+    /**
+     * S3 클라이언트
+     * cloud.aws.s3.endpoint 를 설정하면 해당 주소의 S3 호환 스토리지(MinIO, LocalStack 등)를 path-style 로 사용 (로컬, 테스트 환경)
+     *
+     * @return S3 클라이언트
+     */
     @Bean
     public AmazonS3Client amazonS3Client() {
         BasicAWSCredentials awsCredentials = new BasicAWSCredentials(accessKey, secretKey);
-        return (AmazonS3Client) AmazonS3ClientBuilder
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder
                 .standard()
-                .withRegion(region)
-                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
+                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials));
+        if (endpoint.isEmpty()) {
+            builder.withRegion(region);
+        } else {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        }
+        return (AmazonS3Client) builder.build();
+    }
+
+    /**
+     * 업로드용 TransferManager
+     * multipart-threshold 이상인 파일은 multipart upload (part 단위로 재시도), 작은 파일은 단일 putObject
+     * 전송 스레드 수는 업로드 동시 실행 수(file.upload.concurrency)와 같게 제한
+     *
+     * @param amazonS3 S3 클라이언트
+     * @return TransferManager
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public TransferManager transferManager(AmazonS3 amazonS3) {
+        return TransferManagerBuilder.standard()
+                .withS3Client(amazonS3)
+                .withMultipartUploadThreshold(multipartThreshold)
+                .withMinimumUploadPartSize(multipartPartSize)
+                .withExecutorFactory(() -> Executors.newFixedThreadPool(uploadConcurrency))
+                .withShutDownThreadPools(true)
                 .build();
     }
 }
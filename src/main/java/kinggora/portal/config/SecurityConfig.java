@@ -8,6 +8,7 @@ import kinggora.portal.security.auth.SignInSuccessJwtProvideHandler;
 import kinggora.portal.security.exception.handler.CustomAccessDeniedHandler;
 import kinggora.portal.security.exception.handler.CustomAuthenticationEntryPoint;
 import kinggora.portal.security.exception.handler.JwtAuthExceptionHandlingFilter;
+import kinggora.portal.security.user.PrincipalCache;
 import kinggora.portal.util.JwtProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -46,6 +47,7 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
     private final JwtProvider jwtProvider;
+    private final PrincipalCache principalCache;
     private final ObjectMapper objectMapper;
 
     /**
@@ -72,6 +74,7 @@ public class SecurityConfig {
                 .mvcMatchers("/members/**").hasAuthority("ROLE_USER")
                 .mvcMatchers(HttpMethod.GET, "/boards/my/posts").hasAuthority("ROLE_USER")
                 .mvcMatchers(HttpMethod.GET, "/comments/my").hasAuthority("ROLE_USER")
+                .mvcMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                 .mvcMatchers("/**").permitAll()
                 .and()
                 .exceptionHandling()
@@ -178,7 +181,7 @@ public class SecurityConfig {
      */
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtProvider, userDetailsService);
+        return new JwtAuthenticationFilter(jwtProvider, principalCache);
     }
 
     /**
@@ -0,0 +1,10 @@
+package kinggora.portal.config.datasource;
+
+/**
+ * 라우팅 데이터소스의 lookup key
+ * PRIMARY: 쓰기 및 일반 조회
+ * REPLICA: 읽기 전용 트랜잭션
+ */
+public enum DataSourceType {
+    PRIMARY, REPLICA
+}
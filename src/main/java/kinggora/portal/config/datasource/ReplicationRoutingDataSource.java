@@ -0,0 +1,30 @@
+package kinggora.portal.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기/쓰기 라우팅 데이터소스
+ * 현재 트랜잭션이 readOnly 라면 replica, 그 외(쓰기 트랜잭션, 트랜잭션 없음)에는 primary 커넥션을 반환
+ * 쓰기 트랜잭션에 참여한 readOnly 메서드는 바깥 트랜잭션의 속성을 따르므로 primary 에서 조회됨 (read-your-writes)
+ * <p>
+ * 트랜잭션 시작 시점이 아닌 첫 SQL 실행 시점에 라우팅되어야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ReplicationRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(DataSourceType.PRIMARY, primary, DataSourceType.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? DataSourceType.REPLICA
+                : DataSourceType.PRIMARY;
+    }
+}
@@ -1,5 +1,6 @@
 package kinggora.portal.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -14,5 +15,7 @@ import lombok.NoArgsConstructor;
 public class Category {
     private Integer id;
     private String name;
+    @JsonIgnore
+    private Integer boardId;
 
 }
@@ -20,7 +20,7 @@ public class Comment {
     private LocalDateTime regDate;
     private LocalDateTime modDate;
     private Integer ref;
-    private Integer refOrder;
+    private String path;
     private Integer parent;
     private Integer depth;
     private boolean deleted;
@@ -0,0 +1,42 @@
+package kinggora.portal.domain;
+
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시글 댓글 목록 커서
+ * 정렬 기준: ref ASC, path ASC
+ */
+@Getter
+@AllArgsConstructor
+public class CommentCursor implements Cursor {
+
+    private final int ref;
+    private final String path;
+
+    @Override
+    public String encode() {
+        return Cursor.join(String.valueOf(ref), path);
+    }
+
+    /**
+     * 커서 토큰 -> CommentCursor 변환
+     *
+     * @param token 커서 토큰
+     * @return CommentCursor
+     * @throws BizException 유효하지 않은 토큰인 경우 발생
+     */
+    public static CommentCursor decode(String token) {
+        String[] keys = Cursor.split(token, 2);
+        if (!CommentPath.isValid(keys[1])) {
+            throw new BizException(ErrorCode.INVALID_CURSOR);
+        }
+        try {
+            return new CommentCursor(Integer.parseInt(keys[0]), keys[1]);
+        } catch (NumberFormatException e) {
+            throw new BizException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
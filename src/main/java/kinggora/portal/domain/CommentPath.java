@@ -0,0 +1,78 @@
+package kinggora.portal.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 댓글 정렬 경로 (materialized path)
+ * 댓글 그룹(ref) 안에서 루트부터 자신까지 형제 순번을 고정 길이 세그먼트로 이어 붙인 문자열
+ * 세그먼트는 형제 순번(1부터)을 4자리 36진수(0-9a-z)로 표현
+ * <p>
+ * 예) 루트 "" -> 첫 번째 답글 "0001" -> 그 답글의 두 번째 답글 "00010002"
+ * <p>
+ * 고정 길이 세그먼트이므로 (ref, path) 바이트 순 정렬이 곧 깊이 우선 순서이며,
+ * 답글 등록 시 형제 순번의 최댓값 + 1 로 새 경로를 만들기 때문에 다른 댓글의 정렬 키를 갱신할 필요가 없음
+ */
+public final class CommentPath {
+
+    public static final String ROOT = "";
+    public static final int SEGMENT_LENGTH = 4;
+    public static final int RADIX = 36;
+    public static final int MAX_SIBLINGS = (int) Math.pow(RADIX, SEGMENT_LENGTH) - 1;
+
+    private CommentPath() {
+    }
+
+    /**
+     * 자식 댓글 경로 생성
+     *
+     * @param parentPath 부모 댓글 경로
+     * @param order      형제 순번 (1 ~ MAX_SIBLINGS)
+     * @return 자식 댓글 경로
+     */
+    public static String child(String parentPath, int order) {
+        if (order < 1 || order > MAX_SIBLINGS) {
+            throw new IllegalArgumentException("order out of range: " + order);
+        }
+        StringBuilder segment = new StringBuilder(Integer.toString(order, RADIX));
+        while (segment.length() < SEGMENT_LENGTH) {
+            segment.insert(0, '0');
+        }
+        return parentPath + segment;
+    }
+
+    /**
+     * 루트부터 자신까지의 경로 목록 (자신 포함)
+     * 예) "00010002" -> ["", "0001", "00010002"]
+     *
+     * @param path 경로
+     * @return 조상 경로 목록 (얕은 순)
+     */
+    public static List<String> lineage(String path) {
+        List<String> lineage = new ArrayList<>(path.length() / SEGMENT_LENGTH + 1);
+        for (int end = 0; end <= path.length(); end += SEGMENT_LENGTH) {
+            lineage.add(path.substring(0, end));
+        }
+        return lineage;
+    }
+
+    /**
+     * 유효한 경로인지 확인
+     * 길이가 세그먼트 길이의 배수이고 0-9, a-z 로만 구성
+     *
+     * @param path 경로
+     * @return 유효 여부
+     */
+    public static boolean isValid(String path) {
+        if (path == null || path.length() % SEGMENT_LENGTH != 0) {
+            return false;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,57 @@
+package kinggora.portal.domain;
+
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이징의 기준 위치
+ * 마지막으로 조회한 행의 정렬 키를 불투명한(opaque) 토큰으로 인코딩하여 클라이언트에 전달하고,
+ * 다음 페이지 요청 시 토큰을 복원하여 정렬 키 이후의 행부터 조회 (OFFSET 없이 인덱스 탐색)
+ */
+public interface Cursor {
+
+    String DELIMITER = "|";
+
+    /**
+     * 정렬 키를 토큰으로 인코딩
+     *
+     * @return 커서 토큰
+     */
+    String encode();
+
+    /**
+     * 정렬 키들을 구분자로 이어 붙여 URL-safe Base64 토큰 생성
+     *
+     * @param keys 정렬 키
+     * @return 커서 토큰
+     */
+    static String join(String... keys) {
+        String joined = String.join(DELIMITER, keys);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 토큰을 정렬 키들로 분리
+     *
+     * @param token 커서 토큰
+     * @param size  정렬 키 개수
+     * @return 정렬 키
+     * @throws BizException 디코딩할 수 없거나 정렬 키 개수가 맞지 않는 토큰인 경우 발생
+     */
+    static String[] split(String token, int size) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BizException(ErrorCode.INVALID_CURSOR);
+        }
+        String[] keys = decoded.split("\\" + DELIMITER, -1);
+        if (keys.length != size) {
+            throw new BizException(ErrorCode.INVALID_CURSOR);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,23 @@
+package kinggora.portal.domain;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * file_deletion 테이블 Domain Class
+ * 스토리지에서 삭제할 파일 (삭제 outbox)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class FileDeletion {
+
+    private Long id;
+    private String storeName;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime regDate;
+}
@@ -12,17 +12,43 @@ public class Pageable {
     private final int limit;
     private final int offset;
     private final Sort sort;
+    private final Cursor cursor;
 
     public Pageable(int page, int size) {
         this.limit = size;
         this.offset = (page - 1) * size;
         this.sort = new Sort();
+        this.cursor = null;
     }
 
     public Pageable(int page, int size, List<Order> orders) {
         this.limit = size;
         this.offset = (page - 1) * size;
         this.sort = new Sort(orders);
+        this.cursor = null;
+    }
+
+    public Pageable(Cursor cursor, int size) {
+        this.limit = size;
+        this.offset = 0;
+        this.sort = new Sort();
+        this.cursor = cursor;
+    }
+
+    /**
+     * 키셋(커서) 페이징
+     * offset 없이 cursor 의 정렬 키 이후부터 size 만큼 조회
+     * orders 는 cursor 의 정렬 키와 같은 순서여야 함
+     *
+     * @param cursor 이전 페이지의 마지막 위치
+     * @param size   페이지 크기
+     * @param orders 정렬 조건
+     */
+    public Pageable(Cursor cursor, int size, List<Order> orders) {
+        this.limit = size;
+        this.offset = 0;
+        this.sort = new Sort(orders);
+        this.cursor = cursor;
     }
 
     @Getter
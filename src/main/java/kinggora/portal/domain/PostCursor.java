@@ -0,0 +1,42 @@
+package kinggora.portal.domain;
+
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 게시글 목록 커서
+ * 정렬 기준: reg_date DESC, id DESC
+ */
+@Getter
+@AllArgsConstructor
+public class PostCursor implements Cursor {
+
+    private final LocalDateTime regDate;
+    private final int id;
+
+    @Override
+    public String encode() {
+        return Cursor.join(regDate.toString(), String.valueOf(id));
+    }
+
+    /**
+     * 커서 토큰 -> PostCursor 변환
+     *
+     * @param token 커서 토큰
+     * @return PostCursor
+     * @throws BizException 유효하지 않은 토큰인 경우 발생
+     */
+    public static PostCursor decode(String token) {
+        String[] keys = Cursor.split(token, 2);
+        try {
+            return new PostCursor(LocalDateTime.parse(keys[0]), Integer.parseInt(keys[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BizException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
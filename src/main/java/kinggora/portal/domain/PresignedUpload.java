@@ -0,0 +1,28 @@
+package kinggora.portal.domain;
+
+import kinggora.portal.domain.type.FileType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * file_presigned_upload 테이블 Domain Class
+ * 직접 업로드(presigned URL) 대기 중인 파일, 완료 요청 시 검증 후 file 행(UploadFile)으로 옮김
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PresignedUpload {
+
+    private Long id;
+    private Integer postId;
+    private String storeName;
+    private String origName;
+    private String ext;
+    private FileType type;
+    private long size;
+    private String contentType;
+    private LocalDateTime expiresAt;
+    private LocalDateTime regDate;
+}
@@ -0,0 +1,22 @@
+package kinggora.portal.domain;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * file_upload_chunk 테이블 Domain Class
+ * 분할 업로드 세션에서 받은 조각
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UploadChunk {
+
+    private Long sessionId;
+    private int chunkIndex;
+    private long size;
+    private String etag;
+    private LocalDateTime regDate;
+}
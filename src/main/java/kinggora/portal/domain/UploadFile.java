@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
  * file 테이블 Domain Class
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class UploadFile {
@@ -20,6 +20,7 @@ public class UploadFile {
     private String storeName;
     private String ext;
     private long size;
+    private String contentHash;
     private String url;
     private FileType type;
     private boolean deleted;
@@ -0,0 +1,50 @@
+package kinggora.portal.domain;
+
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.domain.type.UploadSessionStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * file_upload_session 테이블 Domain Class
+ * 분할 업로드 세션, 조각(UploadChunk)을 모두 받은 뒤 완료 요청 시 검증 후 file 행(UploadFile)으로 옮김
+ * 조각 번호(chunk index)는 0부터, 마지막 조각을 제외한 조각의 크기는 chunkSize
+ * 완료 요청이 세션을 선점하면 COMPLETING 상태가 되고, 실패하면 UPLOADING 으로 되돌림
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UploadSession {
+
+    private Long id;
+    private Integer postId;
+    private String storeName;
+    private String origName;
+    private String ext;
+    private FileType type;
+    private long size;
+    private int chunkSize;
+    private String contentType;
+    private String uploadId;
+    private UploadSessionStatus status;
+    private LocalDateTime expiresAt;
+    private LocalDateTime regDate;
+
+    /**
+     * 조각 개수
+     */
+    public int getChunkCount() {
+        return (int) ((size + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * 조각 크기 (마지막 조각은 남은 크기)
+     *
+     * @param index 조각 번호 (0부터)
+     */
+    public long getChunkLength(int index) {
+        return Math.min(chunkSize, size - (long) index * chunkSize);
+    }
+}
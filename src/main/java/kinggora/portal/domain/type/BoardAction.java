@@ -0,0 +1,68 @@
+package kinggora.portal.domain.type;
+
+import kinggora.portal.domain.BoardInfo;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시판 리소스에 대한 요청 종류 정의
+ * 요청 종류마다 게시판 정보(BoardInfo)의 접근 수준 하나가 대응됨
+ * - LIST: 게시글 목록 조회 (access_list)
+ * - READ: 게시글, 댓글 조회 (access_read)
+ * - WRITE: 게시글 등록 (access_write)
+ * - REPLY_READ: 답글 조회 (access_reply_read)
+ * - REPLY_WRITE: 답글 등록 (access_reply_write)
+ * - COMMENT: 댓글 등록 (access_comment)
+ * - FILE: 첨부 파일 조회 (access_file)
+ */
+@RequiredArgsConstructor
+public enum BoardAction implements CodeEnum {
+    LIST("LIST"),
+    READ("READ"),
+    WRITE("WRITE"),
+    REPLY_READ("REPLY-READ"),
+    REPLY_WRITE("REPLY-WRITE"),
+    COMMENT("COMMENT"),
+    FILE("FILE");
+
+    private final String code;
+
+    @Override
+    public String getCode() {
+        return this.code;
+    }
+
+    /**
+     * 요청 종류에 대응하는 게시판의 접근 수준
+     *
+     * @param boardInfo 게시판 정보
+     * @return 접근 수준
+     */
+    public AccessLevel accessLevelOf(BoardInfo boardInfo) {
+        switch (this) {
+            case LIST:
+                return boardInfo.getAccessList();
+            case READ:
+                return boardInfo.getAccessRead();
+            case WRITE:
+                return boardInfo.getAccessWrite();
+            case REPLY_READ:
+                return boardInfo.getAccessReplyRead();
+            case REPLY_WRITE:
+                return boardInfo.getAccessReplyWrite();
+            case COMMENT:
+                return boardInfo.getAccessComment();
+            case FILE:
+                return boardInfo.getAccessFile();
+        }
+        throw new IllegalStateException("unknown action " + this);
+    }
+
+    /**
+     * 허용된 요청 종류 비트마스크에서 이 요청 종류의 비트 (1 << ordinal)
+     *
+     * @return 비트
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
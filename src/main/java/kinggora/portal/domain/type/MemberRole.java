@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
  * 회원 권한 정의
  * - USER: 로그인 이용자 권한
  * - ADMIN: 관리자 권한
+ * member.role_mask 는 ordinal 을 비트 위치로 사용하므로 상수의 순서를 바꾸지 않고 끝에만 추가
  */
 @RequiredArgsConstructor
 public enum MemberRole implements CodeEnum {
@@ -18,4 +19,13 @@ public enum MemberRole implements CodeEnum {
     public String getCode() {
         return this.code;
     }
+
+    /**
+     * 권한 비트마스크에서 이 권한의 비트 (1 << ordinal)
+     *
+     * @return 비트
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
 }
@@ -0,0 +1,21 @@
+package kinggora.portal.domain.type;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 분할 업로드 세션 상태 정의
+ * - UPLOADING: 조각 업로드 중
+ * - COMPLETING: 완료 처리 중 (다른 완료, 취소 요청과 조각 업로드 거부)
+ */
+@RequiredArgsConstructor
+public enum UploadSessionStatus implements CodeEnum {
+    UPLOADING("U"),
+    COMPLETING("C");
+
+    private final String code;
+
+    @Override
+    public String getCode() {
+        return this.code;
+    }
+}
@@ -9,27 +9,29 @@ import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Arrays;
-import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * CodeEnum의 List 타입에 대한 MyBatis Type Handler
  * List<CodeEnum> 타입을 DB에 저장할 때 컬럼 값을 설정하고, 조회할 때 List<CodeEnum> 타입 매핑
- * CodeEnum의 하위 타입에 대한 공통 처리를 위해 Enum Class를 type 필드로 포함
+ * CodeEnum의 하위 타입에 대한 공통 처리를 위해 Enum Class의 조회 테이블(CodeEnumTable)을 필드로 포함
+ * <p>
+ * 조회한 리스트는 집합으로 취급하여 중복을 제거하고 ordinal 순으로 정렬한 불변 리스트를 공유
+ * (같은 값을 가지는 행은 같은 리스트 인스턴스를 반환)
  *
  * @param <E> CodeEnum을 상속한 Enum Class
  */
 public class CodeEnumListTypeHandler<E extends Enum<E> & CodeEnum> implements TypeHandler<List<CodeEnum>> {
 
-    private Class<E> type;
+    private static final char DELIMITER = ',';
+
+    private CodeEnumTable<E> table;
 
     public CodeEnumListTypeHandler() {
     }
 
     public CodeEnumListTypeHandler(Class<E> type) {
-        this.type = type;
+        this.table = CodeEnumTable.forSet(type);
     }
 
     /**
@@ -45,10 +47,14 @@ public class CodeEnumListTypeHandler<E extends Enum<E> & CodeEnum> implements Ty
     @Override
     public void setParameter(PreparedStatement ps, int i, List<CodeEnum> parameter, JdbcType jdbcType) throws SQLException {
         if (parameter != null) {
-            List<String> codes = parameter.stream()
-                    .map(CodeEnum::getCode)
-                    .collect(Collectors.toList());
-            ps.setString(i, String.join(",", codes));
+            StringBuilder codes = new StringBuilder();
+            for (CodeEnum codeEnum : parameter) {
+                if (codes.length() > 0) {
+                    codes.append(DELIMITER);
+                }
+                codes.append(codeEnum.getCode());
+            }
+            ps.setString(i, codes.toString());
         } else {
             ps.setString(i, null);
         }
@@ -56,7 +62,6 @@ public class CodeEnumListTypeHandler<E extends Enum<E> & CodeEnum> implements Ty
 
     /**
      * 컬럼 이름(columnName) 기반으로 조회한 값을 List<CodeEnum>타입으로 변환
-     * 하나의 문자열을 code 단위로 분해하여 CodeEnum으로 변환
      *
      * @param rs         데이터베이스 결과 집합
      * @param columnName 조회할 컬럼의 이름
@@ -65,15 +70,11 @@ public class CodeEnumListTypeHandler<E extends Enum<E> & CodeEnum> implements Ty
      */
     @Override
     public List<CodeEnum> getResult(ResultSet rs, String columnName) throws SQLException {
-        String codes = rs.getString(columnName);
-        return Arrays.stream(codes.split(","))
-                .map(this::getCodeEnum)
-                .collect(Collectors.toList());
+        return getCodeEnums(rs.getString(columnName));
     }
 
     /**
      * 컬럼 인덱스(columnIndex) 기반으로 조회한 값을 List<CodeEnum> 타입으로 변환
-     * 하나의 문자열을 code 단위로 분해하여 CodeEnum으로 변환
      *
      * @param rs          데이터베이스 결과 집합
      * @param columnIndex 조회할 컬럼의 인덱스
@@ -82,10 +83,7 @@ public class CodeEnumListTypeHandler<E extends Enum<E> & CodeEnum> implements Ty
      */
     @Override
     public List<CodeEnum> getResult(ResultSet rs, int columnIndex) throws SQLException {
-        String codes = rs.getString(columnIndex);
-        return Arrays.stream(codes.split(","))
-                .map(this::getCodeEnum)
-                .collect(Collectors.toList());
+        return getCodeEnums(rs.getString(columnIndex));
     }
 
     /**
@@ -98,25 +96,33 @@ public class CodeEnumListTypeHandler<E extends Enum<E> & CodeEnum> implements Ty
      */
     @Override
     public List<CodeEnum> getResult(CallableStatement cs, int columnIndex) throws SQLException {
-        String codes = cs.getString(columnIndex);
-        return Arrays.stream(codes.split(","))
-                .map(this::getCodeEnum)
-                .collect(Collectors.toList());
+        return getCodeEnums(cs.getString(columnIndex));
     }
 
     /**
-     * DB에서 조회한 값을 code로 하는 CodeEnum 매핑
-     * type의 모든 element를 포함하는 EnumSet에서 value를 code로 가지는 CodeEnum 반환
+     * DB에서 조회한 문자열을 List<CodeEnum> 으로 변환
+     * 1. 구분자(,) 단위로 code 구간을 찾아 부분 문자열 생성 없이 CodeEnum 조회
+     * 2. CodeEnum 들의 비트마스크 계산
+     * 3. 비트마스크에 해당하는 미리 만들어 둔 불변 리스트 반환
      *
-     * @param value DB에서 조회한 문자열
-     * @return value를 code로 가지는 CodeEnum
-     * @throws TypeException type 내 요소 중 value를 code로 가지는 CodeEnum가 없는 경우
+     * @param codes DB에서 조회한 문자열
+     * @return 변환한 List<CodeEnum>, 컬럼 값이 NULL 이면 null
+     * @throws TypeException type 내 요소 중 code 에 해당하는 CodeEnum가 없는 경우
      */
-    private CodeEnum getCodeEnum(String value) {
-        return EnumSet.allOf(type)
-                .stream()
-                .filter(codeEnum -> codeEnum.getCode().equals(value))
-                .findFirst()
-                .orElseThrow(TypeException::new);
+    private List<CodeEnum> getCodeEnums(String codes) {
+        if (codes == null) {
+            return null;
+        }
+        int mask = 0;
+        int start = 0;
+        while (start < codes.length()) {
+            int end = codes.indexOf(DELIMITER, start);
+            if (end < 0) {
+                end = codes.length();
+            }
+            mask |= table.bit(table.get(codes, start, end));
+            start = end + 1;
+        }
+        return table.list(mask);
     }
 }
@@ -0,0 +1,93 @@
+package kinggora.portal.domain.type.typehandler;
+
+import kinggora.portal.domain.type.CodeEnum;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * CodeEnum의 List 타입을 비트마스크(INT 컬럼)로 저장하는 MyBatis Type Handler
+ * 요소의 ordinal 번째 비트를 1로 설정하여 저장하고, 조회할 때 미리 만들어 둔 불변 리스트로 매핑
+ * CodeEnumListTypeHandler(문자열 저장)와 같은 List<CodeEnum> 을 반환하므로 두 방식 간에 도메인 객체 변경 없이 전환 가능
+ * <p>
+ * 비트 위치가 ordinal 이므로 Enum 상수의 순서를 바꾸거나 중간에 추가하면 안 됨 (끝에만 추가)
+ *
+ * @param <E> CodeEnum을 상속한 Enum Class
+ */
+public class CodeEnumMaskTypeHandler<E extends Enum<E> & CodeEnum> implements TypeHandler<List<CodeEnum>> {
+
+    private CodeEnumTable<E> table;
+
+    public CodeEnumMaskTypeHandler() {
+    }
+
+    public CodeEnumMaskTypeHandler(Class<E> type) {
+        this.table = CodeEnumTable.forSet(type);
+    }
+
+    /**
+     * List<CodeEnum>에 대한 SQL 파라미터 지정 (DB에 실제로 저장될 값)
+     *
+     * @param ps        Precompiled SQL statement.
+     * @param i         지정할 파라미터의 인덱스
+     * @param parameter 저장할 Enum 리스트
+     * @param jdbcType  DB의 컬럼 타입
+     * @throws SQLException
+     */
+    @Override
+    public void setParameter(PreparedStatement ps, int i, List<CodeEnum> parameter, JdbcType jdbcType) throws SQLException {
+        if (parameter != null) {
+            ps.setInt(i, table.mask(parameter));
+        } else {
+            ps.setNull(i, Types.INTEGER);
+        }
+    }
+
+    /**
+     * 컬럼 이름(columnName) 기반으로 조회한 비트마스크를 List<CodeEnum>타입으로 변환
+     *
+     * @param rs         데이터베이스 결과 집합
+     * @param columnName 조회할 컬럼의 이름
+     * @return 변환한 List<CodeEnum>
+     * @throws SQLException
+     */
+    @Override
+    public List<CodeEnum> getResult(ResultSet rs, String columnName) throws SQLException {
+        int mask = rs.getInt(columnName);
+        return rs.wasNull() ? null : table.list(mask);
+    }
+
+    /**
+     * 컬럼 인덱스(columnIndex) 기반으로 조회한 비트마스크를 List<CodeEnum> 타입으로 변환
+     *
+     * @param rs          데이터베이스 결과 집합
+     * @param columnIndex 조회할 컬럼의 인덱스
+     * @return 변환한 List<CodeEnum>
+     * @throws SQLException
+     */
+    @Override
+    public List<CodeEnum> getResult(ResultSet rs, int columnIndex) throws SQLException {
+        int mask = rs.getInt(columnIndex);
+        return rs.wasNull() ? null : table.list(mask);
+    }
+
+    /**
+     * CallableStatement에서 컬럼 인덱스(columnIndex) 기반으로 조회한 비트마스크를 List<CodeEnum> 타입으로 변환
+     *
+     * @param cs          Interface used to execute SQL stored procedures
+     * @param columnIndex 조회할 컬럼의 인덱스
+     * @return 변환한 List<CodeEnum>
+     * @throws SQLException
+     */
+    @Override
+    public List<CodeEnum> getResult(CallableStatement cs, int columnIndex) throws SQLException {
+        int mask = cs.getInt(columnIndex);
+        return cs.wasNull() ? null : table.list(mask);
+    }
+}
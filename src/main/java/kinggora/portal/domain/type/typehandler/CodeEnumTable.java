@@ -0,0 +1,161 @@
+package kinggora.portal.domain.type.typehandler;
+
+import kinggora.portal.domain.type.CodeEnum;
+import org.apache.ibatis.type.TypeException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CodeEnum 조회 테이블
+ * Enum Class 별로 한 번만 만들어 모든 타입 핸들러가 공유하고, 컬럼 값을 변환할 때마다 EnumSet, Stream 을 생성하지 않도록 함
+ * (같은 Enum 의 문자열, 비트마스크 타입 핸들러가 같은 값에 대해 같은 리스트 인스턴스를 반환)
+ * <p>
+ * 1. code -> CodeEnum 맵
+ * 2. CodeEnum 집합을 비트마스크(1 << ordinal)로 표현했을 때, 마스크 -> 불변 리스트(ordinal 순)
+ *    (요소 개수가 MAXIMUM_SET_SIZE 이하인 경우에만 생성)
+ *
+ * @param <E> CodeEnum을 상속한 Enum Class
+ */
+public final class CodeEnumTable<E extends Enum<E> & CodeEnum> {
+
+    /**
+     * 마스크별 리스트를 미리 만들어 둘 수 있는 최대 요소 개수 (2^16 개의 리스트)
+     */
+    public static final int MAXIMUM_SET_SIZE = 16;
+
+    private static final ConcurrentMap<Class<?>, CodeEnumTable<?>> TABLES = new ConcurrentHashMap<>();
+
+    private final Class<E> type;
+    private final E[] constants;
+    private final Map<String, E> byCode;
+    private final List<List<CodeEnum>> lists;
+
+    private CodeEnumTable(Class<E> type) {
+        this.type = type;
+        this.constants = type.getEnumConstants();
+        this.byCode = new HashMap<>();
+        for (E constant : constants) {
+            byCode.put(constant.getCode(), constant);
+        }
+        if (constants.length > MAXIMUM_SET_SIZE) {
+            this.lists = null;
+            return;
+        }
+        List<List<CodeEnum>> byMask = new ArrayList<>(1 << constants.length);
+        for (int mask = 0; mask < 1 << constants.length; mask++) {
+            List<CodeEnum> list = new ArrayList<>(Integer.bitCount(mask));
+            for (E constant : constants) {
+                if ((mask & bit(constant)) != 0) {
+                    list.add(constant);
+                }
+            }
+            byMask.add(Collections.unmodifiableList(list));
+        }
+        this.lists = Collections.unmodifiableList(byMask);
+    }
+
+    /**
+     * Enum Class 의 조회 테이블
+     * 처음 요청할 때 만들어 두고 이후에는 같은 인스턴스를 반환
+     *
+     * @param type CodeEnum을 상속한 Enum Class
+     * @return 조회 테이블
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E> & CodeEnum> CodeEnumTable<E> of(Class<E> type) {
+        return (CodeEnumTable<E>) TABLES.computeIfAbsent(type, key -> new CodeEnumTable<>(type));
+    }
+
+    /**
+     * List<CodeEnum> 타입 핸들러에서 사용할 조회 테이블
+     *
+     * @param type CodeEnum을 상속한 Enum Class
+     * @return 비트마스크 -> 리스트 조회가 가능한 조회 테이블
+     * @throws IllegalArgumentException 요소 개수가 MAXIMUM_SET_SIZE 를 넘는 경우
+     */
+    public static <E extends Enum<E> & CodeEnum> CodeEnumTable<E> forSet(Class<E> type) {
+        CodeEnumTable<E> table = of(type);
+        if (table.lists == null) {
+            throw new IllegalArgumentException("too many constants for set type, type=" + type.getName());
+        }
+        return table;
+    }
+
+    /**
+     * code 로 CodeEnum 조회
+     *
+     * @param code DB에서 조회한 문자열
+     * @return code 를 가지는 CodeEnum
+     * @throws TypeException code 를 가지는 CodeEnum 이 없는 경우
+     */
+    public E get(String code) {
+        E codeEnum = byCode.get(code);
+        if (codeEnum == null) {
+            throw new TypeException("unknown code, type=" + type.getSimpleName() + ", code=" + code);
+        }
+        return codeEnum;
+    }
+
+    /**
+     * 문자열의 [start, end) 구간을 code 로 하는 CodeEnum 조회
+     * 부분 문자열을 만들지 않고 비교
+     *
+     * @param codes 구분자로 이어진 code 문자열
+     * @param start 시작 인덱스
+     * @param end   끝 인덱스 (포함하지 않음)
+     * @return 구간을 code 로 가지는 CodeEnum
+     * @throws TypeException 구간을 code 로 가지는 CodeEnum 이 없는 경우
+     */
+    public E get(String codes, int start, int end) {
+        int length = end - start;
+        for (E constant : constants) {
+            String code = constant.getCode();
+            if (code.length() == length && codes.regionMatches(start, code, 0, length)) {
+                return constant;
+            }
+        }
+        throw new TypeException("unknown code, type=" + type.getSimpleName() + ", code=" + codes.substring(start, end));
+    }
+
+    /**
+     * 비트마스크에 해당하는 불변 리스트 조회
+     *
+     * @param mask CodeEnum 집합의 비트마스크
+     * @return ordinal 순으로 정렬된 불변 리스트
+     * @throws TypeException 정의되지 않은 비트가 포함된 경우
+     */
+    public List<CodeEnum> list(int mask) {
+        if (mask < 0 || mask >= lists.size()) {
+            throw new TypeException("unknown bits, type=" + type.getSimpleName() + ", mask=" + mask);
+        }
+        return lists.get(mask);
+    }
+
+    /**
+     * CodeEnum 컬렉션의 비트마스크 계산
+     *
+     * @param codeEnums CodeEnum 컬렉션
+     * @return 비트마스크
+     */
+    public int mask(Collection<? extends CodeEnum> codeEnums) {
+        int mask = 0;
+        for (CodeEnum codeEnum : codeEnums) {
+            mask |= bit(type.cast(codeEnum));
+        }
+        return mask;
+    }
+
+    /**
+     * CodeEnum 의 비트 (1 << ordinal)
+     */
+    public int bit(E codeEnum) {
+        return 1 << codeEnum.ordinal();
+    }
+}
@@ -9,24 +9,23 @@ import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.EnumSet;
 
 /**
  * CodeEnum 타입에 대한 MyBatis Type Handler
  * CodeEnum 타입을 DB에 저장할 때 컬럼 값을 설정하고, 조회할 때 CodeEnum 타입 매핑
- * CodeEnum의 하위 타입에 대한 공통 처리를 위해 Enum Class를 type 필드로 포함
+ * CodeEnum의 하위 타입에 대한 공통 처리를 위해 Enum Class의 조회 테이블(CodeEnumTable)을 필드로 포함
  *
  * @param <E> CodeEnum을 상속한 Enum Class
  */
 public class CodeEnumTypeHandler<E extends Enum<E> & CodeEnum> implements TypeHandler<CodeEnum> {
 
-    private Class<E> type;
+    private CodeEnumTable<E> table;
 
     public CodeEnumTypeHandler() {
     }
 
     public CodeEnumTypeHandler(Class<E> type) {
-        this.type = type;
+        this.table = CodeEnumTable.of(type);
     }
 
     /**
@@ -84,17 +83,13 @@ public class CodeEnumTypeHandler<E extends Enum<E> & CodeEnum> implements TypeHa
 
     /**
      * DB에서 조회한 값을 code로 하는 CodeEnum 매핑
-     * type의 모든 element를 포함하는 EnumSet에서 value를 code로 가지는 CodeEnum 반환
+     * 미리 만들어 둔 code -> CodeEnum 맵에서 조회
      *
      * @param value DB에서 조회한 문자열
      * @return value를 code로 가지는 CodeEnum
      * @throws TypeException type 내 요소 중 value를 code로 가지는 CodeEnum가 없는 경우
      */
     private CodeEnum getCodeEnum(String value) {
-        return EnumSet.allOf(type)
-                .stream()
-                .filter(codeEnum -> codeEnum.getCode().equals(value))
-                .findFirst()
-                .orElseThrow(TypeException::new);
+        return table.get(value);
     }
 }
@@ -0,0 +1,14 @@
+package kinggora.portal.domain.type.typehandler;
+
+import kinggora.portal.domain.type.MemberRole;
+
+/**
+ * List<MemberRole> 타입을 비트마스크(member.role_mask)로 저장하는 MyBatis Type Handler
+ * CodeEnumMaskTypeHandler의 TypeHandler<List<CodeEnum>> 구현을 사용
+ * 생성자에서 MemberRole 클래스 정보를 초기화
+ */
+public class MemberRoleMaskTypeHandler extends CodeEnumMaskTypeHandler<MemberRole> {
+    public MemberRoleMaskTypeHandler() {
+        super(MemberRole.class);
+    }
+}
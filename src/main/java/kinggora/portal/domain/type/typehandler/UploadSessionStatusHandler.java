@@ -0,0 +1,17 @@
+package kinggora.portal.domain.type.typehandler;
+
+import kinggora.portal.domain.type.UploadSessionStatus;
+import org.apache.ibatis.type.MappedTypes;
+
+/**
+ * UploadSessionStatus 타입에 대한 MyBatis Type Handler
+ * CodeEnumTypeHandler의 TypeHandler<CodeEnum> 구현을 사용
+ * 생성자에서 UploadSessionStatus 클래스 정보를 초기화
+ */
+@MappedTypes(UploadSessionStatus.class)
+public class UploadSessionStatusHandler extends CodeEnumTypeHandler<UploadSessionStatus> {
+    public UploadSessionStatusHandler() {
+        super(UploadSessionStatus.class);
+    }
+
+}
@@ -19,6 +19,7 @@ public enum ErrorCode {
     INVALID_FILE_FORMAT(HttpStatus.BAD_REQUEST, -405, "잘못된 형식의 파일입니다"),
     ANSWER_ALREADY_EXISTS(HttpStatus.BAD_REQUEST, -406, "답변이 이미 존재합니다"),
     OVER_MAXIMUM_COMMENT_DEPTH(HttpStatus.BAD_REQUEST, -407, "댓글 최대 depth를 초과했습니다"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, -408, "유효하지 않은 커서입니다"),
 
     /* 401 UNAUTHORIZED : 인증되지 않은 사용자 */
     AUTHENTICATION_ERROR(HttpStatus.UNAUTHORIZED, -410, "인증을 실패했습니다"),
@@ -61,7 +62,8 @@ public enum ErrorCode {
     /* 500 INTERNAL_SERVER_ERROR : 서버 내부 오류 */
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, -500, "서버 내부 오류"),
     DB_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, -600, "데이터베이스 오류"),
-    S3_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, -601, "AWS A3 서비스 오류");
+    S3_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, -601, "AWS A3 서비스 오류"),
+    STORAGE_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, -602, "파일 스토리지 오류");
 
     private final HttpStatus status;
     private final int code;
@@ -47,7 +47,7 @@ public class PortalExceptionHandler extends ResponseEntityExceptionHandler {
 
     /**
      * 요청한 리소스에 대한 접근 권한이 없을 때 발생한 예외 처리 (인가)
-     * BoardsController 에서 @PreAuthorize 에 의해 AccessDeniedException 발생 시 처리
+     * BoardsController 에서 @PreAuthorize, @BoardPermission 에 의해 AccessDeniedException 발생 시 처리
      * Http Status: 403 (Forbidden)
      *
      * @param e AccessDeniedException
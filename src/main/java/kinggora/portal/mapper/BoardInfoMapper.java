@@ -17,5 +17,5 @@ public interface BoardInfoMapper {
 
     List<BoardInfo> findBoardInfos();
 
-    Optional<BoardInfo> findByPostId(int postId);
+    Optional<Integer> findBoardIdByPostId(int postId);
 }
@@ -9,7 +9,9 @@ import kinggora.portal.model.data.response.QnaBoardItem;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -31,7 +33,7 @@ public interface BoardMapper {
 
     Optional<BoardDetail> findBoardDetail(int id);
 
-    void hitUp(@Param("id") int id, @Param("readerId") Integer readerId);
+    int addHits(@Param("hits") Map<Integer, Long> hits);
 
     List<CommonBoardItem> findCommonBoardItems(@Param("pageable") Pageable pageable, @Param("criteria") BoardCriteria criteria);
 
@@ -42,4 +44,10 @@ public interface BoardMapper {
     boolean hasChild(int parentId);
 
     Optional<Integer> findChild(int parentId);
+
+    LocalDateTime findNow();
+
+    List<Post> findSearchDocuments(@Param("afterId") int afterId, @Param("limit") int limit);
+
+    List<Post> findSearchDocumentsModifiedSince(@Param("since") LocalDateTime since, @Param("afterId") int afterId, @Param("limit") int limit);
 }
@@ -13,7 +13,7 @@ import java.util.List;
 @Mapper
 public interface CategoryMapper {
 
-    List<Category> findByBoardId(Integer boardId);
+    List<Category> findAll();
 
     boolean isCategoryOf(@Param("id") int id, @Param("boardId") int boardId);
 }
@@ -9,6 +9,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -20,8 +21,12 @@ public interface CommentMapper {
 
     int save(Comment comment);
 
+    int saveChild(@Param("comment") Comment comment, @Param("parentPath") String parentPath);
+
     Optional<Comment> findById(int id);
 
+    Optional<Comment> findByIdForUpdate(int id);
+
     List<PostComment> findComments(@Param("pageable") Pageable pageable, @Param("criteria") CommentCriteria criteria);
 
     List<MyComment> findMyComments(@Param("pageable") Pageable pageable, @Param("criteria") CommentCriteria criteria);
@@ -34,21 +39,19 @@ public interface CommentMapper {
 
     int hideById(int id);
 
-    int deleteById(int id);
-
-    int findRefOrderOfChild(Comment parent);
+    List<Comment> findLineageForUpdate(@Param("ref") int ref, @Param("paths") List<String> paths);
 
-    int getMaxRef();
+    List<Integer> findChildParents(@Param("ids") List<Integer> ids);
 
-    boolean isOnlyMinimumDepth(Comment comment);
+    int deleteSubtree(@Param("ref") int ref, @Param("path") String path);
 
-    int getMaxRefOrder(int ref);
+    boolean hasChild(int id);
 
-    int refOrderUp(@Param("ref") int ref, @Param("refOrder") int refOrder);
+    List<Integer> findRefsWithoutPath(@Param("afterRef") int afterRef, @Param("limit") int limit);
 
-    boolean hasChild(int id);
+    List<Comment> findThreadByRefOrder(int ref);
 
-    int getChildCount(int id);
+    int updatePaths(@Param("paths") Map<Integer, String> paths);
 
 }
 
@@ -0,0 +1,26 @@
+package kinggora.portal.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * MyBatis Mapper Interface
+ * FileBlobMapper.xml에 정의된 SQL과 메서드를 매핑
+ */
+@Mapper
+public interface FileBlobMapper {
+
+    Optional<String> findStoreName(String contentHash);
+
+    int countByStoreName(String storeName);
+
+    int upsert(@Param("contentHash") String contentHash, @Param("storeName") String storeName,
+               @Param("size") long size, @Param("now") LocalDateTime now);
+
+    int decrease(@Param("contentHash") String contentHash, @Param("storeName") String storeName);
+
+    int deleteUnreferenced(String contentHash);
+}
@@ -0,0 +1,29 @@
+package kinggora.portal.mapper;
+
+import kinggora.portal.domain.FileDeletion;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MyBatis Mapper Interface
+ * FileDeletionMapper.xml에 정의된 SQL과 메서드를 매핑
+ */
+@Mapper
+public interface FileDeletionMapper {
+
+    int saveAll(@Param("storeNames") List<String> storeNames, @Param("now") LocalDateTime now,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    List<FileDeletion> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    int lease(@Param("ids") List<Long> ids, @Param("until") LocalDateTime until);
+
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    int reschedule(@Param("id") long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+
+    long countAll();
+}
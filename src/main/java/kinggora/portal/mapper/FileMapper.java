@@ -2,7 +2,9 @@ package kinggora.portal.mapper;
 
 import kinggora.portal.domain.UploadFile;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,8 +21,25 @@ public interface FileMapper {
 
     List<UploadFile> findByPostId(int postId);
 
+    Optional<UploadFile> findCompletedThumbnail(String storeName);
+
+    int countThumbnails(String storeName);
+
+    int countPublicFiles(@Param("storeName") String storeName, @Param("variantSource") String variantSource);
+
+    List<Integer> findPendingThumbnailPostIds(String storeName);
+
+    List<UploadFile> findPendingThumbnails(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    int completeThumbnail(@Param("storeName") String storeName, @Param("url") String url,
+                          @Param("size") long size, @Param("contentHash") String contentHash);
+
+    int failThumbnail(String storeName);
+
     int deleteById(int id);
 
+    int deleteThumbnail(@Param("storeName") String storeName, @Param("postId") int postId);
+
     int deleteByPostId(int postId);
 
 }
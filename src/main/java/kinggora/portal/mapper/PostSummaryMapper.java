@@ -0,0 +1,22 @@
+package kinggora.portal.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * MyBatis Mapper Interface
+ * PostSummaryMapper.xml에 정의된 SQL과 메서드를 매핑
+ */
+@Mapper
+public interface PostSummaryMapper {
+
+    int increaseCommentCount(@Param("id") int id, @Param("delta") int delta);
+
+    int refreshFileSummary(int id);
+
+    int refreshChildExists(int id);
+
+    int findMaxPostId();
+
+    int reconcile(@Param("fromId") int fromId, @Param("toId") int toId);
+}
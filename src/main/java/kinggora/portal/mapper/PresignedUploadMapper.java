@@ -0,0 +1,24 @@
+package kinggora.portal.mapper;
+
+import kinggora.portal.domain.PresignedUpload;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MyBatis Mapper Interface
+ * PresignedUploadMapper.xml에 정의된 SQL과 메서드를 매핑
+ */
+@Mapper
+public interface PresignedUploadMapper {
+
+    int saveAll(List<PresignedUpload> uploads);
+
+    List<PresignedUpload> findForUpdate(@Param("postId") int postId, @Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    List<PresignedUpload> findExpiredForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
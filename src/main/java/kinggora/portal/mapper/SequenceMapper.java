@@ -0,0 +1,16 @@
+package kinggora.portal.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * MyBatis Mapper Interface
+ * SequenceMapper.xml에 정의된 SQL과 메서드를 매핑
+ */
+@Mapper
+public interface SequenceMapper {
+
+    int increase(@Param("name") String name, @Param("size") int size);
+
+    long findLastInsertId();
+}
@@ -0,0 +1,40 @@
+package kinggora.portal.mapper;
+
+import kinggora.portal.domain.UploadChunk;
+import kinggora.portal.domain.UploadSession;
+import kinggora.portal.domain.type.UploadSessionStatus;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MyBatis Mapper Interface
+ * UploadSessionMapper.xml에 정의된 SQL과 메서드를 매핑
+ */
+@Mapper
+public interface UploadSessionMapper {
+
+    int save(UploadSession session);
+
+    Optional<UploadSession> findById(@Param("id") long id, @Param("now") LocalDateTime now);
+
+    Optional<UploadSession> findByIdForUpdate(@Param("id") long id, @Param("now") LocalDateTime now);
+
+    List<UploadSession> findExpiredForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    int extend(@Param("id") long id, @Param("expiresAt") LocalDateTime expiresAt);
+
+    int updateStatus(@Param("id") long id, @Param("expected") UploadSessionStatus expected,
+                     @Param("status") UploadSessionStatus status, @Param("expiresAt") LocalDateTime expiresAt);
+
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    int saveChunk(UploadChunk chunk);
+
+    List<UploadChunk> findChunks(@Param("sessionId") long sessionId);
+
+    int deleteChunks(@Param("sessionIds") List<Long> sessionIds);
+}
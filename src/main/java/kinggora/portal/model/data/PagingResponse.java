@@ -9,6 +9,7 @@ import java.util.List;
 /**
  * 요청 성공 시 반환하는 API Response Object
  * 목록 조회 요청에서 페이징 정보가 포함된 응답에 사용
+ * nextCursor: 다음 페이지를 키셋 페이징으로 조회할 때 after 파라미터로 전달할 토큰 (마지막 페이지라면 null)
  *
  * @param <T> data 타입
  */
@@ -16,10 +17,16 @@ import java.util.List;
 public class PagingResponse<T> extends ApiResponse {
     private final List<T> data;
     private final PageInfo pageInfo;
+    private final String nextCursor;
 
     public PagingResponse(List<T> data, PageInfo pageInfo) {
+        this(data, pageInfo, null);
+    }
+
+    public PagingResponse(List<T> data, PageInfo pageInfo, String nextCursor) {
         super(200, "OK");
         this.data = data;
         this.pageInfo = pageInfo;
+        this.nextCursor = nextCursor;
     }
 }
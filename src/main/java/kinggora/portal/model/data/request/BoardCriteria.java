@@ -3,6 +3,8 @@ package kinggora.portal.model.data.request;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.List;
+
 /**
  * 게시글 필터링 조건 정의
  */
@@ -15,6 +17,8 @@ public class BoardCriteria {
     private String searchWord;
     private String startDate;
     private String endDate;
+    private List<Integer> postIds;
+    private boolean candidatesResolved;
 
     @Builder
     public BoardCriteria(BoardSearchParam boardSearchParam, Integer boardId, Integer memberId) {
@@ -28,4 +32,16 @@ public class BoardCriteria {
         this.memberId = memberId;
     }
 
+    /**
+     * 검색 색인으로 찾은 검색어 후보 게시글 id 설정
+     * null 이라면 후보를 제한하지 않고 LIKE 조건으로만 검색
+     * 설정 후에는 같은 조건의 목록/개수 조회가 후보를 다시 찾지 않음 (candidatesResolved)
+     *
+     * @param postIds 후보 게시글 id
+     */
+    public void setPostIds(List<Integer> postIds) {
+        this.postIds = postIds;
+        this.candidatesResolved = true;
+    }
+
 }
@@ -1,6 +1,7 @@
 package kinggora.portal.model.data.request;
 
 import kinggora.portal.domain.Comment;
+import kinggora.portal.domain.CommentPath;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -25,8 +26,8 @@ public class CommentDto {
      * 루트 댓글 등록시 DTO -> 도메인 변환
      * parent = null
      * depth = 0
-     * ref = MAX(ref) + 1
-     * refOrder = 0
+     * ref = 새 댓글 그룹
+     * path = "" (CommentPath.ROOT)
      *
      * @param ref 댓글 그룹
      * @return 등록할 도메인 객체
@@ -39,7 +40,7 @@ public class CommentDto {
                 .postId(postId)
                 .depth(0)
                 .ref(ref)
-                .refOrder(0)
+                .path(CommentPath.ROOT)
                 .deleted(false)
                 .build();
     }
@@ -49,12 +50,12 @@ public class CommentDto {
      * 다음 필드는 부모의 데이터 기반으로 초기화
      * depth = parent.depth + 1
      * ref = parent.ref
+     * path 는 저장 시 부모 경로와 형제 순번으로 생성
      *
-     * @param refOrder 댓글 그룹 내 순서
-     * @param parent   부모 댓글
+     * @param parent 부모 댓글
      * @return 등록할 댓글 도메인
      */
-    public Comment toChildComment(int memberId, int refOrder, Comment parent) {
+    public Comment toChildComment(int memberId, Comment parent) {
         int depth = parent.getDepth() + 1;
         int ref = parent.getRef();
         return Comment.builder()
@@ -64,7 +65,6 @@ public class CommentDto {
                 .postId(parent.getPostId())
                 .depth(depth)
                 .ref(ref)
-                .refOrder(refOrder)
                 .deleted(false)
                 .build();
     }
@@ -1,10 +1,12 @@
 package kinggora.portal.model.data.request;
 
 import lombok.Getter;
+import org.springframework.util.StringUtils;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
 import java.util.Objects;
 
 /**
@@ -12,6 +14,7 @@ import java.util.Objects;
  * - 컨트롤러 단에서 @ModelAttribute 로 바인딩되어 Bean Validation 수행
  * - GET 쿼리 파라미터 바인딩
  * - 각 필드에 대한 default value 정의
+ * - after(커서)가 있으면 page 대신 커서 이후의 데이터를 조회 (키셋 페이징)
  */
 @Getter
 public class PagingCriteria {
@@ -22,16 +25,29 @@ public class PagingCriteria {
     @Min(value = 1)
     @Max(value = 40)
     private final int size;
+    @Size(max = 100)
+    private final String after;
 
     /**
      * 파라미터 주입을 위한 생성자
      * null 주입시 기본 값으로 초기화
      *
-     * @param page 페이지 넘버
-     * @param size 페이지 크기
+     * @param page  페이지 넘버
+     * @param size  페이지 크기
+     * @param after 이전 응답의 nextCursor
      */
-    public PagingCriteria(Integer page, Integer size) {
+    public PagingCriteria(Integer page, Integer size, String after) {
         this.page = Objects.requireNonNullElse(page, DEFAULT_PAGE_VALUE);
         this.size = Objects.requireNonNullElse(size, DEFAULT_SIZE_SIZE);
+        this.after = after;
+    }
+
+    /**
+     * 커서(키셋) 페이징 요청 여부
+     *
+     * @return after 파라미터 존재 여부
+     */
+    public boolean hasCursor() {
+        return StringUtils.hasText(after);
     }
 }
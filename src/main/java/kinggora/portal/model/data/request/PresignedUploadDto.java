@@ -0,0 +1,27 @@
+package kinggora.portal.model.data.request;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 직접 업로드 대상 발급 DTO
+ * - 업로드할 첨부 파일, 본문 이미지 파일의 이름과 크기 (파일 내용은 스토리지로 직접 업로드)
+ * - attachment[0].name=a.pdf&attachment[0].size=1024 형태로 바인딩
+ */
+@Data
+public class PresignedUploadDto {
+
+    private List<Item> attachment = new ArrayList<>();
+    private List<Item> content = new ArrayList<>();
+
+    /**
+     * 업로드할 파일
+     */
+    @Data
+    public static class Item {
+        private String name;
+        private long size;
+    }
+}
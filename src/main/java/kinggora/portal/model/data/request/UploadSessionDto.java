@@ -0,0 +1,17 @@
+package kinggora.portal.model.data.request;
+
+import kinggora.portal.domain.type.FileType;
+import lombok.Data;
+
+/**
+ * 분할 업로드 세션 생성 DTO
+ * - 업로드할 파일의 이름, 전체 크기와 종류 (ATTACHMENT: 첨부 파일, CONTENT: 본문 이미지)
+ * - name=a.pdf&size=1073741824&type=ATTACHMENT 형태로 바인딩
+ */
+@Data
+public class UploadSessionDto {
+
+    private String name;
+    private long size;
+    private FileType type = FileType.ATTACHMENT;
+}
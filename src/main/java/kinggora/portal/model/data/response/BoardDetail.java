@@ -31,4 +31,13 @@ public class BoardDetail {
     private boolean fileExists;
     private boolean childExists;
     private boolean deleted;
+
+    /**
+     * 아직 DB 에 반영되지 않은 조회수 합산
+     *
+     * @param pending 반영 대기 중인 조회수
+     */
+    public void addHit(long pending) {
+        this.hit = (int) (this.hit + pending);
+    }
 }
@@ -1,5 +1,6 @@
 package kinggora.portal.model.data.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -24,4 +25,8 @@ public class PostComment {
     private LocalDateTime modDate;
     private Integer depth;
     private boolean deleted;
+    @JsonIgnore
+    private Integer ref;
+    @JsonIgnore
+    private String path;
 }
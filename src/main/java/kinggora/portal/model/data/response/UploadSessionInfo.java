@@ -0,0 +1,25 @@
+package kinggora.portal.model.data.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 분할 업로드 세션 Response Object
+ * 클라이언트는 0 ~ chunkCount-1 번 조각 중 receivedChunks 에 없는 조각을 chunkSize 단위로 PUT 한 뒤 완료 요청
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class UploadSessionInfo {
+    private long id;
+    private String name;
+    private long size;
+    private int chunkSize;
+    private int chunkCount;
+    private List<Integer> receivedChunks;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,23 @@
+package kinggora.portal.model.data.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 직접 업로드 대상 Response Object
+ * 클라이언트는 url 로 method 요청(Content-Type 헤더는 contentType)을 보내 파일을 업로드한 뒤 id 로 완료 요청
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class UploadTarget {
+    private long id;
+    private String name;
+    private String url;
+    private String method;
+    private String contentType;
+    private LocalDateTime expiresAt;
+}
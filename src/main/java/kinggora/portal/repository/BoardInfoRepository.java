@@ -31,19 +31,19 @@ public class BoardInfoRepository {
     /**
      * 모든 게시판 조회
      *
-     * @return 모든 게시판 정보
+     * @return id 순으로 정렬된 모든 게시판 정보
      */
     public List<BoardInfo> findBoardInfos() {
         return mapper.findBoardInfos();
     }
 
     /**
-     * 게시글이 등록된 게시판 조회
+     * 게시글이 등록된 게시판 id 조회
      *
      * @param postId 게시글 id
-     * @return 게시판 정보
+     * @return 게시판 id
      */
-    public Optional<BoardInfo> findByPostId(int postId) {
-        return mapper.findByPostId(postId);
+    public Optional<Integer> findBoardIdByPostId(int postId) {
+        return mapper.findBoardIdByPostId(postId);
     }
 }
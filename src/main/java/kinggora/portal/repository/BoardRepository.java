@@ -12,13 +12,18 @@ import kinggora.portal.model.data.response.QnaBoardItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * 게시글 리포지토리
  * boards 테이블에 대한 CRUD 수행
+ * 목록/상세/개수 조회는 읽기 전용 트랜잭션으로 실행되어 replica 데이터소스로 라우팅
  */
 @Slf4j
 @Repository
@@ -92,6 +97,7 @@ public class BoardRepository {
      * @param id 게시글 id
      * @return 게시글 상세 정보
      */
+    @Transactional(readOnly = true)
     public Optional<BoardDetail> findBoardDetail(int id) {
         return mapper.findBoardDetail(id);
     }
@@ -103,6 +109,7 @@ public class BoardRepository {
      * @param criteria 검색 조건
      * @return 게시글 리스트
      */
+    @Transactional(readOnly = true)
     public List<CommonBoardItem> findCommonBoardItems(Pageable pageable, BoardCriteria criteria) {
         return mapper.findCommonBoardItems(pageable, criteria);
     }
@@ -114,6 +121,7 @@ public class BoardRepository {
      * @param criteria 검색 조건
      * @return 게시글 리스트
      */
+    @Transactional(readOnly = true)
     public List<QnaBoardItem> findQnaBoardItems(Pageable pageable, BoardCriteria criteria) {
         return mapper.findQnaBoardItems(pageable, criteria);
     }
@@ -124,6 +132,7 @@ public class BoardRepository {
      * @param criteria 검색 조건
      * @return 게시글 개수
      */
+    @Transactional(readOnly = true)
     public int findPostsCount(BoardCriteria criteria) {
         return mapper.findPostsCount(criteria);
     }
@@ -150,13 +159,59 @@ public class BoardRepository {
     }
 
     /**
-     * 게시글 조회수(hit) 증가
-     * hit = hit + 1
+     * 게시글 조회수(hit) 일괄 증가
+     * hit = hit + count, batchSize 개씩 나누어 하나의 트랜잭션으로 반영
      *
-     * @param id 게시글 id
+     * @param hits      게시글 id -> 증가할 조회수
+     * @param batchSize UPDATE 한 번에 반영할 게시글 수
+     */
+    @Transactional
+    public void addHits(Map<Integer, Long> hits, int batchSize) {
+        Map<Integer, Long> batch = new HashMap<>();
+        for (Map.Entry<Integer, Long> entry : hits.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() == batchSize) {
+                mapper.addHits(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mapper.addHits(batch);
+        }
+    }
+
+    /**
+     * DB 현재 시각 조회
+     * 검색 색인 워터마크로 사용 (애플리케이션 서버 간 시계 차이 배제)
+     *
+     * @return NOW()
      */
-    public void hitUp(int id, Integer readerId) {
-        mapper.hitUp(id, readerId);
+    public LocalDateTime findNow() {
+        return mapper.findNow();
     }
 
+    /**
+     * 검색 색인 대상 게시글 조회 (id, title, content, deleted)
+     * id 오름차 순 키셋 페이징
+     *
+     * @param afterId 마지막으로 조회한 게시글 id
+     * @param limit   조회 개수
+     * @return 게시글 리스트
+     */
+    public List<Post> findSearchDocuments(int afterId, int limit) {
+        return mapper.findSearchDocuments(afterId, limit);
+    }
+
+    /**
+     * since 이후 등록/수정/삭제된 검색 색인 대상 게시글 조회 (id, title, content, deleted)
+     * id 오름차 순 키셋 페이징
+     *
+     * @param since   기준 시각
+     * @param afterId 마지막으로 조회한 게시글 id
+     * @param limit   조회 개수
+     * @return 게시글 리스트
+     */
+    public List<Post> findSearchDocumentsModifiedSince(LocalDateTime since, int afterId, int limit) {
+        return mapper.findSearchDocumentsModifiedSince(since, afterId, limit);
+    }
 }
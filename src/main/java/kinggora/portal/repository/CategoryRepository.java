@@ -18,13 +18,12 @@ public class CategoryRepository {
     private final CategoryMapper mapper;
 
     /**
-     * boardId로 카테고리 조회
+     * 모든 카테고리 조회
      *
-     * @param boardId 게시판 id
-     * @return 카테고리 리스트
+     * @return 게시판 id, 카테고리 id 순으로 정렬된 카테고리 리스트
      */
-    public List<Category> findByBoardId(int boardId) {
-        return mapper.findByBoardId(boardId);
+    public List<Category> findAll() {
+        return mapper.findAll();
     }
 
     /**
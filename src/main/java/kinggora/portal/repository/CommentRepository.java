@@ -12,13 +12,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * 댓글 리포지토리
  * comment 테이블에 대한 CRUD 수행
+ * 목록/상세/개수 조회는 읽기 전용 트랜잭션으로 실행되어 replica 데이터소스로 라우팅
  */
 @Slf4j
 @Repository
@@ -41,6 +45,23 @@ public class CommentRepository {
         return comment.getId();
     }
 
+    /**
+     * 자식 댓글 저장
+     * 경로(path) = 부모 경로 + 형제 순번 최댓값 + 1
+     * 같은 부모에 대한 동시 등록은 부모 댓글 행 락(findByIdForUpdate)으로 직렬화해야 함
+     *
+     * @param comment    댓글 정보
+     * @param parentPath 부모 댓글 경로
+     * @return 댓글 id
+     */
+    public int saveChild(Comment comment, String parentPath) {
+        if (mapper.saveChild(comment, parentPath) == 0) {
+            log.error("fail CommentRepository.saveChild");
+            throw new BizException(ErrorCode.DB_ERROR, "댓글 등록 실패");
+        }
+        return comment.getId();
+    }
+
     /**
      * 댓글 단건 조회
      *
@@ -51,15 +72,28 @@ public class CommentRepository {
         return mapper.findById(id);
     }
 
+    /**
+     * 댓글 단건 조회 + 행 락 (SELECT ... FOR UPDATE)
+     * 트랜잭션 안에서 호출해야 하며, 커밋/롤백 시까지 같은 댓글에 대한 답글 등록/삭제가 대기
+     *
+     * @param id 댓글 id
+     * @return 댓글 정보
+     */
+    public Optional<Comment> findByIdForUpdate(int id) {
+        return mapper.findByIdForUpdate(id);
+    }
+
     /**
      * @param pageable
      * @param criteria
      * @return
      */
+    @Transactional(readOnly = true)
     public List<MyComment> findMyComments(@Param("pageable") Pageable pageable, @Param("criteria") CommentCriteria criteria) {
         return mapper.findMyComments(pageable, criteria);
     }
 
+    @Transactional(readOnly = true)
     public List<PostComment> findPostComments(@Param("pageable") Pageable pageable, @Param("criteria") CommentCriteria criteria) {
         return mapper.findPostComments(pageable, criteria);
     }
@@ -70,6 +104,7 @@ public class CommentRepository {
      * @param criteria 필터링 조건
      * @return 댓글 수
      */
+    @Transactional(readOnly = true)
     public int findCommentsCount(CommentCriteria criteria) {
         return mapper.findCommentsCount(criteria);
     }
@@ -100,90 +135,89 @@ public class CommentRepository {
     }
 
     /**
-     * 댓글 삭제
+     * 루트부터 자신까지의 댓글 조회 + 행 락
+     * 얕은 댓글부터 순서대로 잠금
      *
-     * @param id 댓글 id
+     * @param ref   댓글 그룹
+     * @param paths 조상 경로 목록 (CommentPath.lineage)
+     * @return 댓글 리스트 (path 오름차 순)
      */
-    public void deleteById(int id) {
-        if (mapper.deleteById(id) == 0) {
-            log.error("fail CommentRepository.deleteById");
-            throw new BizException(ErrorCode.DB_ERROR, "댓글 삭제 실패");
-        }
+    public List<Comment> findLineageForUpdate(int ref, List<String> paths) {
+        return mapper.findLineageForUpdate(ref, paths);
     }
 
     /**
-     * 자식 댓글의 refOrder 찾기
-     * 부모 댓글보다 refOrder가 큰 댓글 중 부모와 같거나 작은 depth를 가진 댓글이 첫 번째로 나타나는 위치
+     * 댓글별 자식 댓글 수 조회 (공유 락)
      *
-     * @param parent 부모 댓글
-     * @return 자식 댓글의 refOrder
+     * @param ids 댓글 id 목록
+     * @return 댓글 id -> 자식 댓글 수 (자식이 없는 댓글은 제외)
      */
-    public int findRefOrderOfChild(Comment parent) {
-        return mapper.findRefOrderOfChild(parent);
+    public Map<Integer, Integer> countChildren(List<Integer> ids) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int parent : mapper.findChildParents(ids)) {
+            counts.merge(parent, 1, Integer::sum);
+        }
+        return counts;
     }
 
     /**
-     * ref 컬럼의 최댓값을 반환
+     * 경로가 path 로 시작하는 댓글 일괄 삭제 (자신 포함)
      *
-     * @return Max(ref)
+     * @param ref  댓글 그룹
+     * @param path 삭제할 서브트리의 루트 경로
+     * @return 삭제한 댓글 수
+     * @throws BizException 삭제된 댓글이 없는 경우 발생
      */
-    public int getMaxRef() {
-        return mapper.getMaxRef();
+    public int deleteSubtree(int ref, String path) {
+        int deleted = mapper.deleteSubtree(ref, path);
+        if (deleted == 0) {
+            log.error("fail CommentRepository.deleteSubtree");
+            throw new BizException(ErrorCode.DB_ERROR, "댓글 삭제 실패");
+        }
+        return deleted;
     }
 
     /**
-     * 그룹 내 refOrder 컬럼의 최댓값 반환
+     * 자식(대댓글) 존재 여부
      *
-     * @param ref 댓글 그룹
-     * @return refOrder 최댓값
+     * @param id 댓글 id
+     * @return true: 대댓글 존재o, false: 대댓글 존재x
      */
-    public int getMaxRefOrder(int ref) {
-        return mapper.getMaxRefOrder(ref);
+    public boolean hasChild(int id) {
+        return mapper.hasChild(id);
     }
 
-    /**
-     * 동일한 그룹 내 comment보다 뒷 순서인 댓글 중에서 depth가 같거나 작은 댓글이 존재하는지
-     * 존재 X : 유일한 Minimum Depth => true 반환
-     * 존재 : 유일하지 않거나 최솟값이 아님 => false 반환
-     *
-     * @param comment 댓글 정보
-     */
-    public boolean isOnlyMinimumDepth(Comment comment) {
-        return mapper.isOnlyMinimumDepth(comment);
-    }
 
     /**
-     * 댓글 그룹 내 refOrder 이상의 컬럼 업데이트
-     * refOrder = refOrder + 1
+     * 경로(path)가 없는 댓글 그룹 조회 (ref_order 기반 데이터 변환 대상)
+     * ref 오름차 순 키셋 페이징
      *
-     * @param ref      댓글 그룹
-     * @param refOrder 업데이트 기준 값
+     * @param afterRef 마지막으로 조회한 ref
+     * @param limit    조회 개수
+     * @return ref 리스트
      */
-    public void refOrderUp(int ref, int refOrder) {
-        if (mapper.refOrderUp(ref, refOrder) == 0) {
-            log.error("fail CommentRepository.updateRefOrder");
-        }
+    public List<Integer> findRefsWithoutPath(int afterRef, int limit) {
+        return mapper.findRefsWithoutPath(afterRef, limit);
     }
 
     /**
-     * 자식(대댓글) 존재 여부
+     * 댓글 그룹의 댓글을 ref_order 순으로 조회 + 행 락
      *
-     * @param id 댓글 id
-     * @return true: 대댓글 존재o, false: 대댓글 존재x
+     * @param ref 댓글 그룹
+     * @return 댓글 리스트 (id, parent, ref)
      */
-    public boolean hasChild(int id) {
-        return mapper.hasChild(id);
+    public List<Comment> findThreadByRefOrder(int ref) {
+        return mapper.findThreadByRefOrder(ref);
     }
 
-
     /**
-     * 자식(대댓글) 개수 조회
+     * 댓글 경로(path) 일괄 갱신
      *
-     * @param id 댓글 id
-     * @return 자식(대댓글) 개수
+     * @param paths 댓글 id -> 경로
      */
-    public int getChildCount(int id) {
-        return mapper.getChildCount(id);
+    public void updatePaths(Map<Integer, String> paths) {
+        if (!paths.isEmpty()) {
+            mapper.updatePaths(paths);
+        }
     }
-
 }
@@ -0,0 +1,70 @@
+package kinggora.portal.repository;
+
+import kinggora.portal.mapper.FileBlobMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 내용 기준 저장 파일 리포지토리
+ * file_blob 테이블에 내용(SHA-256)별 스토리지 파일명과 참조 수(ref_count)를 관리
+ * <p>
+ * 참조 수 변경은 file 행 변경과 같은 트랜잭션에서 수행하며,
+ * 참조 수가 0 이 되면 같은 트랜잭션에서 행을 지우므로 행이 있으면 스토리지 파일도 있음
+ */
+@Repository
+@RequiredArgsConstructor
+public class FileBlobRepository {
+
+    private final FileBlobMapper mapper;
+
+    /**
+     * 같은 내용의 저장 파일명 조회
+     *
+     * @param contentHash 내용 SHA-256
+     * @return 저장 파일명, 없으면 empty
+     */
+    public Optional<String> findStoreName(String contentHash) {
+        return mapper.findStoreName(contentHash);
+    }
+
+    /**
+     * 내용 기준으로 관리되는 저장 파일인지 여부
+     *
+     * @param storeName 저장 파일명
+     * @return 관리 여부 (false: 기존 방식으로 저장된 파일)
+     */
+    public boolean isManaged(String storeName) {
+        return mapper.countByStoreName(storeName) > 0;
+    }
+
+    /**
+     * 새로 업로드한 저장 파일 등록
+     * 같은 내용이 먼저 등록된 경우 참조 수만 증가시키고 먼저 등록된 저장 파일명 반환
+     *
+     * @param contentHash 내용 SHA-256
+     * @param storeName   업로드한 저장 파일명
+     * @param size        파일 크기
+     * @return 사용할 저장 파일명 (storeName 과 다르면 업로드한 파일은 사용하지 않음)
+     */
+    public String register(String contentHash, String storeName, long size) {
+        mapper.upsert(contentHash, storeName, size, LocalDateTime.now());
+        return mapper.findStoreName(contentHash).orElse(storeName);
+    }
+
+    /**
+     * 참조 수 감소, 0 이 되면 행 삭제
+     *
+     * @param contentHash 내용 SHA-256 (null 이면 기존 방식으로 저장된 파일)
+     * @param storeName   저장 파일명
+     * @return 스토리지 파일 삭제 여부 (참조가 남지 않았거나 관리되지 않는 파일이면 true)
+     */
+    public boolean release(String contentHash, String storeName) {
+        if (contentHash == null || mapper.decrease(contentHash, storeName) == 0) {
+            return true;
+        }
+        return mapper.deleteUnreferenced(contentHash) > 0;
+    }
+}
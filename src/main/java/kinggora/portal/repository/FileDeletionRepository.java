@@ -0,0 +1,97 @@
+package kinggora.portal.repository;
+
+import kinggora.portal.domain.FileDeletion;
+import kinggora.portal.mapper.FileDeletionMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 파일 삭제 outbox 리포지토리
+ * file_deletion 테이블에 스토리지에서 삭제할 파일을 기록하고, 삭제 작업(FileDeletionService)에 작업을 할당
+ */
+@Repository
+@RequiredArgsConstructor
+public class FileDeletionRepository {
+
+    private final FileDeletionMapper mapper;
+
+    /**
+     * 삭제할 파일 기록
+     * 호출한 트랜잭션(메타 데이터 삭제)과 함께 커밋, 롤백
+     *
+     * @param storeNames 저장 파일명
+     */
+    public void enqueue(List<String> storeNames) {
+        enqueue(storeNames, LocalDateTime.now());
+    }
+
+    /**
+     * 삭제할 파일 기록, notBefore 이후에 삭제
+     * 클라이언트가 아직 쓸 수 있는 파일(유효한 업로드 URL)을 URL 이 만료된 뒤에 삭제할 때 사용
+     *
+     * @param storeNames 저장 파일명
+     * @param notBefore  삭제 시작 시각
+     */
+    public void enqueue(List<String> storeNames, LocalDateTime notBefore) {
+        if (!storeNames.isEmpty()) {
+            mapper.saveAll(storeNames, LocalDateTime.now(), notBefore);
+        }
+    }
+
+    /**
+     * 처리할 시각이 된 작업 할당
+     * 1. 다른 작업자가 잠근 행을 건너뛰고 limit 개 잠금 (FOR UPDATE SKIP LOCKED)
+     * 2. 시도 횟수 증가, 다음 시도 시각을 leaseUntil 로 미룸 (작업자가 결과를 기록하지 못하고 종료되면 그 이후 재할당)
+     * 별도 트랜잭션에서 즉시 커밋하므로 스토리지 요청 중에는 행 락을 유지하지 않음
+     *
+     * @param now        현재 시각
+     * @param leaseUntil 할당 만료 시각
+     * @param limit      최대 개수
+     * @return 할당한 작업 (attempts 는 이번 시도를 포함하지 않은 값)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<FileDeletion> claim(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        List<FileDeletion> deletions = mapper.findDueForUpdate(now, limit);
+        if (!deletions.isEmpty()) {
+            mapper.lease(deletions.stream().map(FileDeletion::getId).collect(Collectors.toList()), leaseUntil);
+        }
+        return deletions;
+    }
+
+    /**
+     * 삭제를 마친 작업 제거
+     *
+     * @param ids 작업 id
+     */
+    public void complete(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            mapper.deleteByIds(ids);
+        }
+    }
+
+    /**
+     * 실패한 작업의 다음 시도 시각, 실패 원인 기록
+     *
+     * @param id            작업 id
+     * @param nextAttemptAt 다음 시도 시각
+     * @param lastError     실패 원인
+     */
+    public void reschedule(long id, LocalDateTime nextAttemptAt, String lastError) {
+        mapper.reschedule(id, nextAttemptAt, lastError);
+    }
+
+    /**
+     * 남은 작업 수 (재시도 대기 포함)
+     *
+     * @return 작업 수
+     */
+    public long count() {
+        return mapper.countAll();
+    }
+}
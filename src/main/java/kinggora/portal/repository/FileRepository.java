@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,6 +55,82 @@ public class FileRepository {
         return mapper.findByPostId(postId);
     }
 
+    /**
+     * 생성을 마친 썸네일 조회 (같은 썸네일 파일을 공유하는 행 중 하나)
+     *
+     * @param storeName 썸네일 파일명
+     * @return 썸네일 파일 정보
+     */
+    public Optional<UploadFile> findCompletedThumbnail(String storeName) {
+        return mapper.findCompletedThumbnail(storeName);
+    }
+
+    /**
+     * 썸네일 파일을 사용하는 행이 남아있는지 여부
+     *
+     * @param storeName 썸네일 파일명
+     * @return 삭제되지 않은 썸네일 행 존재 여부
+     */
+    public boolean existsThumbnail(String storeName) {
+        return mapper.countThumbnails(storeName) > 0;
+    }
+
+    /**
+     * URL 로 공개하는 파일인지 여부 (본문 이미지, 썸네일, 본문 이미지의 변형 이미지)
+     *
+     * @param storeName     저장 파일명
+     * @param variantSource 변형 이미지라면 원본 저장 파일명에서 확장자를 뺀 값, 아니면 null
+     * @return 삭제되지 않은 공개 파일 행 존재 여부
+     */
+    public boolean existsPublicFile(String storeName, String variantSource) {
+        String escaped = variantSource == null ? null
+                : variantSource.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return mapper.countPublicFiles(storeName, escaped) > 0;
+    }
+
+    /**
+     * 썸네일 생성을 기다리는 게시글 id 조회
+     *
+     * @param storeName 썸네일 파일명
+     * @return 게시글 id 리스트
+     */
+    public List<Integer> findPendingThumbnailPostIds(String storeName) {
+        return mapper.findPendingThumbnailPostIds(storeName);
+    }
+
+    /**
+     * 생성 대기 중인 썸네일 조회 (size=0)
+     *
+     * @param before 이 시각 이전에 등록된 썸네일만 조회
+     * @param limit  최대 개수
+     * @return 썸네일 파일 정보 리스트
+     */
+    public List<UploadFile> findPendingThumbnails(LocalDateTime before, int limit) {
+        return mapper.findPendingThumbnails(before, limit);
+    }
+
+    /**
+     * 생성 대기 중인 썸네일의 url, size, content_hash 갱신 (같은 썸네일 파일을 기다리는 행 모두)
+     *
+     * @param storeName   썸네일 파일명
+     * @param url         썸네일 URL
+     * @param size        썸네일 크기
+     * @param contentHash 썸네일 SHA-256
+     * @return 갱신 여부 (이미 완료되었거나 삭제된 경우 false)
+     */
+    public boolean completeThumbnail(String storeName, String url, long size, String contentHash) {
+        return mapper.completeThumbnail(storeName, url, size, contentHash) > 0;
+    }
+
+    /**
+     * 생성 대기 중인 썸네일을 생성 실패로 표시 (size=-1, url 은 placeholder 유지)
+     *
+     * @param storeName 썸네일 파일명
+     */
+    public void failThumbnail(String storeName) {
+        mapper.failThumbnail(storeName);
+    }
+
     /**
      * 파일 정보 삭제
      * update deleted=true
@@ -67,6 +144,17 @@ public class FileRepository {
         }
     }
 
+    /**
+     * 게시글의 썸네일 파일 정보 삭제 (썸네일이 없으면 무시)
+     * update deleted=true
+     *
+     * @param storeName 썸네일 파일명
+     * @param postId    게시글 id
+     */
+    public void deleteThumbnail(String storeName, int postId) {
+        mapper.deleteThumbnail(storeName, postId);
+    }
+
     /**
      * 게시글에 첨부한 파일 정보 삭제
      *
@@ -0,0 +1,75 @@
+package kinggora.portal.repository;
+
+import kinggora.portal.mapper.PostSummaryMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 게시글 요약 리포지토리
+ * 목록/상세 조회에서 사용하는 boards 테이블의 요약 컬럼을 갱신
+ * (comment_count, has_attachment, has_image, thumb_url, child_exists)
+ * 댓글, 파일, 자식 게시글을 변경하는 트랜잭션 안에서 호출
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class PostSummaryRepository {
+
+    private final PostSummaryMapper mapper;
+
+    /**
+     * 댓글 수 증감
+     * comment_count = comment_count + delta (0 미만으로 내려가지 않음)
+     *
+     * @param postId 게시글 id
+     * @param delta  증감 값
+     */
+    public void increaseCommentCount(int postId, int delta) {
+        if (mapper.increaseCommentCount(postId, delta) == 0) {
+            log.error("fail PostSummaryRepository.increaseCommentCount, postId={}", postId);
+        }
+    }
+
+    /**
+     * 파일 요약(has_attachment, has_image, thumb_url) 재계산
+     *
+     * @param postId 게시글 id
+     */
+    public void refreshFileSummary(int postId) {
+        if (mapper.refreshFileSummary(postId) == 0) {
+            log.error("fail PostSummaryRepository.refreshFileSummary, postId={}", postId);
+        }
+    }
+
+    /**
+     * 자식 게시글 존재 여부(child_exists) 재계산
+     *
+     * @param postId 부모 게시글 id
+     */
+    public void refreshChildExists(int postId) {
+        if (mapper.refreshChildExists(postId) == 0) {
+            log.error("fail PostSummaryRepository.refreshChildExists, postId={}", postId);
+        }
+    }
+
+    /**
+     * 게시글 id 최댓값 조회
+     *
+     * @return MAX(id)
+     */
+    public int findMaxPostId() {
+        return mapper.findMaxPostId();
+    }
+
+    /**
+     * id 구간의 요약 컬럼을 원본 테이블로부터 재계산
+     *
+     * @param fromId 시작 id (포함)
+     * @param toId   종료 id (포함)
+     * @return 처리한 게시글 수
+     */
+    public int reconcile(int fromId, int toId) {
+        return mapper.reconcile(fromId, toId);
+    }
+}
@@ -0,0 +1,69 @@
+package kinggora.portal.repository;
+
+import kinggora.portal.domain.PresignedUpload;
+import kinggora.portal.mapper.PresignedUploadMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 직접 업로드 대기 파일 리포지토리
+ * file_presigned_upload 테이블에 발급한 업로드 대상을 기록하고, 완료 요청 및 만료 정리 시 잠금 후 제거
+ */
+@Repository
+@RequiredArgsConstructor
+public class PresignedUploadRepository {
+
+    private final PresignedUploadMapper mapper;
+
+    /**
+     * 업로드 대상 기록 (id 는 생성된 값으로 채움)
+     *
+     * @param uploads 업로드 대상
+     */
+    public void saveAll(List<PresignedUpload> uploads) {
+        if (!uploads.isEmpty()) {
+            mapper.saveAll(uploads);
+        }
+    }
+
+    /**
+     * 완료 요청한 업로드 대상 조회 및 잠금
+     * 게시글이 다르거나 만료된 대상은 조회하지 않음
+     *
+     * @param postId 게시글 id
+     * @param ids    업로드 대상 id
+     * @param now    현재 시각
+     * @return 잠근 업로드 대상 (id 순)
+     */
+    public List<PresignedUpload> findForUpdate(int postId, List<Long> ids, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return mapper.findForUpdate(postId, ids, now);
+    }
+
+    /**
+     * 만료된 업로드 대상 조회 및 잠금 (다른 트랜잭션이 잠근 행은 건너뜀)
+     *
+     * @param now   현재 시각
+     * @param limit 최대 개수
+     * @return 잠근 업로드 대상
+     */
+    public List<PresignedUpload> findExpiredForUpdate(LocalDateTime now, int limit) {
+        return mapper.findExpiredForUpdate(now, limit);
+    }
+
+    /**
+     * 업로드 대상 제거
+     *
+     * @param ids 업로드 대상 id
+     */
+    public void deleteByIds(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            mapper.deleteByIds(ids);
+        }
+    }
+}
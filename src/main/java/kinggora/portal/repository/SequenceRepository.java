@@ -0,0 +1,42 @@
+package kinggora.portal.repository;
+
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import kinggora.portal.mapper.SequenceMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 시퀀스 리포지토리
+ * sequence 테이블의 행(name)마다 다음에 발급할 값(next_val)을 관리
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class SequenceRepository {
+
+    private final SequenceMapper mapper;
+
+    /**
+     * 시퀀스 구간 예약
+     * next_val 을 size 만큼 증가시키고 증가 전 값을 반환 => [반환 값, 반환 값 + size) 구간 사용
+     * 호출한 트랜잭션이 롤백되어도 예약한 구간이 다시 발급되지 않도록 별도 트랜잭션에서 즉시 커밋
+     * 행 락은 UPDATE ~ 커밋 사이에만 유지되므로 여러 서버가 동시에 예약해도 구간이 겹치지 않음
+     *
+     * @param name 시퀀스 이름
+     * @param size 예약할 구간 크기
+     * @return 예약한 구간의 시작 값
+     * @throws BizException 시퀀스가 존재하지 않는 경우 발생
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String name, int size) {
+        if (mapper.increase(name, size) == 0) {
+            log.error("fail SequenceRepository.reserve, name={}", name);
+            throw new BizException(ErrorCode.DB_ERROR, "시퀀스 예약 실패");
+        }
+        return mapper.findLastInsertId() - size;
+    }
+}
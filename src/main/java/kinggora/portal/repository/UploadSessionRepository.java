@@ -0,0 +1,124 @@
+package kinggora.portal.repository;
+
+import kinggora.portal.domain.UploadChunk;
+import kinggora.portal.domain.UploadSession;
+import kinggora.portal.domain.type.UploadSessionStatus;
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import kinggora.portal.mapper.UploadSessionMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 분할 업로드 세션 리포지토리
+ * file_upload_session 에 세션을, file_upload_chunk 에 받은 조각을 기록하고, 완료, 취소, 만료 정리 시 잠금 후 제거
+ */
+@Repository
+@RequiredArgsConstructor
+public class UploadSessionRepository {
+
+    private final UploadSessionMapper mapper;
+
+    /**
+     * 세션 기록 (id 는 생성된 값으로 채움)
+     *
+     * @param session 세션
+     */
+    public void save(UploadSession session) {
+        mapper.save(session);
+    }
+
+    /**
+     * 만료되지 않은 세션 조회
+     *
+     * @param id  세션 id
+     * @param now 현재 시각
+     * @return 세션
+     * @throws BizException 세션이 없거나 만료된 경우 발생
+     */
+    public UploadSession findById(long id, LocalDateTime now) {
+        return mapper.findById(id, now)
+                .orElseThrow(() -> new BizException(ErrorCode.FILE_NOT_FOUND, "업로드 세션이 없거나 만료되었습니다"));
+    }
+
+    /**
+     * 만료되지 않은 세션 조회 및 잠금
+     *
+     * @param id  세션 id
+     * @param now 현재 시각
+     * @return 잠근 세션
+     * @throws BizException 세션이 없거나 만료된 경우 발생
+     */
+    public UploadSession findByIdForUpdate(long id, LocalDateTime now) {
+        return mapper.findByIdForUpdate(id, now)
+                .orElseThrow(() -> new BizException(ErrorCode.FILE_NOT_FOUND, "업로드 세션이 없거나 만료되었습니다"));
+    }
+
+    /**
+     * 만료된 세션 조회 및 잠금 (다른 트랜잭션이 잠근 세션은 건너뜀)
+     *
+     * @param now   현재 시각
+     * @param limit 최대 개수
+     * @return 잠근 세션
+     */
+    public List<UploadSession> findExpiredForUpdate(LocalDateTime now, int limit) {
+        return mapper.findExpiredForUpdate(now, limit);
+    }
+
+    /**
+     * 세션 만료 시각 연장 (기존 만료 시각보다 늦은 경우만)
+     *
+     * @param id        세션 id
+     * @param expiresAt 새 만료 시각
+     */
+    public void extend(long id, LocalDateTime expiresAt) {
+        mapper.extend(id, expiresAt);
+    }
+
+    /**
+     * 세션 상태 변경 (현재 상태가 expected 인 경우만), 만료 시각은 expiresAt 보다 이르면 연장
+     *
+     * @param id        세션 id
+     * @param expected  현재 상태
+     * @param status    새 상태
+     * @param expiresAt 최소 만료 시각
+     * @return true: 변경, false: 세션이 없거나 상태가 다름
+     */
+    public boolean updateStatus(long id, UploadSessionStatus expected, UploadSessionStatus status, LocalDateTime expiresAt) {
+        return mapper.updateStatus(id, expected, status, expiresAt) > 0;
+    }
+
+    /**
+     * 세션과 받은 조각 제거
+     *
+     * @param ids 세션 id
+     */
+    public void deleteByIds(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            mapper.deleteChunks(ids);
+            mapper.deleteByIds(ids);
+        }
+    }
+
+    /**
+     * 받은 조각 기록 (같은 조각이 있으면 갱신)
+     *
+     * @param chunk 조각
+     */
+    public void saveChunk(UploadChunk chunk) {
+        mapper.saveChunk(chunk);
+    }
+
+    /**
+     * 받은 조각 조회
+     *
+     * @param sessionId 세션 id
+     * @return 조각 (조각 번호 순)
+     */
+    public List<UploadChunk> findChunks(long sessionId) {
+        return mapper.findChunks(sessionId);
+    }
+}
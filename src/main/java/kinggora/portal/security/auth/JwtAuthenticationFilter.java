@@ -2,6 +2,7 @@ package kinggora.portal.security.auth;
 
 import kinggora.portal.exception.ErrorCode;
 import kinggora.portal.security.exception.JwtAuthException;
+import kinggora.portal.security.user.PrincipalCache;
 import kinggora.portal.util.JwtProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,7 +10,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -28,19 +28,19 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtProvider jwtProvider;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     /**
      * JWT 인증 수행
      * Request Header 에서 JWT 를 추출하고 유효성 검사
      * 토큰이 유효할 경우, 토큰으로부터 username 추출 -> Authentication 객체 생성하여 SecurityContext 에 저장
+     * 토큰 검증과 username 추출은 한 번의 파싱으로 수행
      */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = resolveToken(request);
         if (token != null) {
-            jwtProvider.validateToken(token);
-            String username = jwtProvider.extractUsername(token);
+            String username = jwtProvider.validateAndExtractUsername(token);
             Authentication authentication = getAuthentication(username);
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
@@ -67,7 +67,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     /**
      * SecurityContext에 저장할 Authentication 생성
-     * 1. username으로 UserDetail 조회
+     * 1. username으로 UserDetail 조회 (PrincipalCache 에 없는 경우에만 DB 조회)
      * 2. Authentication의 구현체인 UsernamePasswordAuthenticationToken 생성하여 반환
      *
      * @param username 사용자 식별 데이터
@@ -77,7 +77,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private Authentication getAuthentication(String username) {
         UserDetails userDetails;
         try {
-            userDetails = userDetailsService.loadUserByUsername(username);
+            userDetails = principalCache.load(username);
         } catch (UsernameNotFoundException ex) {
             throw new JwtAuthException(ErrorCode.AUTHENTICATION_ERROR, ex);
         }
@@ -2,37 +2,55 @@ package kinggora.portal.security.user;
 
 import kinggora.portal.domain.Member;
 import kinggora.portal.domain.type.MemberRole;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Spring Security User
  * Authentication 객체로 캡슐화 되어 사용자 인증에 사용
  * DB에 저장된 회원 정보(member) 기반으로 UserDetails 인터페이스 구현
+ * <p>
+ * 권한은 생성 시 비트마스크(MemberRole.bit)로 계산하여 보관하고,
+ * 권한 집합(authorities)은 비트마스크별로 미리 만들어 둔 불변 집합을 공유
  */
-@RequiredArgsConstructor
 public class CustomUserDetails implements UserDetails {
 
+    private static final MemberRole[] ROLES = MemberRole.values();
+    /**
+     * 비트마스크 -> 불변 권한 집합
+     */
+    private static final List<Set<GrantedAuthority>> AUTHORITIES = createAuthorities();
+
     private final Member member;
+    private final int roleMask;
+
+    public CustomUserDetails(Member member) {
+        this.member = member;
+        int mask = 0;
+        if (member.getRoles() != null) {
+            for (MemberRole role : member.getRoles()) {
+                mask |= role.bit();
+            }
+        }
+        this.roleMask = mask;
+    }
 
     /**
      * 사용자 권한 반환
      *
-     * @return NOT NULL authorities
+     * @return NOT NULL 불변 authorities
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<GrantedAuthority> auth = new ArrayList<>();
-        for (MemberRole role : member.getRoles()) {
-            auth.add(new SimpleGrantedAuthority(role.getCode()));
-        }
-        return auth;
+        return AUTHORITIES.get(roleMask);
     }
 
     /**
@@ -105,8 +123,39 @@ public class CustomUserDetails implements UserDetails {
     }
 
     public boolean isAdmin() {
-        return getAuthorities().stream()
-                .anyMatch(authority ->
-                        MemberRole.ADMIN.getCode().equals(authority.getAuthority()));
+        return hasRole(MemberRole.ADMIN);
+    }
+
+    /**
+     * 권한 보유 여부
+     *
+     * @param role 확인할 권한
+     * @return 보유 여부
+     */
+    public boolean hasRole(MemberRole role) {
+        return (roleMask & role.bit()) != 0;
+    }
+
+    /**
+     * 권한 비트마스크
+     *
+     * @return MemberRole.bit 의 합
+     */
+    public int getRoleMask() {
+        return roleMask;
+    }
+
+    private static List<Set<GrantedAuthority>> createAuthorities() {
+        List<Set<GrantedAuthority>> authorities = new ArrayList<>(1 << ROLES.length);
+        for (int mask = 0; mask < 1 << ROLES.length; mask++) {
+            Set<GrantedAuthority> set = new LinkedHashSet<>();
+            for (MemberRole role : ROLES) {
+                if ((mask & role.bit()) != 0) {
+                    set.add(new SimpleGrantedAuthority(role.getCode()));
+                }
+            }
+            authorities.add(Collections.unmodifiableSet(set));
+        }
+        return Collections.unmodifiableList(authorities);
     }
 }
@@ -0,0 +1,117 @@
+package kinggora.portal.security.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인증된 사용자(UserDetails) 캐시
+ * JWT 인증 시 요청마다 member 테이블을 조회하지 않도록 username 별로 UserDetails 를 보관
+ * <p>
+ * 1. 항목은 ttl 이 지나면 만료되어 다음 조회 시 DB 에서 다시 읽음
+ * 2. 최대 개수를 넘으면 만료된 항목부터, 그래도 넘으면 임의의 항목을 제거
+ * 3. 회원 정보 수정, 비밀번호 변경, 탈퇴 시 MemberService 가 evict 호출
+ * <p>
+ * 다른 서버에서 변경된 회원 정보는 최대 ttl 만큼 늦게 반영됨
+ * 로그인(DaoAuthenticationProvider)은 이 캐시를 사용하지 않고 항상 DB 의 비밀번호와 비교
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * evict 횟수
+     * DB 조회 도중 evict 가 일어나면 조회한 값이 이미 오래된 값일 수 있으므로 캐시에 저장하지 않음
+     */
+    private final AtomicLong evictions = new AtomicLong();
+    private final long ttl;
+    private final int maximumSize;
+
+    /**
+     * @param userDetailsService 캐시에 없을 때 사용할 UserDetailsService
+     * @param ttl                항목 유효 시간(ms)
+     * @param maximumSize        최대 항목 개수
+     */
+    public PrincipalCache(UserDetailsService userDetailsService,
+                          @Value("${security.principal-cache.ttl}") long ttl,
+                          @Value("${security.principal-cache.maximum-size}") int maximumSize) {
+        this.userDetailsService = userDetailsService;
+        this.ttl = ttl;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * UserDetails 조회
+     * 캐시에 없거나 만료된 경우 UserDetailsService 로 조회하여 저장
+     *
+     * @param username 사용자 식별 데이터
+     * @return NOT NULL UserDetails
+     * @throws UsernameNotFoundException 회원이 존재하지 않거나 username 이 null 인 경우 발생
+     */
+    public UserDetails load(String username) {
+        if (username == null) {
+            throw new UsernameNotFoundException("username is null");
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.userDetails;
+        }
+        long seen = evictions.get();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (evictions.get() == seen) {
+            if (entries.size() >= maximumSize) {
+                shrink(now);
+            }
+            entries.put(username, new Entry(userDetails, now + ttl));
+        }
+        return userDetails;
+    }
+
+    /**
+     * 회원 정보가 변경된 경우 캐시에서 제거
+     *
+     * @param username 사용자 식별 데이터
+     */
+    public void evict(String username) {
+        evictions.incrementAndGet();
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+
+    /**
+     * 만료된 항목을 제거하고, 그래도 최대 개수의 90% 를 넘으면 임의의 항목을 제거
+     * 매 저장마다 제거하지 않도록 여유를 남김
+     */
+    private void shrink(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int target = maximumSize - maximumSize / 10 - 1;
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        log.debug("PrincipalCache.shrink, size={}", entries.size());
+    }
+
+    private static class Entry {
+        private final UserDetails userDetails;
+        private final long expiresAt;
+
+        private Entry(UserDetails userDetails, long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
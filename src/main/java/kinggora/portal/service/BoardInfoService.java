@@ -3,7 +3,6 @@ package kinggora.portal.service;
 import kinggora.portal.domain.BoardInfo;
 import kinggora.portal.exception.BizException;
 import kinggora.portal.exception.ErrorCode;
-import kinggora.portal.repository.BoardInfoRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,12 +10,13 @@ import java.util.List;
 
 /**
  * 게시판 정보 서비스
+ * 게시판 정보는 ReferenceDataCache 의 스냅샷에서 조회
  */
 @Service
 @RequiredArgsConstructor
 public class BoardInfoService {
 
-    private final BoardInfoRepository boardInfoRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * 모든 게시판 정보 조회
@@ -24,7 +24,7 @@ public class BoardInfoService {
      * @return BoardInfo 리스트
      */
     public List<BoardInfo> findBoardInfos() {
-        return boardInfoRepository.findBoardInfos();
+        return referenceDataCache.findBoardInfos();
     }
 
     /**
@@ -35,7 +35,7 @@ public class BoardInfoService {
      * @throws BizException 게시판이 존재하지 않는 경우 발생
      */
     public BoardInfo findBoardInfoById(int id) {
-        return boardInfoRepository.findById(id)
+        return referenceDataCache.findBoardInfo(id)
                 .orElseThrow(() -> new BizException(ErrorCode.BOARD_NOT_FOUND));
     }
 
@@ -47,8 +47,28 @@ public class BoardInfoService {
      * @throws BizException 게시판이 존재하지 않는 경우 발생
      */
     public BoardInfo findByPostId(int postId) {
-        return boardInfoRepository.findByPostId(postId)
+        return findBoardInfoById(findBoardIdByPostId(postId));
+    }
+
+    /**
+     * 게시글이 등록된 게시판 id 조회
+     *
+     * @param postId 게시글 id
+     * @return 게시판 id
+     * @throws BizException 게시글이 존재하지 않는 경우 발생 (BOARD_NOT_FOUND)
+     */
+    public int findBoardIdByPostId(int postId) {
+        return referenceDataCache.findBoardIdOfPost(postId)
                 .orElseThrow(() -> new BizException(ErrorCode.BOARD_NOT_FOUND));
     }
 
+    /**
+     * 삭제된 게시글의 게시판 캐시 제거
+     *
+     * @param postId 게시글 id
+     */
+    public void evictPost(int postId) {
+        referenceDataCache.evictPost(postId);
+    }
+
 }
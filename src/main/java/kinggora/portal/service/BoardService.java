@@ -3,6 +3,7 @@ package kinggora.portal.service;
 import kinggora.portal.domain.BoardInfo;
 import kinggora.portal.domain.Pageable;
 import kinggora.portal.domain.Post;
+import kinggora.portal.domain.PostCursor;
 import kinggora.portal.domain.type.OrderDirection;
 import kinggora.portal.exception.BizException;
 import kinggora.portal.exception.ErrorCode;
@@ -14,9 +15,11 @@ import kinggora.portal.model.data.response.BoardItem;
 import kinggora.portal.model.data.response.CommonBoardItem;
 import kinggora.portal.model.data.response.QnaBoardItem;
 import kinggora.portal.repository.BoardRepository;
+import kinggora.portal.repository.PostSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +30,9 @@ import java.util.Optional;
 public class BoardService {
 
     private final BoardRepository boardRepository;
+    private final PostSummaryRepository postSummaryRepository;
+    private final PostSearchService postSearchService;
+    private final HitCountService hitCountService;
     private final BoardInfoService boardInfoService;
     private final CategoryService categoryService;
 
@@ -42,12 +48,15 @@ public class BoardService {
     public int savePost(int boardId, int memberId, PostDto dto) {
         Post post = dto.toRootPost(boardId, memberId);
         validatePost(post);
-        return boardRepository.save(dto.toRootPost(boardId, memberId));
+        int id = boardRepository.save(post);
+        postSearchService.index(id, post.getTitle(), post.getContent());
+        return id;
     }
 
     /**
      * 자식 게시글 저장
      * parent != null
+     * 부모 게시글의 child_exists 요약 컬럼을 함께 갱신
      *
      * @param parentId 부모 게시글 id
      * @param memberId 작성자 id
@@ -55,6 +64,7 @@ public class BoardService {
      * @return 저장 게시글 id
      * @throws BizException 부모에게 이미 자식 게시글이 존재하는 경우 발생
      */
+    @Transactional
     public int saveChildPost(int parentId, int memberId, PostDto dto) {
         if (boardRepository.hasChild(parentId)) {
             throw new BizException(ErrorCode.ANSWER_ALREADY_EXISTS);
@@ -62,7 +72,10 @@ public class BoardService {
         Post parent = findPostById(parentId);
         Post childPost = dto.toChildPost(parent, memberId);
         validatePost(childPost);
-        return boardRepository.save(childPost);
+        int id = boardRepository.save(childPost);
+        postSummaryRepository.refreshChildExists(parentId);
+        postSearchService.index(id, childPost.getTitle(), childPost.getContent());
+        return id;
     }
 
     /**
@@ -75,15 +88,25 @@ public class BoardService {
         Post updatePost = dto.toUpdatePost(post);
         validatePost(updatePost);
         boardRepository.update(updatePost);
+        postSearchService.index(post.getId(),
+                Optional.ofNullable(updatePost.getTitle()).orElse(post.getTitle()),
+                Optional.ofNullable(updatePost.getContent()).orElse(post.getContent()));
     }
 
     /**
      * 게시글 삭제
+     * 자식 게시글이라면 부모 게시글의 child_exists 요약 컬럼을 함께 갱신
      *
      * @param id 게시글 id
      */
+    @Transactional
     public void deletePostById(int id) {
+        Optional<Post> post = boardRepository.findById(id);
         boardRepository.deleteById(id);
+        post.map(Post::getParent)
+                .ifPresent(postSummaryRepository::refreshChildExists);
+        postSearchService.remove(id);
+        boardInfoService.evictPost(id);
     }
 
     /**
@@ -116,13 +139,16 @@ public class BoardService {
 
     /**
      * 게시글 상세 조회
+     * 조회수는 DB 값에 아직 반영되지 않은 조회수를 합산
      *
      * @param id 게시글 id
      * @return 게시글 상세
      */
     public BoardDetail findBoardDetail(int id) {
-        return boardRepository.findBoardDetail(id)
+        BoardDetail boardDetail = boardRepository.findBoardDetail(id)
                 .orElseThrow(() -> new BizException(ErrorCode.POST_NOT_FOUND));
+        boardDetail.addHit(hitCountService.pending(id));
+        return boardDetail;
     }
 
     /**
@@ -165,35 +191,34 @@ public class BoardService {
 
     /**
      * 검색 조건에 해당하는 일반 게시글 조회
-     * 생성 날짜(regDate) 내림차 순 정렬로 페이징 처리
+     * 생성 날짜(regDate) 내림차, id 내림차 순 정렬로 페이징 처리
      *
      * @param pagingCriteria 페이징 조건
      * @param boardCriteria  필터링 조건
      * @return 게시글 리스트
      */
     public List<CommonBoardItem> findCommonBoardItems(PagingCriteria pagingCriteria, BoardCriteria boardCriteria) {
-        Pageable.Order regOrder = new Pageable.Order("reg_date", OrderDirection.DESC);
-        Pageable pageable = new Pageable(pagingCriteria.getPage(), pagingCriteria.getSize(), List.of(regOrder));
-        return boardRepository.findCommonBoardItems(pageable, boardCriteria);
+        resolveSearchCandidates(boardCriteria);
+        return boardRepository.findCommonBoardItems(createRegDatePageable(pagingCriteria), boardCriteria);
     }
 
     /**
      * 검색 조건에 해당하는 QnaBoardItem 조회
-     * 생성 날짜(regDate) 내림차 순 정렬로 페이징 처리
+     * 생성 날짜(regDate) 내림차, id 내림차 순 정렬로 페이징 처리
      *
      * @param pagingCriteria 페이징 조건
      * @param boardCriteria  필터링 조건
      * @return QnaBoardItem 리스트
      */
     public List<QnaBoardItem> findQnaBoardItems(PagingCriteria pagingCriteria, BoardCriteria boardCriteria) {
-        Pageable.Order regOrder = new Pageable.Order("reg_date", OrderDirection.DESC);
-        Pageable pageable = new Pageable(pagingCriteria.getPage(), pagingCriteria.getSize(), List.of(regOrder));
-        return boardRepository.findQnaBoardItems(pageable, boardCriteria);
+        resolveSearchCandidates(boardCriteria);
+        return boardRepository.findQnaBoardItems(createRegDatePageable(pagingCriteria), boardCriteria);
     }
 
     /**
      * 검색 조건에 해당하는 CommonBoardItem 조회
      * 조회수(hit) 내림차, 생성 날짜(reg_date) 내림차 순 정렬로 페이징 처리
+     * 조회수는 계속 변하는 정렬 키이므로 커서 페이징을 지원하지 않음 (after 무시)
      *
      * @param pagingCriteria 페이징 조건
      * @param boardCriteria  필터링 조건
@@ -203,6 +228,7 @@ public class BoardService {
         Pageable.Order hitOrder = new Pageable.Order("hit", OrderDirection.DESC);
         Pageable.Order regOrder = new Pageable.Order("reg_date", OrderDirection.DESC);
         Pageable pageable = new Pageable(pagingCriteria.getPage(), pagingCriteria.getSize(), List.of(hitOrder, regOrder));
+        resolveSearchCandidates(boardCriteria);
         return boardRepository.findCommonBoardItems(pageable, boardCriteria);
     }
 
@@ -213,16 +239,57 @@ public class BoardService {
      * @return 게시글 수
      */
     public int findPostsCount(BoardCriteria boardCriteria) {
+        resolveSearchCandidates(boardCriteria);
         return boardRepository.findPostsCount(boardCriteria);
     }
 
     /**
      * reader가 작성자가 아닌 게시글에 대하여 조회수 1 증가
+     * 조회수는 메모리에 누적되어 주기적으로 DB 에 반영되며, 조회한 게시글 상세에도 즉시 반영
      *
-     * @param id 게시글 id
+     * @param boardDetail    조회한 게시글 상세
+     * @param readerUsername 조회한 사용자 username (비회원은 null)
      */
-    public void hitUp(int id, Integer readerId) {
-        boardRepository.hitUp(id, readerId);
+    public void hitUp(BoardDetail boardDetail, String readerUsername) {
+        if (readerUsername != null && readerUsername.equals(boardDetail.getMember().getUsername())) {
+            return;
+        }
+        hitCountService.increment(boardDetail.getId());
+        boardDetail.addHit(1);
+    }
+
+    /**
+     * 검색어가 있다면 검색 색인으로 후보 게시글 id 를 찾아 필터링 조건에 설정
+     * 색인으로 검색할 수 없다면 후보를 제한하지 않음 (LIKE 검색)
+     * 목록 조회에서 찾은 후보는 같은 조건의 개수 조회(findPostsCount)에서 재사용
+     *
+     * @param boardCriteria 필터링 조건
+     */
+    private void resolveSearchCandidates(BoardCriteria boardCriteria) {
+        String searchWord = boardCriteria.getSearchWord();
+        if (searchWord == null || searchWord.isEmpty() || boardCriteria.isCandidatesResolved()) {
+            return;
+        }
+        boardCriteria.setPostIds(postSearchService.findCandidateIds(searchWord).orElse(null));
+    }
+
+    /**
+     * 생성 날짜 내림차 순 목록의 페이징 조건 생성
+     * after(커서)가 있으면 키셋 페이징, 없으면 page 기반 offset 페이징
+     * 정렬 키가 같은 게시글의 순서를 고정하기 위해 id 를 보조 정렬 키로 사용
+     *
+     * @param pagingCriteria 페이징 조건
+     * @return Pageable
+     * @throws BizException 유효하지 않은 커서인 경우 발생
+     */
+    private Pageable createRegDatePageable(PagingCriteria pagingCriteria) {
+        List<Pageable.Order> orders = List.of(
+                new Pageable.Order("reg_date", OrderDirection.DESC),
+                new Pageable.Order("b.id", OrderDirection.DESC));
+        if (pagingCriteria.hasCursor()) {
+            return new Pageable(PostCursor.decode(pagingCriteria.getAfter()), pagingCriteria.getSize(), orders);
+        }
+        return new Pageable(pagingCriteria.getPage(), pagingCriteria.getSize(), orders);
     }
 
     /**
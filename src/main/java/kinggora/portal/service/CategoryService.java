@@ -1,7 +1,6 @@
 package kinggora.portal.service;
 
 import kinggora.portal.domain.Category;
-import kinggora.portal.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -9,12 +8,13 @@ import java.util.List;
 
 /**
  * 카테고리 서비스
+ * 카테고리는 ReferenceDataCache 의 스냅샷에서 조회
  */
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
 
-    private final CategoryRepository categoryRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * 게시판 별 카테고리 조회
@@ -23,7 +23,7 @@ public class CategoryService {
      * @return 카테고리 정보
      */
     public List<Category> findCategories(Integer id) {
-        return categoryRepository.findByBoardId(id);
+        return referenceDataCache.findCategories(id);
     }
 
     /**
@@ -34,6 +34,6 @@ public class CategoryService {
      * @return 존재 여부
      */
     public boolean isCategoryOf(int categoryId, int boardId) {
-        return categoryRepository.isCategoryOf(categoryId, boardId);
+        return referenceDataCache.isCategoryOf(categoryId, boardId);
     }
 }
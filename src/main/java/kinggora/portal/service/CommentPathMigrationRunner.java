@@ -0,0 +1,53 @@
+package kinggora.portal.service;
+
+import kinggora.portal.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 댓글 경로(path) 전체 변환
+ * comment.path.migrate-on-startup=true 이면 시작 시 경로가 없는 모든 댓글 그룹을 그룹 단위 트랜잭션으로 변환
+ * 기존 데이터는 V13 마이그레이션이 변환하므로, 배포 중 이전 버전 인스턴스가 등록한 댓글을 다시 변환할 때 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentPathMigrationRunner implements ApplicationRunner {
+
+    private final CommentRepository commentRepository;
+    private final CommentPathMigrator commentPathMigrator;
+    @Value("${comment.path.migrate-on-startup}")
+    private boolean MIGRATE_ON_STARTUP;
+    @Value("${comment.path.migrate-batch-size}")
+    private int BATCH_SIZE;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!MIGRATE_ON_STARTUP) {
+            return;
+        }
+        int migrated = 0;
+        int failed = 0;
+        int afterRef = 0;
+        List<Integer> refs;
+        while (!(refs = commentRepository.findRefsWithoutPath(afterRef, BATCH_SIZE)).isEmpty()) {
+            for (int ref : refs) {
+                try {
+                    commentPathMigrator.migrate(ref);
+                    migrated++;
+                } catch (RuntimeException e) {
+                    log.error("fail CommentPathMigrationRunner.run, ref={}", ref, e);
+                    failed++;
+                }
+            }
+            afterRef = refs.get(refs.size() - 1);
+        }
+        log.info("CommentPathMigrationRunner.run, migrated refs={}, failed refs={}", migrated, failed);
+    }
+}
@@ -0,0 +1,67 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.Comment;
+import kinggora.portal.domain.CommentPath;
+import kinggora.portal.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 댓글 경로(path) 변환 도구
+ * ref_order 로 정렬되던 기존 댓글 그룹을 materialized path 로 변환
+ * <p>
+ * 1. ref_order 순서(깊이 우선)로 댓글 그룹을 읽음
+ * 2. 부모 경로 + 부모 안에서의 순번으로 경로 생성 (ref_order 순서 = 형제 순서)
+ * 3. 한 번의 UPDATE 로 그룹 전체 경로 갱신
+ * <p>
+ * 기존 데이터 전체 변환은 V13 마이그레이션(같은 규칙의 SQL)과 CommentPathMigrationRunner 가 수행하며,
+ * 변환되지 않은 그룹에 답글이 등록/삭제되면 댓글 행을 잠그기 전에 해당 그룹만 변환 (CommentService.saveChildComment, deleteComment)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentPathMigrator {
+
+    private final CommentRepository commentRepository;
+
+    /**
+     * 댓글 그룹 경로 변환
+     * 그룹의 댓글 행을 ref_order 순서로 잠근 뒤, 경로가 없는 댓글이 남아 있을 때만 변환
+     * 동시에 호출되면 나중 호출은 락을 기다린 뒤 이미 변환된 그룹을 건너뜀
+     * 호출자는 같은 그룹의 댓글 행 락을 잡기 전에 호출해야 함 (락 순서가 달라 교착 발생)
+     *
+     * @param ref 댓글 그룹
+     * @return 그룹의 댓글 id 별 경로 (잠금 조회 기준의 최신 값)
+     */
+    @Transactional
+    public Map<Integer, String> migrate(int ref) {
+        List<Comment> thread = commentRepository.findThreadByRefOrder(ref);
+        if (thread.stream().allMatch(comment -> comment.getPath() != null)) {
+            return thread.stream().collect(Collectors.toMap(Comment::getId, Comment::getPath));
+        }
+        Map<Integer, String> paths = new HashMap<>();
+        Map<Integer, Integer> childCounts = new HashMap<>();
+        for (Comment comment : thread) {
+            if (comment.getParent() == null) {
+                paths.put(comment.getId(), CommentPath.ROOT);
+                continue;
+            }
+            String parentPath = paths.get(comment.getParent());
+            if (parentPath == null) {
+                log.error("fail CommentPathMigrator.migrate, parent not found before child, ref={}, id={}", ref, comment.getId());
+                throw new IllegalStateException("invalid ref_order, ref=" + ref);
+            }
+            int order = childCounts.merge(comment.getParent(), 1, Integer::sum);
+            paths.put(comment.getId(), CommentPath.child(parentPath, order));
+        }
+        commentRepository.updatePaths(paths);
+        return paths;
+    }
+}
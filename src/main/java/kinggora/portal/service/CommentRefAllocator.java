@@ -0,0 +1,68 @@
+package kinggora.portal.service;
+
+import kinggora.portal.repository.SequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 댓글 그룹(ref) 발급기
+ * sequence 테이블에서 ref 구간을 예약(block-size 단위)하고, 구간 안의 값은 메모리에서 원자적으로 발급
+ * 구간 예약은 행 락으로 직렬화되므로 여러 서버에서 동시에 발급해도 ref 가 중복되지 않음
+ * <p>
+ * 서버마다 다른 구간을 사용하므로 서버가 여럿이면 ref 순서와 등록 순서가 어긋날 수 있음
+ * (등록 순서를 엄격히 지켜야 한다면 block-size=1)
+ * 서버가 종료되면 사용하지 않은 구간은 버려짐
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentRefAllocator {
+
+    private static final String SEQUENCE_NAME = "comment_ref";
+
+    private final SequenceRepository sequenceRepository;
+    @Value("${comment.ref.block-size}")
+    private int BLOCK_SIZE;
+
+    private volatile Block block = new Block(0, 0);
+
+    /**
+     * 새 댓글 그룹(ref) 발급
+     * 현재 구간을 모두 사용한 경우에만 DB 에서 다음 구간 예약
+     *
+     * @return ref
+     */
+    public int next() {
+        while (true) {
+            Block current = block;
+            long ref = current.next.getAndIncrement();
+            if (ref < current.end) {
+                return Math.toIntExact(ref);
+            }
+            synchronized (this) {
+                if (block == current) {
+                    long start = sequenceRepository.reserve(SEQUENCE_NAME, BLOCK_SIZE);
+                    block = new Block(start, start + BLOCK_SIZE);
+                    log.debug("CommentRefAllocator.next, reserved [{}, {})", start, start + BLOCK_SIZE);
+                }
+            }
+        }
+    }
+
+    /**
+     * 예약한 ref 구간 [next, end)
+     */
+    private static class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package kinggora.portal.service;
 
 import kinggora.portal.domain.Comment;
+import kinggora.portal.domain.CommentCursor;
+import kinggora.portal.domain.CommentPath;
 import kinggora.portal.domain.Pageable;
 import kinggora.portal.exception.BizException;
 import kinggora.portal.exception.ErrorCode;
@@ -10,59 +12,77 @@ import kinggora.portal.model.data.request.PagingCriteria;
 import kinggora.portal.model.data.response.MyComment;
 import kinggora.portal.model.data.response.PostComment;
 import kinggora.portal.repository.CommentRepository;
+import kinggora.portal.repository.PostSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 댓글 서비스
  * 댓글 등록, 수정, 삭제 등 댓글 관련 서비스
  * properties 파일로부터 댓글 최대 깊이 설정 초기화
+ * 댓글 등록/삭제 시 게시글의 comment_count 요약 컬럼을 같은 트랜잭션에서 갱신
  */
 @Service
 @RequiredArgsConstructor
 public class CommentService {
 
     private final CommentRepository commentRepository;
+    private final PostSummaryRepository postSummaryRepository;
+    private final CommentRefAllocator commentRefAllocator;
+    private final CommentPathMigrator commentPathMigrator;
     @Value("${comment.maximum-depth}")
     private int MAXIMUM_DEPTH;
 
     /**
      * 댓글 저장 (RootComment)
-     * ref : 기존에 존재하는 ref의 최댓값 + 1
+     * ref : CommentRefAllocator 가 발급한 새 댓글 그룹
      *
      * @param postId   게시글 id
      * @param memberId 작성자 id
      * @param dto      사용자 입력 데이터
      * @return 댓글 id
      */
+    @Transactional
     public int saveRootComment(int postId, int memberId, CommentDto dto) {
-        int ref = commentRepository.getMaxRef() + 1;
+        int ref = commentRefAllocator.next();
         Comment comment = dto.toRootComment(postId, memberId, ref);
-        return commentRepository.save(comment);
+        int id = commentRepository.save(comment);
+        postSummaryRepository.increaseCommentCount(postId, 1);
+        return id;
     }
 
     /**
      * 댓글 저장 (ChildComment)
      * 부모가 이미 삭제(숨김)된 댓글이거나 maximum depth 이면 예외 발생
      * 부모 댓글 기반으로 도메인 생성
+     * 부모 댓글 행을 잠가 같은 부모에 대한 답글 등록을 직렬화하고, 경로(path)는 형제 순번 최댓값 + 1 로 한 번의 INSERT 에서 생성
+     * 경로가 없는 그룹은 부모 행을 잠그기 전에 그룹 전체를 ref_order 순서로 잠가 변환 (부모 락을 먼저 잡으면 같은 그룹의 다른 답글 등록과 교착)
      *
      * @param parentId 부모 id
      * @param memberId 작성자 id
      * @param dto      사용자 입력 데이터
      * @return 댓글 id
      */
+    @Transactional
     public int saveChildComment(int parentId, int memberId, CommentDto dto) {
         Comment parent = findCommentById(parentId);
+        if (parent.getPath() == null) {
+            commentPathMigrator.migrate(parent.getRef());
+        }
+        parent = findCommentForUpdate(parentId);
         if (parent.getDepth() == MAXIMUM_DEPTH) {
             throw new BizException(ErrorCode.OVER_MAXIMUM_COMMENT_DEPTH);
         }
-        int refOrder = findRefOrder(parent);
-        Comment comment = dto.toChildComment(memberId, refOrder, parent);
-        return commentRepository.save(comment);
+        Comment comment = dto.toChildComment(memberId, parent);
+        int id = commentRepository.saveChild(comment, parent.getPath());
+        postSummaryRepository.increaseCommentCount(parent.getPostId(), 1);
+        return id;
     }
 
     /**
@@ -81,6 +101,22 @@ public class CommentService {
         return comment;
     }
 
+    /**
+     * 댓글 단건 조회 + 행 락
+     *
+     * @param id 댓글 id
+     * @return 조회한 댓글
+     * @throws BizException 댓글이 존재하지 않거나 이미 삭제된 댓글일 경우 발생
+     */
+    private Comment findCommentForUpdate(int id) {
+        Comment comment = commentRepository.findByIdForUpdate(id).orElseThrow(
+                () -> new BizException(ErrorCode.COMMENT_NOT_FOUND));
+        if (comment.isDeleted()) {
+            throw new BizException(ErrorCode.ALREADY_DELETED_COMMENT);
+        }
+        return comment;
+    }
+
     /**
      * 댓글 수정
      *
@@ -105,13 +141,17 @@ public class CommentService {
 
     /**
      * PostComment 목록 조회
+     * after(커서)가 있으면 (ref, path) 이후의 댓글을 조회하는 키셋 페이징
      *
      * @param pagingCriteria  페이징 조건
      * @param commentCriteria 검색 조건
      * @return PostComment 리스트
+     * @throws BizException 유효하지 않은 커서인 경우 발생
      */
     public List<PostComment> findPostComments(PagingCriteria pagingCriteria, CommentCriteria commentCriteria) {
-        Pageable pageable = new Pageable(pagingCriteria.getPage(), pagingCriteria.getSize());
+        Pageable pageable = pagingCriteria.hasCursor()
+                ? new Pageable(CommentCursor.decode(pagingCriteria.getAfter()), pagingCriteria.getSize())
+                : new Pageable(pagingCriteria.getPage(), pagingCriteria.getSize());
         return commentRepository.findPostComments(pageable, commentCriteria);
     }
 
@@ -127,58 +167,53 @@ public class CommentService {
 
     /**
      * 댓글 삭제
-     * 삭제 대상이 자식이 있으면 숨김 처리, 없으면 조상에서 함께 삭제할 댓글 탐색
+     * 삭제 대상이 자식이 있으면 숨김 처리, 없으면 함께 삭제할 조상 댓글을 찾아 한 번에 삭제
+     * 실제로 삭제된 댓글 수만큼 게시글의 comment_count 감소 (숨김 처리는 댓글 수에 포함)
+     * <p>
+     * 1. 조상 경로 목록으로 루트부터 삭제 대상까지 한 번에 조회하며 얕은 댓글부터 행 락
+     * 2. 조상과 삭제 대상의 자식 수를 한 번에 조회
+     * 3. 삭제 대상부터 위로 올라가며, 다음 조건을 모두 만족하는 가장 높은 조상을 찾음
+     * - ancestor.deleted == true (숨김 처리됨)
+     * - count(ancestor.children) == 1 (자식이 함께 삭제될 댓글 뿐)
+     * 4. 찾은 조상의 경로로 시작하는 댓글을 한 번의 DELETE 로 삭제
+     * <p>
+     * 같은 댓글 그룹의 삭제/답글 등록은 조상 행 락으로 직렬화되므로,
+     * 형제 댓글이 동시에 삭제되어도 나중에 실행된 삭제가 고아가 된 숨김 조상을 함께 삭제
+     * 경로가 없는 그룹은 조상 행을 잠그기 전에 변환 (saveChildComment 와 같은 락 순서)
      *
      * @param comment 삭제할 댓글
+     * @throws BizException 삭제할 댓글이 존재하지 않는 경우 발생
      */
+    @Transactional
     public void deleteComment(Comment comment) {
-        if (commentRepository.hasChild(comment.getId())) {
+        String path = comment.getPath();
+        if (path == null) {
+            path = commentPathMigrator.migrate(comment.getRef()).get(comment.getId());
+            if (path == null) {
+                throw new BizException(ErrorCode.COMMENT_NOT_FOUND);
+            }
+        }
+        List<Comment> lineage = commentRepository.findLineageForUpdate(comment.getRef(), CommentPath.lineage(path));
+        if (lineage.isEmpty() || !lineage.get(lineage.size() - 1).getId().equals(comment.getId())) {
+            throw new BizException(ErrorCode.COMMENT_NOT_FOUND);
+        }
+        Map<Integer, Integer> childCounts = commentRepository.countChildren(
+                lineage.stream().map(Comment::getId).collect(Collectors.toList()));
+        if (childCounts.containsKey(comment.getId())) {
             commentRepository.hideById(comment.getId());
-        } else {
-            deleteAncestorComment(comment);
+            return;
         }
-    }
-
-    /**
-     * 실제 삭제 수행
-     * 삭제할 댓글을 파라미터로 재귀 호출
-     * 삭제 대상의 부모가 존재하지 않거나 아래 조건을 만족하지 않는다면 comment 만 삭제
-     * 부모가 다음 조건을 모두 만족 시 함께 삭제
-     * 1. parent.deleted == true (숨김 처리됨)
-     * 2. count(parent.children) == 1 (자식이 삭제하려는 댓글 뿐)
-     *
-     * @param comment 조상까지 삭제할 수 있는지 탐색하고자 하는 대상
-     */
-    private void deleteAncestorComment(Comment comment) {
-        if (comment.getParent() != null) {
-            Optional<Comment> optionalParent = commentRepository.findById(comment.getParent());
-            if (optionalParent.isPresent()) {
-                Comment parent = optionalParent.get();
-                if (parent.isDeleted() && commentRepository.getChildCount(parent.getId()) == 1) {
-                    deleteAncestorComment(parent);
-                }
+        Comment top = lineage.get(lineage.size() - 1);
+        for (int i = lineage.size() - 2; i >= 0; i--) {
+            Comment ancestor = lineage.get(i);
+            if (!ancestor.getId().equals(top.getParent())
+                    || !ancestor.isDeleted()
+                    || childCounts.getOrDefault(ancestor.getId(), 0) != 1) {
+                break;
             }
+            top = ancestor;
         }
-        commentRepository.deleteById(comment.getId());
-    }
-
-    /**
-     * 부모가 존재하는 댓글의 순서(refOrder) 찾기
-     * 부모 댓글 이후로
-     * 부모의 depth 이하 댓글이 존재하지 않으면, refOrder = refOrder 최댓값 + 1 (ref 내 마지막 위치)
-     * 존재하면, refOrder = 부모의 depth 이하 댓글이 등장하는 첫 번째 위치 + refOrder 재배열
-     *
-     * @param parent 부모 댓글
-     * @return 자식 댓글의 refOrder
-     */
-    private int findRefOrder(Comment parent) {
-        int refOrder;
-        if (commentRepository.isOnlyMinimumDepth(parent)) {
-            refOrder = commentRepository.getMaxRefOrder(parent.getRef()) + 1;
-        } else {
-            refOrder = commentRepository.findRefOrderOfChild(parent);
-            commentRepository.refOrderUp(parent.getRef(), refOrder);
-        }
-        return refOrder;
+        int deleted = commentRepository.deleteSubtree(top.getRef(), top.getPath());
+        postSummaryRepository.increaseCommentCount(comment.getPostId(), -deleted);
     }
 }
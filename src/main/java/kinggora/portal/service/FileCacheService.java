@@ -0,0 +1,188 @@
+package kinggora.portal.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.exception.BizException;
+import kinggora.portal.util.FileStore;
+import kinggora.portal.util.cache.LocalFileCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * 첨부 파일 로컬 디스크 캐시 서비스
+ * 스토리지(FileStore)에서 받은 파일을 로컬 디스크(LocalFileCache)에 두고, 같은 파일의 다운로드는 로컬 파일로 응답
+ * <p>
+ * 1. 캐시 적재에 실패하면 empty 를 반환하여 호출한 쪽이 스토리지에서 바로 응답하도록 함
+ * 2. 파일 크기가 file.cache.maximum-file-size 보다 크면 캐시하지 않음
+ * 3. 캐시에서 제거된 뒤 삭제를 미룬 파일은 file.cache.purge-interval 마다 삭제 (요청이 없는 동안에도 디스크 회수)
+ * <p>
+ * 지표: file.cache.requests{result=hit|miss}, file.cache.evictions, file.cache.evicted.bytes,
+ * file.cache.served.bytes, file.cache.size (byte), file.cache.retired.size (byte), file.cache.files
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileCacheService {
+
+    private final FileStore fileStore;
+    private final MeterRegistry meterRegistry;
+    @Value("${file.cache.enabled}")
+    private boolean ENABLED;
+    @Value("${file.cache.directory}")
+    private String DIRECTORY;
+    @Value("${file.cache.maximum-size}")
+    private long MAXIMUM_SIZE;
+    @Value("${file.cache.maximum-file-size}")
+    private long MAXIMUM_FILE_SIZE;
+
+    private LocalFileCache cache;
+    private Counter servedBytes;
+
+    /**
+     * 캐시 디렉토리 복구 및 지표 등록
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (!ENABLED) {
+            return;
+        }
+        Counter hit = requests("hit");
+        Counter miss = requests("miss");
+        Counter evictions = meterRegistry.counter("file.cache.evictions");
+        Counter evictedBytes = meterRegistry.counter("file.cache.evicted.bytes");
+        servedBytes = meterRegistry.counter("file.cache.served.bytes");
+        cache = new LocalFileCache(Paths.get(DIRECTORY), MAXIMUM_SIZE, new LocalFileCache.Listener() {
+            @Override
+            public void onHit() {
+                hit.increment();
+            }
+
+            @Override
+            public void onMiss() {
+                miss.increment();
+            }
+
+            @Override
+            public void onEviction(long bytes) {
+                evictions.increment();
+                evictedBytes.increment(bytes);
+            }
+        });
+        Gauge.builder("file.cache.size", cache, LocalFileCache::size).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("file.cache.retired.size", cache, LocalFileCache::retiredSize).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("file.cache.files", cache, LocalFileCache::count).register(meterRegistry);
+        log.info("FileCacheService.init, directory={}, files={}, size={}", DIRECTORY, cache.count(), cache.size());
+    }
+
+    /**
+     * 캐시된 파일 열기, 캐시에 없으면 스토리지에서 받아와 캐시
+     * 같은 파일을 동시에 요청하면 스토리지 요청은 한 번만 수행
+     *
+     * @param file 파일 메타 데이터
+     * @return 캐시된 파일 (호출한 쪽에서 닫아야 함), 캐시를 사용할 수 없으면 empty
+     */
+    public Optional<LocalFileCache.Lease> open(UploadFile file) {
+        if (file.getSize() > MAXIMUM_FILE_SIZE) {
+            return Optional.empty();
+        }
+        String storeName = file.getStoreName();
+        Optional<LocalFileCache.Lease> lease = open(storeName, () -> fileStore.openObject(storeName));
+        if (lease.isPresent() && lease.get().size() != file.getSize()) {
+            log.warn("FileCacheService.open, size mismatch storeName={}, metadata={}, cached={}", storeName, file.getSize(), lease.get().size());
+            close(lease.get());
+            return Optional.empty();
+        }
+        return lease;
+    }
+
+    /**
+     * 캐시된 파일 열기, 캐시에 없으면 loader 로 받아와 캐시 (메타 데이터가 없는 파생 파일용)
+     * 같은 파일을 동시에 요청하면 loader 는 한 번만 호출
+     *
+     * @param storeName 저장 파일명 (캐시 key)
+     * @param loader    캐시에 없을 때 파일을 읽어오는 함수
+     * @return 캐시된 파일 (호출한 쪽에서 닫아야 함), 캐시를 사용할 수 없으면 empty
+     */
+    public Optional<LocalFileCache.Lease> open(String storeName, LocalFileCache.Loader loader) {
+        if (cache == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(cache.get(storeName, loader));
+        } catch (IOException | BizException e) {
+            log.warn("fail FileCacheService.open, storeName={}", storeName, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 캐시된 파일의 [position, position + count) 구간을 target 에 기록
+     *
+     * @return 기록한 byte 수
+     * @throws IOException target 기록 실패 시 발생
+     */
+    public long transfer(LocalFileCache.Lease lease, long position, long count, WritableByteChannel target) throws IOException {
+        long transferred = 0;
+        try {
+            transferred = lease.transferTo(position, count, target);
+        } finally {
+            servedBytes.increment(transferred);
+        }
+        return transferred;
+    }
+
+    /**
+     * 서블릿 컨테이너의 sendfile 로 넘긴 구간을 전송 지표에 기록
+     *
+     * @param count 넘긴 byte 수
+     */
+    public void countSendfile(long count) {
+        servedBytes.increment(count);
+    }
+
+    /**
+     * 캐시에서 파일 제거 (스토리지에서 삭제한 파일)
+     *
+     * @param storeName 저장 파일명
+     */
+    public void invalidate(String storeName) {
+        if (cache != null) {
+            cache.invalidate(storeName);
+        }
+    }
+
+    /**
+     * 삭제를 미룬 데이터 파일 중 사용이 끝난 파일 삭제
+     */
+    @Scheduled(fixedDelayString = "${file.cache.purge-interval}")
+    public void purgeRetired() {
+        if (cache != null) {
+            cache.purgeRetired();
+        }
+    }
+
+    private Counter requests(String result) {
+        return Counter.builder("file.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void close(LocalFileCache.Lease lease) {
+        try {
+            lease.close();
+        } catch (IOException e) {
+            log.debug("FileCacheService.close, cause={}", e.toString());
+        }
+    }
+}
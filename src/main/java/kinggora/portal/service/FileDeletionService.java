@@ -0,0 +1,142 @@
+package kinggora.portal.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kinggora.portal.domain.FileDeletion;
+import kinggora.portal.repository.FileDeletionRepository;
+import kinggora.portal.util.FileStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스토리지 파일 삭제 작업
+ * 파일 삭제 요청은 메타 데이터 삭제와 같은 트랜잭션에서 삭제 outbox(file_deletion)에 기록만 하고,
+ * 이 작업이 주기적으로 outbox 를 비우며 스토리지에서 삭제
+ * <p>
+ * 1. 처리할 시각이 된 작업을 batch-size 개씩 할당 (여러 서버가 동시에 실행해도 같은 작업을 할당하지 않음)
+ * 2. FileStore.deleteFiles 로 한 번에 삭제 (S3 는 multi-object delete, 요청당 최대 1,000개)
+ * 3. 삭제한 작업은 outbox 에서 제거, 실패한 작업은 지수 backoff(retry-backoff ~ max-backoff) 후 재시도
+ * <p>
+ * 실패한 작업은 버리지 않으며, 시도 횟수가 alert-attempts 이상이면 error 로그
+ * 지표: file.deletion.deleted, file.deletion.failed, file.deletion.batch (timer), file.deletion.pending
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileDeletionService {
+
+    private final FileDeletionRepository fileDeletionRepository;
+    private final FileStore fileStore;
+    private final MeterRegistry meterRegistry;
+    @Value("${file.deletion.batch-size}")
+    private int BATCH_SIZE;
+    @Value("${file.deletion.lease-timeout}")
+    private long LEASE_TIMEOUT;
+    @Value("${file.deletion.retry-backoff}")
+    private long RETRY_BACKOFF;
+    @Value("${file.deletion.max-backoff}")
+    private long MAX_BACKOFF;
+    @Value("${file.deletion.alert-attempts}")
+    private int ALERT_ATTEMPTS;
+
+    private final AtomicLong pending = new AtomicLong();
+    private Counter deleted;
+    private Counter failed;
+    private Timer batchTimer;
+
+    /**
+     * 지표 등록
+     */
+    @PostConstruct
+    public void init() {
+        deleted = meterRegistry.counter("file.deletion.deleted");
+        failed = meterRegistry.counter("file.deletion.failed");
+        batchTimer = meterRegistry.timer("file.deletion.batch");
+        Gauge.builder("file.deletion.pending", pending, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * 삭제 outbox 비우기
+     * 할당한 작업이 batch-size 보다 적을 때까지 반복
+     */
+    @Scheduled(fixedDelayString = "${file.deletion.poll-interval}")
+    public void drain() {
+        try {
+            List<FileDeletion> deletions;
+            do {
+                LocalDateTime now = LocalDateTime.now();
+                deletions = fileDeletionRepository.claim(now, now.plus(LEASE_TIMEOUT, ChronoUnit.MILLIS), BATCH_SIZE);
+                if (!deletions.isEmpty()) {
+                    List<FileDeletion> batch = deletions;
+                    batchTimer.record(() -> delete(batch));
+                }
+            } while (deletions.size() == BATCH_SIZE);
+            pending.set(fileDeletionRepository.count());
+        } catch (Exception e) {
+            log.error("fail FileDeletionService.drain", e);
+        }
+    }
+
+    /**
+     * 할당한 작업의 파일 삭제 및 결과 기록
+     *
+     * @param deletions 할당한 작업
+     */
+    void delete(List<FileDeletion> deletions) {
+        Set<String> storeNames = new LinkedHashSet<>();
+        deletions.forEach(deletion -> storeNames.add(deletion.getStoreName()));
+        Map<String, String> errors = fileStore.deleteFiles(new ArrayList<>(storeNames));
+
+        List<Long> completed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (FileDeletion deletion : deletions) {
+            String error = errors.get(deletion.getStoreName());
+            if (error == null) {
+                completed.add(deletion.getId());
+                continue;
+            }
+            int attempts = deletion.getAttempts() + 1;
+            fileDeletionRepository.reschedule(deletion.getId(), now.plus(backoff(attempts), ChronoUnit.MILLIS), abbreviate(error));
+            if (attempts >= ALERT_ATTEMPTS) {
+                log.error("FileDeletionService.delete, storeName={}, attempts={}, error={}", deletion.getStoreName(), attempts, error);
+            }
+        }
+        fileDeletionRepository.complete(completed);
+        deleted.increment(completed.size());
+        failed.increment(deletions.size() - completed.size());
+        log.debug("FileDeletionService.delete, deleted={}, failed={}", completed.size(), deletions.size() - completed.size());
+    }
+
+    /**
+     * 재시도 대기 시간 (retry-backoff * 2^(attempts - 1), 최대 max-backoff)
+     *
+     * @param attempts 시도 횟수 (1부터)
+     * @return 대기 시간 (ms)
+     */
+    long backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(MAX_BACKOFF, RETRY_BACKOFF << exponent);
+    }
+
+    private String abbreviate(String error) {
+        if (error == null || error.length() <= 500) {
+            return error;
+        }
+        return error.substring(0, 500);
+    }
+}
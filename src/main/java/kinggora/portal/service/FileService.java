@@ -6,58 +6,114 @@ import kinggora.portal.domain.type.FileType;
 import kinggora.portal.exception.BizException;
 import kinggora.portal.exception.ErrorCode;
 import kinggora.portal.model.data.request.FileDto;
+import kinggora.portal.repository.FileBlobRepository;
+import kinggora.portal.repository.FileDeletionRepository;
 import kinggora.portal.repository.FileRepository;
+import kinggora.portal.repository.PostSummaryRepository;
+import kinggora.portal.util.FileStore;
 import kinggora.portal.util.FileValidator;
-import kinggora.portal.util.S3FileStore;
 import kinggora.portal.util.ThumbnailUtil;
+import kinggora.portal.util.upload.UploadBatch;
+import kinggora.portal.util.upload.UploadContent;
+import kinggora.portal.util.upload.UploadReader;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 import org.thymeleaf.util.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class FileService {
 
     private final FileRepository fileRepository;
-    private final S3FileStore s3FileStore;
+    private final PostSummaryRepository postSummaryRepository;
+    private final FileStore fileStore;
     private final ThumbnailUtil thumbnailUtil;
     private final FileValidator fileValidator;
+    private final FileCacheService fileCacheService;
+    private final UploadReader uploadReader;
+    private final ThreadPoolTaskExecutor fileUploadExecutor;
+    private final ThumbnailService thumbnailService;
+    private final ImageVariantService imageVariantService;
+    private final FileDeletionRepository fileDeletionRepository;
+    private final FileBlobRepository fileBlobRepository;
+    @Value("${file.upload.timeout}")
+    private long UPLOAD_TIMEOUT;
 
     /**
      * 파일 업로드 및 메타데이터 저장
-     * 1. 유효하지 않은 파일 제거
-     * 2. 파일 업로드 -> 메타 데이터 생성
-     * 3. 메타 데이터 DB 저장
+     * 1. 파일마다 업로드 작업을 업로드 실행기(fileUploadExecutor)에서 병렬 실행 (uploadFile)
+     *    업로드 파일을 메모리에 담지 않고 스토리지로 전송하면서 SHA-256 계산
+     * 2. 모든 작업이 끝날 때까지 대기 (file.upload.timeout)
+     * 3. 저장 파일 등록 (registerBlobs, 같은 내용(SHA-256)의 저장 파일이 있으면 공유하고 업로드한 파일은 삭제)
+     * 4. 메타 데이터 저장, 커밋 후 썸네일 생성 작업 등록 (saveMetadata, 썸네일은 생성될 때까지 placeholder, 이미 생성된 썸네일은 공유)
+     * <p>
+     * 업로드가 하나라도 실패하거나 시간이 초과되면 남은 작업을 건너뛰고 이 요청에서 기록한 파일을 모두 삭제
+     * 트랜잭션이 롤백되어도 기록한 파일을 삭제
      *
      * @param postId 게시글 id
      * @param dto    파일 form 데이터 (첨부 파일, 이미지 파일)
+     * @throws BizException 업로드 실패, 시간 초과 시 발생
      */
+    @Transactional
     public void saveFiles(int postId, FileDto dto) {
         // Uploading file to storage
-        List<MultipartFile> attachment = dto.getAttachment();
-        attachment.removeIf(file -> !fileValidator.isValidAttachFile(file));
-        List<UploadFile> uploadAttachFiles = uploadAttachFiles(postId, attachment);
-
-        List<MultipartFile> content = dto.getContent();
-        content.removeIf(file -> !fileValidator.isValidImageFile(file));
-        List<UploadFile> uploadImageFiles = uploadImageFiles(postId, content);
-
-        List<UploadFile> result = Stream.concat(uploadAttachFiles.stream(), uploadImageFiles.stream())
-                .collect(Collectors.toList());
+        UploadBatch batch = new UploadBatch();
+        List<CompletableFuture<List<UploadFile>>> uploads = new ArrayList<>();
+        submitUploads(postId, dto.getAttachment(), FileType.ATTACHMENT, batch, uploads);
+        submitUploads(postId, dto.getContent(), FileType.CONTENT, batch, uploads);
+        List<UploadFile> uploaded = awaitUploads(batch, uploads);
+        deleteOnRollback(batch);
 
         // Saving metadata to database
+        saveMetadata(postId, registerBlobs(uploaded));
+    }
+
+    /**
+     * 스토리지에 기록을 마친 파일의 메타 데이터 저장
+     * 1. 본문 이미지의 썸네일 행 생성 (createThumbnails)
+     * 2. 메타 데이터 DB 저장 (한 번의 batch INSERT) + 게시글 파일 요약 컬럼 갱신
+     * 3. 커밋 후 썸네일 생성 작업 등록
+     * 직접 업로드(PresignedUploadService)를 완료한 파일도 이 메서드로 저장
+     *
+     * @param postId 게시글 id
+     * @param files  저장할 메타 데이터 (원본 파일)
+     */
+    @Transactional
+    public void saveMetadata(int postId, List<UploadFile> files) {
+        List<UploadFile> result = new ArrayList<>(files);
+        List<UploadFile> placeholders = new ArrayList<>();
+        result.addAll(createThumbnails(files, placeholders));
         if (!result.isEmpty()) {
             fileRepository.saveFiles(result);
+            postSummaryRepository.refreshFileSummary(postId);
         }
+
+        // Generating thumbnails after commit
+        thumbnailService.generateAfterCommit(placeholders);
     }
 
     /**
@@ -76,6 +132,18 @@ public class FileService {
         return uploadFile;
     }
 
+    /**
+     * 인증 없이 저장 파일 URL 로 응답할 수 있는 파일인지 여부
+     * 본문 이미지(CONTENT), 썸네일(THUMBNAIL)과 본문 이미지의 변형 이미지만 공개하며,
+     * 첨부 파일(ATTACHMENT)은 게시판 권한을 확인하는 다운로드 API 로만 응답
+     *
+     * @param storeName 저장 파일명
+     * @return 공개 여부
+     */
+    public boolean isPublicFile(String storeName) {
+        return fileRepository.existsPublicFile(storeName, imageVariantService.variantSource(storeName).orElse(null));
+    }
+
     /**
      * 게시글 첨부 파일 조회
      *
@@ -88,149 +156,338 @@ public class FileService {
 
     /**
      * 파일 삭제
-     * 1. DB에서 메타 데이터 삭제
-     * 2. 스토리지에서 파일 삭제
-     * 삭제할 파일의 type이 CONTENT 인 경우 썸네일도 함께 삭제
+     * 1. DB에서 메타 데이터 삭제, 저장 파일 참조 수 감소
+     * 2. 참조가 남지 않은 저장 파일의 삭제 요청을 outbox 에 기록 (FileDeletionService 가 커밋 후 batch 삭제), 로컬 캐시에서 제거
+     * 3. 게시글 파일 요약 컬럼 갱신
+     * 삭제할 파일의 type이 CONTENT 인 경우 게시글의 썸네일 행도 함께 삭제
+     * 썸네일 파일명은 원본 저장 파일명으로부터 결정되므로 게시글 파일을 조회하지 않고 삭제
      *
      * @param id 파일 id
      */
+    @Transactional
     public void deleteFile(int id) {
         UploadFile file = findFileById(id);
         if (FileType.CONTENT.equals(file.getType())) {
-            Optional<UploadFile> thumbFile = findThumbFile(file);
-            if (thumbFile.isPresent()) {
-                fileRepository.deleteById(thumbFile.get().getId());
-                s3FileStore.deleteFile(thumbFile.get().getStoreName());
-            }
+            fileRepository.deleteThumbnail(thumbnailUtil.createStoreFileName(file.getStoreName()), file.getPostId());
         }
         // Deleting metadata from database
         fileRepository.deleteById(file.getId());
-        // Deleting file from storage
-        s3FileStore.deleteFile(file.getStoreName());
+        // Deleting file from storage (after commit)
+        List<String> storeNames = release(file);
+        fileDeletionRepository.enqueue(storeNames);
+        storeNames.forEach(fileCacheService::invalidate);
+        postSummaryRepository.refreshFileSummary(file.getPostId());
     }
 
     /**
      * 게시글 첨부 파일 삭제
      * 1. 게시글 id로 게시글에 첨부된 파일 모두 조회
-     * 2. 스토리지 파일 삭제
-     * 3. 파일 메타 데이터 삭제
+     * 2. 파일 메타 데이터 삭제 + 게시글 파일 요약 컬럼 갱신, 저장 파일 참조 수 감소
+     * 3. 참조가 남지 않은 저장 파일의 삭제 요청을 outbox 에 기록 (FileDeletionService 가 커밋 후 batch 삭제), 로컬 캐시에서 제거
      *
      * @param postId 게시글 id
      */
+    @Transactional
     public void deleteFilesByPostId(int postId) {
         List<UploadFile> files = fileRepository.findByPostId(postId);
         if (!files.isEmpty()) {
-            // Deleting file from storage
-            for (UploadFile file : files) {
-                s3FileStore.deleteFile(file.getStoreName());
-            }
             // Deleting metadata from database
             fileRepository.deleteByPostId(postId);
+            postSummaryRepository.refreshFileSummary(postId);
+            // Deleting file from storage (after commit)
+            Set<String> storeNames = new LinkedHashSet<>();
+            for (UploadFile file : files) {
+                storeNames.addAll(release(file));
+            }
+            fileDeletionRepository.enqueue(new ArrayList<>(storeNames));
+            storeNames.forEach(fileCacheService::invalidate);
         }
     }
 
     /**
-     * 파일을 byte array로 변환
+     * 파일의 [offset, offset + length) 구간 스트림 반환
+     * 파일 전체를 메모리에 올리지 않고 스토리지에서 읽는 대로 전송하기 위해 사용
      *
-     * @param fileName 변환할 파일명
-     * @return byte array
+     * @param file   파일 메타 데이터
+     * @param offset 시작 위치
+     * @param length 길이
+     * @return 파일 구간 스트림 (호출한 쪽에서 닫아야 함)
      */
-    public byte[] loadAsBytes(String fileName) {
-        return s3FileStore.loadAsBytes(fileName);
+    public InputStream openStream(UploadFile file, long offset, long length) {
+        return fileStore.openStream(file.getStoreName(), offset, length);
     }
 
     /**
-     * 원본 파일에 대한 썸네일 파일 찾기
-     * sourceFile 이 첨부된 게시글의 첨부 파일 리스트 조회
-     * thumbFile.origName == sourceFile.storeName
+     * 파일 업로드 작업 등록
+     * 작업이 실패하면 즉시 묶음을 실패로 표시하고 기록한 파일을 삭제 (남은 작업은 기록 전에 건너뜀)
      *
-     * @param sourceFile 썸네일의 원본 파일
-     * @return sourceFile에 대한 썸네일 파일
+     * @param postId  게시글 id
+     * @param files   업로드할 파일
+     * @param type    파일 Type (ATTACHMENT, CONTENT)
+     * @param batch   요청의 업로드 묶음
+     * @param uploads 등록한 작업을 담을 리스트
      */
-    private Optional<UploadFile> findThumbFile(UploadFile sourceFile) {
-        List<UploadFile> files = findFilesByPostId(sourceFile.getPostId());
-        for (UploadFile file : files) {
-            if (FileType.THUMBNAIL.equals(file.getType()) && file.getOrigName().equals(sourceFile.getStoreName())) {
-                return Optional.of(file);
+    private void submitUploads(int postId, List<MultipartFile> files, FileType type, UploadBatch batch,
+                               List<CompletableFuture<List<UploadFile>>> uploads) {
+        if (!Collections.isEmpty(files)) {
+            for (MultipartFile file : files) {
+                CompletableFuture<List<UploadFile>> upload = uploadFile(file, postId, type, batch);
+                upload.whenComplete((uploaded, e) -> {
+                    if (e != null) {
+                        deleteWritten(batch);
+                    }
+                });
+                uploads.add(upload);
             }
         }
-        return Optional.empty();
     }
 
     /**
-     * 첨부 파일 업로드 및 메타 데이터 생성
+     * 모든 업로드 작업 완료 대기
      *
-     * @param postId 게시글 id
-     * @param files  업로드할 파일
-     * @return 업로드 파일의 메타 데이터 리스트
+     * @return 업로드 한 파일의 메타 데이터
+     * @throws BizException 작업 실패, 시간 초과, 인터럽트 시 발생 (기록한 파일은 삭제)
      */
-    private List<UploadFile> uploadAttachFiles(int postId, List<MultipartFile> files) {
-        List<UploadFile> uploadFiles = new ArrayList<>();
-        if (!Collections.isEmpty(files)) {
-            for (MultipartFile file : files) {
-                UploadFile uploadFile = uploadFile(file, postId, FileType.ATTACHMENT);
-                if (uploadFile != null) {
-                    uploadFiles.add(uploadFile);
-                }
-            }
+    private List<UploadFile> awaitUploads(UploadBatch batch, List<CompletableFuture<List<UploadFile>>> uploads) {
+        try {
+            CompletableFuture.allOf(uploads.toArray(new CompletableFuture<?>[0])).get(UPLOAD_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            deleteWritten(batch);
+            Throwable cause = failureOf(uploads);
+            log.error("fail FileService.saveFiles, files={}", uploads.size(), cause);
+            throw cause instanceof BizException ? (BizException) cause : new BizException(ErrorCode.S3_ERROR);
+        } catch (TimeoutException e) {
+            deleteWritten(batch);
+            log.error("fail FileService.saveFiles, timeout files={}", uploads.size());
+            throw new BizException(ErrorCode.S3_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteWritten(batch);
+            throw new BizException(ErrorCode.S3_ERROR);
         }
-        return uploadFiles;
+        List<UploadFile> result = new ArrayList<>();
+        uploads.forEach(upload -> result.addAll(upload.join()));
+        return result;
     }
 
     /**
-     * 이미지 파일 업로드 요청 및 메타 데이터 생성
-     * 업로드 성공한 이미지 파일에 대한 썸네일 파일 생성 및 업로드
-     * 업로드 한 파일의 메타데이터 리스트 생성
+     * 실제 파일 업로드 및 메타 데이터 생성
+     * 업로드 파일은 한 번만 읽고(UploadReader), 앞부분(sniff-size)만 메모리에 보관
+     * 1. 내용을 읽지 않는 검사 (null, 빈 파일, 파일명)
+     * 2. 앞부분으로 MIME Type 판별 및 검증 (이미지는 이미지 MIME Type 만 허용, ZIP 등 컨테이너는 업로드 파일에서 필요한 구간만 더 읽음)
+     * 3. 스토리지로 전송하면서 SHA-256 계산 (저장 파일명은 UUID, Content-Type 은 판별한 MIME Type)
+     *    같은 내용의 저장 파일이 있으면 저장 파일 등록 시 그 저장 파일을 사용하고 업로드한 파일은 삭제 (registerBlobs)
+     * 유효하지 않은 파일은 건너뜀 (빈 리스트)
      *
+     * @param file   파일 폼 데이터
      * @param postId 게시글 id
-     * @param files  업로드 할 파일
-     * @return 이미지 파일의 메타 데이터 리스트
+     * @param type   파일 Type
+     * @param batch  요청의 업로드 묶음
+     * @return 업로드 한 파일의 메타 데이터, 업로드 실패 시 BizException 으로 완료
      */
-    private List<UploadFile> uploadImageFiles(int postId, List<MultipartFile> files) {
-        List<UploadFile> uploadFiles = new ArrayList<>();
-        if (!Collections.isEmpty(files)) {
-            for (MultipartFile file : files) {
-                UploadFile imageFile = uploadFile(file, postId, FileType.CONTENT);
-                if (imageFile != null) {
-                    uploadFiles.add(imageFile);
-                    UploadFile thumbFile = thumbnailUtil.uploadThumbFile(file, imageFile);
-                    uploadFiles.add(thumbFile);
-                }
-            }
+    private CompletableFuture<List<UploadFile>> uploadFile(MultipartFile file, int postId, FileType type, UploadBatch batch) {
+        if (!fileValidator.isValidFile(file)) {
+            return CompletableFuture.completedFuture(List.of());
         }
-        return uploadFiles;
+        return CompletableFuture.supplyAsync(() -> {
+            PreparedUpload prepared = prepare(file, postId, type, batch);
+            if (prepared == null) {
+                return List.<UploadFile>of();
+            }
+            try {
+                return List.of(storeSource(prepared, batch));
+            } finally {
+                prepared.content.close();
+            }
+        }, fileUploadExecutor);
     }
 
     /**
-     * 실제 파일 업로드 및 메타 데이터 생성
-     * MultipartFile의 OriginalFilename로 유효한 파일명 생성
-     * 파일 업로드 성공 시 업로드 한 파일의 메타 데이터(UploadFile) 생성
+     * 업로드 파일의 앞부분을 읽고 검증한 뒤 메타 데이터 생성
      *
-     * @param file   파일 폼 데이터
-     * @param postId 게시글 id
-     * @param type   파일 Type
-     * @return 업로드 파일의 메타 데이터
+     * @return 업로드 준비된 파일, 유효하지 않은 파일이면 null
+     * @throws CancellationException 이미 실패한 묶음인 경우 발생
      */
-    private UploadFile uploadFile(MultipartFile file, int postId, FileType type) {
-        String origFileName = fileValidator.getValidFileName(file.getOriginalFilename());
-        String extension = extracted(origFileName);
-        String storeName = createStoreFileName(extension);
-        if (!s3FileStore.uploadFile(file, storeName)) {
+    private PreparedUpload prepare(MultipartFile file, int postId, FileType type, UploadBatch batch) {
+        if (batch.isFailed()) {
+            throw new CancellationException();
+        }
+        UploadContent content;
+        try {
+            content = uploadReader.read(file);
+        } catch (IOException e) {
+            log.error("fail FileService.prepare, filename={}", file.getOriginalFilename(), e);
             return null;
         }
-        long size = file.getSize();
-        String url = getUrl(type, storeName);
-        return UploadFile.builder()
+        String mimeType = fileValidator.detectMIMEType(content.newHeaderStream(), content);
+        if (!fileValidator.isAllowedType(type, mimeType)) {
+            content.close();
+            return null;
+        }
+        String origFileName = fileValidator.getValidFileName(file.getOriginalFilename());
+        String extension = fileValidator.getExtension(origFileName);
+        String storeName = createStoreFileName(extension);
+        UploadFile metadata = UploadFile.builder()
                 .postId(postId)
                 .origName(origFileName)
-                .url(url)
+                .url(getUrl(type, storeName))
                 .storeName(storeName)
                 .ext(extension)
-                .size(size)
-                .url(url)
+                .size(content.getSize())
                 .type(type)
                 .regDate(LocalDateTime.now())
                 .build();
+        return new PreparedUpload(content, mimeType, metadata);
+    }
+
+    /**
+     * 원본 파일 업로드, 전송하면서 계산한 SHA-256 을 메타 데이터에 기록
+     *
+     * @throws BizException 업로드 실패 시 발생
+     * @throws CancellationException 이미 실패한 묶음인 경우 발생 (기록 후 실패를 확인하면 삭제)
+     */
+    private UploadFile storeSource(PreparedUpload prepared, UploadBatch batch) {
+        if (batch.isFailed()) {
+            throw new CancellationException();
+        }
+        UploadFile metadata = prepared.metadata;
+        if (!fileStore.uploadFile(prepared.content.newInputStream(), metadata.getSize(), metadata.getStoreName(), prepared.mimeType)) {
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+        registerWritten(batch, metadata);
+        return metadata.toBuilder()
+                .contentHash(prepared.content.getHash())
+                .build();
+    }
+
+    /**
+     * 저장 파일 등록 (참조 수 증가)
+     * 같은 내용이 이미 등록되어 있으면 등록된 저장 파일을 사용하고 업로드한 파일은 삭제 요청
+     *
+     * @param uploaded 업로드 한 파일의 메타 데이터
+     * @return 저장할 메타 데이터
+     */
+    private List<UploadFile> registerBlobs(List<UploadFile> uploaded) {
+        List<UploadFile> result = new ArrayList<>(uploaded.size());
+        List<String> redundant = new ArrayList<>();
+        for (UploadFile file : uploaded) {
+            String storeName = file.getStoreName();
+            String registered = fileBlobRepository.register(file.getContentHash(), storeName, file.getSize());
+            if (registered.equals(storeName)) {
+                result.add(file);
+                continue;
+            }
+            redundant.add(storeName);
+            result.add(file.toBuilder()
+                    .storeName(registered)
+                    .url(getUrl(file.getType(), registered))
+                    .build());
+        }
+        fileDeletionRepository.enqueue(redundant);
+        return result;
+    }
+
+    /**
+     * 본문 이미지의 썸네일 행 생성
+     * 같은 저장 파일의 썸네일이 이미 생성되어 있으면 공유 (생성하지 않음), 없으면 placeholder
+     *
+     * @param sources      저장할 메타 데이터
+     * @param placeholders 생성해야 할 썸네일을 담을 리스트
+     * @return 썸네일 메타 데이터
+     */
+    private List<UploadFile> createThumbnails(List<UploadFile> sources, List<UploadFile> placeholders) {
+        List<UploadFile> thumbnails = new ArrayList<>();
+        for (UploadFile source : sources) {
+            if (!FileType.CONTENT.equals(source.getType())) {
+                continue;
+            }
+            UploadFile placeholder = thumbnailUtil.createPlaceholder(source);
+            Optional<UploadFile> completed = fileRepository.findCompletedThumbnail(placeholder.getStoreName());
+            if (completed.isPresent()) {
+                thumbnails.add(placeholder.toBuilder()
+                        .url(completed.get().getUrl())
+                        .size(completed.get().getSize())
+                        .contentHash(completed.get().getContentHash())
+                        .build());
+            } else {
+                thumbnails.add(placeholder);
+                placeholders.add(placeholder);
+            }
+        }
+        return thumbnails;
+    }
+
+    /**
+     * 파일의 저장 파일 참조 해제
+     * - 썸네일: 원본 저장 파일과 함께 삭제되므로 삭제하지 않음 (내용 기준으로 관리되기 전의 썸네일은 삭제)
+     * - 원본: 참조 수 감소, 참조가 남지 않았으면 저장 파일과 썸네일, 변형 이미지 삭제
+     *
+     * @param file 삭제한 파일 메타 데이터
+     * @return 스토리지에서 삭제할 파일명
+     */
+    private List<String> release(UploadFile file) {
+        if (FileType.THUMBNAIL.equals(file.getType())) {
+            return fileBlobRepository.isManaged(file.getOrigName()) ? List.of() : List.of(file.getStoreName());
+        }
+        if (!fileBlobRepository.release(file.getContentHash(), file.getStoreName())) {
+            return List.of();
+        }
+        List<String> storeNames = new ArrayList<>();
+        storeNames.add(file.getStoreName());
+        storeNames.add(thumbnailUtil.createStoreFileName(file.getStoreName()));
+        storeNames.addAll(imageVariantService.variantNames(file.getStoreName()));
+        return storeNames;
+    }
+
+    private void registerWritten(UploadBatch batch, UploadFile written) {
+        if (!batch.register(written.getStoreName())) {
+            fileStore.deleteFile(written.getStoreName());
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * 묶음을 실패로 표시하고 기록한 파일 삭제 (여러 번 호출해도 한 번만 삭제)
+     */
+    private void deleteWritten(UploadBatch batch) {
+        for (String storeName : batch.fail()) {
+            fileStore.deleteFile(storeName);
+        }
+    }
+
+    /**
+     * 트랜잭션이 롤백되면 기록한 파일 삭제
+     */
+    private void deleteOnRollback(UploadBatch batch) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    deleteWritten(batch);
+                }
+            }
+        });
+    }
+
+    /**
+     * 실패한 작업의 원인 (건너뛴 작업의 CancellationException 보다 실제 실패 원인 우선)
+     */
+    private Throwable failureOf(List<CompletableFuture<List<UploadFile>>> uploads) {
+        Throwable failure = null;
+        for (CompletableFuture<List<UploadFile>> upload : uploads) {
+            try {
+                upload.getNow(null);
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (failure == null || !(cause instanceof CancellationException)) {
+                    failure = cause;
+                }
+            }
+        }
+        return failure;
     }
 
     /**
@@ -246,41 +503,38 @@ public class FileService {
                 return "";
             case THUMBNAIL:
             case CONTENT:
-                return s3FileStore.getUrl(fileName);
+                return fileStore.getUrl(fileName);
         }
         return null;
     }
 
     /**
      * 스토리지에 저장될 이름 생성
-     * 랜덤하게 생성한 UUID 사용
+     * 내용을 전송하면서 SHA-256 을 계산하므로 업로드 전에는 내용을 알 수 없어 UUID 사용 (내용과 저장 파일은 file_blob 으로 연결)
      *
      * @param ext 확장자
      * @return 파일 이름
      */
     private String createStoreFileName(String ext) {
+        String name = UUID.randomUUID().toString();
         if (StringUtils.isEmpty(ext)) {
-            return UUID.randomUUID().toString();
+            return name;
         }
-        return UUID.randomUUID() + "." + ext;
+        return name + "." + ext;
     }
 
     /**
-     * 파일 이름에서 확장자(ext) 추출
-     * 파일명이 null 이거나 빈 문자열인 경우, '.'이 없는 경우 null 반환
-     * '.' 위치 기반으로 확장자 추출
-     *
-     * @param fileName 파일 이름
-     * @return 추출한 확장자 or null
+     * 앞부분 검증을 마치고 스토리지 기록을 기다리는 파일
      */
-    private String extracted(String fileName) {
-        if (StringUtils.isEmpty(fileName)) {
-            return null;
-        }
-        int pos = fileName.lastIndexOf(".");
-        if (pos == -1) {
-            return null;
+    private static class PreparedUpload {
+        private final UploadContent content;
+        private final String mimeType;
+        private final UploadFile metadata;
+
+        private PreparedUpload(UploadContent content, String mimeType, UploadFile metadata) {
+            this.content = content;
+            this.mimeType = mimeType;
+            this.metadata = metadata;
         }
-        return fileName.substring(pos + 1);
     }
 }
@@ -0,0 +1,167 @@
+package kinggora.portal.service;
+
+import kinggora.portal.repository.BoardRepository;
+import kinggora.portal.util.counter.HitAccumulator;
+import kinggora.portal.util.counter.HitJournal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 게시글 조회수 서비스
+ * 조회수는 메모리(HitAccumulator)에 누적되고 주기적으로, 그리고 정상 종료 시 한 번의 batch UPDATE 로 DB 에 반영
+ * 누적된 조회는 메모리 맵 저널에도 기록되어 비정상 종료 후 재시작 시 DB 에 반영
+ * <p>
+ * 1. 시작 시 남아있는 저널 파일을 읽어 반영 대기 batch 로 등록
+ * 2. flush: 새 저널로 세대를 교체하고, 반영 대기 중인 모든 batch 를 하나의 트랜잭션으로 DB 에 반영한 뒤 저널 삭제
+ * 3. DB 반영에 실패한 batch 는 다음 flush 에서 다시 반영
+ * <p>
+ * DB 반영 직후 저널 삭제 전에 종료되면 해당 저널의 조회수가 한 번 더 반영될 수 있음 (at-least-once)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HitCountService {
+
+    private static final String JOURNAL_PREFIX = "hits-";
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private final BoardRepository boardRepository;
+    @Value("${board.hit.stripes}")
+    private int STRIPES;
+    @Value("${board.hit.table-capacity}")
+    private int TABLE_CAPACITY;
+    @Value("${board.hit.journal-directory}")
+    private String JOURNAL_DIRECTORY;
+    @Value("${board.hit.journal-size}")
+    private int JOURNAL_SIZE;
+    @Value("${board.hit.flush-batch-size}")
+    private int BATCH_SIZE;
+
+    private HitAccumulator accumulator;
+    private Path journalDirectory;
+    private long journalSequence;
+    private volatile boolean journalFullReported;
+
+    /**
+     * 누산기 초기화 및 남아있는 저널 복구
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        journalDirectory = Paths.get(JOURNAL_DIRECTORY);
+        Files.createDirectories(journalDirectory);
+        List<Path> leftovers = findJournals();
+        if (!leftovers.isEmpty()) {
+            journalSequence = sequenceOf(leftovers.get(leftovers.size() - 1));
+        }
+        accumulator = new HitAccumulator(STRIPES, TABLE_CAPACITY, createJournal());
+        for (Path file : leftovers) {
+            Map<Integer, Long> hits = HitJournal.read(file);
+            accumulator.recover(hits, file);
+            log.info("HitCountService.init, recovered journal={}, posts={}", file.getFileName(), hits.size());
+        }
+    }
+
+    /**
+     * 조회수 1 증가 (DB 반영은 flush 시점)
+     *
+     * @param postId 게시글 id
+     */
+    public void increment(int postId) {
+        if (!accumulator.increment(postId) && !journalFullReported) {
+            journalFullReported = true;
+            log.warn("HitCountService.increment, journal is full until next flush");
+        }
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 조회수 조회
+     *
+     * @param postId 게시글 id
+     * @return 반영 대기 중인 조회수
+     */
+    public long pending(int postId) {
+        return accumulator.pending(postId);
+    }
+
+    /**
+     * 누적된 조회수를 DB 에 반영
+     */
+    @Scheduled(fixedDelayString = "${board.hit.flush-interval}")
+    public synchronized void flush() {
+        try {
+            accumulator.rotate(createJournal());
+            journalFullReported = false;
+        } catch (IOException | UncheckedIOException e) {
+            log.error("fail HitCountService.flush, create journal", e);
+            accumulator.rotate(null);
+        }
+        List<HitAccumulator.Batch> batches = accumulator.inflight();
+        Map<Integer, Long> hits = new HashMap<>();
+        batches.forEach(batch -> batch.getHits().forEach((postId, count) -> hits.merge(postId, count, Long::sum)));
+        try {
+            if (!hits.isEmpty()) {
+                boardRepository.addHits(hits, BATCH_SIZE);
+            }
+        } catch (RuntimeException e) {
+            log.error("fail HitCountService.flush, posts={}", hits.size(), e);
+            return;
+        }
+        for (HitAccumulator.Batch batch : batches) {
+            accumulator.complete(batch);
+            batch.getJournalFile().ifPresent(this::deleteJournal);
+        }
+    }
+
+    /**
+     * 정상 종료 시 누적된 조회수 반영
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private HitJournal createJournal() throws IOException {
+        Path file = journalDirectory.resolve(String.format("%s%012d%s", JOURNAL_PREFIX, ++journalSequence, JOURNAL_SUFFIX));
+        return HitJournal.create(file, JOURNAL_SIZE);
+    }
+
+    private void deleteJournal(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.error("fail HitCountService.deleteJournal, file={}", file, e);
+        }
+    }
+
+    private List<Path> findJournals() throws IOException {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(JOURNAL_PREFIX.length(), name.length() - JOURNAL_SUFFIX.length()));
+    }
+}
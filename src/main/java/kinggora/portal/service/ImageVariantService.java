@@ -0,0 +1,231 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import kinggora.portal.util.FileStore;
+import kinggora.portal.util.StoredObject;
+import kinggora.portal.util.ThumbnailUtil;
+import kinggora.portal.util.cache.LocalFileCache;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 이미지 변형(크기별) 서비스
+ * 본문 이미지(CONTENT)를 허용된 너비(file.image.variant.widths) 중 하나로 비율을 유지하여 축소한 이미지 제공
+ * <p>
+ * 1. 요청한 너비 이상인 가장 작은 허용 너비로 맞춤 (허용 너비보다 크면 가장 큰 허용 너비)
+ * 2. 로컬 캐시(FileCacheService)에 있으면 캐시에서 응답
+ * 3. 없으면 스토리지에 저장된 변형 이미지를 읽고, 스토리지에도 없으면 원본으로 생성하여 원본과 같은 스토리지에 저장
+ * <p>
+ * 같은 변형 이미지를 동시에 처음 요청하면 생성은 한 번만 수행 (로컬 캐시의 single-flight + 생성 중인 작업 공유)
+ * 변형 이미지 파일명은 원본 저장 파일명으로부터 결정되므로 DB 에 기록하지 않으며, 원본 저장 파일 삭제 시 허용 너비별로 함께 삭제 (variantNames)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageVariantService {
+
+    private static final Pattern VARIANT_NAME = Pattern.compile("w(\\d{1,5})_(.+)\\.(?:jpg|png)");
+
+    private final FileStore fileStore;
+    private final ThumbnailUtil thumbnailUtil;
+    private final FileCacheService fileCacheService;
+    @Value("${file.image.variant.widths}")
+    private int[] WIDTHS;
+    @Value("${file.image.variant.quality}")
+    private float QUALITY;
+
+    private final ConcurrentMap<String, CompletableFuture<byte[]>> generating = new ConcurrentHashMap<>();
+
+    /**
+     * 요청한 변형 이미지 결정
+     *
+     * @param file  원본 파일 메타 데이터
+     * @param width 요청한 너비
+     * @return 변형 이미지 정보
+     * @throws BizException 본문 이미지가 아니거나 너비가 올바르지 않은 경우 발생
+     */
+    public Variant resolve(UploadFile file, int width) {
+        if (!FileType.CONTENT.equals(file.getType())) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "크기를 변경할 수 없는 파일입니다.");
+        }
+        if (width <= 0) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "이미지 너비가 올바르지 않습니다.");
+        }
+        int allowed = Arrays.stream(WIDTHS)
+                .filter(w -> w >= width)
+                .min()
+                .orElse(Arrays.stream(WIDTHS).max().orElseThrow());
+        String format = formatOf(file.getStoreName());
+        return new Variant(file, allowed, format, variantName(file.getStoreName(), allowed, format));
+    }
+
+    /**
+     * 로컬 캐시에서 변형 이미지 열기 (캐시에 없으면 스토리지에서 읽거나 생성하여 캐시)
+     *
+     * @param variant 변형 이미지 정보
+     * @return 캐시된 변형 이미지 (호출한 쪽에서 닫아야 함), 캐시를 사용할 수 없으면 empty
+     */
+    public Optional<LocalFileCache.Lease> openCached(Variant variant) {
+        return fileCacheService.open(variant.getStoreName(), () -> load(variant));
+    }
+
+    /**
+     * 변형 이미지 읽기
+     * 스토리지에 없으면 원본으로 생성하여 저장
+     *
+     * @param variant 변형 이미지 정보
+     * @return 변형 이미지 스트림, 크기 (호출한 쪽에서 스트림을 닫아야 함)
+     * @throws IOException 원본을 읽을 수 없는 경우 발생
+     * @throws BizException 스토리지 요청 실패 시 발생
+     */
+    public StoredObject load(Variant variant) throws IOException {
+        Optional<StoredObject> stored = fileStore.findObject(variant.getStoreName());
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        byte[] bytes = generate(variant);
+        return new StoredObject(new ByteArrayInputStream(bytes), bytes.length, null);
+    }
+
+    /**
+     * 원본 저장 파일의 변형 이미지 파일명 (허용 너비별, 생성되지 않은 것 포함)
+     *
+     * @param storeName 원본 저장 파일명
+     * @return 변형 이미지 파일명
+     */
+    public List<String> variantNames(String storeName) {
+        String format = formatOf(storeName);
+        List<String> storeNames = new ArrayList<>(WIDTHS.length);
+        for (int width : WIDTHS) {
+            storeNames.add(variantName(storeName, width, format));
+        }
+        return storeNames;
+    }
+
+    /**
+     * 변형 이미지 파일명에서 원본 저장 파일명(확장자 제외) 추출
+     *
+     * @param storeName 저장 파일명
+     * @return 원본 저장 파일명에서 확장자를 뺀 값, 허용 너비의 변형 이미지 파일명이 아니면 empty
+     */
+    public Optional<String> variantSource(String storeName) {
+        Matcher matcher = VARIANT_NAME.matcher(storeName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        int width = Integer.parseInt(matcher.group(1));
+        if (Arrays.stream(WIDTHS).noneMatch(w -> w == width)) {
+            return Optional.empty();
+        }
+        return Optional.of(matcher.group(2));
+    }
+
+    /**
+     * 변형 이미지 생성 및 저장
+     * 같은 변형 이미지를 생성 중이면 그 결과를 기다려 공유
+     */
+    private byte[] generate(Variant variant) throws IOException {
+        CompletableFuture<byte[]> created = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = generating.putIfAbsent(variant.getStoreName(), created);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            byte[] bytes = create(variant);
+            if (!fileStore.uploadFile(bytes, variant.getStoreName(), variant.getContentType())) {
+                log.warn("ImageVariantService.generate, not stored storeName={}", variant.getStoreName());
+            }
+            created.complete(bytes);
+            return bytes;
+        } catch (IOException | RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            generating.remove(variant.getStoreName(), created);
+        }
+    }
+
+    private byte[] create(Variant variant) throws IOException {
+        StoredObject source = fileStore.openObject(variant.getSource().getStoreName());
+        try (InputStream in = source.getContent()) {
+            byte[] bytes = thumbnailUtil.createVariant(in, source.getLength(), variant.getWidth(), variant.getFormat(), QUALITY);
+            log.info("ImageVariantService.create, storeName={}, size={}", variant.getStoreName(), bytes.length);
+            return bytes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        }
+    }
+
+    private byte[] join(CompletableFuture<byte[]> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 투명도를 가질 수 있는 형식(png, gif)은 png, 그 외는 jpg
+     * 같은 저장 파일을 공유하는 행마다 업로드한 파일명의 확장자가 다를 수 있으므로 저장 파일명의 확장자로 결정
+     */
+    private String formatOf(String storeName) {
+        int pos = storeName.lastIndexOf(".");
+        String ext = pos == -1 ? "" : storeName.substring(pos + 1);
+        if ("png".equalsIgnoreCase(ext) || "gif".equalsIgnoreCase(ext)) {
+            return "png";
+        }
+        return "jpg";
+    }
+
+    /**
+     * 변형 이미지 파일명 생성 (w{너비}_{원본 파일명}.{형식})
+     */
+    private String variantName(String source, int width, String format) {
+        int pos = source.lastIndexOf(".");
+        String base = pos == -1 ? source : source.substring(0, pos);
+        return "w" + width + "_" + base + "." + format;
+    }
+
+    /**
+     * 요청한 변형 이미지 정보
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Variant {
+        private final UploadFile source;
+        private final int width;
+        private final String format;
+        private final String storeName;
+
+        public String getContentType() {
+            return "png".equals(format) ? "image/png" : "image/jpeg";
+        }
+    }
+}
@@ -5,6 +5,7 @@ import kinggora.portal.exception.BizException;
 import kinggora.portal.exception.ErrorCode;
 import kinggora.portal.model.data.request.MemberDto;
 import kinggora.portal.repository.MemberRepository;
+import kinggora.portal.security.user.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 /**
  * 회원 서비스
  * 회원 등록, 수정, 삭제 등 회원 관련 서비스
+ * 회원 정보가 변경되면 JWT 인증에 사용하는 PrincipalCache 에서 제거
  */
 @Service
 @RequiredArgsConstructor
@@ -19,6 +21,7 @@ public class MemberService {
 
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
 
     /**
@@ -49,6 +52,7 @@ public class MemberService {
     public void updateMember(Member member, MemberDto.Update dto) {
         validateMember(member);
         memberRepository.update(dto.toMember(member.getId()));
+        principalCache.evict(member.getUsername());
     }
 
     /**
@@ -70,6 +74,7 @@ public class MemberService {
             throw new BizException(ErrorCode.DUPLICATE_PASSWORD);
         }
         memberRepository.update(dto.toMember(member.getId(), passwordEncoder));
+        principalCache.evict(member.getUsername());
     }
 
     /**
@@ -82,6 +87,7 @@ public class MemberService {
     public void deleteMember(Member member) {
         validateMember(member);
         memberRepository.deleteById(member.getId());
+        principalCache.evict(member.getUsername());
     }
 
     /**
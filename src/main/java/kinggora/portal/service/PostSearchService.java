@@ -0,0 +1,275 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.Post;
+import kinggora.portal.repository.BoardRepository;
+import kinggora.portal.util.search.BigramTokenizer;
+import kinggora.portal.util.search.InvertedIndex;
+import kinggora.portal.util.search.SegmentStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 게시글 검색 서비스
+ * 게시글 제목/본문의 bigram 역색인을 메모리에 유지하여 검색어 후보 게시글 id 를 찾음
+ * 목록/개수 조회는 후보 id 로 범위를 좁힌 뒤 기존 필터와 LIKE 조건으로 검증하므로 검색 결과는 LIKE 검색과 동일
+ * <p>
+ * 1. 애플리케이션 시작 후 디스크 세그먼트로 색인을 복원하고, 마지막 워터마크 이후 DB 변경분을 반영 (세그먼트가 없다면 전체 색인)
+ * 2. 이 서버에서 발생한 게시글 등록/수정/삭제는 트랜잭션 커밋 후 즉시 색인에 반영
+ * 3. 주기적으로 DB 변경분(다른 서버에서 발생한 변경 포함)을 반영하고 변경분을 세그먼트로 기록
+ * <p>
+ * 색인이 준비되지 않았거나 색인으로 검색할 수 없는 검색어(1글자 등), 후보가 너무 많은 경우 LIKE 검색으로 대체
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostSearchService {
+
+    private static final String[] REMOVED = new String[0];
+
+    private final BoardRepository boardRepository;
+    @Value("${search.index.directory}")
+    private String DIRECTORY;
+    @Value("${search.index.batch-size}")
+    private int BATCH_SIZE;
+    @Value("${search.index.max-segments}")
+    private int MAX_SEGMENTS;
+    @Value("${search.index.max-candidates}")
+    private int MAX_CANDIDATES;
+    @Value("${search.index.catch-up-margin-seconds}")
+    private long CATCH_UP_MARGIN_SECONDS;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final Map<Integer, String[]> pending = new ConcurrentHashMap<>();
+    private SegmentStore segmentStore;
+    private LocalDateTime watermark;
+    private volatile boolean ready;
+
+    /**
+     * 애플리케이션 시작 후 색인 준비
+     * 요청 처리를 막지 않도록 별도 스레드에서 실행하며, 준비되기 전까지는 LIKE 검색으로 대체
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread thread = new Thread(this::load, "post-search-index-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 검색어 후보 게시글 id 조회
+     * 후보는 검색어의 모든 bigram 을 포함하는 게시글이며, 실제 일치 여부는 LIKE 조건으로 검증해야 함
+     *
+     * @param searchWord 검색어
+     * @return 후보 게시글 id, 색인으로 검색할 수 없다면 Optional.empty()
+     */
+    public Optional<List<Integer>> findCandidateIds(String searchWord) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Set<String> tokens = BigramTokenizer.tokenizeQuery(searchWord);
+        if (tokens.isEmpty()) {
+            return Optional.empty();
+        }
+        int[] ids = index.search(tokens);
+        if (ids.length > MAX_CANDIDATES) {
+            return Optional.empty();
+        }
+        return Optional.of(Arrays.stream(ids).boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * 게시글 색인 (등록/수정)
+     * 트랜잭션 안이라면 커밋 후 반영
+     *
+     * @param id      게시글 id
+     * @param title   제목
+     * @param content 본문
+     */
+    public void index(int id, String title, String content) {
+        String[] tokens = tokenize(title, content);
+        afterCommit(() -> apply(id, tokens));
+    }
+
+    /**
+     * 게시글 색인 삭제
+     * 트랜잭션 안이라면 커밋 후 반영
+     *
+     * @param id 게시글 id
+     */
+    public void remove(int id) {
+        afterCommit(() -> apply(id, REMOVED));
+    }
+
+    /**
+     * DB 변경분 반영 및 세그먼트 기록
+     * 다른 서버에서 등록/수정/삭제된 게시글은 이 주기만큼 늦게 색인에 반영됨
+     */
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval}", initialDelayString = "${search.index.refresh-interval}")
+    public synchronized void refresh() {
+        if (!ready) {
+            return;
+        }
+        try {
+            catchUp();
+            flush();
+        } catch (Exception e) {
+            log.error("fail PostSearchService.refresh", e);
+        }
+    }
+
+    /**
+     * 종료 시 기록되지 않은 변경분을 세그먼트로 기록
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (!ready) {
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            log.error("fail PostSearchService.close", e);
+        }
+    }
+
+    /**
+     * 세그먼트로 색인을 복원하고 DB 변경분 반영
+     * 세그먼트가 없거나 손상된 경우 DB 로부터 전체 색인
+     */
+    private synchronized void load() {
+        try {
+            segmentStore = new SegmentStore(Paths.get(DIRECTORY));
+            watermark = loadSegments();
+            if (watermark == null) {
+                rebuild();
+            } else {
+                catchUp();
+                flush();
+            }
+            ready = true;
+            log.info("PostSearchService.load, documents={}, watermark={}", index.size(), watermark);
+        } catch (Exception e) {
+            log.error("fail PostSearchService.load, fallback to LIKE search", e);
+        }
+    }
+
+    private LocalDateTime loadSegments() throws IOException {
+        try {
+            return segmentStore.load(index);
+        } catch (IOException | RuntimeException e) {
+            log.warn("PostSearchService.loadSegments, invalid segments are discarded", e);
+            index.clear();
+            segmentStore.clear();
+            return null;
+        }
+    }
+
+    /**
+     * 전체 게시글 색인 후 하나의 세그먼트로 기록
+     */
+    private void rebuild() throws IOException {
+        LocalDateTime now = boardRepository.findNow();
+        int afterId = 0;
+        List<Post> posts;
+        do {
+            posts = boardRepository.findSearchDocuments(afterId, BATCH_SIZE);
+            for (Post post : posts) {
+                indexDocument(post);
+                afterId = post.getId();
+            }
+        } while (posts.size() == BATCH_SIZE);
+        pending.clear();
+        watermark = now;
+        segmentStore.compact(index, watermark);
+    }
+
+    /**
+     * 워터마크 이후 등록/수정/삭제된 게시글 반영
+     * 워터마크 직전에 시작해 늦게 커밋된 트랜잭션을 놓치지 않도록 여유 시간만큼 앞에서부터 조회
+     */
+    private void catchUp() {
+        LocalDateTime now = boardRepository.findNow();
+        LocalDateTime since = watermark.minusSeconds(CATCH_UP_MARGIN_SECONDS);
+        int afterId = 0;
+        List<Post> posts;
+        do {
+            posts = boardRepository.findSearchDocumentsModifiedSince(since, afterId, BATCH_SIZE);
+            for (Post post : posts) {
+                indexDocument(post);
+                afterId = post.getId();
+            }
+        } while (posts.size() == BATCH_SIZE);
+        watermark = now;
+    }
+
+    /**
+     * 기록되지 않은 변경분을 세그먼트로 기록
+     * 세그먼트가 최대 개수에 도달하면 전체 색인을 하나의 세그먼트로 병합
+     */
+    private void flush() throws IOException {
+        Map<Integer, String[]> changes = new HashMap<>();
+        for (Integer id : pending.keySet()) {
+            String[] tokens = pending.remove(id);
+            if (tokens != null) {
+                changes.put(id, tokens);
+            }
+        }
+        try {
+            if (segmentStore.segmentCount() >= MAX_SEGMENTS) {
+                segmentStore.compact(index, watermark);
+            } else if (!changes.isEmpty()) {
+                segmentStore.append(changes, watermark);
+            }
+        } catch (IOException e) {
+            changes.forEach(pending::putIfAbsent);
+            throw e;
+        }
+    }
+
+    private void indexDocument(Post post) {
+        if (post.isDeleted()) {
+            apply(post.getId(), REMOVED);
+            return;
+        }
+        apply(post.getId(), tokenize(post.getTitle(), post.getContent()));
+    }
+
+    private String[] tokenize(String title, String content) {
+        Set<String> tokens = BigramTokenizer.tokenize(title);
+        tokens.addAll(BigramTokenizer.tokenize(content));
+        return tokens.toArray(new String[0]);
+    }
+
+    private void apply(int id, String[] tokens) {
+        index.put(id, tokens);
+        pending.put(id, tokens);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
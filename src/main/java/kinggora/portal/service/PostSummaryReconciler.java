@@ -0,0 +1,37 @@
+package kinggora.portal.service;
+
+import kinggora.portal.repository.PostSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시글 요약 컬럼 보정 작업
+ * 요약 컬럼은 댓글/파일/자식 게시글 변경 시 함께 갱신되지만,
+ * 수동 데이터 수정이나 장애 등으로 원본과 어긋난 값을 주기적으로 원본 테이블 기준으로 재계산
+ * 락 점유 시간을 줄이기 위해 id 구간 단위로 나누어 갱신
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSummaryReconciler {
+
+    private final PostSummaryRepository postSummaryRepository;
+    @Value("${board.summary.reconcile-batch-size}")
+    private int BATCH_SIZE;
+
+    /**
+     * 전체 게시글 요약 컬럼 재계산
+     */
+    @Scheduled(cron = "${board.summary.reconcile-cron}")
+    public void reconcile() {
+        int maxId = postSummaryRepository.findMaxPostId();
+        int processed = 0;
+        for (int fromId = 1; fromId <= maxId; fromId += BATCH_SIZE) {
+            processed += postSummaryRepository.reconcile(fromId, fromId + BATCH_SIZE - 1);
+        }
+        log.info("PostSummaryReconciler.reconcile, maxId={}, processed={}", maxId, processed);
+    }
+}
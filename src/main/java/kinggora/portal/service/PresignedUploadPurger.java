@@ -0,0 +1,42 @@
+package kinggora.portal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 만료된 직접 업로드 정리 작업
+ * 완료 요청 없이 만료된 대기 행을 batch-size 개씩 정리 (한 번에 하나의 트랜잭션)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PresignedUploadPurger {
+
+    private final PresignedUploadService presignedUploadService;
+    @Value("${file.upload.presigned.purge-batch-size}")
+    private int BATCH_SIZE;
+
+    /**
+     * 만료된 대기 행 정리
+     * 정리한 행이 batch-size 보다 적을 때까지 반복
+     */
+    @Scheduled(fixedDelayString = "${file.upload.presigned.purge-interval}")
+    public void purge() {
+        try {
+            int purged = 0;
+            int count;
+            do {
+                count = presignedUploadService.expire(BATCH_SIZE);
+                purged += count;
+            } while (count == BATCH_SIZE);
+            if (purged > 0) {
+                log.info("PresignedUploadPurger.purge, purged={}", purged);
+            }
+        } catch (Exception e) {
+            log.error("fail PresignedUploadPurger.purge", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.PresignedUpload;
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import kinggora.portal.model.data.request.PresignedUploadDto;
+import kinggora.portal.model.data.response.UploadTarget;
+import kinggora.portal.repository.FileDeletionRepository;
+import kinggora.portal.repository.PresignedUploadRepository;
+import kinggora.portal.util.DirectUploadSupport;
+import kinggora.portal.util.FileStore;
+import kinggora.portal.util.FileValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.thymeleaf.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+
+/**
+ * 직접 업로드(presigned URL) 서비스
+ * 파일 내용이 앱 서버를 거치지 않도록 클라이언트가 스토리지에 직접 업로드하고, 앱 서버는 검증과 메타 데이터 저장만 수행
+ * <p>
+ * 1. 발급(prepare): 선언한 파일명, 크기를 검사하고 파일마다 presigned PUT URL 발급, 대기 행(file_presigned_upload) 기록
+ * 2. 클라이언트가 URL 로 스토리지에 업로드
+ * 3. 완료(complete): 업로드한 파일을 클라이언트가 모르는 저장 파일명으로 복사하고, 복사한 파일의 크기와 내용으로 판별한 MIME Type 을 검증한 뒤
+ *    file 행을 한 번에 저장 (DirectUploadSupport)
+ *    presigned URL 은 만료 전까지 다시 PUT 할 수 있으므로 업로드한 파일을 그대로 쓰면 검증 후 내용이 바뀔 수 있음
+ * 4. 만료(expire): 완료 요청 없이 finalize-timeout 이 지난 대기 행을 지우고 스토리지 파일 삭제 요청 (PresignedUploadPurger)
+ * <p>
+ * 직접 업로드한 파일은 내용 전체를 읽지 않으므로 SHA-256 을 알 수 없어 내용 기준 공유(file_blob)를 하지 않음 (행마다 삭제)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PresignedUploadService {
+
+    private static final String METHOD = "PUT";
+
+    private final PresignedUploadRepository presignedUploadRepository;
+    private final FileDeletionRepository fileDeletionRepository;
+    private final FileService fileService;
+    private final FileStore fileStore;
+    private final FileValidator fileValidator;
+    private final DirectUploadSupport directUploadSupport;
+    @Value("${file.upload.presigned.expiration}")
+    private long EXPIRATION;
+    @Value("${file.upload.presigned.finalize-timeout}")
+    private long FINALIZE_TIMEOUT;
+    @Value("${file.upload.presigned.maximum-file-size}")
+    private long MAXIMUM_FILE_SIZE;
+    @Value("${file.upload.presigned.maximum-files}")
+    private int MAXIMUM_FILES;
+
+    /**
+     * 직접 업로드 대상 발급
+     * 1. 파일 개수, 파일마다 크기(1 ~ maximum-file-size)와 파일명으로 추정한 MIME Type 검사 (이미지는 이미지 MIME Type 만 허용)
+     * 2. 저장 파일명 생성, 대기 행 기록
+     * 3. presigned PUT URL 발급 (Content-Type 은 추정한 MIME Type 으로 고정)
+     *
+     * @param postId 게시글 id
+     * @param dto    업로드할 파일명, 크기
+     * @return 파일마다 업로드 대상 (요청 순서: 첨부 파일, 본문 이미지)
+     * @throws BizException 파일 개수, 크기, 형식이 허용되지 않거나 직접 업로드를 지원하지 않는 스토리지인 경우 발생
+     */
+    @Transactional
+    public List<UploadTarget> prepare(int postId, PresignedUploadDto dto) {
+        if (dto.getAttachment().size() + dto.getContent().size() > MAXIMUM_FILES) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "한 번에 업로드할 수 있는 파일은 " + MAXIMUM_FILES + "개 입니다");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime urlExpiresAt = now.plus(EXPIRATION, ChronoUnit.MILLIS);
+        List<PresignedUpload> uploads = new ArrayList<>();
+        dto.getAttachment().forEach(item -> uploads.add(createUpload(postId, item, FileType.ATTACHMENT, urlExpiresAt, now)));
+        dto.getContent().forEach(item -> uploads.add(createUpload(postId, item, FileType.CONTENT, urlExpiresAt, now)));
+        presignedUploadRepository.saveAll(uploads);
+
+        List<UploadTarget> targets = new ArrayList<>(uploads.size());
+        for (PresignedUpload upload : uploads) {
+            targets.add(UploadTarget.builder()
+                    .id(upload.getId())
+                    .name(upload.getOrigName())
+                    .url(fileStore.createUploadUrl(upload.getStoreName(), upload.getContentType(), urlExpiresAt))
+                    .method(METHOD)
+                    .contentType(upload.getContentType())
+                    .expiresAt(urlExpiresAt)
+                    .build());
+        }
+        return targets;
+    }
+
+    /**
+     * 직접 업로드 완료
+     * 1. 요청한 대기 행 잠금 (게시글이 다르거나 만료된 행이 있으면 실패)
+     * 2. 스토리지 파일마다 크기 조회 (HEAD), 아직 업로드되지 않은 파일이 있으면 아무것도 변경하지 않고 실패 (다시 요청 가능)
+     * 3. 업로드한 파일을 새 저장 파일명으로 복사 (서버 측 복사, 새 파일명은 클라이언트에게 발급하지 않으므로 이후 PUT 으로 바뀌지 않음)
+     * 4. 복사한 파일의 크기가 선언한 크기와 같고, 내용(Range 요청)으로 판별한 MIME Type 이 허용된 파일만 메타 데이터 생성
+     *    검증에 실패한 복사본은 스토리지 삭제 요청 (outbox), 트랜잭션이 롤백되면 복사본 삭제
+     * 5. 업로드한 파일은 URL 이 만료된 뒤(대기 행 만료 시각) 삭제하도록 요청 (만료 전에 다시 PUT 해도 남지 않음)
+     * 6. 대기 행 삭제, 메타 데이터 저장 (FileService.saveMetadata, 한 번의 batch INSERT)
+     *
+     * @param postId 게시글 id
+     * @param ids    업로드 대상 id
+     * @return 저장한 파일 수 (검증에 실패한 파일 제외)
+     * @throws BizException 업로드 대상이 없거나 만료된 경우, 업로드되지 않은 파일이 있는 경우 발생
+     */
+    @Transactional
+    public int complete(int postId, List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<PresignedUpload> uploads = presignedUploadRepository.findForUpdate(postId, distinctIds, LocalDateTime.now());
+        if (uploads.isEmpty() || uploads.size() != distinctIds.size()) {
+            throw new BizException(ErrorCode.FILE_NOT_FOUND, "업로드 대상이 없거나 만료되었습니다");
+        }
+        for (PresignedUpload upload : uploads) {
+            if (fileStore.findLength(upload.getStoreName()).isEmpty()) {
+                throw notUploaded(upload);
+            }
+        }
+        List<String> copied = new ArrayList<>();
+        directUploadSupport.deleteOnRollback(copied);
+        List<UploadFile> files = new ArrayList<>();
+        List<String> rejected = new ArrayList<>();
+        for (PresignedUpload upload : uploads) {
+            String storeName = directUploadSupport.createStoreFileName(upload.getExt());
+            if (!fileStore.copyFile(upload.getStoreName(), storeName)) {
+                throw notUploaded(upload);
+            }
+            copied.add(storeName);
+            OptionalLong length = fileStore.findLength(storeName);
+            if (length.isPresent() && length.getAsLong() == upload.getSize()
+                    && directUploadSupport.isAllowed(storeName, upload.getSize(), upload.getType())) {
+                files.add(directUploadSupport.toUploadFile(upload.getPostId(), upload.getOrigName(), storeName,
+                        upload.getExt(), upload.getSize(), upload.getType()));
+            } else {
+                log.warn("PresignedUploadService.complete, rejected storeName={}, declared={}, stored={}", upload.getStoreName(), upload.getSize(), length);
+                rejected.add(storeName);
+            }
+        }
+        presignedUploadRepository.deleteByIds(distinctIds);
+        fileDeletionRepository.enqueue(rejected);
+        for (PresignedUpload upload : uploads) {
+            fileDeletionRepository.enqueue(List.of(upload.getStoreName()), upload.getExpiresAt());
+        }
+        fileService.saveMetadata(postId, files);
+        return files.size();
+    }
+
+    /**
+     * 만료된 대기 행 정리
+     * 완료 요청 중(잠긴) 행은 건너뛰고, 지운 행의 스토리지 파일은 삭제 요청 (업로드되지 않은 파일은 삭제한 것으로 처리)
+     *
+     * @param limit 최대 개수
+     * @return 정리한 행 수
+     */
+    @Transactional
+    public int expire(int limit) {
+        List<PresignedUpload> expired = presignedUploadRepository.findExpiredForUpdate(LocalDateTime.now(), limit);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        presignedUploadRepository.deleteByIds(expired.stream().map(PresignedUpload::getId).collect(Collectors.toList()));
+        fileDeletionRepository.enqueue(expired.stream().map(PresignedUpload::getStoreName).collect(Collectors.toList()));
+        return expired.size();
+    }
+
+    private BizException notUploaded(PresignedUpload upload) {
+        return new BizException(ErrorCode.FILE_NOT_FOUND, "업로드가 끝나지 않은 파일이 있습니다: " + upload.getOrigName());
+    }
+
+    /**
+     * 업로드 대상 생성 (선언한 파일명, 크기 검사)
+     *
+     * @throws BizException 파일명이 없거나 크기, 형식이 허용되지 않는 경우 발생
+     */
+    private PresignedUpload createUpload(int postId, PresignedUploadDto.Item item, FileType type,
+                                         LocalDateTime urlExpiresAt, LocalDateTime now) {
+        String origName = fileValidator.getValidFileName(item.getName());
+        if (StringUtils.isEmpty(origName) || item.getSize() <= 0 || item.getSize() > MAXIMUM_FILE_SIZE) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "업로드할 수 없는 파일입니다: " + item.getName());
+        }
+        String contentType = fileValidator.guessMIMEType(origName);
+        if (!fileValidator.isAllowedType(type, contentType)) {
+            throw new BizException(ErrorCode.INVALID_FILE_FORMAT);
+        }
+        String ext = fileValidator.getExtension(origName);
+        return PresignedUpload.builder()
+                .postId(postId)
+                .storeName(directUploadSupport.createStoreFileName(ext))
+                .origName(origName)
+                .ext(ext)
+                .type(type)
+                .size(item.getSize())
+                .contentType(contentType)
+                .expiresAt(urlExpiresAt.plus(FINALIZE_TIMEOUT, ChronoUnit.MILLIS))
+                .regDate(now)
+                .build();
+    }
+}
@@ -0,0 +1,240 @@
+package kinggora.portal.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import kinggora.portal.domain.BoardInfo;
+import kinggora.portal.domain.Category;
+import kinggora.portal.repository.BoardInfoRepository;
+import kinggora.portal.repository.CategoryRepository;
+import kinggora.portal.util.cache.IntObjectMap;
+import kinggora.portal.util.cache.PostBoardCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 게시판 정보(board_info), 카테고리(category) 캐시
+ * 두 테이블 전체를 불변 스냅샷으로 메모리에 올리고, 갱신 시 스냅샷을 통째로 교체
+ * <p>
+ * 1. 스냅샷은 주기적으로(reference.cache.refresh-interval) 다시 읽어 교체
+ * 2. 스냅샷에 없는 id 를 조회하면 DB 를 확인하고, DB 에 존재하면 즉시 스냅샷 교체 (새로 추가된 게시판, 카테고리)
+ * 3. 교체 후 ReferenceDataRefreshedEvent 발행
+ * <p>
+ * 게시글 -> 게시판 id 는 PostBoardCache 에 캐싱하여 게시글 권한 확인 시 boards 조회를 생략
+ * 캐시 적중/미스는 reference.cache.requests{cache, result} 지표로 노출
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    private final BoardInfoRepository boardInfoRepository;
+    private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostBoardCache postBoardCache;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private final Counter boardHit;
+    private final Counter boardMiss;
+    private final Counter categoryHit;
+    private final Counter categoryMiss;
+    private final Counter postBoardHit;
+    private final Counter postBoardMiss;
+
+    public ReferenceDataCache(BoardInfoRepository boardInfoRepository,
+                              CategoryRepository categoryRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${reference.cache.post-board-capacity}") int postBoardCapacity) {
+        this.boardInfoRepository = boardInfoRepository;
+        this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.postBoardCache = new PostBoardCache(postBoardCapacity);
+        this.boardHit = counter(meterRegistry, "board_info", "hit");
+        this.boardMiss = counter(meterRegistry, "board_info", "miss");
+        this.categoryHit = counter(meterRegistry, "category", "hit");
+        this.categoryMiss = counter(meterRegistry, "category", "miss");
+        this.postBoardHit = counter(meterRegistry, "post_board", "hit");
+        this.postBoardMiss = counter(meterRegistry, "post_board", "miss");
+        Gauge.builder("reference.cache.version", snapshot, ref -> ref.get() == null ? 0 : ref.get().version)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 모든 게시판 정보 조회
+     *
+     * @return id 순으로 정렬된 게시판 정보 (수정 불가)
+     */
+    public List<BoardInfo> findBoardInfos() {
+        return current().boardList;
+    }
+
+    /**
+     * 게시판 정보 조회
+     * 스냅샷에 없으면 DB 를 확인하고, 존재하면 스냅샷을 교체
+     *
+     * @param id 게시판 id
+     * @return 게시판 정보
+     */
+    public Optional<BoardInfo> findBoardInfo(int id) {
+        Snapshot current = current();
+        BoardInfo boardInfo = current.boards.get(id);
+        if (boardInfo != null) {
+            boardHit.increment();
+            return Optional.of(boardInfo);
+        }
+        boardMiss.increment();
+        Optional<BoardInfo> found = boardInfoRepository.findById(id);
+        found.ifPresent(b -> refreshIfUnchanged(current));
+        return found;
+    }
+
+    /**
+     * 게시판의 카테고리 조회
+     *
+     * @param boardId 게시판 id
+     * @return 카테고리 리스트 (수정 불가)
+     */
+    public List<Category> findCategories(int boardId) {
+        List<Category> categories = current().categoriesByBoard.get(boardId);
+        return categories == null ? Collections.emptyList() : categories;
+    }
+
+    /**
+     * 게시판에 카테고리가 존재하는지 확인
+     * 스냅샷에 없으면 DB 를 확인하고, 존재하면 스냅샷을 교체
+     *
+     * @param categoryId 카테고리 id
+     * @param boardId    게시판 id
+     * @return 존재 여부
+     */
+    public boolean isCategoryOf(int categoryId, int boardId) {
+        Snapshot current = current();
+        Category category = current.categories.get(categoryId);
+        if (category != null && category.getBoardId() == boardId) {
+            categoryHit.increment();
+            return true;
+        }
+        categoryMiss.increment();
+        boolean exists = categoryRepository.isCategoryOf(categoryId, boardId);
+        if (exists) {
+            refreshIfUnchanged(current);
+        }
+        return exists;
+    }
+
+    /**
+     * 게시글이 등록된 게시판 id 조회
+     *
+     * @param postId 게시글 id
+     * @return 게시판 id, 삭제되었거나 존재하지 않는 게시글이면 빈 값
+     */
+    public Optional<Integer> findBoardIdOfPost(int postId) {
+        int boardId = postBoardCache.get(postId);
+        if (boardId != PostBoardCache.MISS) {
+            postBoardHit.increment();
+            return Optional.of(boardId);
+        }
+        postBoardMiss.increment();
+        Optional<Integer> found = boardInfoRepository.findBoardIdByPostId(postId);
+        found.ifPresent(id -> postBoardCache.put(postId, id));
+        return found;
+    }
+
+    /**
+     * 삭제된 게시글을 게시글 -> 게시판 캐시에서 제거
+     * 다른 서버에서 삭제된 게시글은 제거되지 않지만, 게시판은 바뀌지 않으므로 권한 확인 결과에는 영향 없음
+     *
+     * @param postId 게시글 id
+     */
+    public void evictPost(int postId) {
+        postBoardCache.evict(postId);
+    }
+
+    /**
+     * 스냅샷을 다시 읽어 교체
+     * DB 조회에 실패하면 기존 스냅샷을 유지
+     */
+    @Scheduled(fixedDelayString = "${reference.cache.refresh-interval}")
+    public void refresh() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("fail ReferenceDataCache.refresh", e);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        return current != null ? current : load();
+    }
+
+    /**
+     * 조회 시점의 스냅샷이 아직 교체되지 않은 경우에만 교체
+     * 같은 id 로 동시에 미스가 발생해도 한 번만 다시 읽음
+     */
+    private synchronized void refreshIfUnchanged(Snapshot seen) {
+        if (snapshot.get() == seen) {
+            load();
+        }
+    }
+
+    private synchronized Snapshot load() {
+        Snapshot previous = snapshot.get();
+        Snapshot next = new Snapshot(previous == null ? 1 : previous.version + 1,
+                boardInfoRepository.findBoardInfos(), categoryRepository.findAll());
+        snapshot.set(next);
+        log.debug("ReferenceDataCache.load, version={}, boards={}, categories={}",
+                next.version, next.boards.size(), next.categories.size());
+        eventPublisher.publishEvent(new ReferenceDataRefreshedEvent(next.version));
+        return next;
+    }
+
+    private static Counter counter(MeterRegistry registry, String cache, String result) {
+        return Counter.builder("reference.cache.requests")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 게시판 정보, 카테고리 불변 스냅샷
+     */
+    private static class Snapshot {
+        private final long version;
+        private final List<BoardInfo> boardList;
+        private final IntObjectMap<BoardInfo> boards;
+        private final IntObjectMap<Category> categories;
+        private final IntObjectMap<List<Category>> categoriesByBoard;
+
+        private Snapshot(long version, List<BoardInfo> boardInfos, List<Category> categoryList) {
+            this.version = version;
+            this.boardList = Collections.unmodifiableList(new ArrayList<>(boardInfos));
+            this.boards = new IntObjectMap<>(boardInfos.size());
+            for (BoardInfo boardInfo : boardInfos) {
+                boards.put(boardInfo.getId(), boardInfo);
+            }
+            this.categories = new IntObjectMap<>(categoryList.size());
+            this.categoriesByBoard = new IntObjectMap<>(boardInfos.size() + categoryList.size());
+            List<Category> group = new ArrayList<>();
+            for (int i = 0; i < categoryList.size(); i++) {
+                Category category = categoryList.get(i);
+                categories.put(category.getId(), category);
+                group.add(category);
+                boolean last = i == categoryList.size() - 1 || !categoryList.get(i + 1).getBoardId().equals(category.getBoardId());
+                if (last) {
+                    categoriesByBoard.put(category.getBoardId(), Collections.unmodifiableList(group));
+                    group = new ArrayList<>();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package kinggora.portal.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시판 정보, 카테고리 스냅샷 교체 이벤트
+ * ReferenceDataCache 가 새 스냅샷을 공개한 직후 발행
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReferenceDataRefreshedEvent {
+
+    /**
+     * 스냅샷 버전 (교체할 때마다 1씩 증가)
+     */
+    private final long version;
+}
@@ -0,0 +1,171 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.repository.FileDeletionRepository;
+import kinggora.portal.repository.FileRepository;
+import kinggora.portal.util.FileStore;
+import kinggora.portal.util.StoredObject;
+import kinggora.portal.util.ThumbnailUtil;
+import kinggora.portal.util.upload.UploadContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 썸네일 비동기 생성 서비스
+ * 업로드 요청은 썸네일 자리(placeholder, size=0)만 저장하고 응답하며, 썸네일은 썸네일 실행기(thumbnailExecutor)에서 생성
+ * <p>
+ * 1. 스토리지에서 원본 이미지를 읽어 썸네일 생성 (ThumbnailUtil, 디코딩 메모리 한도 적용)
+ * 2. 썸네일 업로드
+ * 3. 썸네일 행 url, size 갱신 + 게시글 썸네일 URL 갱신 (ThumbnailWriter)
+ * <p>
+ * 대기열이 가득 차 거절되었거나 서버 재시작으로 유실된 작업은 주기적으로 생성 대기 행을 조회하여 다시 등록 (recover)
+ * file.thumbnail.max-attempts 번 실패하면 생성 실패(size=-1)로 표시하고 placeholder 를 유지
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThumbnailService {
+
+    private final FileRepository fileRepository;
+    private final FileDeletionRepository fileDeletionRepository;
+    private final FileStore fileStore;
+    private final ThumbnailUtil thumbnailUtil;
+    private final ThumbnailWriter thumbnailWriter;
+    private final ThreadPoolTaskExecutor thumbnailExecutor;
+    @Value("${file.thumbnail.max-attempts}")
+    private int MAX_ATTEMPTS;
+    @Value("${file.thumbnail.recover-delay}")
+    private long RECOVER_DELAY;
+    @Value("${file.thumbnail.recover-batch-size}")
+    private int RECOVER_BATCH_SIZE;
+
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+
+    /**
+     * 썸네일 생성 작업 등록
+     * 트랜잭션 안이라면 커밋 후 등록 (썸네일 행이 커밋되기 전에 작업이 끝나지 않도록)
+     *
+     * @param placeholders 썸네일 메타 데이터
+     */
+    public void generateAfterCommit(List<UploadFile> placeholders) {
+        if (placeholders.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            placeholders.forEach(this::generate);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                placeholders.forEach(ThumbnailService.this::generate);
+            }
+        });
+    }
+
+    /**
+     * 썸네일 생성 작업 등록
+     * 같은 썸네일의 작업이 이미 실행 중이면 등록하지 않음
+     * 대기열이 가득 차면 등록하지 않고 recover 에 맡김
+     *
+     * @param placeholder 썸네일 메타 데이터
+     */
+    public void generate(UploadFile placeholder) {
+        String storeName = placeholder.getStoreName();
+        if (!running.add(storeName)) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> {
+                try {
+                    process(placeholder);
+                } finally {
+                    running.remove(storeName);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.remove(storeName);
+            log.warn("ThumbnailService.generate, queue is full storeName={}", storeName);
+        }
+    }
+
+    /**
+     * 생성 대기 중인 썸네일 재등록
+     * file.thumbnail.recover-delay 보다 오래 대기 중인 썸네일만 대상 (정상 처리 중인 작업과 겹치지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${file.thumbnail.recover-interval}", initialDelayString = "${file.thumbnail.recover-interval}")
+    public void recover() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minus(RECOVER_DELAY, ChronoUnit.MILLIS);
+            List<UploadFile> pending = fileRepository.findPendingThumbnails(before, RECOVER_BATCH_SIZE);
+            pending.forEach(this::generate);
+            if (!pending.isEmpty()) {
+                log.info("ThumbnailService.recover, pending={}", pending.size());
+            }
+        } catch (Exception e) {
+            log.error("fail ThumbnailService.recover", e);
+        }
+    }
+
+    private void process(UploadFile placeholder) {
+        String storeName = placeholder.getStoreName();
+        byte[] thumbnail;
+        try {
+            StoredObject source = fileStore.openObject(placeholder.getOrigName());
+            try (InputStream in = source.getContent()) {
+                thumbnail = thumbnailUtil.createThumbnail(in, source.getLength());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException | RuntimeException e) {
+            log.warn("fail ThumbnailService.process, storeName={}", storeName, e);
+            onFailure(placeholder);
+            return;
+        }
+        String url = thumbnailUtil.uploadThumbnail(thumbnail, storeName);
+        if (url == null) {
+            onFailure(placeholder);
+            return;
+        }
+        failures.remove(storeName);
+        if (!thumbnailWriter.complete(placeholder, url, thumbnail.length, UploadContent.hash(thumbnail)) && isDiscarded(storeName)) {
+            // 생성하는 동안 삭제된 썸네일
+            fileDeletionRepository.enqueue(List.of(storeName));
+        }
+    }
+
+    /**
+     * 실패 횟수가 file.thumbnail.max-attempts 에 도달하면 생성 실패로 기록
+     */
+    private void onFailure(UploadFile placeholder) {
+        String storeName = placeholder.getStoreName();
+        int attempts = failures.merge(storeName, 1, Integer::sum);
+        if (attempts >= MAX_ATTEMPTS) {
+            failures.remove(storeName);
+            thumbnailWriter.fail(placeholder);
+            log.error("ThumbnailService.process, give up storeName={}, attempts={}", storeName, attempts);
+        }
+    }
+
+    private boolean isDiscarded(String storeName) {
+        return !fileRepository.existsThumbnail(storeName);
+    }
+}
@@ -0,0 +1,54 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.repository.FileRepository;
+import kinggora.portal.repository.PostSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 썸네일 생성 결과 기록
+ * 생성 대기(size=0) 중인 썸네일 행만 갱신하므로 여러 번 호출하거나 여러 서버가 동시에 호출해도 한 번만 반영
+ */
+@Component
+@RequiredArgsConstructor
+public class ThumbnailWriter {
+
+    private final FileRepository fileRepository;
+    private final PostSummaryRepository postSummaryRepository;
+
+    /**
+     * 썸네일 생성 완료 기록
+     * 같은 내용의 이미지를 올린 게시글은 썸네일 파일을 공유하므로 같은 썸네일을 기다리는 행을 모두 갱신
+     * 1. 썸네일 행의 url, size, content_hash 갱신
+     * 2. 해당 게시글들의 파일 요약 컬럼(thumb_url) 갱신
+     *
+     * @param placeholder 썸네일 메타 데이터
+     * @param url         썸네일 URL
+     * @param size        썸네일 크기
+     * @param contentHash 썸네일 SHA-256
+     * @return 반영 여부 (이미 완료되었거나 삭제된 썸네일이면 false)
+     */
+    @Transactional
+    public boolean complete(UploadFile placeholder, String url, long size, String contentHash) {
+        List<Integer> postIds = fileRepository.findPendingThumbnailPostIds(placeholder.getStoreName());
+        if (!fileRepository.completeThumbnail(placeholder.getStoreName(), url, size, contentHash)) {
+            return false;
+        }
+        postIds.forEach(postSummaryRepository::refreshFileSummary);
+        return true;
+    }
+
+    /**
+     * 썸네일 생성 실패 기록 (더 이상 재시도하지 않음, url 은 placeholder 유지)
+     *
+     * @param placeholder 썸네일 메타 데이터
+     */
+    @Transactional
+    public void fail(UploadFile placeholder) {
+        fileRepository.failThumbnail(placeholder.getStoreName());
+    }
+}
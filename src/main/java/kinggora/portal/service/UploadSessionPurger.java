@@ -0,0 +1,42 @@
+package kinggora.portal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 만료된 분할 업로드 세션 정리 작업
+ * 마지막 조각 업로드 후 expiration 이 지난 세션을 batch-size 개씩 정리 (한 번에 하나의 트랜잭션)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSessionPurger {
+
+    private final UploadSessionService uploadSessionService;
+    @Value("${file.upload.session.purge-batch-size}")
+    private int BATCH_SIZE;
+
+    /**
+     * 만료된 세션 정리
+     * 정리한 세션이 batch-size 보다 적을 때까지 반복
+     */
+    @Scheduled(fixedDelayString = "${file.upload.session.purge-interval}")
+    public void purge() {
+        try {
+            int purged = 0;
+            int count;
+            do {
+                count = uploadSessionService.expire(BATCH_SIZE);
+                purged += count;
+            } while (count == BATCH_SIZE);
+            if (purged > 0) {
+                log.info("UploadSessionPurger.purge, purged={}", purged);
+            }
+        } catch (Exception e) {
+            log.error("fail UploadSessionPurger.purge", e);
+        }
+    }
+}
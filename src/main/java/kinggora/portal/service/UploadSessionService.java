@@ -0,0 +1,361 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.UploadChunk;
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.domain.UploadSession;
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.domain.type.UploadSessionStatus;
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import kinggora.portal.model.data.request.UploadSessionDto;
+import kinggora.portal.model.data.response.UploadSessionInfo;
+import kinggora.portal.repository.FileDeletionRepository;
+import kinggora.portal.repository.UploadSessionRepository;
+import kinggora.portal.util.DirectUploadSupport;
+import kinggora.portal.util.FileStore;
+import kinggora.portal.util.FileValidator;
+import kinggora.portal.util.S3FileStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+
+/**
+ * 분할(chunk) 업로드 서비스
+ * 요청 하나에 파일 전체를 담지 않고 chunk-size 단위 조각으로 나누어 업로드, 끊긴 업로드는 받지 못한 조각부터 이어서 업로드
+ * <p>
+ * 1. 생성(create): 선언한 파일명, 크기를 검사하고 스토리지 분할 업로드 시작, 세션 행(file_upload_session) 기록
+ * 2. 조각 업로드(uploadChunk): 요청 본문을 그대로 스토리지 조각으로 전송 (조각 하나도 메모리에 올리지 않음)
+ *    같은 조각을 다시 올리면 교체하므로 실패한 조각은 그대로 재시도
+ * 3. 완료(complete): 모든 조각을 받았는지 확인하고 스토리지에서 조각을 합친 뒤, 크기와 내용으로 판별한 MIME Type 을 검증하여 file 행 저장
+ *    스토리지 요청 동안 세션 행 잠금과 DB 연결을 잡지 않도록 세션 선점, 스토리지 요청, 저장을 나누어 수행
+ * 4. 만료(expire): 마지막 조각 업로드 후 expiration 이 지난 세션의 분할 업로드 취소 (UploadSessionPurger)
+ * <p>
+ * 세션과 받은 조각은 DB 에 기록하므로 앱이 재시작되어도 이어서 업로드 가능
+ * 분할 업로드한 파일은 내용 전체를 읽지 않으므로 직접 업로드(PresignedUploadService)와 같이 내용 기준 공유(file_blob)를 하지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadSessionService {
+
+    private static final int MAXIMUM_CHUNKS = 10000;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final FileDeletionRepository fileDeletionRepository;
+    private final FileService fileService;
+    private final FileStore fileStore;
+    private final FileValidator fileValidator;
+    private final DirectUploadSupport directUploadSupport;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${file.upload.session.chunk-size}")
+    private int CHUNK_SIZE;
+    @Value("${file.upload.session.maximum-file-size}")
+    private long MAXIMUM_FILE_SIZE;
+    @Value("${file.upload.session.expiration}")
+    private long EXPIRATION;
+
+    /**
+     * 조각 크기 검증
+     * S3 는 마지막 조각을 제외한 조각이 5MiB 보다 작으면 조각을 합칠 때 실패하므로, 업로드를 받기 전에 시작 시 확인
+     *
+     * @throws IllegalStateException S3 스토리지인데 chunk-size 가 5MiB 보다 작은 경우 발생
+     */
+    @PostConstruct
+    public void init() {
+        if (fileStore instanceof S3FileStore && CHUNK_SIZE < S3FileStore.MINIMUM_PART_SIZE) {
+            throw new IllegalStateException("file.upload.session.chunk-size must be at least "
+                    + S3FileStore.MINIMUM_PART_SIZE + " for S3, chunkSize=" + CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * 분할 업로드 세션 생성
+     * 1. 파일 크기(1 ~ maximum-file-size, 조각 10000개 이하)와 파일명으로 추정한 MIME Type 검사 (이미지는 이미지 MIME Type 만 허용)
+     * 2. 저장 파일명 생성, 스토리지 분할 업로드 시작
+     * 3. 세션 행 기록 (실패하면 분할 업로드 취소)
+     *
+     * @param postId 게시글 id
+     * @param dto    업로드할 파일명, 크기, 종류
+     * @return 세션 정보
+     * @throws BizException 파일 크기, 형식이 허용되지 않거나 스토리지 요청 실패 시 발생
+     */
+    @Transactional
+    public UploadSessionInfo create(int postId, UploadSessionDto dto) {
+        String origName = fileValidator.getValidFileName(dto.getName());
+        if (StringUtils.isEmpty(origName) || dto.getSize() <= 0 || dto.getSize() > MAXIMUM_FILE_SIZE
+                || (dto.getSize() + CHUNK_SIZE - 1) / CHUNK_SIZE > MAXIMUM_CHUNKS) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "업로드할 수 없는 파일입니다: " + dto.getName());
+        }
+        FileType type = dto.getType() == null ? FileType.ATTACHMENT : dto.getType();
+        String contentType = fileValidator.guessMIMEType(origName);
+        if (FileType.THUMBNAIL.equals(type) || !fileValidator.isAllowedType(type, contentType)) {
+            throw new BizException(ErrorCode.INVALID_FILE_FORMAT);
+        }
+        String ext = fileValidator.getExtension(origName);
+        String storeName = directUploadSupport.createStoreFileName(ext);
+        String uploadId = fileStore.createMultipartUpload(storeName, contentType);
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = UploadSession.builder()
+                .postId(postId)
+                .storeName(storeName)
+                .origName(origName)
+                .ext(ext)
+                .type(type)
+                .size(dto.getSize())
+                .chunkSize(CHUNK_SIZE)
+                .contentType(contentType)
+                .uploadId(uploadId)
+                .status(UploadSessionStatus.UPLOADING)
+                .expiresAt(now.plus(EXPIRATION, ChronoUnit.MILLIS))
+                .regDate(now)
+                .build();
+        try {
+            uploadSessionRepository.save(session);
+        } catch (RuntimeException e) {
+            abortQuietly(session);
+            throw e;
+        }
+        return toInfo(session, List.of());
+    }
+
+    /**
+     * 만료되지 않은 세션 조회
+     *
+     * @param sessionId 세션 id
+     * @return 세션
+     * @throws BizException 세션이 없거나 만료된 경우 발생
+     */
+    public UploadSession findSession(long sessionId) {
+        return uploadSessionRepository.findById(sessionId, LocalDateTime.now());
+    }
+
+    /**
+     * 세션 정보 조회 (이어서 업로드할 때 받은 조각 확인)
+     *
+     * @param session 세션
+     * @return 세션 정보
+     */
+    public UploadSessionInfo getInfo(UploadSession session) {
+        return toInfo(session, uploadSessionRepository.findChunks(session.getId()));
+    }
+
+    /**
+     * 조각 업로드
+     * 1. 세션 상태(완료 처리 중이면 실패), 조각 번호(0 ~ 조각 개수-1)와 크기(마지막 조각을 제외하면 chunk-size) 검사
+     * 2. 요청 본문을 스토리지 조각(번호 index+1)으로 전송, 같은 번호를 다시 올리면 교체
+     * 3. 받은 조각 기록, 세션 만료 시각 연장
+     * 스토리지 전송 중에 DB 연결을 잡지 않도록 트랜잭션 없이 수행 (조각 기록은 같은 값으로 다시 써도 결과가 같음)
+     *
+     * @param session 세션
+     * @param index   조각 번호 (0부터)
+     * @param content 조각 내용 (요청 본문)
+     * @param length  조각 크기 (Content-Length)
+     * @throws BizException 조각 번호나 크기가 다르거나 스토리지 요청 실패 시 발생
+     */
+    public void uploadChunk(UploadSession session, int index, InputStream content, long length) {
+        checkUploading(session);
+        if (index < 0 || index >= session.getChunkCount()) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 조각 번호입니다: " + index);
+        }
+        if (length != session.getChunkLength(index)) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "조각 크기는 " + session.getChunkLength(index) + " 이어야 합니다");
+        }
+        String etag = fileStore.uploadPart(session.getStoreName(), session.getUploadId(), index + 1, content, length);
+        LocalDateTime now = LocalDateTime.now();
+        uploadSessionRepository.saveChunk(UploadChunk.builder()
+                .sessionId(session.getId())
+                .chunkIndex(index)
+                .size(length)
+                .etag(etag)
+                .regDate(now)
+                .build());
+        uploadSessionRepository.extend(session.getId(), now.plus(EXPIRATION, ChronoUnit.MILLIS));
+    }
+
+    /**
+     * 분할 업로드 완료
+     * 1. 세션 선점 (짧은 트랜잭션)
+     *    세션 잠금, 모든 조각을 받았는지 확인 (받지 못한 조각이 있으면 아무것도 변경하지 않고 실패, 이어서 업로드 가능)
+     *    상태를 COMPLETING 으로 바꾸고 만료 시각 연장 (같은 세션의 완료, 취소 요청과 만료 정리가 세션을 건드리지 않음)
+     * 2. 스토리지 요청 (트랜잭션 없음)
+     *    스토리지에서 조각 합치기, 이전 완료 요청이 스토리지에서 합친 뒤 실패한 경우(분할 업로드가 없음) 파일 크기가 같으면 합친 것으로 처리
+     *    크기가 선언한 크기와 같고, 내용(Range 요청)으로 판별한 MIME Type 이 허용되는지 확인
+     *    스토리지 요청이 실패하면 상태를 UPLOADING 으로 되돌림 (다시 요청 가능)
+     * 3. 저장 (짧은 트랜잭션)
+     *    세션 잠금 후 세션 행 삭제, 검증에 통과하면 메타 데이터 저장, 실패하면 스토리지 삭제 요청 (outbox)
+     *    저장에 실패하면 상태를 UPLOADING 으로 되돌림, 되돌리지 못한 세션은 만료 후 정리
+     *
+     * @param sessionId 세션 id
+     * @return 저장한 파일 수 (검증에 실패하면 0)
+     * @throws BizException 세션이 없거나 만료된 경우, 완료 처리 중인 경우, 받지 못한 조각이 있는 경우, 스토리지 요청 실패 시 발생
+     */
+    public int complete(long sessionId) {
+        UploadSession session = transactionTemplate.execute(status -> claim(sessionId));
+        boolean allowed;
+        try {
+            allowed = mergeAndVerify(session);
+        } catch (RuntimeException e) {
+            release(session);
+            throw e;
+        }
+        try {
+            return transactionTemplate.execute(status -> finish(session, allowed));
+        } catch (RuntimeException e) {
+            release(session);
+            throw e;
+        }
+    }
+
+    /**
+     * 완료할 세션 선점 (UPLOADING -> COMPLETING)
+     */
+    private UploadSession claim(long sessionId) {
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = uploadSessionRepository.findByIdForUpdate(sessionId, now);
+        checkUploading(session);
+        if (uploadSessionRepository.findChunks(sessionId).size() != session.getChunkCount()) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "받지 못한 조각이 있습니다");
+        }
+        uploadSessionRepository.updateStatus(sessionId, UploadSessionStatus.UPLOADING, UploadSessionStatus.COMPLETING,
+                now.plus(EXPIRATION, ChronoUnit.MILLIS));
+        return session;
+    }
+
+    /**
+     * 스토리지에서 조각을 합치고 합친 파일 검증
+     *
+     * @return true: 크기와 MIME Type 이 허용됨
+     */
+    private boolean mergeAndVerify(UploadSession session) {
+        List<UploadChunk> chunks = uploadSessionRepository.findChunks(session.getId());
+        try {
+            fileStore.completeMultipartUpload(session.getStoreName(), session.getUploadId(),
+                    chunks.stream().map(UploadChunk::getEtag).collect(Collectors.toList()));
+        } catch (BizException e) {
+            if (fileStore.findLength(session.getStoreName()).orElse(-1) != session.getSize()) {
+                throw e;
+            }
+            log.warn("UploadSessionService.complete, already completed storeName={}", session.getStoreName());
+        }
+        OptionalLong length = fileStore.findLength(session.getStoreName());
+        if (length.isEmpty() || length.getAsLong() != session.getSize()
+                || !directUploadSupport.isAllowed(session.getStoreName(), session.getSize(), session.getType())) {
+            log.warn("UploadSessionService.complete, rejected storeName={}, declared={}, stored={}", session.getStoreName(), session.getSize(), length);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 세션 행 삭제, 메타 데이터 저장 또는 스토리지 삭제 요청
+     * 선점한 세션이 만료 정리된 경우 실패 (정리에서 저장 파일명도 삭제 요청하므로 메타 데이터를 저장하지 않음)
+     */
+    private int finish(UploadSession session, boolean allowed) {
+        uploadSessionRepository.findByIdForUpdate(session.getId(), LocalDateTime.now());
+        uploadSessionRepository.deleteByIds(List.of(session.getId()));
+        if (!allowed) {
+            fileDeletionRepository.enqueue(List.of(session.getStoreName()));
+            return 0;
+        }
+        UploadFile file = directUploadSupport.toUploadFile(session.getPostId(), session.getOrigName(), session.getStoreName(),
+                session.getExt(), session.getSize(), session.getType());
+        fileService.saveMetadata(session.getPostId(), List.of(file));
+        return 1;
+    }
+
+    /**
+     * 선점한 세션을 UPLOADING 으로 되돌림 (실패하면 세션은 만료 후 정리)
+     */
+    private void release(UploadSession session) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> uploadSessionRepository.updateStatus(session.getId(),
+                    UploadSessionStatus.COMPLETING, UploadSessionStatus.UPLOADING, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.error("fail UploadSessionService.release, sessionId={}", session.getId(), e);
+        }
+    }
+
+    private void checkUploading(UploadSession session) {
+        if (!UploadSessionStatus.UPLOADING.equals(session.getStatus())) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "완료 처리 중인 세션입니다");
+        }
+    }
+
+    /**
+     * 분할 업로드 취소
+     * 세션 잠금, 스토리지 분할 업로드 취소 후 세션 행 삭제 (취소에 실패하면 세션을 남겨 다시 요청 가능)
+     * 완료 처리 중인 세션은 취소하지 않음
+     *
+     * @param sessionId 세션 id
+     * @throws BizException 세션이 없거나 만료된 경우, 스토리지 요청 실패 시 발생
+     */
+    @Transactional
+    public void abort(long sessionId) {
+        UploadSession session = uploadSessionRepository.findByIdForUpdate(sessionId, LocalDateTime.now());
+        checkUploading(session);
+        uploadSessionRepository.deleteByIds(List.of(sessionId));
+        fileStore.abortMultipartUpload(session.getStoreName(), session.getUploadId());
+    }
+
+    /**
+     * 만료된 세션 정리
+     * 취소 요청 중(잠긴) 세션은 건너뛰고, 세션마다 스토리지 분할 업로드 취소
+     * 완료 처리 중인 세션은 선점할 때 만료 시각을 연장하므로, 완료 요청이 끝나지 못하고 남은 경우만 정리
+     * 취소에 실패한 세션은 남겨 다음 정리에서 다시 시도, 합친 뒤 남은 파일이 있을 수 있으므로 저장 파일명도 삭제 요청
+     *
+     * @param limit 최대 개수
+     * @return 정리한 세션 수
+     */
+    @Transactional
+    public int expire(int limit) {
+        List<UploadSession> expired = uploadSessionRepository.findExpiredForUpdate(LocalDateTime.now(), limit);
+        List<Long> ids = new ArrayList<>();
+        List<String> storeNames = new ArrayList<>();
+        for (UploadSession session : expired) {
+            try {
+                fileStore.abortMultipartUpload(session.getStoreName(), session.getUploadId());
+            } catch (BizException e) {
+                log.error("fail UploadSessionService.expire, sessionId={}", session.getId(), e);
+                continue;
+            }
+            ids.add(session.getId());
+            storeNames.add(session.getStoreName());
+        }
+        uploadSessionRepository.deleteByIds(ids);
+        fileDeletionRepository.enqueue(storeNames);
+        return ids.size();
+    }
+
+    private void abortQuietly(UploadSession session) {
+        try {
+            fileStore.abortMultipartUpload(session.getStoreName(), session.getUploadId());
+        } catch (BizException e) {
+            log.error("fail UploadSessionService.abortQuietly, storeName={}", session.getStoreName(), e);
+        }
+    }
+
+    private UploadSessionInfo toInfo(UploadSession session, List<UploadChunk> chunks) {
+        return UploadSessionInfo.builder()
+                .id(session.getId())
+                .name(session.getOrigName())
+                .size(session.getSize())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .receivedChunks(chunks.stream().map(UploadChunk::getChunkIndex).collect(Collectors.toList()))
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
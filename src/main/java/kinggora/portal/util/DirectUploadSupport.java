@@ -0,0 +1,115 @@
+package kinggora.portal.util;
+
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.domain.type.FileType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.thymeleaf.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 스토리지에 직접 올린 파일(presigned URL 업로드, 분할 업로드)의 공통 처리
+ * 1. 저장 파일명 생성 (업로드 전에는 내용을 알 수 없으므로 UUID)
+ * 2. 업로드 후 스토리지 파일 내용으로 MIME Type 을 판별하여 허용 여부 확인
+ * 3. 파일 메타 데이터 생성
+ * 4. 트랜잭션이 롤백되면 서버가 만든 파일 삭제
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DirectUploadSupport {
+
+    private final FileStore fileStore;
+    private final FileValidator fileValidator;
+    @Value("${file.upload.direct.sniff-size}")
+    private int SNIFF_SIZE;
+
+    /**
+     * 직접 업로드 파일의 저장 파일명 생성
+     *
+     * @param ext 확장자
+     * @return 파일 이름
+     */
+    public String createStoreFileName(String ext) {
+        String name = UUID.randomUUID().toString();
+        if (StringUtils.isEmpty(ext)) {
+            return name;
+        }
+        return name + "." + ext;
+    }
+
+    /**
+     * 스토리지 파일의 내용으로 MIME Type 을 판별하여 허용 여부 확인
+     * 앞부분(sniff-size)을 읽고, ZIP, OLE 컨테이너는 필요한 구간만 더 읽음
+     *
+     * @param storeName 저장 파일명
+     * @param size      파일 크기 (스토리지에서 확인한 크기)
+     * @param type      파일 종류
+     * @return true: 허용, false: 허용하지 않거나 읽기 실패
+     */
+    public boolean isAllowed(String storeName, long size, FileType type) {
+        String mimeType;
+        try (InputStream header = fileStore.openStream(storeName, 0, Math.min(size, SNIFF_SIZE))) {
+            mimeType = fileValidator.detectMIMEType(header, new StoredByteSource(fileStore, storeName, size));
+        } catch (IOException e) {
+            log.error("fail DirectUploadSupport.isAllowed, storeName={}", storeName, e);
+            return false;
+        }
+        return fileValidator.isAllowedType(type, mimeType);
+    }
+
+    /**
+     * 직접 업로드 파일의 메타 데이터 생성 (내용 해시는 알 수 없으므로 저장하지 않음)
+     *
+     * @param postId    게시글 id
+     * @param origName  원본 파일명
+     * @param storeName 저장 파일명
+     * @param ext       확장자
+     * @param size      파일 크기
+     * @param type      파일 종류
+     * @return 파일 메타 데이터
+     */
+    public UploadFile toUploadFile(int postId, String origName, String storeName, String ext, long size, FileType type) {
+        return UploadFile.builder()
+                .postId(postId)
+                .origName(origName)
+                .storeName(storeName)
+                .url(FileType.CONTENT.equals(type) ? fileStore.getUrl(storeName) : "")
+                .ext(ext)
+                .size(size)
+                .type(type)
+                .regDate(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 트랜잭션이 롤백되면 서버가 스토리지에 만든 파일 삭제
+     * 목록은 트랜잭션이 끝날 때 읽으므로 등록 후에 추가한 파일도 삭제됨
+     *
+     * @param storeNames 저장 파일명 목록
+     */
+    public void deleteOnRollback(List<String> storeNames) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    for (String storeName : storeNames) {
+                        fileStore.deleteFile(storeName);
+                    }
+                }
+            }
+        });
+    }
+}
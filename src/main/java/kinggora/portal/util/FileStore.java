@@ -0,0 +1,170 @@
+package kinggora.portal.util;
+
+import kinggora.portal.exception.BizException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * 파일 스토리지
+ * 업로드, 다운로드(전체, 구간), 삭제를 스트림 단위로 제공
+ * file.store.type 으로 구현 선택 (s3: S3FileStore, local: LocalFileStore)
+ */
+public interface FileStore {
+
+    /**
+     * 파일 업로드
+     * 기록을 마치기 전에는 같은 이름의 파일을 읽는 쪽에 일부만 기록된 내용이 보이지 않음
+     *
+     * @param inputStream   업로드할 파일 내용 (업로드 후 닫음)
+     * @param contentLength 파일 크기
+     * @param fileName      업로드할 파일명
+     * @param contentType   HTTP Header Content-Type
+     * @return 업로드 성공 여부
+     */
+    boolean uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType);
+
+    /**
+     * 파일 업로드 (byte array)
+     *
+     * @param bytes       업로드할 파일의 Byte Array
+     * @param fileName    업로드할 파일명
+     * @param contentType HTTP Header Content-Type
+     * @return 업로드 성공 여부
+     */
+    default boolean uploadFile(byte[] bytes, String fileName, String contentType) {
+        return uploadFile(new ByteArrayInputStream(bytes), bytes.length, fileName, contentType);
+    }
+
+    /**
+     * 파일을 내려받을 수 있는 URL
+     *
+     * @param fileName 파일명
+     * @return URL String
+     */
+    String getUrl(String fileName);
+
+    /**
+     * 파일 삭제 (실패 시 로그만 기록)
+     *
+     * @param fileName 삭제할 파일명
+     */
+    void deleteFile(String fileName);
+
+    /**
+     * 파일 여러 개 삭제, 없는 파일은 삭제한 것으로 처리
+     *
+     * @param fileNames 삭제할 파일명
+     * @return 삭제하지 못한 파일명과 원인
+     */
+    Map<String, String> deleteFiles(List<String> fileNames);
+
+    /**
+     * 파일의 [offset, offset + length) 구간 스트림 반환
+     *
+     * @param fileName 파일명
+     * @param offset   시작 위치
+     * @param length   길이 (0이면 빈 스트림)
+     * @return 파일 구간 스트림 (호출한 쪽에서 닫아야 함)
+     * @throws BizException 읽기 실패 시 발생
+     */
+    InputStream openStream(String fileName, long offset, long length);
+
+    /**
+     * 파일 전체 스트림 반환
+     *
+     * @param fileName 파일명
+     * @return 파일 스트림, 크기, MD5 (호출한 쪽에서 스트림을 닫아야 함)
+     * @throws BizException 파일이 없거나 읽기 실패 시 발생
+     */
+    StoredObject openObject(String fileName);
+
+    /**
+     * 파일 전체 스트림 반환, 파일이 없으면 empty
+     *
+     * @param fileName 파일명
+     * @return 파일 스트림, 크기, MD5 (호출한 쪽에서 스트림을 닫아야 함)
+     * @throws BizException 파일이 없는 경우 외의 읽기 실패 시 발생
+     */
+    Optional<StoredObject> findObject(String fileName);
+
+    /**
+     * 파일 크기 조회 (내용은 읽지 않음)
+     *
+     * @param fileName 파일명
+     * @return 파일 크기, 파일이 없으면 empty
+     * @throws BizException 파일이 없는 경우 외의 조회 실패 시 발생
+     */
+    OptionalLong findLength(String fileName);
+
+    /**
+     * 스토리지 안에서 파일 복사 (내용을 앱 서버로 내려받지 않음), Content-Type 도 복사
+     * 대상 파일은 복사를 마치기 전에는 보이지 않음
+     *
+     * @param sourceName 원본 파일명
+     * @param targetName 대상 파일명
+     * @return 복사 여부, 원본 파일이 없으면 false
+     * @throws BizException 원본 파일이 없는 경우 외의 복사 실패 시 발생
+     */
+    boolean copyFile(String sourceName, String targetName);
+
+    /**
+     * 클라이언트가 앱 서버를 거치지 않고 스토리지에 직접 업로드할 URL 발급 (HTTP PUT)
+     *
+     * @param fileName    업로드할 파일명
+     * @param contentType 업로드 요청의 Content-Type (서명에 포함되므로 다른 값으로 요청하면 거부됨)
+     * @param expiresAt   URL 만료 시각
+     * @return 업로드 URL
+     * @throws BizException 직접 업로드를 지원하지 않는 스토리지인 경우 발생
+     */
+    String createUploadUrl(String fileName, String contentType, LocalDateTime expiresAt);
+
+    /**
+     * 분할 업로드 시작
+     * 조각(part)을 따로 업로드한 뒤 completeMultipartUpload 로 하나의 파일로 합침 (합치기 전에는 파일이 보이지 않음)
+     *
+     * @param fileName    업로드할 파일명
+     * @param contentType HTTP Header Content-Type
+     * @return 분할 업로드 id
+     * @throws BizException 스토리지 요청 실패 시 발생
+     */
+    String createMultipartUpload(String fileName, String contentType);
+
+    /**
+     * 조각 업로드
+     * 같은 번호의 조각을 다시 업로드하면 이전 조각을 교체 (재시도 가능)
+     *
+     * @param fileName   업로드할 파일명
+     * @param uploadId   분할 업로드 id
+     * @param partNumber 조각 번호 (1부터)
+     * @param content    조각 내용 (닫지 않음)
+     * @param length     조각 크기
+     * @return 조각 식별값 (합칠 때 전달)
+     * @throws BizException 스토리지 요청 실패 또는 크기가 다른 경우 발생
+     */
+    String uploadPart(String fileName, String uploadId, int partNumber, InputStream content, long length);
+
+    /**
+     * 업로드한 조각을 번호 순서대로 합쳐 파일 생성
+     *
+     * @param fileName 업로드할 파일명
+     * @param uploadId 분할 업로드 id
+     * @param partTags 조각 식별값 (조각 번호 순서)
+     * @throws BizException 스토리지 요청 실패 시 발생
+     */
+    void completeMultipartUpload(String fileName, String uploadId, List<String> partTags);
+
+    /**
+     * 분할 업로드 취소, 업로드한 조각 삭제
+     *
+     * @param fileName 업로드할 파일명
+     * @param uploadId 분할 업로드 id
+     * @throws BizException 스토리지 요청 실패 시 발생
+     */
+    void abortMultipartUpload(String fileName, String uploadId);
+}
@@ -1,12 +1,16 @@
 package kinggora.portal.util;
 
 import io.jsonwebtoken.lang.Strings;
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.util.mime.ByteSource;
+import kinggora.portal.util.mime.MagicNumberDetector;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tika.Tika;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.UUID;
@@ -14,6 +18,8 @@ import java.util.UUID;
 /**
  * 파일 업로드 요청에서 Multipart File에 대한 검증기
  * 널 체크, MIME Type 체크, 유효한 파일명 생성
+ * MIME Type 은 시그니처 판별기(MagicNumberDetector)로 판별하고, Tika 는 file.mime.tika-fallback=true 일 때만 생성하여
+ * 시그니처로 판별하지 못한 파일에 사용 (tika-core 의 MIME 설정만 사용, 컨테이너 판별은 MagicNumberDetector 가 담당)
  */
 @Slf4j
 @Component
@@ -22,44 +28,106 @@ public class FileValidator {
     private String[] ALLOWED_MIME_TYPES;
     @Value("${file.maximum-filename-length}")
     private int MAXIMUM_FILENAME_LENGTH;
+    @Value("${file.mime.tika-fallback}")
+    private boolean TIKA_FALLBACK;
+    private final MagicNumberDetector detector = new MagicNumberDetector();
+    private Tika tika;
 
     /**
-     * 첨부 파일에 대한 유효성 검증
-     * 1. 유효한 파일인지
-     * 2. 업로드 허용 MIME Type 인지
-     *
-     * @param file 검증할 MultipartFile
-     * @return true: 유효한 파일, false: 유효하지 않은 파일
+     * Tika 판별기 생성 (file.mime.tika-fallback=true 인 경우만)
      */
-    public boolean isValidAttachFile(MultipartFile file) {
-        if (!isValidFile(file)) {
-            return false;
-        }
-        String mimeType = detectMIMEType(file);
-        if (!isAllowedMIMEType(mimeType)) {
-            return false;
+    @PostConstruct
+    public void init() {
+        if (TIKA_FALLBACK) {
+            tika = new Tika();
         }
-        return true;
     }
 
     /**
-     * 이미지 파일에 대한 유효성 검증
-     * 1. 유효한 파일인지
-     * 2. 업로드 허용 MIME Type 인지
-     * 3. 이미지 MIME Type 인지
+     * 업로드 파일에 대한 유효성 검증 (내용을 읽지 않는 검사)
+     * 1. null 체크
+     * 2. empty 체크
+     * 3. size > 0 체크
+     * 4. 원본 파일이름 null 체크
      *
-     * @param file 검증할 MultipartFile
-     * @return true: 유효한 이미지 파일, false: 유효하지 않은 파일
+     * @param file 파일 폼 데이터
+     * @return 유효한 파일인지 여부
      */
-    public boolean isValidImageFile(MultipartFile file) {
-        if (!isValidFile(file)) {
-            return false;
+    public boolean isValidFile(MultipartFile file) {
+        return file != null && !file.isEmpty() && file.getSize() > 0 && file.getOriginalFilename() != null;
+    }
+
+    /**
+     * 첨부 파일로 업로드 허용하는 MIME Type 인지 확인
+     *
+     * @param mimeType detectMIMEType 으로 판별한 MIME Type
+     * @return true: 허용, false: 허용하지 않음
+     */
+    public boolean isAllowedAttachType(String mimeType) {
+        return isAllowedMIMEType(mimeType);
+    }
+
+    /**
+     * 이미지 파일로 업로드 허용하는 MIME Type 인지 확인
+     * 1. 업로드 허용 MIME Type 인지
+     * 2. 이미지 MIME Type 인지
+     *
+     * @param mimeType detectMIMEType 으로 판별한 MIME Type
+     * @return true: 허용, false: 허용하지 않음
+     */
+    public boolean isAllowedImageType(String mimeType) {
+        return isAllowedMIMEType(mimeType) && isImageMimeType(mimeType);
+    }
+
+    /**
+     * 파일 종류별로 업로드 허용하는 MIME Type 인지 확인 (본문 이미지: isAllowedImageType, 그 외: isAllowedAttachType)
+     *
+     * @param type     파일 종류
+     * @param mimeType detectMIMEType 으로 판별한 MIME Type
+     * @return true: 허용, false: 허용하지 않음
+     */
+    public boolean isAllowedType(FileType type, String mimeType) {
+        return FileType.CONTENT.equals(type) ? isAllowedImageType(mimeType) : isAllowedAttachType(mimeType);
+    }
+
+    /**
+     * 파일의 MIME Type 판별 (업로드 파일, 스토리지에 직접 업로드된 파일)
+     * 파일 전체를 메모리에 올리지 않고 앞부분과 필요한 구간만 읽음
+     * 1. 파일 앞부분(header)의 시그니처로 판별
+     * 2. ZIP, OLE 컨테이너는 중앙 디렉토리(파일 끝), 디렉토리 섹터 구간만 더 읽어 내용으로 세부 형식 판별
+     * 3. 판별하지 못했거나 컨테이너 종류를 알 수 없으면 앞부분으로 Tika 판별 (tika-fallback 인 경우)
+     * 파일명(확장자)은 사용하지 않으므로 docx 로 이름만 바꾼 ZIP 은 application/zip 으로 판별
+     *
+     * @param header 파일 앞부분 스트림 (닫지 않음, 호출한 쪽에서 길이를 제한)
+     * @param source 파일 구간 읽기 (UploadContent, StoredByteSource)
+     * @return 판별된 MIME Type (판별 실패 시 null)
+     */
+    public String detectMIMEType(InputStream header, ByteSource source) {
+        try {
+            byte[] bytes = header.readAllBytes();
+            String mimeType = detector.detect(source, bytes, bytes.length);
+            if (!detector.isConclusive(mimeType) && tika != null) {
+                return tika.detect(bytes);
+            }
+            return mimeType == null ? MagicNumberDetector.OCTET_STREAM : mimeType;
+        } catch (IOException e) {
+            log.error("FileValidator.detectMIMEType", e);
+            return null;
         }
-        String mimeType = detectMIMEType(file);
-        if (!isAllowedMIMEType(mimeType) || !isImageMimeType(mimeType)) {
-            return false;
+    }
+
+    /**
+     * 파일명(확장자)으로 MIME Type 추정 (업로드 전 검사, 직접 업로드 URL 의 Content-Type 용)
+     *
+     * @param fileName 원본 파일명
+     * @return 추정한 MIME Type (알 수 없으면 application/octet-stream)
+     */
+    public String guessMIMEType(String fileName) {
+        String mimeType = detector.guess(fileName);
+        if (mimeType != null) {
+            return mimeType;
         }
-        return true;
+        return tika != null ? tika.detect(fileName) : MagicNumberDetector.OCTET_STREAM;
     }
 
     /**
@@ -86,17 +154,22 @@ public class FileValidator {
     }
 
     /**
-     * 유효한 파일인지 확인
-     * 1. null 체크
-     * 2. empty 체크
-     * 3. size > 0 체크
-     * 4. 원본 파일이름 null 체크
+     * 파일 이름에서 확장자(ext) 추출
+     * 파일명이 null 이거나 빈 문자열인 경우, '.'이 없는 경우 null 반환
+     * '.' 위치 기반으로 확장자 추출
      *
-     * @param file 파일 폼 데이터
-     * @return 유효한 파일인지 여부
+     * @param fileName 파일 이름
+     * @return 추출한 확장자 or null
      */
-    private boolean isValidFile(MultipartFile file) {
-        return file != null && !file.isEmpty() && file.getSize() > 0 && file.getOriginalFilename() != null;
+    public String getExtension(String fileName) {
+        if (!Strings.hasText(fileName)) {
+            return null;
+        }
+        int pos = fileName.lastIndexOf(".");
+        if (pos == -1) {
+            return null;
+        }
+        return fileName.substring(pos + 1);
     }
 
     /**
@@ -128,24 +201,4 @@ public class FileValidator {
         }
         return false;
     }
-
-    /**
-     * 파일의 MIME Type 판별
-     * Tika 라이브러리 사용
-     *
-     * @param file MIME Type을 판별한 MultipartFile
-     * @return 판별된 MIME Type
-     */
-    private String detectMIMEType(MultipartFile file) {
-        Tika tika = new Tika();
-        String mimeType;
-        try (InputStream inputStream = file.getInputStream()) {
-            mimeType = tika.detect(inputStream);
-        } catch (IOException e) {
-            log.error("FileValidator.detectMIMEType", e);
-            return null;
-        }
-        return mimeType;
-    }
-
 }
@@ -27,10 +27,12 @@ public class JwtProvider {
     private final long accessTokenExpireTime;
     private final long refreshTokenExpireTime;
     private final Key key;
+    private final JwtParser jwtParser;
 
     /**
      * 토큰 암호화 키, 유효 시간 초기화
      * BASE64 형식으로 인코딩한 비밀 키 기반의 토큰 암호화 키 생성
+     * JwtParser 는 불변이고 thread-safe 하므로 한 번만 생성하여 재사용
      *
      * @param secretKey 비밀 키
      */
@@ -39,6 +41,7 @@ public class JwtProvider {
                        @Value("${jwt.refresh-token-expire-time}") long refreshTokenExpireTime) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
         this.accessTokenExpireTime = accessTokenExpireTime;
         this.refreshTokenExpireTime = refreshTokenExpireTime;
     }
@@ -79,55 +82,37 @@ public class JwtProvider {
     }
 
     /**
-     * 토큰 Claims 추출
-     * 1. JWT Parser 생성: 토큰 서명 검증에 사용할 암호화 키 설정
-     * 2. JWT 파싱: body(claims), signature 분리
-     * 3. Claims 반환
-     *
-     * @param token Claims 추출할 토큰
-     * @return token의 Claims 객체
-     */
-    private Claims parseClaims(String token) {
-        JwtParser jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
-        return jwtParser.parseClaimsJws(token).getBody();
-    }
-
-    /**
-     * 토큰 유효성 검증
-     * 토큰 복호화 시도 -> 예외 발생 여부 확인
-     * 토큰 구조/형식, 서명 무결성, 유효기간 검증
+     * 토큰 검증 및 인증 정보(username) 추출
+     * 토큰을 한 번만 파싱하여 구조/형식, 서명 무결성, 유효기간을 검증하고 sub Claims 에 저장한 username 반환
      *
      * @param token 검증할 토큰
+     * @return username or null
      * @throws JwtAuthException 검증 시도 중 발생하는 예외를 커스텀 예외로 변환
      */
-    public void validateToken(String token) {
+    public String validateAndExtractUsername(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            return jwtParser.parseClaimsJws(token).getBody().getSubject();
         } catch (JwtException | IllegalArgumentException e) {
-            if (e instanceof MalformedJwtException || e instanceof IllegalArgumentException) {
-                throw new JwtAuthException(ErrorCode.INVALID_AUTH_TOKEN, e);
-            } else if (e instanceof ExpiredJwtException) {
-                throw new JwtAuthException(ErrorCode.EXPIRED_AUTH_TOKEN, e);
-            } else if (e instanceof UnsupportedJwtException) {
-                throw new JwtAuthException(ErrorCode.UNSUPPORTED_AUTH_TOKEN, e);
-            } else if (e instanceof SignatureException) {
-                throw new JwtAuthException(ErrorCode.INVALID_TOKEN_SIGNATURE, e);
-            } else {
-                throw new JwtAuthException(ErrorCode.INTERNAL_SERVER_ERROR, e);
-            }
+            throw toAuthException(e);
         }
     }
 
     /**
-     * JWT Claim에서 인증 정보(username) 추출
-     * 토큰의 sub Claims 에 저장한 username 반환
-     * 존재하지 않는다면 null 반환
+     * 토큰 검증 예외를 커스텀 예외로 변환
      *
-     * @param token username을 추출할 JWT
-     * @return username or null
+     * @param e 토큰 파싱 중 발생한 예외
+     * @return 변환된 예외
      */
-    public String extractUsername(String token) {
-        Claims claims = parseClaims(token);
-        return claims.getSubject();
+    private JwtAuthException toAuthException(RuntimeException e) {
+        if (e instanceof MalformedJwtException || e instanceof IllegalArgumentException) {
+            return new JwtAuthException(ErrorCode.INVALID_AUTH_TOKEN, e);
+        } else if (e instanceof ExpiredJwtException) {
+            return new JwtAuthException(ErrorCode.EXPIRED_AUTH_TOKEN, e);
+        } else if (e instanceof UnsupportedJwtException) {
+            return new JwtAuthException(ErrorCode.UNSUPPORTED_AUTH_TOKEN, e);
+        } else if (e instanceof SignatureException) {
+            return new JwtAuthException(ErrorCode.INVALID_TOKEN_SIGNATURE, e);
+        }
+        return new JwtAuthException(ErrorCode.INTERNAL_SERVER_ERROR, e);
     }
 }
@@ -0,0 +1,643 @@
+package kinggora.portal.util;
+
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 디스크 파일 스토리지 (file.store.type=local)
+ * 파일명의 SHA-256 앞 4자리로 2단계 하위 디렉토리를 나누어 저장 (root/ab/cd/파일명), 디렉토리 하나에 파일이 몰리지 않도록 함
+ * <p>
+ * 1. 업로드는 같은 디렉토리의 임시 파일(.tmp)에 FileChannel 로 기록한 뒤 원자적 rename 으로 반영
+ *    읽는 쪽에는 기록 전 파일 또는 기록을 마친 파일만 보임
+ * 2. fsync 정책 (file.store.local.fsync)
+ *    - none: fsync 하지 않음 (OS 에 맡김, 장애 시 최근 업로드 유실 가능)
+ *    - file: rename 전에 파일 내용 fsync
+ *    - file-and-directory: file + rename 후 디렉토리 fsync (rename 결과까지 디스크에 기록)
+ * 3. 시작 시 이전 실행에서 남은 임시 파일 삭제
+ * 4. 분할 업로드 조각은 root/.multipart/{uploadId}/{조각 번호} 에 같은 방식(임시 파일 + rename)으로 기록하고,
+ *    완료 시 번호 순서대로 임시 파일에 이어 붙인 뒤(FileChannel.transferTo) rename 으로 반영
+ * 5. 업로드 시 받은 Content-Type 은 root/.content-type/ab/cd/파일명 에 따로 기록 (응답 시 파일명 확장자가 아닌 이 값을 사용)
+ * <p>
+ * 파일 URL 은 file.store.local.base-url 하위이며 LocalFileStoreController 가 응답
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.store.type", havingValue = "local")
+public class LocalFileStore implements FileStore {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String MULTIPART_DIRECTORY = ".multipart";
+    private static final String CONTENT_TYPE_DIRECTORY = ".content-type";
+    private static final String CONTENT_TYPE_FILE = "content-type";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${file.store.local.directory}")
+    private String directory;
+    @Value("${file.store.local.fsync}")
+    private String fsync;
+    @Value("${file.store.local.base-url}")
+    private String baseUrl;
+
+    private Path root;
+    private FsyncPolicy fsyncPolicy;
+
+    /**
+     * fsync 정책
+     */
+    enum FsyncPolicy {
+        NONE, FILE, FILE_AND_DIRECTORY
+    }
+
+    /**
+     * 저장 디렉토리 생성 및 남은 임시 파일 삭제
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        fsyncPolicy = FsyncPolicy.valueOf(fsync.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        root = Paths.get(directory).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        List<Path> temps;
+        try (Stream<Path> paths = Files.walk(root)) {
+            temps = paths.filter(path -> path.getFileName().toString().endsWith(TEMP_SUFFIX)).collect(Collectors.toList());
+        }
+        for (Path temp : temps) {
+            Files.deleteIfExists(temp);
+        }
+        log.info("LocalFileStore.init, directory={}, fsync={}, removedTemps={}", root, fsyncPolicy, temps.size());
+    }
+
+    /**
+     * 파일 업로드
+     * 1. 같은 디렉토리에 임시 파일 생성 후 내용 기록 (기록한 크기가 contentLength 와 다르면 실패)
+     * 2. fsync 정책이 file 이상이면 파일 fsync
+     * 3. Content-Type 을 임시 파일에 기록
+     * 4. 원자적 rename 으로 파일, Content-Type 순서로 반영 (같은 이름의 파일이 있으면 교체)
+     * 5. fsync 정책이 file-and-directory 이면 디렉토리 fsync
+     * 실패하면 임시 파일 삭제
+     *
+     * @param inputStream   업로드할 파일 내용 (업로드 후 닫음)
+     * @param contentLength 파일 크기
+     * @param fileName      업로드할 파일명
+     * @param contentType   HTTP Header Content-Type (내용으로 판별한 MIME Type, 응답 시 사용)
+     * @return 업로드 성공 여부
+     */
+    @Override
+    public boolean uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
+        Path target = resolve(fileName);
+        Path temp = target.resolveSibling(fileName + "." + UUID.randomUUID() + TEMP_SUFFIX);
+        Path typeTarget = contentTypePath(fileName);
+        Path typeTemp = typeTarget.resolveSibling(fileName + "." + UUID.randomUUID() + TEMP_SUFFIX);
+        try (inputStream) {
+            Files.createDirectories(target.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long written = write(inputStream, channel);
+                if (written != contentLength) {
+                    throw new IOException("length mismatch, expected=" + contentLength + ", written=" + written);
+                }
+                if (fsyncPolicy != FsyncPolicy.NONE) {
+                    channel.force(true);
+                }
+            }
+            writeContentType(typeTemp, contentType);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(typeTemp, typeTarget, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (fsyncPolicy == FsyncPolicy.FILE_AND_DIRECTORY) {
+                forceDirectory(target.getParent());
+                forceDirectory(typeTarget.getParent());
+            }
+        } catch (IOException e) {
+            log.error("LocalFileStore.uploadFile, filename={}", fileName, e);
+            deleteQuietly(temp);
+            deleteQuietly(typeTemp);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * base-url 하위 URL 반환
+     *
+     * @param fileName 파일명
+     * @return URL String
+     */
+    @Override
+    public String getUrl(String fileName) {
+        return baseUrl + "/" + fileName;
+    }
+
+    /**
+     * 파일 삭제 (Content-Type 도 삭제)
+     *
+     * @param fileName 삭제할 파일명
+     */
+    @Override
+    public void deleteFile(String fileName) {
+        try {
+            delete(fileName);
+        } catch (IOException | BizException e) {
+            log.error("LocalFileStore.deleteFile, filename={}", fileName, e);
+        }
+    }
+
+    /**
+     * 파일 여러 개 삭제 (Content-Type 도 삭제)
+     * 없는 파일은 삭제한 것으로 처리
+     *
+     * @param fileNames 삭제할 파일명
+     * @return 삭제하지 못한 파일명과 원인
+     */
+    @Override
+    public Map<String, String> deleteFiles(List<String> fileNames) {
+        Map<String, String> failed = new HashMap<>();
+        for (String fileName : fileNames) {
+            try {
+                delete(fileName);
+            } catch (IOException | BizException e) {
+                failed.put(fileName, e.toString());
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 파일의 [offset, offset + length) 구간 스트림 반환
+     * FileChannel 위치를 offset 으로 옮긴 뒤 length 만큼만 읽는 스트림
+     *
+     * @param fileName 파일명
+     * @param offset   시작 위치
+     * @param length   길이 (0이면 빈 스트림)
+     * @return 파일 구간 스트림 (닫으면 FileChannel 을 닫음)
+     * @throws BizException 읽기 실패 시 발생
+     */
+    @Override
+    public InputStream openStream(String fileName, long offset, long length) {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        try {
+            FileChannel channel = FileChannel.open(resolve(fileName), StandardOpenOption.READ);
+            channel.position(offset);
+            return new RangeInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException e) {
+            log.error("LocalFileStore.openStream, filename={}, offset={}, length={}", fileName, offset, length, e);
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+    }
+
+    /**
+     * 파일 전체 스트림 반환
+     * 로컬 파일은 전송 중 손상되지 않으므로 MD5 는 반환하지 않음 (null)
+     *
+     * @param fileName 파일명
+     * @return 파일 스트림, 크기 (호출한 쪽에서 스트림을 닫아야 함)
+     * @throws BizException 파일이 없거나 읽기 실패 시 발생
+     */
+    @Override
+    public StoredObject openObject(String fileName) {
+        try {
+            return open(fileName);
+        } catch (IOException e) {
+            log.error("LocalFileStore.openObject, filename={}", fileName, e);
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+    }
+
+    /**
+     * 파일 전체 스트림 반환, 파일이 없으면 empty
+     *
+     * @param fileName 파일명
+     * @return 파일 스트림, 크기 (호출한 쪽에서 스트림을 닫아야 함)
+     * @throws BizException 파일이 없는 경우 외의 읽기 실패 시 발생
+     */
+    @Override
+    public Optional<StoredObject> findObject(String fileName) {
+        try {
+            return Optional.of(open(fileName));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.error("LocalFileStore.findObject, filename={}", fileName, e);
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+    }
+
+    /**
+     * 파일 크기 조회
+     *
+     * @param fileName 파일명
+     * @return 파일 크기, 파일이 없으면 empty
+     * @throws BizException 파일이 없는 경우 외의 조회 실패 시 발생
+     */
+    @Override
+    public OptionalLong findLength(String fileName) {
+        try {
+            return OptionalLong.of(Files.size(resolve(fileName)));
+        } catch (NoSuchFileException e) {
+            return OptionalLong.empty();
+        } catch (IOException e) {
+            log.error("LocalFileStore.findLength, filename={}", fileName, e);
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+    }
+
+    /**
+     * 업로드 시 기록한 Content-Type 조회
+     *
+     * @param fileName 파일명
+     * @return Content-Type, 기록하지 않은 파일(Content-Type 기록 이전에 업로드한 파일 등)이면 empty
+     * @throws BizException Content-Type 이 없는 경우 외의 조회 실패 시 발생
+     */
+    public Optional<String> findContentType(String fileName) {
+        try {
+            return Optional.of(Files.readString(contentTypePath(fileName), StandardCharsets.UTF_8));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.error("LocalFileStore.findContentType, filename={}", fileName, e);
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+    }
+
+    /**
+     * 파일 복사 (Content-Type 도 복사)
+     * 업로드와 같이 임시 파일에 기록한 뒤 이름을 바꿈
+     *
+     * @param sourceName 원본 파일명
+     * @param targetName 대상 파일명
+     * @return 복사 여부, 원본 파일이 없으면 false
+     * @throws BizException 원본 파일이 없는 경우 외의 복사 실패 시 발생
+     */
+    @Override
+    public boolean copyFile(String sourceName, String targetName) {
+        Optional<StoredObject> source = findObject(sourceName);
+        if (source.isEmpty()) {
+            return false;
+        }
+        String contentType = findContentType(sourceName).orElse(null);
+        if (!uploadFile(source.get().getContent(), source.get().getLength(), targetName, contentType)) {
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+        return true;
+    }
+
+    /**
+     * 로컬 스토리지는 직접 업로드를 지원하지 않음 (파일이 앱 서버 디스크에 있으므로 앱 서버로 업로드)
+     *
+     * @throws BizException 항상 발생
+     */
+    @Override
+    public String createUploadUrl(String fileName, String contentType, LocalDateTime expiresAt) {
+        throw new BizException(ErrorCode.METHOD_NOT_ALLOWED, "직접 업로드를 지원하지 않는 스토리지입니다");
+    }
+
+    /**
+     * 분할 업로드 시작 (조각 디렉토리 생성, Content-Type 은 조각 디렉토리에 기록하고 완료 시 반영)
+     *
+     * @param fileName    업로드할 파일명
+     * @param contentType HTTP Header Content-Type
+     * @return 분할 업로드 id (UUID)
+     * @throws BizException 디렉토리 생성 실패 시 발생
+     */
+    @Override
+    public String createMultipartUpload(String fileName, String contentType) {
+        resolve(fileName);
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Path directory = Files.createDirectories(partDirectory(uploadId));
+            writeContentType(directory.resolve(CONTENT_TYPE_FILE), contentType);
+        } catch (IOException e) {
+            log.error("LocalFileStore.createMultipartUpload, filename={}", fileName, e);
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+        return uploadId;
+    }
+
+    /**
+     * 조각 업로드
+     * 임시 파일에 기록한 뒤 rename 으로 조각 파일 교체 (같은 번호를 다시 올리면 마지막 조각이 남음)
+     *
+     * @param fileName   업로드할 파일명
+     * @param uploadId   분할 업로드 id
+     * @param partNumber 조각 번호 (1부터)
+     * @param content    조각 내용 (닫지 않음)
+     * @param length     조각 크기
+     * @return 조각 식별값 (조각 크기)
+     * @throws BizException 분할 업로드가 없거나, 기록한 크기가 length 와 다르거나, 기록 실패 시 발생
+     */
+    @Override
+    public String uploadPart(String fileName, String uploadId, int partNumber, InputStream content, long length) {
+        Path directory = partDirectory(uploadId);
+        if (!Files.isDirectory(directory)) {
+            throw new BizException(ErrorCode.FILE_NOT_FOUND, "분할 업로드가 없습니다");
+        }
+        Path part = directory.resolve(String.valueOf(partNumber));
+        Path temp = directory.resolve(partNumber + "." + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            long written;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                written = write(content, channel);
+                if (written == length && fsyncPolicy != FsyncPolicy.NONE) {
+                    channel.force(true);
+                }
+            }
+            if (written != length) {
+                deleteQuietly(temp);
+                throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "조각 크기가 다릅니다");
+            }
+            Files.move(temp, part, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("LocalFileStore.uploadPart, filename={}, uploadId={}, partNumber={}", fileName, uploadId, partNumber, e);
+            deleteQuietly(temp);
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+        return String.valueOf(length);
+    }
+
+    /**
+     * 조각을 번호 순서대로 이어 붙여 파일 생성
+     * 1. 대상 디렉토리의 임시 파일에 조각마다 transferTo (조각 크기가 식별값과 다르면 실패)
+     * 2. fsync 정책에 따라 파일 fsync, rename, 디렉토리 fsync (uploadFile 과 같음)
+     * 3. 시작 시 기록한 Content-Type 을 rename 으로 반영 (기록이 없으면 건너뜀)
+     * 4. 조각 디렉토리 삭제
+     *
+     * @param fileName 업로드할 파일명
+     * @param uploadId 분할 업로드 id
+     * @param partTags 조각 식별값 (조각 크기, 조각 번호 순서)
+     * @throws BizException 조각이 없거나 기록 실패 시 발생
+     */
+    @Override
+    public void completeMultipartUpload(String fileName, String uploadId, List<String> partTags) {
+        Path target = resolve(fileName);
+        Path directory = partDirectory(uploadId);
+        Path temp = target.resolveSibling(fileName + "." + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(target.getParent());
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                for (int i = 0; i < partTags.size(); i++) {
+                    try (FileChannel in = FileChannel.open(directory.resolve(String.valueOf(i + 1)), StandardOpenOption.READ)) {
+                        long size = in.size();
+                        if (!String.valueOf(size).equals(partTags.get(i))) {
+                            throw new IOException("part changed, partNumber=" + (i + 1) + ", size=" + size);
+                        }
+                        long position = 0;
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+                if (fsyncPolicy != FsyncPolicy.NONE) {
+                    out.force(true);
+                }
+            }
+            Path typeTarget = contentTypePath(fileName);
+            Files.createDirectories(typeTarget.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Path typeTemp = directory.resolve(CONTENT_TYPE_FILE);
+            if (Files.exists(typeTemp)) {
+                Files.move(typeTemp, typeTarget, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (fsyncPolicy == FsyncPolicy.FILE_AND_DIRECTORY) {
+                forceDirectory(target.getParent());
+                forceDirectory(typeTarget.getParent());
+            }
+        } catch (IOException e) {
+            log.error("LocalFileStore.completeMultipartUpload, filename={}, uploadId={}", fileName, uploadId, e);
+            deleteQuietly(temp);
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+        deleteDirectory(directory);
+    }
+
+    /**
+     * 분할 업로드 취소 (조각 디렉토리 삭제, 없으면 삭제한 것으로 처리)
+     *
+     * @param fileName 업로드할 파일명
+     * @param uploadId 분할 업로드 id
+     */
+    @Override
+    public void abortMultipartUpload(String fileName, String uploadId) {
+        deleteDirectory(partDirectory(uploadId));
+    }
+
+    private StoredObject open(String fileName) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(fileName), StandardOpenOption.READ);
+        try {
+            return new StoredObject(Channels.newInputStream(channel), channel.size(), null);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 파일명에 해당하는 저장 경로
+     * 파일명의 SHA-256 hex 앞 2자리, 다음 2자리를 하위 디렉토리로 사용
+     *
+     * @param fileName 파일명
+     * @return root/ab/cd/파일명
+     * @throws BizException 경로 구분자가 포함되는 등 파일명으로 사용할 수 없는 경우 발생
+     */
+    Path resolve(String fileName) {
+        if (fileName == null || fileName.isEmpty() || fileName.equals(".") || fileName.equals("..")
+                || fileName.indexOf('/') >= 0 || fileName.indexOf('\\') >= 0 || fileName.indexOf('\0') >= 0
+                || fileName.endsWith(TEMP_SUFFIX)) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 파일명입니다");
+        }
+        byte[] digest = sha256().digest(fileName.getBytes(StandardCharsets.UTF_8));
+        String shard = String.format("%02x", digest[0] & 0xFF);
+        String subShard = String.format("%02x", digest[1] & 0xFF);
+        return root.resolve(shard).resolve(subShard).resolve(fileName);
+    }
+
+    /**
+     * 파일명에 해당하는 Content-Type 기록 경로 (root/.content-type/ab/cd/파일명)
+     *
+     * @param fileName 파일명
+     * @throws BizException 파일명으로 사용할 수 없는 경우 발생
+     */
+    private Path contentTypePath(String fileName) {
+        return root.resolve(CONTENT_TYPE_DIRECTORY).resolve(root.relativize(resolve(fileName)));
+    }
+
+    /**
+     * 분할 업로드 조각 디렉토리 (root/.multipart/{uploadId})
+     *
+     * @throws BizException uploadId 가 UUID 형식이 아닌 경우 발생
+     */
+    private Path partDirectory(String uploadId) {
+        try {
+            if (uploadId != null && UUID.fromString(uploadId).toString().equals(uploadId)) {
+                return root.resolve(MULTIPART_DIRECTORY).resolve(uploadId);
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("LocalFileStore.partDirectory, uploadId={}", uploadId);
+        }
+        throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 분할 업로드 id 입니다");
+    }
+
+    /**
+     * Content-Type 기록 (fsync 정책이 file 이상이면 fsync)
+     */
+    private void writeContentType(Path path, String contentType) throws IOException {
+        Files.createDirectories(path.getParent());
+        ByteBuffer buffer = ByteBuffer.wrap((contentType == null ? "" : contentType).getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsyncPolicy != FsyncPolicy.NONE) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * 파일, Content-Type 삭제
+     */
+    private void delete(String fileName) throws IOException {
+        Files.deleteIfExists(resolve(fileName));
+        Files.deleteIfExists(contentTypePath(fileName));
+    }
+
+    private long write(InputStream in, FileChannel channel) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        long written = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            byteBuffer.clear().limit(read);
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+            written += read;
+        }
+        return written;
+    }
+
+    /**
+     * 디렉토리 fsync (rename 결과를 디스크에 기록)
+     * 디렉토리를 열 수 없는 파일 시스템(Windows 등)에서는 건너뜀
+     */
+    private void forceDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("LocalFileStore.forceDirectory, directory={}, cause={}", dir, e.toString());
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("LocalFileStore.deleteQuietly, path={}, cause={}", path, e.toString());
+        }
+    }
+
+    private void deleteDirectory(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.error("LocalFileStore.deleteDirectory, directory={}", dir, e);
+            throw new BizException(ErrorCode.STORAGE_ERROR);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 남은 길이만큼만 읽는 스트림
+     */
+    private static class RangeInputStream extends FilterInputStream {
+        private long remaining;
+
+        RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -1,53 +1,92 @@
 package kinggora.portal.util;
 
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.HttpMethod;
 import com.amazonaws.SdkClientException;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
-import com.amazonaws.services.s3.model.S3ObjectInputStream;
-import com.amazonaws.util.IOUtils;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
 import kinggora.portal.exception.BizException;
 import kinggora.portal.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * AWS S3 파일 업로드/다운로드
  * properties 파일로부터 버킷명, Cloud Front Domain 설정 초기화
+ * file.store.type=s3 (기본값) 일 때 사용
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 @PropertySource("classpath:/application-s3.properties")
-public class S3FileStore {
+@ConditionalOnProperty(name = "file.store.type", havingValue = "s3", matchIfMissing = true)
+public class S3FileStore implements FileStore {
+    private static final int MAX_DELETE_KEYS = 1000;
+    /**
+     * 분할 업로드에서 마지막 조각을 제외한 조각의 최소 크기 (더 작으면 CompleteMultipartUpload 가 EntityTooSmall 로 실패)
+     */
+    public static final long MINIMUM_PART_SIZE = 5L * 1024 * 1024;
+
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
     @Value("${cloud.aws.s3.cloudfront.domain}")
     private String cloudFrontDomain;
     private final AmazonS3 amazonS3;
+    private final TransferManager transferManager;
 
     /**
      * 파일 업로드
-     * multipartFile, fileName 기반으로 PutObjectRequest 생성
-     * AWS S3 인터페이스에 putObject 요청
+     * inputStream, fileName 기반으로 PutObjectRequest 생성
+     * TransferManager 로 업로드 (큰 파일은 multipart upload), 대기 중 인터럽트되면 업로드 중단
      *
-     * @param multipartFile 업로드할 파일 폼 데이터
+     * @param inputStream   업로드할 파일 내용 (mark/reset 을 지원하면 재시도 시 처음부터 다시 읽음)
+     * @param contentLength 파일 크기
      * @param fileName      업로드할 파일명
+     * @param contentType   HTTP Header Content-Type
      * @return 업로드 성공 여부
      */
-    public boolean uploadFile(MultipartFile multipartFile, String fileName) {
-        try (InputStream inputStream = multipartFile.getInputStream()) {
-            PutObjectRequest putRequest = createPutObjectRequest(fileName, inputStream, multipartFile.getContentType(), multipartFile.getSize());
-            amazonS3.putObject(putRequest);
+    @Override
+    public boolean uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
+        try (inputStream) {
+            PutObjectRequest putRequest = createPutObjectRequest(fileName, inputStream, contentType, contentLength);
+            Upload upload = transferManager.upload(putRequest);
+            try {
+                upload.waitForCompletion();
+            } catch (InterruptedException e) {
+                upload.abort();
+                Thread.currentThread().interrupt();
+                log.warn("S3FileStore.uploadFile, interrupted filename={}", fileName);
+                return false;
+            }
         } catch (SdkClientException | IOException e) {
             log.error("S3FileStore.uploadFile, filename={}", fileName, e);
             return false;
@@ -55,30 +94,13 @@ public class S3FileStore {
         return true;
     }
 
-    /**
-     * 파일 업로드
-     * bytes, fileName, contentType 기반으로 PutObjectRequest 생성
-     * AWS S3 인터페이스에 putObject 요청
-     *
-     * @param bytes       업로드할 파일의 Byte Array
-     * @param fileName    업로드할 파일명
-     * @param contentType HTTP Header Content-Type
-     */
-    public void uploadFile(byte[] bytes, String fileName, String contentType) {
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes)) {
-            PutObjectRequest putRequest = createPutObjectRequest(fileName, inputStream, contentType, bytes.length);
-            amazonS3.putObject(putRequest);
-        } catch (SdkClientException | IOException e) {
-            log.error("S3FileStore.uploadFile, filename={}", fileName, e);
-        }
-    }
-
     /**
      * Cloud Front Domain URL 반환
      *
      * @param fileName 파일명
      * @return URL String
      */
+    @Override
     public String getUrl(String fileName) {
         return "https://" + cloudFrontDomain + "/" + fileName;
     }
@@ -89,6 +111,7 @@ public class S3FileStore {
      *
      * @param fileName 삭제할 파일명
      */
+    @Override
     public void deleteFile(String fileName) {
         try {
             amazonS3.deleteObject(bucket, fileName);
@@ -98,23 +121,282 @@ public class S3FileStore {
     }
 
     /**
-     * 파일 byte array 반환
+     * 파일 여러 개 삭제
+     * AWS S3 인터페이스에 deleteObjects 요청 (요청 한 번에 최대 1,000개, quiet 모드)
+     * 없는 파일은 삭제한 것으로 처리
+     *
+     * @param fileNames 삭제할 파일명
+     * @return 삭제하지 못한 파일명과 원인
+     */
+    @Override
+    public Map<String, String> deleteFiles(List<String> fileNames) {
+        Map<String, String> failed = new HashMap<>();
+        for (int from = 0; from < fileNames.size(); from += MAX_DELETE_KEYS) {
+            List<String> keys = fileNames.subList(from, Math.min(from + MAX_DELETE_KEYS, fileNames.size()));
+            DeleteObjectsRequest request = new DeleteObjectsRequest(bucket)
+                    .withKeys(keys.toArray(new String[0]))
+                    .withQuiet(true);
+            try {
+                amazonS3.deleteObjects(request);
+            } catch (MultiObjectDeleteException e) {
+                for (MultiObjectDeleteException.DeleteError error : e.getErrors()) {
+                    failed.put(error.getKey(), error.getCode() + " " + error.getMessage());
+                }
+            } catch (SdkClientException e) {
+                log.error("S3FileStore.deleteFiles, files={}", keys.size(), e);
+                keys.forEach(key -> failed.put(key, e.getMessage()));
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 파일의 [offset, offset + length) 구간 스트림 반환
+     * AWS S3 인터페이스에 Range getObject 요청 (요청한 구간만 전송 받음)
+     * 반환한 스트림을 닫으면 S3 연결이 반환되며, 끝까지 읽지 않고 닫으면 연결을 끊음
+     *
+     * @param fileName 파일명
+     * @param offset   시작 위치
+     * @param length   길이 (0이면 빈 스트림)
+     * @return 파일 구간 스트림
+     * @throws BizException S3 요청 실패 시 발생
+     */
+    @Override
+    public InputStream openStream(String fileName, long offset, long length) {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        try {
+            GetObjectRequest request = new GetObjectRequest(bucket, fileName)
+                    .withRange(offset, offset + length - 1);
+            return amazonS3.getObject(request).getObjectContent();
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.openStream, filename={}, offset={}, length={}", fileName, offset, length, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    /**
+     * 파일 전체 스트림 반환 (로컬 캐시 적재용)
      * AWS S3 인터페이스에 getObject 요청
-     * 파일 byte Array 생성
+     * 단일 요청으로 업로드되고 KMS, 고객 키로 암호화되지 않은 객체는 ETag 가 MD5 이므로 검증용으로 함께 반환
      *
-     * @param fileName byte array 반환할 파일명
-     * @return 파일 byte array
+     * @param fileName 파일명
+     * @return 파일 스트림, 크기, MD5 (호출한 쪽에서 스트림을 닫아야 함)
+     * @throws BizException S3 요청 실패 시 발생
      */
-    public byte[] loadAsBytes(String fileName) {
-        byte[] bytes;
-        try (S3Object file = amazonS3.getObject(bucket, fileName)) {
-            S3ObjectInputStream objectContent = file.getObjectContent();
-            bytes = IOUtils.toByteArray(objectContent);
-        } catch (SdkClientException | IOException e) {
-            log.error("S3FileStore.loadAsBytes, filename={}", fileName, e);
-            throw new BizException(ErrorCode.INTERNAL_SERVER_ERROR);
+    @Override
+    public StoredObject openObject(String fileName) {
+        try {
+            S3Object object = amazonS3.getObject(bucket, fileName);
+            ObjectMetadata metadata = object.getObjectMetadata();
+            return new StoredObject(object.getObjectContent(), metadata.getContentLength(), md5Of(metadata));
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.openObject, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    /**
+     * 파일 전체 스트림 반환, 파일이 없으면 empty
+     * 생성 여부를 알 수 없는 파생 파일(변형 이미지 등) 조회용
+     *
+     * @param fileName 파일명
+     * @return 파일 스트림, 크기, MD5 (호출한 쪽에서 스트림을 닫아야 함)
+     * @throws BizException 파일이 없는 경우 외의 S3 요청 실패 시 발생
+     */
+    @Override
+    public Optional<StoredObject> findObject(String fileName) {
+        try {
+            S3Object object = amazonS3.getObject(bucket, fileName);
+            ObjectMetadata metadata = object.getObjectMetadata();
+            return Optional.of(new StoredObject(object.getObjectContent(), metadata.getContentLength(), md5Of(metadata)));
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            log.error("S3FileStore.findObject, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.findObject, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    /**
+     * 파일 크기 조회
+     * AWS S3 인터페이스에 getObjectMetadata(HEAD) 요청
+     *
+     * @param fileName 파일명
+     * @return 파일 크기, 파일이 없으면 empty
+     * @throws BizException 파일이 없는 경우 외의 S3 요청 실패 시 발생
+     */
+    @Override
+    public OptionalLong findLength(String fileName) {
+        try {
+            return OptionalLong.of(amazonS3.getObjectMetadata(bucket, fileName).getContentLength());
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) {
+                return OptionalLong.empty();
+            }
+            log.error("S3FileStore.findLength, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.findLength, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    /**
+     * 파일 복사 (서버 측 복사)
+     * TransferManager 로 복사 (큰 파일은 multipart copy), 대기 중 인터럽트되면 실패로 처리
+     *
+     * @param sourceName 원본 파일명
+     * @param targetName 대상 파일명
+     * @return 복사 여부, 원본 파일이 없으면(404) false
+     * @throws BizException 원본 파일이 없는 경우 외의 S3 요청 실패 시 발생
+     */
+    @Override
+    public boolean copyFile(String sourceName, String targetName) {
+        try {
+            transferManager.copy(bucket, sourceName, bucket, targetName).waitForCopyResult();
+            return true;
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) {
+                return false;
+            }
+            log.error("S3FileStore.copyFile, source={}, target={}", sourceName, targetName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.copyFile, source={}, target={}", sourceName, targetName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("S3FileStore.copyFile, interrupted source={}, target={}", sourceName, targetName);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    /**
+     * presigned PUT URL 발급
+     * 서명만 계산하므로 S3 요청은 보내지 않음 (cloud.aws.s3.endpoint 를 설정하면 S3 호환 스토리지 주소로 발급)
+     *
+     * @param fileName    업로드할 파일명
+     * @param contentType 업로드 요청의 Content-Type
+     * @param expiresAt   URL 만료 시각
+     * @return 업로드 URL
+     */
+    @Override
+    public String createUploadUrl(String fileName, String contentType, LocalDateTime expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, fileName, HttpMethod.PUT)
+                .withContentType(contentType)
+                .withExpiration(Date.from(expiresAt.atZone(ZoneId.systemDefault()).toInstant()));
+        try {
+            return amazonS3.generatePresignedUrl(request).toString();
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.createUploadUrl, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    /**
+     * 분할 업로드 시작 (InitiateMultipartUpload)
+     * 마지막 조각을 제외한 조각은 5MB 이상이어야 함 (S3 제한)
+     *
+     * @param fileName    업로드할 파일명
+     * @param contentType HTTP Header Content-Type
+     * @return 분할 업로드 id
+     */
+    @Override
+    public String createMultipartUpload(String fileName, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        try {
+            return amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, fileName, metadata)).getUploadId();
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.createMultipartUpload, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    /**
+     * 조각 업로드 (UploadPart)
+     * 스트림을 그대로 전송하므로 조각 전체를 메모리에 올리지 않음, 같은 번호를 다시 올리면 S3 가 조각을 교체
+     *
+     * @param fileName   업로드할 파일명
+     * @param uploadId   분할 업로드 id
+     * @param partNumber 조각 번호 (1 ~ 10000)
+     * @param content    조각 내용
+     * @param length     조각 크기
+     * @return 조각 ETag
+     */
+    @Override
+    public String uploadPart(String fileName, String uploadId, int partNumber, InputStream content, long length) {
+        UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(bucket)
+                .withKey(fileName)
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withInputStream(content)
+                .withPartSize(length);
+        try {
+            return amazonS3.uploadPart(request).getETag();
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.uploadPart, filename={}, partNumber={}", fileName, partNumber, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    /**
+     * 분할 업로드 완료 (CompleteMultipartUpload)
+     *
+     * @param fileName 업로드할 파일명
+     * @param uploadId 분할 업로드 id
+     * @param partTags 조각 ETag (조각 번호 순서)
+     */
+    @Override
+    public void completeMultipartUpload(String fileName, String uploadId, List<String> partTags) {
+        List<PartETag> partETags = new ArrayList<>(partTags.size());
+        for (int i = 0; i < partTags.size(); i++) {
+            partETags.add(new PartETag(i + 1, partTags.get(i)));
+        }
+        try {
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, fileName, uploadId, partETags));
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.completeMultipartUpload, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    /**
+     * 분할 업로드 취소 (AbortMultipartUpload), 이미 없는 분할 업로드(404)는 취소한 것으로 처리
+     *
+     * @param fileName 업로드할 파일명
+     * @param uploadId 분할 업로드 id
+     */
+    @Override
+    public void abortMultipartUpload(String fileName, String uploadId) {
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, fileName, uploadId));
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) {
+                return;
+            }
+            log.error("S3FileStore.abortMultipartUpload, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        } catch (SdkClientException e) {
+            log.error("S3FileStore.abortMultipartUpload, filename={}", fileName, e);
+            throw new BizException(ErrorCode.S3_ERROR);
+        }
+    }
+
+    private String md5Of(ObjectMetadata metadata) {
+        String eTag = metadata.getETag();
+        boolean plain = metadata.getSSEAlgorithm() == null || ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION.equals(metadata.getSSEAlgorithm());
+        if (eTag == null || eTag.contains("-") || !plain || metadata.getSSECustomerAlgorithm() != null) {
+            return null;
         }
-        return bytes;
+        return eTag;
     }
 
     /**
@@ -0,0 +1,50 @@
+package kinggora.portal.util;
+
+import kinggora.portal.util.mime.ByteSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 스토리지에 저장된 파일을 구간 요청으로 읽는 ByteSource
+ * 직접 업로드된 파일의 MIME Type 판별 시 ZIP 중앙 디렉토리(파일 끝), OLE 디렉토리 섹터를 필요한 구간만 읽을 때 사용
+ * 읽을 때마다 FileStore.openStream 으로 구간을 요청하므로 큰 구간을 몇 번만 읽는 용도로 사용
+ */
+public class StoredByteSource implements ByteSource {
+
+    private final FileStore fileStore;
+    private final String fileName;
+    private final long size;
+
+    /**
+     * @param fileStore 파일 스토리지
+     * @param fileName  저장 파일명
+     * @param size      파일 크기 (스토리지에서 확인한 크기)
+     */
+    public StoredByteSource(FileStore fileStore, String fileName, long size) {
+        this.fileStore = fileStore;
+        this.fileName = fileName;
+        this.size = size;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * [position, position + len) 구간 요청 (파일 끝을 넘는 구간은 요청하지 않음)
+     *
+     * @throws IOException 읽기 실패 시 발생
+     */
+    @Override
+    public int read(long position, byte[] b, int off, int len) throws IOException {
+        if (position >= size || len <= 0) {
+            return 0;
+        }
+        int count = (int) Math.min(len, size - position);
+        try (InputStream in = fileStore.openStream(fileName, position, count)) {
+            return in.readNBytes(b, off, count);
+        }
+    }
+}
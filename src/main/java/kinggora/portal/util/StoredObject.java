@@ -0,0 +1,19 @@
+package kinggora.portal.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.InputStream;
+
+/**
+ * 스토리지에서 읽은 파일
+ * 내용 스트림과 스토리지가 알려준 크기, MD5 (스토리지가 MD5 를 보장하지 못하면 null)
+ */
+@Getter
+@RequiredArgsConstructor
+public class StoredObject {
+
+    private final InputStream content;
+    private final long length;
+    private final String md5;
+}
@@ -6,28 +6,39 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PostConstruct;
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
 
 /**
  * 썸네일 유틸리티
  * 썸네일 이미지 생성, 업로드
  * properties 파일로부터 썸네일 파일의 확장자, Content-Type, width, height 설정 초기화
+ * <p>
+ * 원본을 썸네일(변형 이미지) 크기에 맞춰 건너뛰며 디코딩하고, 동시에 디코딩 중인 이미지의 메모리 합계를 file.thumbnail.decode-memory 로 제한
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ThumbnailUtil {
 
-
-    private final S3FileStore s3FileStore;
+    private final FileStore fileStore;
     @Value("${file.thumbnail.extension}")
     private String THUMB_EXT;
     @Value("${file.thumbnail.content-type}")
@@ -36,53 +47,191 @@ public class ThumbnailUtil {
     private int THUMB_WIDTH;
     @Value("${file.thumbnail.size.height}")
     private int THUMB_HEIGHT;
+    @Value("${file.thumbnail.placeholder-url}")
+    private String PLACEHOLDER_URL;
+    @Value("${file.thumbnail.decode-memory}")
+    private long DECODE_MEMORY;
+
+    private Semaphore decodeMemory;
+    private int decodePermits;
+
+    static {
+        // ImageIO.read(InputStream) 가 디코딩할 내용을 임시 파일에 복사하지 않고 메모리에서 읽도록 설정
+        ImageIO.setUseCache(false);
+    }
 
     /**
-     * 썸네일 파일 업로드
-     * sourceMetaData 기반으로 썸네일 파일의 메타 데이터 생성
+     * 디코딩 메모리 한도 초기화 (KB 단위 permit)
+     */
+    @PostConstruct
+    public void init() {
+        decodePermits = toKilobytes(DECODE_MEMORY);
+        decodeMemory = new Semaphore(decodePermits, true);
+    }
+
+    /**
+     * 썸네일 자리 표시 메타 데이터 생성
+     * 썸네일이 만들어지기 전까지 url 은 placeholder, size 는 0 (생성 대기)
      *
-     * @param imageFile      원 이미지 파일
      * @param sourceMetaData 원 이미지 파일 메타데이터
      * @return 썸네일 파일 메타 데이터
      */
-    public UploadFile uploadThumbFile(MultipartFile imageFile, UploadFile sourceMetaData) {
-        byte[] thumbnail = createThumbnail(imageFile);
-        String origName = sourceMetaData.getStoreName();
-        String storeName = createStoreFileName(sourceMetaData.getStoreName());
-        s3FileStore.uploadFile(thumbnail, storeName, THUMB_CONTENT_TYPE);
-        String url = s3FileStore.getUrl(storeName);
+    public UploadFile createPlaceholder(UploadFile sourceMetaData) {
         return UploadFile.builder()
                 .postId(sourceMetaData.getPostId())
-                .url(url)
-                .origName(origName)
-                .storeName(storeName)
+                .url(PLACEHOLDER_URL)
+                .origName(sourceMetaData.getStoreName())
+                .storeName(createStoreFileName(sourceMetaData.getStoreName()))
                 .ext(THUMB_EXT)
-                .size(thumbnail.length)
+                .size(0)
                 .type(FileType.THUMBNAIL)
                 .regDate(LocalDateTime.now())
                 .build();
     }
 
     /**
-     * sourceImageFile에 대한 썸네일 이미지 파일 생성
+     * 썸네일 파일 업로드
      *
-     * @param sourceImageFile 원 이미지 파일
+     * @param thumbnail 썸네일 이미지 byte array
+     * @param storeName 썸네일 파일명
+     * @return 썸네일 URL (업로드 실패 시 null)
+     */
+    public String uploadThumbnail(byte[] thumbnail, String storeName) {
+        if (!fileStore.uploadFile(thumbnail, storeName, THUMB_CONTENT_TYPE)) {
+            return null;
+        }
+        return fileStore.getUrl(storeName);
+    }
+
+    /**
+     * 원 이미지에 대한 썸네일 이미지 생성 (THUMB_WIDTH x THUMB_HEIGHT, 비율 무시)
+     *
+     * @param sourceImageFile 원 이미지 스트림 (닫지 않음)
+     * @param sourceSize      원 이미지 파일 크기 (압축된 내용을 메모리에 유지하는 경우를 대비해 한도에 포함)
      * @return 썸네일 이미지 byte array
+     * @throws IOException 읽을 수 없는 이미지인 경우 발생
+     * @throws InterruptedException 메모리 한도 대기 중 인터럽트 시 발생
+     */
+    public byte[] createThumbnail(InputStream sourceImageFile, long sourceSize) throws IOException, InterruptedException {
+        return resize(sourceImageFile, sourceSize, (width, height) -> new Dimension(THUMB_WIDTH, THUMB_HEIGHT),
+                BufferedImage.TYPE_3BYTE_BGR, THUMB_EXT, -1);
+    }
+
+    /**
+     * 원 이미지에 대한 변형 이미지 생성 (비율 유지)
+     * 원본보다 넓게 확대하지 않음
+     *
+     * @param sourceImageFile 원 이미지 스트림 (닫지 않음)
+     * @param sourceSize      원 이미지 파일 크기
+     * @param width           변형 이미지 너비
+     * @param format          변형 이미지 형식 (jpg, png)
+     * @param quality         JPEG 압축 품질 (0 ~ 1)
+     * @return 변형 이미지 byte array
+     * @throws IOException 읽을 수 없는 이미지인 경우 발생
+     * @throws InterruptedException 메모리 한도 대기 중 인터럽트 시 발생
      */
-    private byte[] createThumbnail(MultipartFile sourceImageFile) {
-        BufferedImage bufferedThumbImage = new BufferedImage(THUMB_WIDTH, THUMB_HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
-        Graphics2D graphic = bufferedThumbImage.createGraphics();
-        byte[] thumbByteArray = null;
-        try (InputStream inputStream = sourceImageFile.getInputStream();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            BufferedImage bufferedOrigImage = ImageIO.read(inputStream);
-            graphic.drawImage(bufferedOrigImage, 0, 0, THUMB_WIDTH, THUMB_HEIGHT, null);
-            ImageIO.write(bufferedThumbImage, THUMB_EXT, outputStream);
-            thumbByteArray = outputStream.toByteArray();
-        } catch (IOException e) {
-            log.error("ThumbnailUtil.createThumbnail", e);
+    public byte[] createVariant(InputStream sourceImageFile, long sourceSize, int width, String format, float quality)
+            throws IOException, InterruptedException {
+        boolean alpha = !"jpg".equals(format);
+        return resize(sourceImageFile, sourceSize, (sourceWidth, sourceHeight) -> {
+                    int targetWidth = Math.min(width, sourceWidth);
+                    int targetHeight = (int) Math.max(1, Math.round((double) sourceHeight * targetWidth / sourceWidth));
+                    return new Dimension(targetWidth, targetHeight);
+                },
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_3BYTE_BGR, format, quality);
+    }
+
+    /**
+     * 이미지 크기 변환
+     * 1. 헤더만 읽어 원본 크기 확인, 결과 크기 결정
+     * 2. 결과 크기 이상을 유지하는 최대 간격으로 픽셀을 건너뛰며 디코딩 (source subsampling)
+     * 3. 디코딩 결과 + 결과 이미지 크기만큼 메모리 한도(file.thumbnail.decode-memory)를 확보한 뒤 디코딩 (부족하면 대기)
+     * 4. 결과 크기로 그려 인코딩
+     *
+     * @param quality JPEG 압축 품질, 음수이면 기본값
+     */
+    private byte[] resize(InputStream sourceImageFile, long sourceSize, BiFunction<Integer, Integer, Dimension> target,
+                          int imageType, String format, float quality) throws IOException, InterruptedException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(sourceImageFile)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("unsupported image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                Dimension size = target.apply(width, height);
+                int subsampling = subsampling(width, height, size.width, size.height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                long decoded = decodedBytes(width, height, subsampling) + (long) size.width * size.height * 4 + sourceSize;
+                int permits = Math.min(toKilobytes(decoded), decodePermits);
+                decodeMemory.acquire(permits);
+                try {
+                    return encode(draw(reader.read(0, param), size, imageType), format, quality);
+                } finally {
+                    decodeMemory.release(permits);
+                }
+            } finally {
+                reader.dispose();
+            }
         }
-        return thumbByteArray;
+    }
+
+    /**
+     * 원본 크기에서 target 크기 이상을 유지하는 최대 subsampling 간격
+     */
+    static int subsampling(int width, int height, int targetWidth, int targetHeight) {
+        return Math.max(1, Math.min(width / targetWidth, height / targetHeight));
+    }
+
+    /**
+     * subsampling 디코딩 결과 크기 (픽셀당 4 byte 로 추정)
+     */
+    static long decodedBytes(int width, int height, int subsampling) {
+        long decodedWidth = (width + subsampling - 1) / subsampling;
+        long decodedHeight = (height + subsampling - 1) / subsampling;
+        return decodedWidth * decodedHeight * 4;
+    }
+
+    private BufferedImage draw(BufferedImage source, Dimension size, int imageType) {
+        BufferedImage resized = new BufferedImage(size.width, size.height, imageType);
+        Graphics2D graphic = resized.createGraphics();
+        try {
+            graphic.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphic.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphic.drawImage(source, 0, 0, size.width, size.height, null);
+        } finally {
+            graphic.dispose();
+        }
+        return resized;
+    }
+
+    private byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            if (quality < 0 || !"jpg".equals(format)) {
+                ImageIO.write(image, format, outputStream);
+                return outputStream.toByteArray();
+            }
+            ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(outputStream)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static int toKilobytes(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bytes + 1023) / 1024));
     }
 
     /**
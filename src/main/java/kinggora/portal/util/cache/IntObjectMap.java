@@ -0,0 +1,97 @@
+package kinggora.portal.util.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * int 키 해시 맵 (open addressing, linear probing)
+ * 키를 박싱하지 않으므로 조회 시 객체를 생성하지 않음
+ * <p>
+ * 쓰기는 동기화되지 않으므로 한 스레드에서 모두 채운 뒤 안전하게 공개(volatile, AtomicReference 등)하고 읽기 전용으로 사용
+ * null 값은 저장할 수 없음
+ *
+ * @param <V> 값 타입
+ */
+public final class IntObjectMap<V> {
+
+    private final int[] keys;
+    private final Object[] values;
+    private final int mask;
+    private int size;
+
+    /**
+     * @param expectedSize 저장할 키 개수 (초과하면 IllegalStateException)
+     */
+    public IntObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 값 저장 (같은 키가 있으면 덮어씀)
+     *
+     * @param key   키
+     * @param value 값
+     */
+    public void put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null value");
+        }
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            if (values[i] == null) {
+                if (size * 2 >= keys.length) {
+                    throw new IllegalStateException("capacity exceeded, size=" + size);
+                }
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return;
+            }
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 값 조회
+     *
+     * @param key 키
+     * @return 값, 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        for (int i = index(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 저장된 값 목록 (순서 보장하지 않음)
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (Object value : values) {
+            if (value != null) {
+                result.add((V) value);
+            }
+        }
+        return result;
+    }
+
+    private int index(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
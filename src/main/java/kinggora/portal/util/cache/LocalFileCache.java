@@ -0,0 +1,587 @@
+package kinggora.portal.util.cache;
+
+import kinggora.portal.util.StoredObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 스토리지 파일의 로컬 디스크 캐시
+ * 전체 크기(byte) 상한 안에서 가장 오래 사용하지 않은 파일부터 제거 (LRU)
+ * <p>
+ * 1. 적중: 인덱스에서 찾은 파일의 FileChannel 을 열어 반환 (재시작 후 처음 사용하는 파일은 CRC32C 검증)
+ * 2. 미적중: 키마다 한 스레드만 스토리지에서 받아오고(single-flight), 같은 키를 요청한 스레드는 완료를 기다린 뒤 적중으로 처리
+ * 3. 받아온 내용은 임시 파일에 기록하며 크기와 MD5 를 확인한 뒤 이름을 바꿔(atomic move) 등록
+ * 4. 전체 크기를 넘으면 가장 오래 사용하지 않은 파일부터 삭제
+ * <p>
+ * 파일마다 키, 크기, CRC32C 를 기록한 메타 파일을 함께 저장하여 재시작 시 인덱스 복구 (순서는 등록 시각 기준)
+ * 데이터 파일명은 등록마다 새로 생성하므로 제거와 재등록이 겹쳐도 서로의 파일을 지우지 않음
+ * 제거된 파일도 이미 열린 Lease 로는 끝까지 읽을 수 있음
+ * <p>
+ * 제거한 파일은 메타 파일을 바로 삭제하고, 데이터 파일은 열린 Lease 가 없고 마지막 Lease 를 닫은 지 retireDelay 가 지났으면 바로 삭제
+ * 그렇지 않으면 삭제 대기(retired)로 두었다가 조회, 등록, purgeRetired 호출 시 삭제
+ * (Lease.path 로 경로를 넘겨받은 sendfile 응답이 Lease 를 닫은 뒤에 파일을 열기 때문)
+ * 삭제 대기 중인 파일 크기도 전체 크기 상한에 포함하여 제거할 파일을 정함
+ */
+public class LocalFileCache {
+
+    private static final String DATA_SUFFIX = ".data";
+    private static final String META_SUFFIX = ".meta";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int VERIFY_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final long RETIRE_DELAY_MILLIS = 60 * 1000;
+
+    private final Path directory;
+    private final long maximumSize;
+    private final long retireDelay;
+    private final Listener listener;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> loading = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> retired = new ConcurrentLinkedQueue<>();
+    private long size;
+    private long retiredSize;
+
+    /**
+     * 캐시 디렉토리를 열고 남아있는 파일로 인덱스 복구 (삭제 유예 시간 RETIRE_DELAY_MILLIS)
+     *
+     * @param directory   캐시 디렉토리
+     * @param maximumSize 전체 크기 상한 (byte)
+     * @param listener    적중, 미적중, 제거 통지
+     */
+    public LocalFileCache(Path directory, long maximumSize, Listener listener) throws IOException {
+        this(directory, maximumSize, RETIRE_DELAY_MILLIS, listener);
+    }
+
+    /**
+     * 캐시 디렉토리를 열고 남아있는 파일로 인덱스 복구
+     *
+     * @param directory   캐시 디렉토리
+     * @param maximumSize 전체 크기 상한 (byte)
+     * @param retireDelay 제거한 파일의 마지막 Lease 를 닫은 뒤 데이터 파일을 남겨둘 시간 (ms)
+     * @param listener    적중, 미적중, 제거 통지
+     */
+    public LocalFileCache(Path directory, long maximumSize, long retireDelay, Listener listener) throws IOException {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.directory = directory;
+        this.maximumSize = maximumSize;
+        this.retireDelay = retireDelay;
+        this.listener = listener;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * 캐시된 파일 조회, 없으면 loader 로 받아와 등록
+     *
+     * @param key    파일 키 (저장 파일명)
+     * @param loader 스토리지에서 파일을 여는 함수 (키마다 동시에 한 번만 호출)
+     * @return 파일 Lease (호출한 쪽에서 닫아야 함)
+     * @throws IOException 받아오기 실패, 크기 또는 체크섬 불일치 시 발생 (같은 키를 기다리던 요청도 같은 예외)
+     */
+    public Lease get(String key, Loader loader) throws IOException {
+        if (!retired.isEmpty()) {
+            purgeRetired();
+        }
+        while (true) {
+            Lease lease = lookup(key);
+            if (lease != null) {
+                listener.onHit();
+                return lease;
+            }
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            CompletableFuture<Void> running = loading.putIfAbsent(key, done);
+            if (running != null) {
+                await(key, running);
+                continue;
+            }
+            try {
+                lease = lookup(key);
+                if (lease != null) {
+                    listener.onHit();
+                } else {
+                    listener.onMiss();
+                    lease = load(key, loader);
+                }
+                done.complete(null);
+                return lease;
+            } catch (IOException | RuntimeException e) {
+                done.completeExceptionally(e);
+                throw e;
+            } finally {
+                loading.remove(key, done);
+            }
+        }
+    }
+
+    /**
+     * 캐시에서 파일 제거 (스토리지에서 삭제된 파일)
+     *
+     * @param key 파일 키
+     */
+    public void invalidate(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.remove(key);
+            if (entry != null) {
+                size -= entry.size;
+            }
+        }
+        if (entry != null) {
+            delete(entry);
+        }
+    }
+
+    /**
+     * @return 캐시된 파일 크기 합계 (byte)
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * @return 캐시에서 제거되었지만 아직 삭제하지 않은 데이터 파일 크기 합계 (byte)
+     */
+    public synchronized long retiredSize() {
+        return retiredSize;
+    }
+
+    /**
+     * @return 캐시된 파일 수
+     */
+    public synchronized int count() {
+        return entries.size();
+    }
+
+    /**
+     * 인덱스에서 파일을 찾아 Lease 생성
+     * 파일이 없어졌거나 검증에 실패하면 인덱스에서 제거하고 null 반환
+     */
+    private Lease lookup(String key) throws IOException {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        entry.acquire();
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(entry.data, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            entry.release();
+            remove(entry);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            entry.release();
+            throw e;
+        }
+        try {
+            if (channel.size() != entry.size || !entry.verified && checksum(channel, entry.size) != entry.checksum) {
+                channel.close();
+                entry.release();
+                remove(entry);
+                return null;
+            }
+        } catch (IOException e) {
+            channel.close();
+            entry.release();
+            throw e;
+        }
+        entry.verified = true;
+        return new Lease(channel, entry);
+    }
+
+    /**
+     * 스토리지에서 받아와 등록
+     * 1. 임시 파일에 기록하며 크기, MD5, CRC32C 계산
+     * 2. 스토리지가 알려준 크기, MD5 와 비교
+     * 3. 데이터 파일 -> 메타 파일 순으로 이름 변경 (메타 파일이 없는 데이터 파일은 재시작 시 삭제)
+     * 4. 등록 전에 채널을 열어두므로 등록 즉시 제거되어도 반환한 Lease 는 유효
+     */
+    private Lease load(String key, Loader loader) throws IOException {
+        String name = UUID.randomUUID().toString();
+        Path temp = directory.resolve(name + TEMP_SUFFIX);
+        Path data = directory.resolve(name + DATA_SUFFIX);
+        Path meta = directory.resolve(name + META_SUFFIX);
+        try {
+            MessageDigest md5 = md5();
+            CRC32C crc = new CRC32C();
+            long length = 0;
+            StoredObject object = loader.load();
+            try (InputStream in = object.getContent(); OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    md5.update(buffer, 0, read);
+                    crc.update(buffer, 0, read);
+                    length += read;
+                }
+            }
+            if (object.getLength() >= 0 && object.getLength() != length) {
+                throw new IOException("size mismatch, key=" + key + ", expected=" + object.getLength() + ", actual=" + length);
+            }
+            if (object.getMd5() != null && !object.getMd5().equalsIgnoreCase(toHex(md5.digest()))) {
+                throw new IOException("checksum mismatch, key=" + key);
+            }
+            Entry entry = new Entry(key, data, meta, length, crc.getValue(), true);
+            Files.move(temp, data, StandardCopyOption.ATOMIC_MOVE);
+            Path metaTemp = directory.resolve(name + META_SUFFIX + TEMP_SUFFIX);
+            Files.write(metaTemp, List.of(key, Long.toString(length), Long.toString(entry.checksum)), StandardCharsets.UTF_8);
+            Files.move(metaTemp, meta, StandardCopyOption.ATOMIC_MOVE);
+            FileChannel channel = FileChannel.open(data, StandardOpenOption.READ);
+            entry.acquire();
+            publish(entry);
+            return new Lease(channel, entry);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(data);
+            Files.deleteIfExists(meta);
+            throw e;
+        } finally {
+            Files.deleteIfExists(temp);
+            Files.deleteIfExists(directory.resolve(name + META_SUFFIX + TEMP_SUFFIX));
+        }
+    }
+
+    /**
+     * 인덱스에 등록하고 전체 크기 상한을 넘으면 오래된 순으로 제거
+     * 삭제 대기 중인 파일 크기도 상한에 포함 (사용 중이 아닌 파일은 제거 즉시 삭제되므로 디스크 사용량이 줄어듦)
+     */
+    private void publish(Entry entry) {
+        purgeRetired();
+        List<Entry> evicted = new ArrayList<>();
+        Entry old;
+        synchronized (this) {
+            old = entries.put(entry.key, entry);
+            if (old != null) {
+                size -= old.size;
+            }
+            size += entry.size;
+            Iterator<Entry> it = entries.values().iterator();
+            while (size + retiredSize > maximumSize && it.hasNext()) {
+                Entry eldest = it.next();
+                it.remove();
+                size -= eldest.size;
+                evicted.add(eldest);
+            }
+        }
+        if (old != null) {
+            delete(old);
+        }
+        for (Entry e : evicted) {
+            delete(e);
+            listener.onEviction(e.size);
+        }
+    }
+
+    private void remove(Entry entry) {
+        boolean removed;
+        synchronized (this) {
+            removed = entries.remove(entry.key, entry);
+            if (removed) {
+                size -= entry.size;
+            }
+        }
+        if (removed) {
+            delete(entry);
+        }
+    }
+
+    /**
+     * 다른 스레드가 받아오기를 마칠 때까지 대기
+     */
+    private void await(String key, CompletableFuture<Void> running) throws IOException {
+        try {
+            running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while loading key=" + key);
+        } catch (ExecutionException e) {
+            throw new IOException("fail loading key=" + key, e.getCause());
+        }
+    }
+
+    /**
+     * 재시작 시 인덱스 복구
+     * 1. 임시 파일 삭제
+     * 2. 메타 파일을 등록 시각 순으로 읽어 데이터 파일 크기가 일치하는 것만 등록 (검증은 처음 사용할 때, 읽을 수 없는 메타 파일은 삭제)
+     * 3. 메타 파일이 없는 데이터 파일 삭제
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.collect(Collectors.toList());
+        }
+        List<Path> metas = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                Files.deleteIfExists(file);
+            } else if (name.endsWith(META_SUFFIX)) {
+                metas.add(file);
+            }
+        }
+        metas.sort(Comparator.comparing(LocalFileCache::lastModified));
+        List<Entry> recovered = new ArrayList<>();
+        for (Path meta : metas) {
+            String name = meta.getFileName().toString();
+            Path data = directory.resolve(name.substring(0, name.length() - META_SUFFIX.length()) + DATA_SUFFIX);
+            List<String> lines = Files.readAllLines(meta, StandardCharsets.UTF_8);
+            Entry entry = null;
+            if (lines.size() == 3) {
+                try {
+                    long length = Long.parseLong(lines.get(1));
+                    if (Files.exists(data) && Files.size(data) == length) {
+                        entry = new Entry(lines.get(0), data, meta, length, Long.parseLong(lines.get(2)), false);
+                    }
+                } catch (NumberFormatException e) {
+                    // 손상된 메타 파일은 메타 파일이 없는 경우와 같이 삭제
+                }
+            }
+            if (entry == null) {
+                Files.deleteIfExists(meta);
+                Files.deleteIfExists(data);
+            } else {
+                recovered.add(entry);
+            }
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(DATA_SUFFIX)
+                    && !Files.exists(directory.resolve(name.substring(0, name.length() - DATA_SUFFIX.length()) + META_SUFFIX))) {
+                Files.deleteIfExists(file);
+            }
+        }
+        for (Entry entry : recovered) {
+            publish(entry);
+        }
+    }
+
+    /**
+     * 삭제 대기 중인 데이터 파일 중 사용이 끝난 파일 삭제
+     * 조회와 등록 시 호출되며, 요청이 없는 동안에도 디스크를 비우려면 주기적으로 호출
+     */
+    public void purgeRetired() {
+        long now = System.currentTimeMillis();
+        for (Entry entry : retired) {
+            if (entry.idle(now, retireDelay) && retired.remove(entry)) {
+                synchronized (this) {
+                    retiredSize -= entry.size;
+                }
+                deleteData(entry);
+            }
+        }
+    }
+
+    /**
+     * 메타 파일을 삭제하고, 데이터 파일은 사용이 끝났으면 바로 삭제, 아니면 삭제 대기로 등록
+     */
+    private void delete(Entry entry) {
+        try {
+            Files.deleteIfExists(entry.meta);
+        } catch (IOException ignored) {
+            // 데이터 파일을 삭제하면 다음 시작 시 메타 파일도 삭제
+        }
+        if (entry.idle(System.currentTimeMillis(), retireDelay)) {
+            deleteData(entry);
+            return;
+        }
+        synchronized (this) {
+            retiredSize += entry.size;
+        }
+        retired.add(entry);
+    }
+
+    private static void deleteData(Entry entry) {
+        try {
+            Files.deleteIfExists(entry.data);
+        } catch (IOException ignored) {
+            // 남은 파일은 메타 파일이 없으므로 다음 시작 시 삭제
+        }
+    }
+
+    private static long checksum(FileChannel channel, long size) throws IOException {
+        CRC32C crc = new CRC32C();
+        for (long position = 0; position < size; position += VERIFY_CHUNK_SIZE) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(VERIFY_CHUNK_SIZE, size - position)));
+        }
+        return crc.getValue();
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 스토리지에서 파일을 여는 함수
+     */
+    @FunctionalInterface
+    public interface Loader {
+        StoredObject load() throws IOException;
+    }
+
+    /**
+     * 적중, 미적중, 제거 통지 (지표 기록용)
+     */
+    public interface Listener {
+        default void onHit() {
+        }
+
+        default void onMiss() {
+        }
+
+        default void onEviction(long bytes) {
+        }
+    }
+
+    /**
+     * 캐시된 파일 읽기 핸들
+     * 열린 FileChannel 을 가지고 있으므로 캐시에서 제거되어도 닫을 때까지 읽을 수 있음
+     */
+    public static class Lease implements Closeable {
+        private final FileChannel channel;
+        private final Entry entry;
+        private final Path path;
+        private final long size;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(FileChannel channel, Entry entry) {
+            this.channel = channel;
+            this.entry = entry;
+            this.path = entry.data;
+            this.size = entry.size;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        /**
+         * 데이터 파일 경로 (sendfile 처럼 경로로 파일을 여는 경우 사용)
+         * 캐시에서 제거되어도 Lease 를 닫은 뒤 retireDelay 동안은 남아 있음
+         */
+        public Path path() {
+            return path;
+        }
+
+        /**
+         * [position, position + count) 구간을 target 에 기록
+         * FileChannel.transferTo 를 사용하므로 target 이 소켓, 파일 채널이면 커널에서 바로 전송하고
+         * 그 외 채널(Channels.newChannel 로 감싼 OutputStream 등)이면 JDK 가 임시 버퍼로 읽어 복사
+         *
+         * @return 기록한 byte 수
+         * @throws IOException target 기록 실패 시 발생
+         */
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            long end = Math.min(position + count, size);
+            long current = position;
+            while (current < end) {
+                long transferred = channel.transferTo(current, end - current, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                current += transferred;
+            }
+            return current - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    channel.close();
+                } finally {
+                    entry.release();
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+        private final String key;
+        private final Path data;
+        private final Path meta;
+        private final long size;
+        private final long checksum;
+        private final AtomicInteger leases = new AtomicInteger();
+        private volatile boolean verified;
+        private volatile long lastReleased;
+
+        private Entry(String key, Path data, Path meta, long size, long checksum, boolean verified) {
+            this.key = key;
+            this.data = data;
+            this.meta = meta;
+            this.size = size;
+            this.checksum = checksum;
+            this.verified = verified;
+        }
+
+        private void acquire() {
+            leases.incrementAndGet();
+        }
+
+        private void release() {
+            lastReleased = System.currentTimeMillis();
+            leases.decrementAndGet();
+        }
+
+        /**
+         * 열린 Lease 가 없고 마지막 Lease 를 닫은 지 retireDelay 가 지났는지 여부
+         */
+        private boolean idle(long now, long retireDelay) {
+            return leases.get() == 0 && now - lastReleased >= retireDelay;
+        }
+    }
+}
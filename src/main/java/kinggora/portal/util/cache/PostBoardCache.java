@@ -0,0 +1,79 @@
+package kinggora.portal.util.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 게시글 id -> 게시판 id 캐시
+ * 크기가 고정된 direct-mapped 캐시로, 슬롯 하나에 (게시글 id, 게시판 id) 쌍을 long 하나로 저장
+ * <p>
+ * 1. 슬롯 위치는 게시글 id 의 해시로 결정되고, 충돌하면 나중에 저장한 값이 덮어씀 (별도의 LRU 관리 없음)
+ * 2. 쌍을 하나의 long 으로 읽고 쓰므로 락 없이도 다른 게시글의 게시판 id 를 읽는 경우가 없음
+ * 3. 게시글의 게시판은 수정되지 않으므로 만료 없이 삭제 시에만 제거
+ */
+public final class PostBoardCache {
+
+    public static final int MISS = -1;
+    private static final long EMPTY = 0L;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    /**
+     * @param capacity 슬롯 개수 (2의 거듭제곱으로 올림)
+     */
+    public PostBoardCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 게시판 id 조회
+     *
+     * @param postId 게시글 id
+     * @return 게시판 id, 없으면 MISS
+     */
+    public int get(int postId) {
+        long slot = slots.get(index(postId));
+        if (slot == EMPTY || (int) (slot >>> 32) != postId) {
+            return MISS;
+        }
+        return (int) slot;
+    }
+
+    /**
+     * 게시판 id 저장
+     *
+     * @param postId  게시글 id
+     * @param boardId 게시판 id
+     */
+    public void put(int postId, int boardId) {
+        slots.set(index(postId), pack(postId, boardId));
+    }
+
+    /**
+     * 게시글 제거 (다른 게시글이 슬롯을 차지한 경우 그대로 둠)
+     *
+     * @param postId 게시글 id
+     */
+    public void evict(int postId) {
+        int index = index(postId);
+        long slot = slots.get(index);
+        if (slot != EMPTY && (int) (slot >>> 32) == postId) {
+            slots.compareAndSet(index, slot, EMPTY);
+        }
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    private static long pack(int postId, int boardId) {
+        return ((long) postId << 32) | (boardId & 0xFFFFFFFFL);
+    }
+
+    private int index(int postId) {
+        int h = postId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
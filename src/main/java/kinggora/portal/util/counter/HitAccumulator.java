@@ -0,0 +1,237 @@
+package kinggora.portal.util.counter;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 조회수 누산기
+ * 조회마다 DB 를 갱신하는 대신 메모리에 게시글별 조회수를 누적하고 주기적으로 한 번에 반영(write-behind)
+ * <p>
+ * 1. 게시글 id 로 stripe 를 선택하고, stripe 의 primitive 해시 테이블(open addressing, CAS)에 락 없이 누적
+ * 2. rotate: 새 세대(generation)로 교체한 뒤, 이전 세대에 기록 중인 스레드가 끝나길 기다려 누적 값을 batch 로 분리
+ * 3. DB 반영이 끝난 batch 는 complete 로 제거 (반영 전까지는 pending 조회에 포함)
+ * <p>
+ * 테이블이 가득 차면 stripe 별 overflow map 에 누적
+ */
+public class HitAccumulator {
+
+    private final int stripeMask;
+    private final int tableCapacity;
+    private volatile Generation current;
+    private final List<Batch> inflight = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param stripes       stripe 수 (2의 거듭제곱으로 올림)
+     * @param tableCapacity stripe 별 테이블 크기 (2의 거듭제곱으로 올림)
+     * @param journal       첫 세대의 저널, 없다면 null
+     */
+    public HitAccumulator(int stripes, int tableCapacity, HitJournal journal) {
+        this.stripeMask = powerOfTwo(stripes) - 1;
+        this.tableCapacity = powerOfTwo(tableCapacity);
+        this.current = new Generation(stripeMask + 1, this.tableCapacity, journal);
+    }
+
+    /**
+     * 조회수 1 증가
+     *
+     * @param postId 게시글 id (양수)
+     * @return 저널 기록 성공 여부 (저널이 없거나 가득 찬 경우 false)
+     */
+    public boolean increment(int postId) {
+        int hash = mix(postId);
+        while (true) {
+            Generation generation = current;
+            Table table = generation.tables[hash & stripeMask];
+            table.writers.incrementAndGet();
+            try {
+                if (generation.retired) {
+                    continue;
+                }
+                table.add(postId, hash);
+                return generation.journal != null && generation.journal.append(postId);
+            } finally {
+                table.writers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 조회수 조회
+     *
+     * @param postId 게시글 id
+     * @return 반영 대기 중인 조회수
+     */
+    public long pending(int postId) {
+        int hash = mix(postId);
+        long count = current.tables[hash & stripeMask].get(postId, hash);
+        for (Batch batch : inflight) {
+            count += batch.hits.getOrDefault(postId, 0L);
+        }
+        return count;
+    }
+
+    /**
+     * 새 세대로 교체하고 이전 세대의 누적 값을 batch 로 분리
+     * 분리된 batch 는 complete 전까지 inflight 목록에 유지
+     *
+     * @param journal 새 세대의 저널, 없다면 null
+     * @return 분리된 batch
+     */
+    public synchronized Batch rotate(HitJournal journal) {
+        Generation retired = current;
+        current = new Generation(stripeMask + 1, tableCapacity, journal);
+        retired.retired = true;
+        Map<Integer, Long> hits = new HashMap<>();
+        for (Table table : retired.tables) {
+            while (table.writers.get() > 0) {
+                Thread.onSpinWait();
+            }
+            table.drainTo(hits);
+        }
+        Batch batch = new Batch(hits, retired.journal == null ? null : retired.journal.getFile());
+        inflight.add(batch);
+        return batch;
+    }
+
+    /**
+     * 저널에서 복구한 조회수를 batch 로 등록
+     *
+     * @param hits        게시글 id -> 조회수
+     * @param journalFile 복구한 저널 파일
+     * @return 등록된 batch
+     */
+    public Batch recover(Map<Integer, Long> hits, Path journalFile) {
+        Batch batch = new Batch(new HashMap<>(hits), journalFile);
+        inflight.add(batch);
+        return batch;
+    }
+
+    /**
+     * DB 반영 대기 중인 batch 목록
+     *
+     * @return batch 목록
+     */
+    public List<Batch> inflight() {
+        return List.copyOf(inflight);
+    }
+
+    /**
+     * DB 반영이 끝난 batch 제거
+     *
+     * @param batch 반영된 batch
+     */
+    public void complete(Batch batch) {
+        inflight.remove(batch);
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * DB 에 반영할 조회수 묶음
+     */
+    public static class Batch {
+        private final Map<Integer, Long> hits;
+        private final Path journalFile;
+
+        private Batch(Map<Integer, Long> hits, Path journalFile) {
+            this.hits = Collections.unmodifiableMap(hits);
+            this.journalFile = journalFile;
+        }
+
+        public Map<Integer, Long> getHits() {
+            return hits;
+        }
+
+        public Optional<Path> getJournalFile() {
+            return Optional.ofNullable(journalFile);
+        }
+    }
+
+    private static class Generation {
+        private final Table[] tables;
+        private final HitJournal journal;
+        private volatile boolean retired;
+
+        private Generation(int stripes, int tableCapacity, HitJournal journal) {
+            this.tables = new Table[stripes];
+            for (int i = 0; i < stripes; i++) {
+                tables[i] = new Table(tableCapacity);
+            }
+            this.journal = journal;
+        }
+    }
+
+    /**
+     * stripe 별 int -> long 해시 테이블 (open addressing, linear probing)
+     * key 0 은 빈 슬롯을 의미하며, 슬롯은 CAS 로 점유되고 삭제되지 않음
+     */
+    private static class Table {
+        private final AtomicIntegerArray keys;
+        private final AtomicLongArray counts;
+        private final Map<Integer, LongAdder> overflow = new ConcurrentHashMap<>();
+        private final AtomicInteger writers = new AtomicInteger();
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new AtomicIntegerArray(capacity);
+            this.counts = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+        }
+
+        private void add(int key, int hash) {
+            int index = (hash >>> 8) & mask;
+            for (int probe = 0; probe <= mask; probe++) {
+                int current = keys.get(index);
+                if (current == 0 && (keys.compareAndSet(index, 0, key) || keys.get(index) == key)) {
+                    counts.incrementAndGet(index);
+                    return;
+                }
+                if (current == key) {
+                    counts.incrementAndGet(index);
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            overflow.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+
+        private long get(int key, int hash) {
+            int index = (hash >>> 8) & mask;
+            for (int probe = 0; probe <= mask; probe++) {
+                int current = keys.get(index);
+                if (current == key) {
+                    return counts.get(index);
+                }
+                if (current == 0) {
+                    return 0;
+                }
+                index = (index + 1) & mask;
+            }
+            LongAdder adder = overflow.get(key);
+            return adder == null ? 0 : adder.sum();
+        }
+
+        private void drainTo(Map<Integer, Long> hits) {
+            for (int i = 0; i <= mask; i++) {
+                int key = keys.get(i);
+                if (key != 0) {
+                    hits.merge(key, counts.get(i), Long::sum);
+                }
+            }
+            overflow.forEach((key, adder) -> hits.merge(key, adder.sum(), Long::sum));
+        }
+    }
+}
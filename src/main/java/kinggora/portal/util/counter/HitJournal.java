@@ -0,0 +1,91 @@
+package kinggora.portal.util.counter;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 조회수 저널
+ * DB 에 반영되기 전의 조회를 게시글 id(int) 단위로 메모리 맵 파일에 순서대로 기록
+ * 프로세스가 비정상 종료되어도 OS 페이지 캐시에 남은 기록으로 다음 시작 시 조회수 복구
+ * <p>
+ * 파일은 생성 시 고정 크기로 할당되어 0으로 채워지므로, 0 은 기록되지 않은 위치를 의미
+ * 기록 위치는 AtomicInteger 로 예약하므로 여러 스레드가 락 없이 동시에 기록
+ */
+public class HitJournal {
+
+    private static final int RECORD_SIZE = Integer.BYTES;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger position = new AtomicInteger();
+
+    private HitJournal(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 저널 파일 생성
+     *
+     * @param file 저널 파일 경로
+     * @param size 파일 크기 (byte)
+     * @return HitJournal
+     */
+    public static HitJournal create(Path file, int size) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(size);
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new HitJournal(file, buffer);
+        }
+    }
+
+    /**
+     * 저널 파일에 기록된 게시글별 조회수 합계 조회
+     *
+     * @param file 저널 파일 경로
+     * @return 게시글 id -> 조회수
+     */
+    public static Map<Integer, Long> read(Path file) throws IOException {
+        Map<Integer, Long> hits = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= RECORD_SIZE) {
+                int postId = buffer.getInt();
+                if (postId != 0) {
+                    hits.merge(postId, 1L, Long::sum);
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 조회 기록
+     *
+     * @param postId 게시글 id
+     * @return 기록 성공 여부, 저널이 가득 찬 경우 false
+     */
+    public boolean append(int postId) {
+        if (position.get() > buffer.capacity() - RECORD_SIZE) {
+            return false;
+        }
+        int offset = position.getAndAdd(RECORD_SIZE);
+        if (offset > buffer.capacity() - RECORD_SIZE) {
+            return false;
+        }
+        buffer.putInt(offset, postId);
+        return true;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,53 @@
+package kinggora.portal.util.mime;
+
+import java.io.IOException;
+
+/**
+ * 위치를 지정해 읽을 수 있는 파일 내용
+ * MagicNumberDetector 가 앞부분 외에 ZIP 중앙 디렉토리(파일 끝), OLE 디렉토리 섹터를 읽을 때 사용
+ */
+public interface ByteSource {
+
+    /**
+     * @return 전체 크기 (byte)
+     */
+    long getSize();
+
+    /**
+     * position 부터 최대 len 만큼 읽음
+     *
+     * @param position 읽을 위치
+     * @param b        읽은 내용을 담을 배열
+     * @param off      배열 시작 위치
+     * @param len      최대 길이
+     * @return 읽은 길이 (position 이 크기 이상이면 0)
+     * @throws IOException 읽기 실패 시 발생
+     */
+    int read(long position, byte[] b, int off, int len) throws IOException;
+
+    /**
+     * 배열의 [0, length) 구간
+     *
+     * @param bytes  내용
+     * @param length 길이
+     * @return 배열을 읽는 ByteSource
+     */
+    static ByteSource of(byte[] bytes, int length) {
+        return new ByteSource() {
+            @Override
+            public long getSize() {
+                return length;
+            }
+
+            @Override
+            public int read(long position, byte[] b, int off, int len) {
+                if (position >= length) {
+                    return 0;
+                }
+                int count = (int) Math.min(len, length - position);
+                System.arraycopy(bytes, (int) position, b, off, count);
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,503 @@
+package kinggora.portal.util.mime;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 파일 시그니처(magic number) 기반 MIME Type 판별기
+ * 업로드 허용 형식(이미지, PDF, MP4, 텍스트, 오피스 문서, 한글 문서)만 판별하며, 앞부분(head-size)만 읽어 판별
+ * <p>
+ * 1. 이미지, PDF, MP4(ftyp brand): 앞부분 시그니처
+ * 2. ZIP 컨테이너(docx, xlsx, pptx, hwpx): 첫 항목이 mimetype 이면 그 내용, 아니면 항목 이름
+ *    - 전체 내용: 파일 끝의 중앙 디렉토리(central directory) 항목 이름
+ *    - 앞부분만 있는 경우: 앞부분의 로컬 헤더(local file header) 항목 이름
+ * 3. OLE 컨테이너(doc, xls, ppt, hwp): 디렉토리 섹터의 스트림 이름 (FAT 을 따라 최대 8개)
+ * 4. 그 외: NUL 이 없고 제어 문자가 적으면 텍스트 (마크업으로 시작하면 html, xml, svg)
+ * <p>
+ * 판별하지 못하면 null, 컨테이너 종류를 알 수 없으면 Tika 와 같은 일반 컨테이너 MIME Type (application/zip 등) 반환
+ * thread-safe (상태 없음)
+ */
+public class MagicNumberDetector {
+    public static final String OCTET_STREAM = "application/octet-stream";
+    public static final String ZIP = "application/zip";
+    public static final String OOXML = "application/x-tika-ooxml";
+    public static final String OLE = "application/x-tika-msoffice";
+    public static final int HEAD_SIZE = 8 * 1024;
+
+    static final String DOC = "application/msword";
+    static final String XLS = "application/vnd.ms-excel";
+    static final String PPT = "application/vnd.ms-powerpoint";
+    static final String HWP = "application/vnd.hancom.hwp";
+    static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    static final String PPTX = "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+    static final String HWPX = "application/vnd.hancom.hwpx";
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87A = ascii("GIF87a");
+    private static final byte[] GIF89A = ascii("GIF89a");
+    private static final byte[] PDF = ascii("%PDF-");
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] FTYP = ascii("ftyp");
+    private static final byte[] ZIP_LOCAL_HEADER = {'P', 'K', 3, 4};
+    private static final byte[] OLE_HEADER = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    private static final long ZIP_CENTRAL_HEADER = 0x02014B50L;
+    private static final long ZIP_END_OF_CENTRAL_DIRECTORY = 0x06054B50L;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int[] END_OF_CENTRAL_DIRECTORY_WINDOWS = {END_OF_CENTRAL_DIRECTORY_SIZE + 1024, END_OF_CENTRAL_DIRECTORY_SIZE + 0xFFFF};
+    private static final int MAX_CENTRAL_DIRECTORY_SIZE = 64 * 1024;
+    private static final String HWPX_MIMETYPE = "application/hwp+zip";
+
+    private static final int OLE_HEADER_SIZE = 512;
+    private static final int OLE_HEADER_DIFAT_ENTRIES = 109;
+    private static final int OLE_DIRECTORY_ENTRY_SIZE = 128;
+    private static final long OLE_MAX_REGULAR_SECTOR = 0xFFFFFFFAL;
+    private static final int MAX_DIRECTORY_SECTORS = 8;
+
+    private static final Set<String> MP4_BRANDS = Set.of("isom", "iso2", "iso3", "iso4", "iso5", "iso6", "mp41", "mp42", "avc1", "dash", "mmp4", "MSNV");
+    private static final Map<String, String> EXTENSIONS = new HashMap<>();
+    private static final Map<String, Set<String>> SPECIALIZATIONS = Map.of(
+            ZIP, Set.of(DOCX, XLSX, PPTX, HWPX),
+            OOXML, Set.of(DOCX, XLSX, PPTX),
+            OLE, Set.of(DOC, XLS, PPT, HWP));
+
+    static {
+        EXTENSIONS.put("txt", "text/plain");
+        EXTENSIONS.put("jpg", "image/jpeg");
+        EXTENSIONS.put("jpeg", "image/jpeg");
+        EXTENSIONS.put("jpe", "image/jpeg");
+        EXTENSIONS.put("gif", "image/gif");
+        EXTENSIONS.put("png", "image/png");
+        EXTENSIONS.put("bmp", "image/bmp");
+        EXTENSIONS.put("pdf", "application/pdf");
+        EXTENSIONS.put("mp4", "video/mp4");
+        EXTENSIONS.put("doc", DOC);
+        EXTENSIONS.put("xls", XLS);
+        EXTENSIONS.put("ppt", PPT);
+        EXTENSIONS.put("hwp", HWP);
+        EXTENSIONS.put("docx", DOCX);
+        EXTENSIONS.put("xlsx", XLSX);
+        EXTENSIONS.put("pptx", PPTX);
+        EXTENSIONS.put("hwpx", HWPX);
+        EXTENSIONS.put("zip", ZIP);
+    }
+
+    /**
+     * 전체 내용으로 MIME Type 판별 (ZIP 은 중앙 디렉토리까지 확인)
+     *
+     * @param source 파일 내용
+     * @return 판별된 MIME Type (판별 실패 시 null)
+     * @throws IOException 읽기 실패 시 발생
+     */
+    public String detect(ByteSource source) throws IOException {
+        byte[] head = new byte[(int) Math.min(HEAD_SIZE, source.getSize())];
+        int length = readFully(source, 0, head);
+        return detect(source, head, length, true);
+    }
+
+    /**
+     * 이미 읽은 앞부분과 전체 내용으로 MIME Type 판별
+     * 앞부분은 주어진 내용을 사용하고, ZIP 중앙 디렉토리와 OLE 디렉토리 섹터만 source 에서 읽음 (스토리지 구간 요청)
+     *
+     * @param source 파일 내용
+     * @param head   파일 앞부분
+     * @param length 앞부분 길이
+     * @return 판별된 MIME Type (판별 실패 시 null)
+     * @throws IOException 읽기 실패 시 발생
+     */
+    public String detect(ByteSource source, byte[] head, int length) throws IOException {
+        return detect(source, head, length, true);
+    }
+
+    /**
+     * 파일 앞부분만으로 MIME Type 판별 (ZIP 은 주어진 앞부분의 로컬 헤더만 확인)
+     *
+     * @param bytes  파일 앞부분
+     * @param length 길이
+     * @return 판별된 MIME Type (판별 실패 시 null)
+     */
+    public String detect(byte[] bytes, int length) {
+        try {
+            return detect(ByteSource.of(bytes, length), bytes, length, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 판별 결과가 구체적인 형식인지 확인 (판별 실패, 일반 컨테이너가 아닌지)
+     *
+     * @param mimeType 판별 결과
+     * @return true: 구체적인 형식, false: 다른 판별기(Tika)로 다시 판별할 수 있음
+     */
+    public boolean isConclusive(String mimeType) {
+        return mimeType != null && !SPECIALIZATIONS.containsKey(mimeType);
+    }
+
+    /**
+     * 파일명(확장자)으로 MIME Type 추정
+     *
+     * @param fileName 파일명
+     * @return 추정한 MIME Type (모르는 확장자면 null)
+     */
+    public String guess(String fileName) {
+        int pos = fileName == null ? -1 : fileName.lastIndexOf('.');
+        if (pos == -1) {
+            return null;
+        }
+        return EXTENSIONS.get(fileName.substring(pos + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private String detect(ByteSource source, byte[] head, int length, boolean complete) throws IOException {
+        if (length == 0) {
+            return null;
+        }
+        if (startsWith(head, length, 0, JPEG)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, length, 0, PNG)) {
+            return "image/png";
+        }
+        if (startsWith(head, length, 0, GIF87A) || startsWith(head, length, 0, GIF89A)) {
+            return "image/gif";
+        }
+        if (isBmp(head, length)) {
+            return "image/bmp";
+        }
+        if (startsWith(head, length, 0, PDF) || (startsWith(head, length, 0, UTF8_BOM) && startsWith(head, length, UTF8_BOM.length, PDF))) {
+            return "application/pdf";
+        }
+        if (startsWith(head, length, 4, FTYP)) {
+            return isoMedia(head, length);
+        }
+        if (startsWith(head, length, 0, ZIP_LOCAL_HEADER)) {
+            return zip(source, head, length, complete);
+        }
+        if (startsWith(head, length, 0, OLE_HEADER)) {
+            return ole(source, head, length);
+        }
+        return text(head, Math.min(length, HEAD_SIZE));
+    }
+
+    /**
+     * BMP: "BM" + DIB 헤더 크기 (BITMAPCOREHEADER ~ BITMAPV5HEADER)
+     */
+    private boolean isBmp(byte[] head, int length) {
+        if (length < 18 || head[0] != 'B' || head[1] != 'M') {
+            return false;
+        }
+        long dibHeaderSize = u32(head, 14);
+        return dibHeaderSize == 12 || dibHeaderSize == 16 || dibHeaderSize == 40 || dibHeaderSize == 52
+                || dibHeaderSize == 56 || dibHeaderSize == 64 || dibHeaderSize == 108 || dibHeaderSize == 124;
+    }
+
+    /**
+     * ISO base media (ftyp box) 의 major brand 로 판별
+     */
+    private String isoMedia(byte[] head, int length) {
+        if (length < 12) {
+            return null;
+        }
+        String brand = new String(head, 8, 4, StandardCharsets.ISO_8859_1);
+        if (MP4_BRANDS.contains(brand)) {
+            return "video/mp4";
+        }
+        if (brand.equals("M4V ")) {
+            return "video/x-m4v";
+        }
+        if (brand.equals("qt  ")) {
+            return "video/quicktime";
+        }
+        if (brand.startsWith("M4A") || brand.startsWith("M4B") || brand.startsWith("M4P")) {
+            return "audio/mp4";
+        }
+        if (brand.startsWith("3gp")) {
+            return "video/3gpp";
+        }
+        if (brand.startsWith("3g2")) {
+            return "video/3gpp2";
+        }
+        return null;
+    }
+
+    /**
+     * ZIP 컨테이너 판별
+     * 1. 첫 항목이 압축하지 않은 mimetype 이면 그 내용 (hwpx, ODF, EPUB)
+     * 2. 중앙 디렉토리(전체 내용인 경우) 또는 로컬 헤더의 항목 이름
+     */
+    private String zip(ByteSource source, byte[] head, int length, boolean complete) throws IOException {
+        String declared = declaredMimeType(head, length);
+        if (declared != null) {
+            return HWPX_MIMETYPE.equals(declared) ? HWPX : declared;
+        }
+        Set<String> names = complete ? centralDirectoryNames(source) : null;
+        if (names == null) {
+            names = localHeaderNames(head, length);
+        }
+        return classifyZip(names);
+    }
+
+    private String declaredMimeType(byte[] head, int length) {
+        if (length < 38 || u16(head, 8) != 0 || u16(head, 26) != 8
+                || !"mimetype".equals(new String(head, 30, 8, StandardCharsets.US_ASCII))) {
+            return null;
+        }
+        int start = 38 + u16(head, 28);
+        long size = u32(head, 18);
+        if (size <= 0 || size > 128 || start + size > length) {
+            return null;
+        }
+        String declared = new String(head, start, (int) size, StandardCharsets.US_ASCII).trim();
+        return declared.matches("[\\w.+-]+/[\\w.+-]+") ? declared : null;
+    }
+
+    /**
+     * 파일 끝에서 EOCD(end of central directory) 를 찾아 중앙 디렉토리 항목 이름 반환
+     * 주석이 짧은 대부분의 ZIP 은 끝 1KB 에서 찾고, 없으면 주석 최대 길이(64KB)까지 확인
+     *
+     * @return 항목 이름 (EOCD 가 없거나 ZIP64 인 경우 null)
+     */
+    private Set<String> centralDirectoryNames(ByteSource source) throws IOException {
+        long size = source.getSize();
+        for (int window : END_OF_CENTRAL_DIRECTORY_WINDOWS) {
+            int tailLength = (int) Math.min(size, window);
+            byte[] tail = new byte[tailLength];
+            long tailStart = size - tailLength;
+            if (readFully(source, tailStart, tail) < tailLength) {
+                return null;
+            }
+            for (int p = tailLength - END_OF_CENTRAL_DIRECTORY_SIZE; p >= 0; p--) {
+                if (u32(tail, p) == ZIP_END_OF_CENTRAL_DIRECTORY && p + END_OF_CENTRAL_DIRECTORY_SIZE + u16(tail, p + 20) == tailLength) {
+                    long directorySize = u32(tail, p + 12);
+                    long directoryOffset = u32(tail, p + 16);
+                    if (directoryOffset + directorySize > tailStart + p) {
+                        return null;
+                    }
+                    byte[] directory = new byte[(int) Math.min(directorySize, MAX_CENTRAL_DIRECTORY_SIZE)];
+                    return centralHeaderNames(directory, readFully(source, directoryOffset, directory));
+                }
+            }
+            if (tailLength == size) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private Set<String> centralHeaderNames(byte[] directory, int length) {
+        Set<String> names = new HashSet<>();
+        int p = 0;
+        while (p + 46 <= length && u32(directory, p) == ZIP_CENTRAL_HEADER) {
+            int nameLength = u16(directory, p + 28);
+            if (p + 46 + nameLength > length) {
+                break;
+            }
+            names.add(new String(directory, p + 46, nameLength, StandardCharsets.UTF_8));
+            p += 46 + nameLength + u16(directory, p + 30) + u16(directory, p + 32);
+        }
+        return names;
+    }
+
+    /**
+     * 앞부분의 로컬 헤더를 차례로 읽어 항목 이름 반환
+     * 크기를 데이터 뒤(data descriptor)에 기록한 항목을 만나면 다음 항목 위치를 알 수 없으므로 중단
+     */
+    private Set<String> localHeaderNames(byte[] head, int length) {
+        Set<String> names = new HashSet<>();
+        long p = 0;
+        while (p + 30 <= length && startsWith(head, length, (int) p, ZIP_LOCAL_HEADER)) {
+            int offset = (int) p;
+            int nameLength = u16(head, offset + 26);
+            if (offset + 30 + nameLength > length) {
+                break;
+            }
+            names.add(new String(head, offset + 30, nameLength, StandardCharsets.UTF_8));
+            long compressedSize = u32(head, offset + 18);
+            if ((u16(head, offset + 6) & 0x08) != 0 && compressedSize == 0) {
+                break;
+            }
+            p += 30L + nameLength + u16(head, offset + 28) + compressedSize;
+        }
+        return names;
+    }
+
+    private String classifyZip(Set<String> names) {
+        boolean contentTypes = false;
+        boolean hwpxContents = false;
+        boolean hwpxManifest = false;
+        for (String name : names) {
+            if (name.startsWith("word/")) {
+                return DOCX;
+            }
+            if (name.startsWith("xl/")) {
+                return XLSX;
+            }
+            if (name.startsWith("ppt/")) {
+                return PPTX;
+            }
+            contentTypes |= name.equals("[Content_Types].xml");
+            hwpxContents |= name.startsWith("Contents/");
+            hwpxManifest |= name.equals("version.xml") || name.equals("META-INF/container.xml");
+        }
+        if (hwpxContents && hwpxManifest) {
+            return HWPX;
+        }
+        return contentTypes ? OOXML : ZIP;
+    }
+
+    /**
+     * OLE 컨테이너 판별
+     * 헤더의 첫 디렉토리 섹터부터 FAT 을 따라 디렉토리 섹터를 읽으며 스트림 이름 확인
+     * (헤더에 있는 FAT 섹터 109개가 가리키는 범위까지만 따라감)
+     */
+    private String ole(ByteSource source, byte[] head, int length) throws IOException {
+        if (length < OLE_HEADER_SIZE) {
+            return OLE;
+        }
+        int shift = u16(head, 30);
+        if (shift != 9 && shift != 12) {
+            return OLE;
+        }
+        int sectorSize = 1 << shift;
+        byte[] sector = new byte[sectorSize];
+        Set<String> names = new HashSet<>();
+        long sectorId = u32(head, 48);
+        for (int i = 0; i < MAX_DIRECTORY_SECTORS && sectorId <= OLE_MAX_REGULAR_SECTOR; i++) {
+            if (readFully(source, (sectorId + 1) << shift, sector) < sectorSize) {
+                break;
+            }
+            for (int entry = 0; entry + OLE_DIRECTORY_ENTRY_SIZE <= sectorSize; entry += OLE_DIRECTORY_ENTRY_SIZE) {
+                int nameLength = u16(sector, entry + 64);
+                if (nameLength >= 2 && nameLength <= 64) {
+                    names.add(new String(sector, entry, nameLength - 2, StandardCharsets.UTF_16LE));
+                }
+            }
+            String type = classifyOle(names);
+            if (type != null) {
+                return type;
+            }
+            sectorId = nextSector(source, head, sectorId, shift);
+        }
+        return OLE;
+    }
+
+    private long nextSector(ByteSource source, byte[] head, long sectorId, int shift) throws IOException {
+        long entriesPerSector = (1L << shift) / 4;
+        long fatIndex = sectorId / entriesPerSector;
+        if (fatIndex >= OLE_HEADER_DIFAT_ENTRIES) {
+            return Long.MAX_VALUE;
+        }
+        long fatSector = u32(head, 76 + (int) fatIndex * 4);
+        if (fatSector > OLE_MAX_REGULAR_SECTOR) {
+            return Long.MAX_VALUE;
+        }
+        byte[] next = new byte[4];
+        if (readFully(source, ((fatSector + 1) << shift) + (sectorId % entriesPerSector) * 4, next) < 4) {
+            return Long.MAX_VALUE;
+        }
+        return u32(next, 0);
+    }
+
+    private String classifyOle(Set<String> names) {
+        if (names.contains("WordDocument")) {
+            return DOC;
+        }
+        if (names.contains("Workbook") || names.contains("WORKBOOK") || names.contains("Book")) {
+            return XLS;
+        }
+        if (names.contains("PowerPoint Document")) {
+            return PPT;
+        }
+        if (names.contains("FileHeader") && (names.contains("DocInfo") || names.contains("BodyText") || names.contains("\u0005HwpSummaryInformation"))) {
+            return HWP;
+        }
+        return null;
+    }
+
+    /**
+     * 텍스트 판별
+     * NUL 이 있거나 제어 문자(탭, 개행, 폼피드, ESC 제외)가 5% 를 넘으면 바이너리
+     * 마크업으로 시작하면 text/plain 으로 허용하지 않도록 html, xml, svg 로 판별
+     */
+    private String text(byte[] head, int length) {
+        int start = startsWith(head, length, 0, UTF8_BOM) ? UTF8_BOM.length : 0;
+        if (length >= 2 && ((head[0] == (byte) 0xFE && head[1] == (byte) 0xFF) || (head[0] == (byte) 0xFF && head[1] == (byte) 0xFE))) {
+            return "text/plain";
+        }
+        int controls = 0;
+        for (int i = start; i < length; i++) {
+            int b = head[i] & 0xFF;
+            if (b == 0) {
+                return null;
+            }
+            if ((b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f' && b != 0x1B) || b == 0x7F) {
+                controls++;
+            }
+        }
+        if (controls * 20 > length - start) {
+            return null;
+        }
+        int first = start;
+        while (first < length && Character.isWhitespace(head[first])) {
+            first++;
+        }
+        if (first < length && head[first] == '<') {
+            String markup = new String(head, first, Math.min(length - first, 1024), StandardCharsets.ISO_8859_1).toLowerCase(Locale.ROOT);
+            if (markup.contains("<svg")) {
+                return "image/svg+xml";
+            }
+            if (markup.startsWith("<!doctype html") || markup.contains("<html") || markup.contains("<head")
+                    || markup.contains("<body") || markup.contains("<script") || markup.contains("<iframe")) {
+                return "text/html";
+            }
+            if (markup.startsWith("<?xml")) {
+                return "application/xml";
+            }
+        }
+        return "text/plain";
+    }
+
+    private static int readFully(ByteSource source, long position, byte[] b) throws IOException {
+        int total = 0;
+        while (total < b.length) {
+            int read = source.read(position + total, b, total, b.length - total);
+            if (read <= 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, int offset, byte[] prefix) {
+        if (offset + prefix.length > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int u16(byte[] b, int offset) {
+        return (b[offset] & 0xFF) | (b[offset + 1] & 0xFF) << 8;
+    }
+
+    private static long u32(byte[] b, int offset) {
+        return (u16(b, offset) | (long) u16(b, offset + 2) << 16);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,93 @@
+package kinggora.portal.util.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 검색 색인용 bigram 토크나이저
+ * 형태소 분석 없이 한글(붙여 쓴 어절, 조사)과 영문/숫자를 모두 부분 문자열로 검색할 수 있도록
+ * 문자/숫자 연속 구간(어절)을 2글자 단위로 잘라 토큰 생성
+ * 예) "게시판 검색" -> [게시, 시판, 검색]
+ * <p>
+ * 1글자 어절은 그대로 토큰으로 사용
+ * <p>
+ * LIKE 검색(대소문자, 악센트를 구분하지 않는 테이블 collation)과 같은 결과가 나오도록
+ * 호환 문자(전각 영문/숫자, 합자 등)는 NFKC 로 정규화하고 악센트를 제거한 뒤 소문자로 변환
+ * 예) "Ｃａｆé" -> "cafe"
+ */
+public final class BigramTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{Mn}+");
+
+    private BigramTokenizer() {
+    }
+
+    /**
+     * 색인할 문서의 토큰 추출
+     *
+     * @param text 문서 (제목, 본문)
+     * @return 중복이 제거된 토큰 집합
+     */
+    public static Set<String> tokenize(String text) {
+        return collect(text, true);
+    }
+
+    /**
+     * 검색어의 토큰 추출
+     * 1글자 어절은 다른 어절의 bigram 에 포함된 글자와 매칭할 수 없으므로 제외
+     *
+     * @param word 검색어
+     * @return 중복이 제거된 토큰 집합, 색인으로 검색할 수 없는 검색어라면 빈 집합
+     */
+    public static Set<String> tokenizeQuery(String word) {
+        return collect(word, false);
+    }
+
+    /**
+     * 색인/검색어 정규화
+     * NFKD 로 분해하여 결합 악센트를 제거하고 NFC 로 다시 조합 (한글 음절은 그대로 유지), 소문자 변환
+     *
+     * @param text 정규화할 문자열
+     * @return 정규화된 문자열
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return Normalizer.normalize(stripped, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> collect(String text, boolean includeUnigram) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = normalize(text);
+        int length = normalized.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(tokens, normalized, start, i, includeUnigram);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addWord(Set<String> tokens, String text, int start, int end, boolean includeUnigram) {
+        if (end - start == 1) {
+            if (includeUnigram) {
+                tokens.add(text.substring(start, end));
+            }
+            return;
+        }
+        for (int i = start; i < end - 1; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package kinggora.portal.util.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 메모리 역색인
+ * token -> 게시글 id 목록(PostingList), 게시글 id -> token 목록(문서 수정/삭제 시 기존 토큰 제거용)
+ * 조회는 read lock, 색인 변경은 write lock 으로 동기화
+ */
+public class InvertedIndex {
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Integer, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 문서 색인 (이미 색인된 문서라면 교체)
+     * 토큰이 없다면 문서 삭제와 동일
+     *
+     * @param id     게시글 id
+     * @param tokens 문서 토큰
+     */
+    public void put(int id, String[] tokens) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            if (tokens.length == 0) {
+                return;
+            }
+            documents.put(id, tokens);
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> new PostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서 삭제
+     *
+     * @param id 게시글 id
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 토큰을 포함하는 게시글 id 조회
+     * 게시글 수가 적은 토큰부터 교집합을 구해 비교 횟수를 최소화
+     *
+     * @param tokens 검색어 토큰
+     * @return 게시글 id (오름차순)
+     */
+    public int[] search(Set<String> tokens) {
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            if (lists.isEmpty()) {
+                return new int[0];
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            int[] result = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = lists.get(i).intersect(result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인된 문서 수
+     *
+     * @return 문서 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인된 모든 문서 순회 (세그먼트 병합용)
+     *
+     * @param action (게시글 id, 토큰) 처리
+     */
+    public void forEach(BiConsumer<Integer, String[]> action) {
+        lock.readLock().lock();
+        try {
+            documents.forEach(action);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인 초기화
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDocument(int id) {
+        String[] tokens = documents.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            PostingList list = postings.get(token);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package kinggora.portal.util.search;
+
+import java.util.Arrays;
+
+/**
+ * 토큰이 등장하는 게시글 id 목록
+ * 오름차순으로 정렬된 int 배열로 관리 (boxing 없이 메모리 사용 최소화)
+ * 게시글 id 는 증가하므로 대부분의 추가는 배열 끝에 append
+ * 동기화는 사용하는 쪽(InvertedIndex)에서 처리
+ */
+class PostingList {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    /**
+     * id 추가 (이미 존재하면 무시)
+     *
+     * @param id 게시글 id
+     */
+    void add(int id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        int insertion = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+        ids[insertion] = id;
+        size++;
+    }
+
+    /**
+     * id 제거
+     *
+     * @param id 게시글 id
+     */
+    void remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * 정렬된 id 배열과 교집합
+     *
+     * @param sorted 오름차순 정렬된 id 배열
+     * @return 교집합 (오름차순)
+     */
+    int[] intersect(int[] sorted) {
+        int[] result = new int[Math.min(size, sorted.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < sorted.length) {
+            if (ids[i] == sorted[j]) {
+                result[count++] = ids[i];
+                i++;
+                j++;
+            } else if (ids[i] < sorted[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package kinggora.portal.util.search;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 검색 색인 세그먼트 파일 저장소
+ * 재시작 시 전체 게시글을 다시 색인하지 않도록 색인 변경분을 로컬 디스크에 세그먼트 파일로 기록
+ * <p>
+ * 1. append: 마지막 기록 이후 변경된 문서만 새 세그먼트로 기록 (토큰이 없는 문서는 삭제 표시)
+ * 2. compact: 세그먼트가 쌓이면 현재 색인 전체를 하나의 세그먼트로 기록하고 이전 세그먼트 삭제
+ * 3. load: 세그먼트를 순서대로 읽어 색인 복원
+ * <p>
+ * 세그먼트는 임시 파일에 기록한 뒤 이름을 바꾸므로(atomic move) 기록 도중 종료되어도 불완전한 세그먼트가 남지 않음
+ * 각 세그먼트에는 기록 시점까지 DB 변경분을 반영했음을 나타내는 워터마크(DB 시각)를 함께 저장
+ */
+public class SegmentStore {
+
+    private static final int MAGIC = 0x50534958;
+    // 2: BigramTokenizer 정규화 변경 (NFKC, 악센트 제거), 이전 버전 세그먼트는 버리고 전체 색인
+    private static final int VERSION = 2;
+    private static final int TOMBSTONE = -1;
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".seg";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private long lastSequence;
+
+    public SegmentStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        List<Path> segments = segments();
+        this.lastSequence = segments.isEmpty() ? 0 : sequenceOf(segments.get(segments.size() - 1));
+    }
+
+    /**
+     * 세그먼트 수 조회
+     *
+     * @return 세그먼트 수
+     */
+    public int segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    /**
+     * 세그먼트를 순서대로 읽어 색인 복원
+     *
+     * @param index 복원할 색인
+     * @return 마지막 세그먼트의 워터마크, 세그먼트가 없다면 null
+     * @throws IOException 세그먼트가 손상되었거나 읽을 수 없는 경우 발생
+     */
+    public LocalDateTime load(InvertedIndex index) throws IOException {
+        LocalDateTime watermark = null;
+        for (Path segment : segments()) {
+            watermark = read(segment, index);
+        }
+        return watermark;
+    }
+
+    /**
+     * 변경된 문서를 새 세그먼트로 기록
+     *
+     * @param changes   (게시글 id, 토큰), 토큰이 비어있다면 삭제된 문서
+     * @param watermark 변경분을 반영한 DB 시각
+     */
+    public synchronized void append(Map<Integer, String[]> changes, LocalDateTime watermark) throws IOException {
+        write(watermark, changes.size(), out -> {
+            for (Map.Entry<Integer, String[]> entry : changes.entrySet()) {
+                writeDocument(out, entry.getKey(), entry.getValue());
+            }
+        });
+    }
+
+    /**
+     * 현재 색인 전체를 하나의 세그먼트로 기록하고 이전 세그먼트 삭제
+     *
+     * @param index     기록할 색인
+     * @param watermark 색인에 반영된 DB 시각
+     */
+    public synchronized void compact(InvertedIndex index, LocalDateTime watermark) throws IOException {
+        List<Path> previous = segments();
+        write(watermark, index.size(), out -> {
+            IOException[] failure = new IOException[1];
+            index.forEach((id, tokens) -> {
+                if (failure[0] == null) {
+                    try {
+                        writeDocument(out, id, tokens);
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        });
+        for (Path segment : previous) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    /**
+     * 모든 세그먼트 삭제
+     */
+    public synchronized void clear() throws IOException {
+        for (Path segment : segments()) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    private void write(LocalDateTime watermark, int count, SegmentWriter writer) throws IOException {
+        Path target = directory.resolve(String.format("%s%012d%s", PREFIX, lastSequence + 1, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(watermark.toString());
+            out.writeInt(count);
+            writer.write(out);
+            out.writeInt(MAGIC);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        lastSequence++;
+    }
+
+    private void writeDocument(DataOutputStream out, int id, String[] tokens) throws IOException {
+        out.writeInt(id);
+        if (tokens.length == 0) {
+            out.writeInt(TOMBSTONE);
+            return;
+        }
+        out.writeInt(tokens.length);
+        for (String token : tokens) {
+            out.writeUTF(token);
+        }
+    }
+
+    private LocalDateTime read(Path segment, InvertedIndex index) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("invalid segment header: " + segment);
+            }
+            LocalDateTime watermark = LocalDateTime.parse(in.readUTF());
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                int length = in.readInt();
+                if (length == TOMBSTONE) {
+                    index.remove(id);
+                    continue;
+                }
+                String[] tokens = new String[length];
+                for (int j = 0; j < length; j++) {
+                    tokens[j] = in.readUTF();
+                }
+                index.put(id, tokens);
+            }
+            if (in.readInt() != MAGIC) {
+                throw new IOException("invalid segment trailer: " + segment);
+            }
+            return watermark;
+        } catch (EOFException e) {
+            throw new IOException("truncated segment: " + segment, e);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    private interface SegmentWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
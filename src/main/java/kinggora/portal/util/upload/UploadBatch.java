@@ -0,0 +1,63 @@
+package kinggora.portal.util.upload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 한 요청의 파일 업로드 묶음
+ * 스토리지에 기록을 마친 파일명을 모아두었다가 묶음이 실패하면 한 번에 삭제할 수 있도록 반환
+ * <p>
+ * 1. 작업은 스토리지에 기록하기 전에 isFailed 로 실패한 묶음인지 확인하고 건너뜀
+ * 2. 기록을 마친 작업은 register 로 등록 (이미 실패한 묶음이면 false 를 반환하므로 작업이 직접 삭제)
+ * 3. fail 은 처음 호출될 때만 등록된 파일명을 반환하고 이후 등록은 모두 거부
+ */
+public class UploadBatch {
+
+    private final List<String> written = new ArrayList<>();
+    private boolean failed;
+
+    /**
+     * 기록을 마친 파일 등록
+     *
+     * @param storeName 저장 파일명
+     * @return false: 이미 실패한 묶음 (호출한 쪽에서 파일 삭제)
+     */
+    public synchronized boolean register(String storeName) {
+        if (failed) {
+            return false;
+        }
+        written.add(storeName);
+        return true;
+    }
+
+    /**
+     * 이 묶음에서 기록한 파일인지 여부
+     *
+     * @param storeName 저장 파일명
+     * @return 기록 여부
+     */
+    public synchronized boolean isWritten(String storeName) {
+        return written.contains(storeName);
+    }
+
+    /**
+     * @return 실패한 묶음인지 여부
+     */
+    public synchronized boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * 묶음을 실패로 표시
+     *
+     * @return 삭제해야 할 파일명 (처음 호출할 때만, 이후에는 빈 리스트)
+     */
+    public synchronized List<String> fail() {
+        if (failed) {
+            return Collections.emptyList();
+        }
+        failed = true;
+        return new ArrayList<>(written);
+    }
+}
@@ -0,0 +1,229 @@
+package kinggora.portal.util.upload;
+
+import kinggora.portal.util.mime.ByteSource;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 업로드 파일 내용
+ * 파일 전체를 메모리에 담지 않고, 앞부분(header)만 읽어 두고 나머지는 스토리지로 전송하면서 읽음
+ * <p>
+ * 1. open: 앞부분을 읽어 MIME Type 판별에 사용
+ *    ZIP 중앙 디렉토리(파일 끝) 등 앞부분 밖의 구간은 업로드 파일(디스크 임시 파일 또는 메모리)을 다시 열어 필요한 구간만 읽음
+ * 2. newInputStream: 앞부분부터 파일 끝까지 한 번만 읽는 스트림, 읽는 동안 SHA-256 계산 (스토리지 업로드에 사용)
+ * 3. getHash: 스트림을 끝까지 읽은 뒤 SHA-256 반환
+ * <p>
+ * 사용 후 close 하면 업로드 파일 스트림을 닫음
+ */
+public class UploadContent implements ByteSource, Closeable {
+
+    private final InputStreamSource source;
+    private final InputStream in;
+    private final byte[] header;
+    private final long size;
+    private final MessageDigest digest = sha256();
+    private long digested;
+    private boolean streamed;
+    private String hash;
+
+    private UploadContent(InputStreamSource source, InputStream in, byte[] header, long size) {
+        this.source = source;
+        this.in = in;
+        this.header = header;
+        this.size = size;
+    }
+
+    /**
+     * 업로드 파일을 열고 앞부분을 읽음
+     *
+     * @param source     업로드 파일 (구간을 읽을 때 다시 열 수 있어야 함)
+     * @param size       파일 크기
+     * @param headerSize 읽어 둘 앞부분 크기
+     * @return 업로드 파일 내용 (호출한 쪽에서 닫아야 함)
+     * @throws IOException 읽기 실패 시 발생 (연 스트림은 닫음)
+     */
+    public static UploadContent open(InputStreamSource source, long size, int headerSize) throws IOException {
+        InputStream in = source.getInputStream();
+        try {
+            byte[] header = in.readNBytes((int) Math.min(size, headerSize));
+            return new UploadContent(source, in, header, size);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return 파일 크기 (byte)
+     */
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 읽어 둔 앞부분 스트림 (MIME Type 판별에 사용)
+     *
+     * @return 메모리 스트림
+     */
+    public InputStream newHeaderStream() {
+        return new ByteArrayInputStream(header);
+    }
+
+    /**
+     * 파일 전체를 처음부터 읽는 스트림, 읽는 동안 SHA-256 계산
+     * 업로드 파일을 한 번만 읽으므로 한 번만 열 수 있고, mark/reset 을 지원하지 않음
+     *
+     * @return 업로드 파일 스트림 (닫으면 업로드 파일 스트림도 닫음)
+     * @throws IllegalStateException 이미 연 경우 발생
+     */
+    public InputStream newInputStream() {
+        if (streamed) {
+            throw new IllegalStateException("content already streamed");
+        }
+        streamed = true;
+        return new DigestStream(new SequenceInputStream(new ByteArrayInputStream(header), in));
+    }
+
+    /**
+     * @return 내용의 SHA-256 (소문자 hex 64자)
+     * @throws IllegalStateException newInputStream 을 파일 끝까지 읽지 않은 경우 발생
+     */
+    public String getHash() {
+        if (hash == null) {
+            if (digested != size) {
+                throw new IllegalStateException("content not fully read, read=" + digested + ", size=" + size);
+            }
+            hash = toHex(digest.digest());
+        }
+        return hash;
+    }
+
+    /**
+     * position 부터 최대 len 만큼 읽음 (MIME 판별 시 ZIP 중앙 디렉토리 등 파일 중간, 끝을 읽을 때 사용)
+     * 앞부분 안의 구간은 메모리에서, 그 밖의 구간은 업로드 파일을 다시 열어 읽음
+     *
+     * @throws IOException 읽기 실패 시 발생
+     */
+    @Override
+    public int read(long position, byte[] b, int off, int len) throws IOException {
+        if (position >= size || len <= 0) {
+            return 0;
+        }
+        int count = (int) Math.min(len, size - position);
+        if (position + count <= header.length) {
+            System.arraycopy(header, (int) position, b, off, count);
+            return count;
+        }
+        try (InputStream part = source.getInputStream()) {
+            long remaining = position;
+            while (remaining > 0) {
+                long skipped = part.skip(remaining);
+                if (skipped <= 0) {
+                    if (part.read() < 0) {
+                        return 0;
+                    }
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+            return part.readNBytes(b, off, count);
+        }
+    }
+
+    /**
+     * 업로드 파일 스트림 닫기
+     */
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // 읽기를 마친 업로드 파일이므로 닫기 실패는 무시
+        }
+    }
+
+    /**
+     * 이미 메모리에 있는 내용(썸네일 등)의 SHA-256
+     *
+     * @param bytes 내용
+     * @return 소문자 hex 64자
+     */
+    public static String hash(byte[] bytes) {
+        return toHex(sha256().digest(bytes));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 읽은 내용을 그대로 SHA-256 에 반영하는 스트림
+     * 건너뛴 구간도 읽어서 반영 (스토리지 SDK 가 재시도를 위해 다시 읽는 내용은 SDK 의 버퍼에서 읽으므로 중복 반영되지 않음)
+     */
+    private class DigestStream extends FilterInputStream {
+
+        private DigestStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                digest.update((byte) b);
+                digested++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                digest.update(b, off, count);
+                digested += count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int count = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (count < 0) {
+                    break;
+                }
+                skipped += count;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package kinggora.portal.util.upload;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * 업로드 파일 리더
+ * MultipartFile 의 앞부분(sniff-size)만 메모리에 읽고, 나머지는 스토리지로 전송하면서 읽도록 UploadContent 로 감쌈
+ */
+@Component
+public class UploadReader {
+
+    private final int sniffSize;
+
+    public UploadReader(@Value("${file.upload.sniff-size}") int sniffSize) {
+        if (sniffSize <= 0) {
+            throw new IllegalArgumentException("sniffSize=" + sniffSize);
+        }
+        this.sniffSize = sniffSize;
+    }
+
+    /**
+     * 업로드 파일 열기
+     *
+     * @param file 업로드 파일
+     * @return 파일 내용 (호출한 쪽에서 닫아야 함)
+     * @throws IOException 읽기 실패 시 발생
+     */
+    public UploadContent read(MultipartFile file) throws IOException {
+        return UploadContent.open(file, file.getSize(), sniffSize);
+    }
+}
@@ -1,6 +1,7 @@
 package kinggora.portal.web.controller;
 
 import kinggora.portal.domain.*;
+import kinggora.portal.domain.type.BoardAction;
 import kinggora.portal.exception.BizException;
 import kinggora.portal.exception.ErrorCode;
 import kinggora.portal.model.data.DataResponse;
@@ -9,14 +10,19 @@ import kinggora.portal.model.data.request.*;
 import kinggora.portal.model.data.response.*;
 import kinggora.portal.security.user.CustomUserDetails;
 import kinggora.portal.service.*;
+import kinggora.portal.web.evaluator.BoardPermission;
+import kinggora.portal.web.evaluator.PermissionMatrix;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 게시판 API 컨트롤러
@@ -31,6 +37,9 @@ public class BoardController {
     private final CategoryService categoryService;
     private final CommentService commentService;
     private final FileService fileService;
+    private final PresignedUploadService presignedUploadService;
+    private final UploadSessionService uploadSessionService;
+    private final PermissionMatrix permissionMatrix;
 
     /**
      * 모든 게시판의 정보 조회 요청 처리
@@ -55,6 +64,21 @@ public class BoardController {
         return DataResponse.of(boardInfo);
     }
 
+    /**
+     * 단일 게시판에서 현재 사용자에게 허용된 요청 종류 조회 요청 처리
+     * 클라이언트가 화면 구성(글쓰기 버튼 등)을 위해 API 를 하나씩 호출해 보지 않도록 한 번에 반환
+     *
+     * @param boardId     게시판 id
+     * @param userDetails 인증 객체 (익명 사용자는 null)
+     * @return 허용된 요청 종류 API Response
+     */
+    @GetMapping("/boards/{boardId}/permissions")
+    public DataResponse<Set<BoardAction>> getPermissions(@PathVariable Id boardId,
+                                                         @AuthenticationPrincipal CustomUserDetails userDetails) {
+        int roleMask = (userDetails == null) ? 0 : userDetails.getRoleMask();
+        return DataResponse.of(permissionMatrix.permittedActions(boardId.getId(), roleMask));
+    }
+
     /**
      * 단일 게시판에 대한 카테고리 리스트 조회 요청 처리
      *
@@ -72,6 +96,7 @@ public class BoardController {
      * boardType에 따라 다른 BoardItem 조회
      * - boardType == "Q" : QnaBoardItem
      * - boardType == "L"(default) or else : CommonBoardItem
+     * after(커서) 파라미터가 있으면 키셋 페이징으로 조회하며, 이 경우 페이징 정보(전체 개수)는 조회하지 않음
      *
      * @param boardId          게시판 id
      * @param boardType        반환할 BoardItem 종류
@@ -79,7 +104,7 @@ public class BoardController {
      * @param boardSearchParam 필터링 조건
      * @return 게시글 목록 리스트 & 페이징 정보 API Response
      */
-    @PreAuthorize("@accessPermissionEvaluator.hasPermissionToBoard(#boardId, 'LIST')")
+    @BoardPermission(value = BoardAction.LIST, board = "boardId")
     @GetMapping("/boards/{boardId}/posts")
     public PagingResponse<? extends BoardItem> getPosts(@PathVariable Id boardId,
                                                         @RequestParam(defaultValue = "L") String boardType,
@@ -90,8 +115,8 @@ public class BoardController {
                 .boardId(boardId.getId())
                 .build();
         List<? extends BoardItem> boardItems = boardService.findBoardItems(boardType, pagingCriteria, boardCriteria);
-        PageInfo pageInfo = getBoardPageInfo(pagingCriteria, boardCriteria);
-        return new PagingResponse<>(boardItems, pageInfo);
+        PageInfo pageInfo = pagingCriteria.hasCursor() ? null : getBoardPageInfo(pagingCriteria, boardCriteria);
+        return new PagingResponse<>(boardItems, pageInfo, nextPostCursor(boardItems, pagingCriteria));
     }
 
     /**
@@ -126,8 +151,8 @@ public class BoardController {
                 .memberId(userDetails.getId())
                 .build();
         List<CommonBoardItem> myBoardItems = boardService.findCommonBoardItems(pagingCriteria, boardCriteria);
-        PageInfo pageInfo = getBoardPageInfo(pagingCriteria, boardCriteria);
-        return new PagingResponse<>(myBoardItems, pageInfo);
+        PageInfo pageInfo = pagingCriteria.hasCursor() ? null : getBoardPageInfo(pagingCriteria, boardCriteria);
+        return new PagingResponse<>(myBoardItems, pageInfo, nextPostCursor(myBoardItems, pagingCriteria));
     }
 
     /**
@@ -138,13 +163,12 @@ public class BoardController {
      * @param userDetails 인증 객체
      * @return 게시글 상세 API Response
      */
-    @PreAuthorize("@accessPermissionEvaluator.hasPermissionToPost(#postId, 'READ')")
+    @BoardPermission(value = BoardAction.READ, post = "postId")
     @GetMapping("/posts/{postId}")
     public DataResponse<BoardDetail> getPost(@PathVariable Id postId,
                                              @AuthenticationPrincipal CustomUserDetails userDetails) {
-        boardService.hitUp(postId.getId(),
-                (userDetails == null) ? null : userDetails.getId());
         BoardDetail boardDetail = boardService.findBoardDetail(postId.getId());
+        boardService.hitUp(boardDetail, (userDetails == null) ? null : userDetails.getUsername());
         return DataResponse.of(boardDetail);
     }
 
@@ -156,7 +180,7 @@ public class BoardController {
      * @param userDetails 인증 객체
      * @return 등록된 게시글 id API Response
      */
-    @PreAuthorize("@accessPermissionEvaluator.hasPermissionToBoard(#boardId, 'WRITE')")
+    @BoardPermission(value = BoardAction.WRITE, board = "boardId")
     @PostMapping("/boards/{boardId}/posts")
     public DataResponse<Integer> createPost(@PathVariable Id boardId,
                                             @Valid PostDto dto,
@@ -173,7 +197,7 @@ public class BoardController {
      * @param userDetails 인증 객체
      * @return 등록된 게시글 id API Response
      */
-    @PreAuthorize("@accessPermissionEvaluator.hasPermissionToPost(#postId, 'REPLY-WRITE')")
+    @BoardPermission(value = BoardAction.REPLY_WRITE, post = "postId")
     @PostMapping("/posts/{postId}/replies")
     public DataResponse<Integer> createChildPost(@PathVariable Id postId,
                                                  @Valid PostDto dto,
@@ -188,7 +212,7 @@ public class BoardController {
      * @param postId 부모 게시글 id
      * @return 자식 게시글 리스트 API Response
      */
-    @PreAuthorize("@accessPermissionEvaluator.hasPermissionToPost(#postId, 'REPLY-READ')")
+    @BoardPermission(value = BoardAction.REPLY_READ, post = "postId")
     @GetMapping("/posts/{postId}/replies")
     public DataResponse<BoardDetail> getChildPost(@PathVariable Id postId) {
         BoardDetail boardDetail = boardService.findChildBoardDetail(postId.getId());
@@ -239,7 +263,7 @@ public class BoardController {
      * @param postId 게시글 id
      * @return 첨부파일 리스트 API Response
      */
-    @PreAuthorize("@accessPermissionEvaluator.hasPermissionToPost(#postId, 'FILE')")
+    @BoardPermission(value = BoardAction.FILE, post = "postId")
     @GetMapping("/posts/{postId}/files")
     public DataResponse<List<UploadFile>> getFiles(@PathVariable Id postId) {
         List<UploadFile> files = fileService.findFilesByPostId(postId.getId());
@@ -265,6 +289,135 @@ public class BoardController {
         return DataResponse.empty();
     }
 
+    /**
+     * 게시글 첨부파일 직접 업로드 대상 발급 요청 처리
+     * 클라이언트는 발급 받은 URL 로 스토리지에 직접 업로드한 뒤 완료 요청
+     *
+     * @param postId      게시글 id
+     * @param dto         업로드할 파일명, 크기
+     * @param userDetails 인증 객체
+     * @return 파일마다 업로드 대상 (id, URL, Content-Type, 만료 시각) API Response
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/posts/{postId}/uploads")
+    public DataResponse<List<UploadTarget>> prepareUploads(@PathVariable Id postId,
+                                                           PresignedUploadDto dto,
+                                                           @AuthenticationPrincipal CustomUserDetails userDetails) {
+        Post post = boardService.findPostById(postId.getId());
+        authorization(userDetails, post.getMemberId());
+        return DataResponse.of(presignedUploadService.prepare(postId.getId(), dto));
+    }
+
+    /**
+     * 게시글 첨부파일 직접 업로드 완료 요청 처리
+     * 스토리지에 업로드된 파일을 검증하고 첨부파일로 저장 (검증에 실패한 파일은 저장하지 않음)
+     *
+     * @param postId      게시글 id
+     * @param ids         업로드 대상 id
+     * @param userDetails 인증 객체
+     * @return 저장한 파일 수 API Response
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/posts/{postId}/uploads/complete")
+    public DataResponse<Integer> completeUploads(@PathVariable Id postId,
+                                                 @RequestParam List<Long> ids,
+                                                 @AuthenticationPrincipal CustomUserDetails userDetails) {
+        Post post = boardService.findPostById(postId.getId());
+        authorization(userDetails, post.getMemberId());
+        return DataResponse.of(presignedUploadService.complete(postId.getId(), ids));
+    }
+
+    /**
+     * 게시글 첨부파일 분할 업로드 세션 생성 요청 처리
+     * 클라이언트는 chunkSize 단위 조각을 PUT 한 뒤 완료 요청 (끊기면 세션 조회 후 받지 못한 조각부터 이어서 업로드)
+     *
+     * @param postId      게시글 id
+     * @param dto         업로드할 파일명, 크기, 종류
+     * @param userDetails 인증 객체
+     * @return 세션 정보 API Response
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/posts/{postId}/upload-sessions")
+    public DataResponse<UploadSessionInfo> createUploadSession(@PathVariable Id postId,
+                                                               UploadSessionDto dto,
+                                                               @AuthenticationPrincipal CustomUserDetails userDetails) {
+        Post post = boardService.findPostById(postId.getId());
+        authorization(userDetails, post.getMemberId());
+        return DataResponse.of(uploadSessionService.create(postId.getId(), dto));
+    }
+
+    /**
+     * 분할 업로드 세션 조회 요청 처리
+     *
+     * @param sessionId   세션 id
+     * @param userDetails 인증 객체
+     * @return 세션 정보 (받은 조각 번호 포함) API Response
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/upload-sessions/{sessionId}")
+    public DataResponse<UploadSessionInfo> getUploadSession(@PathVariable long sessionId,
+                                                            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        UploadSession session = findAuthorizedSession(sessionId, userDetails);
+        return DataResponse.of(uploadSessionService.getInfo(session));
+    }
+
+    /**
+     * 분할 업로드 조각 저장 요청 처리
+     * 요청 본문(application/octet-stream)이 조각 내용이며 Content-Length 가 필요, 같은 조각을 다시 보내면 교체
+     *
+     * @param sessionId   세션 id
+     * @param index       조각 번호 (0부터)
+     * @param request     조각 내용 요청
+     * @param userDetails 인증 객체
+     * @return Empty API Response
+     * @throws IOException 요청 본문을 열 수 없는 경우 발생
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PutMapping("/upload-sessions/{sessionId}/chunks/{index}")
+    public DataResponse<Void> uploadChunk(@PathVariable long sessionId,
+                                          @PathVariable int index,
+                                          HttpServletRequest request,
+                                          @AuthenticationPrincipal CustomUserDetails userDetails) throws IOException {
+        UploadSession session = findAuthorizedSession(sessionId, userDetails);
+        if (request.getContentLengthLong() < 0) {
+            throw new BizException(ErrorCode.INVALID_INPUT_VALUE, "Content-Length 가 필요합니다");
+        }
+        uploadSessionService.uploadChunk(session, index, request.getInputStream(), request.getContentLengthLong());
+        return DataResponse.empty();
+    }
+
+    /**
+     * 분할 업로드 완료 요청 처리
+     * 조각을 합친 파일을 검증하고 첨부파일로 저장 (검증에 실패한 파일은 저장하지 않음)
+     *
+     * @param sessionId   세션 id
+     * @param userDetails 인증 객체
+     * @return 저장한 파일 수 API Response
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/upload-sessions/{sessionId}/complete")
+    public DataResponse<Integer> completeUploadSession(@PathVariable long sessionId,
+                                                       @AuthenticationPrincipal CustomUserDetails userDetails) {
+        findAuthorizedSession(sessionId, userDetails);
+        return DataResponse.of(uploadSessionService.complete(sessionId));
+    }
+
+    /**
+     * 분할 업로드 취소 요청 처리
+     *
+     * @param sessionId   세션 id
+     * @param userDetails 인증 객체
+     * @return Empty API Response
+     */
+    @PreAuthorize("isAuthenticated()")
+    @DeleteMapping("/upload-sessions/{sessionId}")
+    public DataResponse<Void> abortUploadSession(@PathVariable long sessionId,
+                                                 @AuthenticationPrincipal CustomUserDetails userDetails) {
+        findAuthorizedSession(sessionId, userDetails);
+        uploadSessionService.abort(sessionId);
+        return DataResponse.empty();
+    }
+
     /**
      * 파일 삭제 요청 처리
      *
@@ -284,11 +437,12 @@ public class BoardController {
 
     /**
      * 댓글 리스트 조회 요청 처리
+     * after(커서) 파라미터가 있으면 키셋 페이징으로 조회하며, 이 경우 페이징 정보(전체 개수)는 조회하지 않음
      *
      * @param postId 댓글을 조회할 게시글 id
      * @return 댓글 리스트 API Response
      */
-    @PreAuthorize("@accessPermissionEvaluator.hasPermissionToPost(#postId, 'READ')")
+    @BoardPermission(value = BoardAction.READ, post = "postId")
     @GetMapping("/posts/{postId}/comments")
     public PagingResponse<PostComment> getComments(@ModelAttribute @Valid PagingCriteria pagingCriteria,
                                                    @PathVariable Id postId) {
@@ -296,8 +450,8 @@ public class BoardController {
                 .postId(postId.getId())
                 .build();
         List<PostComment> comments = commentService.findPostComments(pagingCriteria, commentCriteria);
-        PageInfo pageInfo = getCommentPageInfo(pagingCriteria, commentCriteria);
-        return new PagingResponse<>(comments, pageInfo);
+        PageInfo pageInfo = pagingCriteria.hasCursor() ? null : getCommentPageInfo(pagingCriteria, commentCriteria);
+        return new PagingResponse<>(comments, pageInfo, nextCommentCursor(comments, pagingCriteria));
     }
 
     /**
@@ -327,7 +481,7 @@ public class BoardController {
      * @param userDetails 인증 객체
      * @return 등록된 댓글 id API Response
      */
-    @PreAuthorize("@accessPermissionEvaluator.hasPermissionToPost(#postId, 'COMMENT')")
+    @BoardPermission(value = BoardAction.COMMENT, post = "postId")
     @PostMapping("/posts/{postId}/comments")
     public DataResponse<Integer> createComment(@PathVariable Id postId,
                                                @Valid CommentDto dto,
@@ -345,7 +499,7 @@ public class BoardController {
      * @param userDetails 인증 객체
      * @return 등록된 댓글 id API Response
      */
-    @PreAuthorize("@accessPermissionEvaluator.hasPermissionToPost(#postId, 'COMMENT')")
+    @BoardPermission(value = BoardAction.COMMENT, post = "postId")
     @PostMapping("/posts/{postId}/comments/{commentId}/replies")
     public DataResponse<Integer> createChildComment(@PathVariable Id postId,
                                                     @PathVariable Id commentId,
@@ -415,6 +569,53 @@ public class BoardController {
         return PageInfo.create(totalCount, pagingCriteria.getPage(), pagingCriteria.getSize());
     }
 
+    /**
+     * 게시글 목록의 다음 페이지 커서 생성
+     * 조회 결과가 페이지 크기보다 작으면 마지막 페이지이므로 null 반환
+     *
+     * @param boardItems     조회한 게시글 목록
+     * @param pagingCriteria 페이징 정보
+     * @return 다음 페이지 커서 or null
+     */
+    private String nextPostCursor(List<? extends BoardItem> boardItems, PagingCriteria pagingCriteria) {
+        if (boardItems.size() < pagingCriteria.getSize()) {
+            return null;
+        }
+        BoardItem last = boardItems.get(boardItems.size() - 1);
+        return new PostCursor(last.getRegDate(), last.getPostId()).encode();
+    }
+
+    /**
+     * 댓글 목록의 다음 페이지 커서 생성
+     * 조회 결과가 페이지 크기보다 작으면 마지막 페이지이므로 null 반환
+     *
+     * @param comments       조회한 댓글 목록
+     * @param pagingCriteria 페이징 정보
+     * @return 다음 페이지 커서 or null
+     */
+    private String nextCommentCursor(List<PostComment> comments, PagingCriteria pagingCriteria) {
+        if (comments.size() < pagingCriteria.getSize()) {
+            return null;
+        }
+        PostComment last = comments.get(comments.size() - 1);
+        return new CommentCursor(last.getRef(), last.getPath()).encode();
+    }
+
+    /**
+     * 분할 업로드 세션 조회 및 권한 인가 (세션의 게시글 작성자이거나 관리자)
+     *
+     * @param sessionId   세션 id
+     * @param userDetails 인증 객체
+     * @return 세션
+     * @throws BizException 세션이 없거나 만료된 경우, 권한이 없는 경우 발생
+     */
+    private UploadSession findAuthorizedSession(long sessionId, CustomUserDetails userDetails) {
+        UploadSession session = uploadSessionService.findSession(sessionId);
+        Post post = boardService.findPostById(session.getPostId());
+        authorization(userDetails, post.getMemberId());
+        return session;
+    }
+
     /**
      * 리소스에 대한 권한 인가
      * 인증 회원이 작성자나 관리자 권한을 가지고 있는지 확인
@@ -5,55 +5,235 @@ import kinggora.portal.domain.type.FileType;
 import kinggora.portal.exception.BizException;
 import kinggora.portal.exception.ErrorCode;
 import kinggora.portal.model.data.request.Id;
+import kinggora.portal.service.FileCacheService;
 import kinggora.portal.service.FileService;
+import kinggora.portal.util.cache.LocalFileCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.util.UriUtils;
 
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.List;
 
 /**
  * 파일 다운로드 API 컨트롤러
- * 파일 다운로드 API 요청의 응답을 JSON 형태로 반환
- * 응답 객체: ResponseEntity
+ * 로컬 캐시(FileCacheService)에 있는 파일은 컨테이너의 sendfile(Tomcat) 또는 FileChannel.transferTo 로,
+ * 없으면 스토리지에서 읽는 대로 고정 크기 버퍼로 응답에 기록
+ * - Range 요청(206 Partial Content)으로 이어받기, 탐색 지원
+ * - ETag(If-None-Match), Last-Modified(If-Modified-Since) 조건부 요청 지원
  */
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 public class DownloadController {
 
+    private static final String BYTES = "bytes";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final FileService fileService;
+    private final FileCacheService fileCacheService;
+    @Value("${file.download.buffer-size}")
+    private int BUFFER_SIZE;
 
     /**
      * 파일 다운로드 요청 처리
      * 1. Spring Security 글로벌 설정에서 파일 다운로드 권한 인가
-     * 2. DownloadController.downloadFile()
-     * - 요청 파일의 타입이 ATTACHMENT 일 때 요청 수행
-     * - ResponseEntity 생성 (header: 다운로드 정보, body: 파일 byte array)
+     * 2. 요청 파일의 타입이 ATTACHMENT 일 때 요청 수행
+     * 3. 조건부 요청: 파일이 변경되지 않았으면 304 (스토리지 요청 없음)
+     * 4. Range 요청: 단일 구간이면 206 으로 해당 구간만 응답, 범위를 벗어나면 416
+     *    (여러 구간이거나 If-Range 가 일치하지 않으면 파일 전체를 200 으로 응답)
+     * 5. 로컬 캐시에서 응답할 구간을 기록 (캐시를 사용할 수 없으면 스토리지에서 해당 구간만 읽어 기록)
+     *    컨테이너가 sendfile 을 지원하면 캐시 파일 경로만 넘기고 컨테이너가 커널에서 바로 전송
+     *    HEAD 요청은 헤더만 응답하며 캐시를 적재하지 않음
+     * <p>
+     * 저장 파일명(UUID)은 업로드마다 새로 생성되어 내용이 바뀌지 않으므로 ETag 로 사용
      *
-     * @param fileId 다운로드할 파일 id
-     * @return byte[] API Response
+     * @param fileId     다운로드할 파일 id
+     * @param webRequest 조건부 요청 확인용 요청 객체
+     * @param response   파일을 기록할 응답 객체
+     * @throws IOException 응답 기록 실패 시 발생
      */
     @GetMapping("/download/{fileId}")
-    public ResponseEntity<byte[]> downloadFile(@PathVariable Id fileId) {
+    public void downloadFile(@PathVariable Id fileId, ServletWebRequest webRequest, HttpServletResponse response) throws IOException {
         UploadFile uploadFile = fileService.findFileById(fileId.getId());
         if (!FileType.ATTACHMENT.equals(uploadFile.getType())) {
             throw new BizException(ErrorCode.UNAUTHORIZED_ACCESS, "다운로드 할 수 없는 파일입니다.");
         }
-        byte[] bytes = fileService.loadAsBytes(uploadFile.getStoreName());
-        String encodedFileName = UriUtils.encode(uploadFile.getOrigName(), StandardCharsets.UTF_8);
-        String contentDisposition = "attachment; filename=" + encodedFileName;
+        String eTag = "\"" + uploadFile.getStoreName() + "\"";
+        long lastModified = lastModifiedOf(uploadFile);
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        HttpServletRequest request = webRequest.getRequest();
+        long size = uploadFile.getSize();
+        HttpRange range;
+        long start = 0;
+        long length = size;
+        try {
+            range = requestedRange(request, eTag, lastModified);
+            if (range != null) {
+                start = range.getRangeStart(size);
+                length = range.getRangeEnd(size) - start + 1;
+                validateRange(start, length, size);
+            }
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES + " */" + size);
+            return;
+        }
+        boolean head = HttpMethod.HEAD.matches(request.getMethod());
+
+        LocalFileCache.Lease cached = head ? null : fileCacheService.open(uploadFile).orElse(null);
+        try (LocalFileCache.Lease lease = cached;
+             InputStream in = head || lease != null ? InputStream.nullInputStream() : fileService.openStream(uploadFile, start, length)) {
+            if (range != null) {
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES + " " + start + "-" + (start + length - 1) + "/" + size);
+            }
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES);
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(length);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=" + UriUtils.encode(uploadFile.getOrigName(), StandardCharsets.UTF_8));
+            if (lease != null && sendfile(request, lease, start, length)) {
+                fileCacheService.countSendfile(length);
+            } else if (lease != null) {
+                transfer(lease, start, length, response.getOutputStream(), uploadFile);
+            } else if (!head) {
+                copy(in, response.getOutputStream(), uploadFile);
+            }
+        }
+    }
+
+    /**
+     * 응답할 구간 결정
+     * - Range 헤더가 없거나 구간이 여러 개이면 null (전체 응답)
+     * - If-Range 가 현재 ETag 또는 Last-Modified 와 일치하지 않으면 null (파일이 바뀌었으므로 전체 응답)
+     *
+     * @param request      HTTP 요청
+     * @param eTag         파일 ETag
+     * @param lastModified 파일 수정 시각 (epoch millis, 없으면 -1)
+     * @return 응답할 구간 or null
+     * @throws IllegalArgumentException Range 헤더 형식이 잘못되었거나 파일 범위를 벗어나는 경우 발생
+     */
+    private HttpRange requestedRange(HttpServletRequest request, String eTag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRangeMatches(request, ifRange, eTag, lastModified)) {
+            return null;
+        }
+        List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentLength(uploadFile.getSize());
-        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-        headers.add(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
-        return new ResponseEntity<>(bytes, headers, HttpStatus.OK);
+    /**
+     * 구간이 파일 범위 안에 있는지 확인
+     * HttpRange 는 시작 위치가 파일 크기 이상인 구간(bytes=5000- / 1000 byte)이나 길이 0인 구간(bytes=-0)을 거르지 않음
+     *
+     * @param start  구간 시작 위치
+     * @param length 구간 길이
+     * @param size   파일 크기
+     * @throws IllegalArgumentException 시작 위치가 파일 크기 이상이거나 구간 길이가 0 이하인 경우 발생
+     */
+    private void validateRange(long start, long length, long size) {
+        if (start >= size || length <= 0) {
+            throw new IllegalArgumentException("unsatisfiable range, start=" + start + ", length=" + length + ", size=" + size);
+        }
     }
 
+    /**
+     * If-Range 일치 여부
+     * ETag 는 강한 비교(W/ 약한 ETag 는 불일치), 날짜는 초 단위 비교
+     */
+    private boolean ifRangeMatches(HttpServletRequest request, String ifRange, String eTag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified >= 0 && date / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 스토리지 스트림을 고정 크기 버퍼로 응답에 기록
+     * 클라이언트가 연결을 끊은 경우(탐색, 취소) 기록을 중단하고 스토리지 스트림을 닫음
+     *
+     * @throws IOException 스토리지 읽기 실패 시 발생
+     */
+    private void copy(InputStream in, ServletOutputStream out, UploadFile uploadFile) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            try {
+                out.write(buffer, 0, read);
+            } catch (IOException e) {
+                log.debug("DownloadController.copy, client aborted fileId={}, cause={}", uploadFile.getId(), e.toString());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 캐시된 파일 구간을 컨테이너의 sendfile 로 전송하도록 요청 (Tomcat NIO/NIO2/APR, TLS 가 아닌 경우 지원)
+     * 응답에 직접 기록하지 않고, 서블릿이 반환된 뒤 컨테이너가 경로로 파일을 열어 커널에서 소켓으로 전송
+     * Lease 를 닫은 뒤에 파일을 열지만 캐시에서 제거된 파일도 일정 시간 남아 있음 (LocalFileCache.Lease.path)
+     *
+     * @return sendfile 을 요청했으면 true, 지원하지 않으면 false
+     */
+    private boolean sendfile(HttpServletRequest request, LocalFileCache.Lease lease, long start, long length) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME, lease.path().toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, start + length);
+        return true;
+    }
+
+    /**
+     * 캐시된 파일 구간을 응답에 기록 (sendfile 을 지원하지 않는 경우)
+     * 응답 스트림을 감싼 채널이므로 JDK 가 임시 버퍼로 읽어 복사
+     * 클라이언트가 연결을 끊은 경우(탐색, 취소) 기록을 중단
+     */
+    private void transfer(LocalFileCache.Lease lease, long start, long length, ServletOutputStream out, UploadFile uploadFile) {
+        try {
+            fileCacheService.transfer(lease, start, length, Channels.newChannel(out));
+        } catch (IOException e) {
+            log.debug("DownloadController.transfer, client aborted fileId={}, cause={}", uploadFile.getId(), e.toString());
+        }
+    }
+
+    private long lastModifiedOf(UploadFile uploadFile) {
+        if (uploadFile.getRegDate() == null) {
+            return -1;
+        }
+        return uploadFile.getRegDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
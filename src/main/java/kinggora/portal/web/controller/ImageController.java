@@ -0,0 +1,83 @@
+package kinggora.portal.web.controller;
+
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.model.data.request.Id;
+import kinggora.portal.service.FileCacheService;
+import kinggora.portal.service.FileService;
+import kinggora.portal.service.ImageVariantService;
+import kinggora.portal.util.StoredObject;
+import kinggora.portal.util.cache.LocalFileCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지 변형 API 컨트롤러
+ * 본문 이미지를 요청한 너비에 맞춰 축소한 이미지로 응답 (ImageVariantService)
+ * 변형 이미지는 내용이 바뀌지 않으므로 저장 파일명을 ETag 로 사용하고 장기간 캐시하도록 응답
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    private final FileService fileService;
+    private final FileCacheService fileCacheService;
+    private final ImageVariantService imageVariantService;
+
+    /**
+     * 변형 이미지 요청 처리
+     * 1. 요청 너비를 허용된 너비로 맞춤
+     * 2. 조건부 요청: 변형 이미지가 같으면 304
+     * 3. 로컬 캐시에서 응답 (캐시를 사용할 수 없으면 스토리지에서 읽거나 생성하여 응답)
+     *    HEAD 요청은 헤더만 응답하며 변형 이미지를 생성하지 않음
+     *
+     * @param fileId     원본 이미지 파일 id
+     * @param width      요청 너비
+     * @param webRequest 조건부 요청 확인용 요청 객체
+     * @param response   이미지를 기록할 응답 객체
+     * @throws IOException 원본을 읽을 수 없거나 응답 기록 실패 시 발생
+     */
+    @GetMapping("/images/{fileId}")
+    public void image(@PathVariable Id fileId, @RequestParam("w") int width,
+                      ServletWebRequest webRequest, HttpServletResponse response) throws IOException {
+        UploadFile uploadFile = fileService.findFileById(fileId.getId());
+        ImageVariantService.Variant variant = imageVariantService.resolve(uploadFile, width);
+        String eTag = "\"" + variant.getStoreName() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return;
+        }
+        response.setContentType(variant.getContentType());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue());
+        if (HttpMethod.HEAD.matches(webRequest.getRequest().getMethod())) {
+            return;
+        }
+
+        LocalFileCache.Lease cached = imageVariantService.openCached(variant).orElse(null);
+        if (cached != null) {
+            try (LocalFileCache.Lease lease = cached) {
+                response.setContentLengthLong(lease.size());
+                fileCacheService.transfer(lease, 0, lease.size(), Channels.newChannel(response.getOutputStream()));
+            }
+            return;
+        }
+        StoredObject stored = imageVariantService.load(variant);
+        try (InputStream in = stored.getContent()) {
+            response.setContentLengthLong(stored.getLength());
+            in.transferTo(response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package kinggora.portal.web.controller;
+
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import kinggora.portal.service.FileService;
+import kinggora.portal.util.FileValidator;
+import kinggora.portal.util.LocalFileStore;
+import kinggora.portal.util.StoredObject;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UriUtils;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 파일 스토리지 응답 컨트롤러 (file.store.type=local)
+ * S3 스토리지의 Cloud Front 역할로, LocalFileStore.getUrl 이 반환한 URL 의 파일을 응답
+ * 저장 파일명은 내용이 바뀌지 않으므로 파일명을 ETag 로 사용하고 장기간 캐시하도록 응답
+ * 저장 파일명의 확장자는 원본 파일명에서 온 값이므로 Content-Type 판별에 사용하지 않음
+ * 첨부 파일은 게시판 권한을 확인하는 DownloadController 로만 응답하고, 여기서는 URL 로 공개하는 파일만 응답 (FileService.isPublicFile)
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "file.store.type", havingValue = "local")
+public class LocalFileStoreController {
+
+    private static final String NOSNIFF = "nosniff";
+
+    private final LocalFileStore localFileStore;
+    private final FileValidator fileValidator;
+    private final FileService fileService;
+
+    /**
+     * 저장 파일 요청 처리
+     * 1. 조건부 요청: 파일명이 같으면 304
+     * 2. 파일이 없거나 공개하는 파일(본문 이미지, 썸네일, 변형 이미지)이 아니면 FILE_NOT_FOUND (HEAD 요청은 헤더만 응답)
+     * 3. 업로드 시 기록한 Content-Type 으로 응답 (기록이 없으면 application/octet-stream), 브라우저 내용 판별(sniffing) 금지
+     * 4. 허용하는 이미지 MIME Type 이 아니면 첨부 파일(attachment)로 응답
+     *
+     * @param fileName   저장 파일명
+     * @param webRequest 조건부 요청 확인용 요청 객체
+     * @param response   파일을 기록할 응답 객체
+     * @throws IOException 응답 기록 실패 시 발생
+     */
+    @GetMapping("${file.store.local.base-url}/{fileName}")
+    public void file(@PathVariable String fileName, ServletWebRequest webRequest, HttpServletResponse response) throws IOException {
+        if (webRequest.checkNotModified("\"" + fileName + "\"")) {
+            return;
+        }
+        if (!fileService.isPublicFile(fileName)) {
+            throw new BizException(ErrorCode.FILE_NOT_FOUND);
+        }
+        StoredObject stored = localFileStore.findObject(fileName)
+                .orElseThrow(() -> new BizException(ErrorCode.FILE_NOT_FOUND));
+        try (InputStream in = stored.getContent()) {
+            MediaType contentType = getContentType(fileName);
+            response.setContentType(contentType.toString());
+            response.setHeader("X-Content-Type-Options", NOSNIFF);
+            if (!fileValidator.isAllowedImageType(contentType.getType() + "/" + contentType.getSubtype())) {
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + UriUtils.encode(fileName, StandardCharsets.UTF_8));
+            }
+            response.setContentLengthLong(stored.getLength());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue());
+            if (!HttpMethod.HEAD.matches(webRequest.getRequest().getMethod())) {
+                in.transferTo(response.getOutputStream());
+            }
+        }
+    }
+
+    /**
+     * 업로드 시 기록한 Content-Type
+     *
+     * @param fileName 저장 파일명
+     * @return Content-Type, 기록이 없거나 형식이 잘못된 경우 application/octet-stream
+     */
+    private MediaType getContentType(String fileName) {
+        try {
+            return localFileStore.findContentType(fileName)
+                    .map(MediaType::parseMediaType)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package kinggora.portal.web.evaluator;
+
+import kinggora.portal.domain.type.BoardAction;
+
+import java.lang.annotation.*;
+
+/**
+ * 게시판 리소스 인가 어노테이션
+ * 컨트롤러 메서드에 선언하면 BoardPermissionInterceptor 가 메서드 호출 전에 PermissionMatrix 로 인가 여부 확인
+ * board, post 중 하나에 게시판 id 또는 게시글 id 를 담은 파라미터(Id 타입)의 이름을 지정
+ * <pre>
+ * &#64;BoardPermission(value = BoardAction.READ, post = "postId")
+ * public DataResponse&lt;BoardDetail&gt; getPost(@PathVariable Id postId, ...)
+ * </pre>
+ * 인가되지 않으면 AccessDeniedException 발생
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BoardPermission {
+
+    /**
+     * 요청 종류
+     */
+    BoardAction value();
+
+    /**
+     * 게시판 id 파라미터 이름
+     */
+    String board() default "";
+
+    /**
+     * 게시글 id 파라미터 이름 (게시글이 등록된 게시판으로 인가)
+     */
+    String post() default "";
+}
@@ -0,0 +1,103 @@
+package kinggora.portal.web.evaluator;
+
+import kinggora.portal.domain.type.BoardAction;
+import kinggora.portal.model.data.request.Id;
+import kinggora.portal.security.user.CustomUserDetails;
+import kinggora.portal.service.BoardInfoService;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * &#64;BoardPermission 메서드 인가 인터셉터
+ * SpEL 평가 없이 메서드마다 한 번 분석해 둔 정보(Binding)로 인가
+ * <p>
+ * 1. 어노테이션의 요청 종류와 Id 파라미터 위치를 메서드별로 캐싱
+ * 2. 게시글 id 인 경우 게시글이 등록된 게시판 id 조회 (ReferenceDataCache)
+ * 3. SecurityContext 에서 한 번 조회한 사용자 권한 비트마스크로 PermissionMatrix 확인
+ */
+@RequiredArgsConstructor
+public class BoardPermissionInterceptor implements MethodInterceptor {
+
+    private final PermissionMatrix permissionMatrix;
+    private final BoardInfoService boardInfoService;
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<Method, Binding> bindings = new ConcurrentHashMap<>();
+
+    /**
+     * 인가 후 메서드 호출
+     *
+     * @param invocation 메서드 호출 정보
+     * @return 메서드 반환 값
+     * @throws AccessDeniedException 인가되지 않은 경우 발생
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Binding binding = bindings.computeIfAbsent(invocation.getMethod(), this::bind);
+        Object argument = invocation.getArguments()[binding.index];
+        if (!(argument instanceof Id)) {
+            throw new AccessDeniedException("Access is denied");
+        }
+        int id = ((Id) argument).getId();
+        int boardId = binding.post ? boardInfoService.findBoardIdByPostId(id) : id;
+        if (!permissionMatrix.isPermitted(boardId, binding.action, currentRoleMask())) {
+            throw new AccessDeniedException("Access is denied");
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * 현재 사용자의 권한 비트마스크
+     * 익명 사용자는 0
+     */
+    private int currentRoleMask() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
+            return ((CustomUserDetails) authentication.getPrincipal()).getRoleMask();
+        }
+        return 0;
+    }
+
+    /**
+     * 메서드의 @BoardPermission 분석
+     *
+     * @throws IllegalStateException 어노테이션에 지정한 파라미터가 없는 경우
+     */
+    private Binding bind(Method method) {
+        BoardPermission permission = AnnotatedElementUtils.findMergedAnnotation(method, BoardPermission.class);
+        if (permission == null) {
+            throw new IllegalStateException("@BoardPermission not found, method=" + method);
+        }
+        boolean post = !permission.post().isEmpty();
+        String name = post ? permission.post() : permission.board();
+        String[] names = parameterNameDiscoverer.getParameterNames(method);
+        int index = names == null ? -1 : Arrays.asList(names).indexOf(name);
+        if (name.isEmpty() || index < 0) {
+            throw new IllegalStateException("@BoardPermission parameter not found, name=" + name + ", method=" + method);
+        }
+        return new Binding(permission.value(), post, index);
+    }
+
+    private static class Binding {
+        private final BoardAction action;
+        private final boolean post;
+        private final int index;
+
+        private Binding(BoardAction action, boolean post, int index) {
+            this.action = action;
+            this.post = post;
+            this.index = index;
+        }
+    }
+}
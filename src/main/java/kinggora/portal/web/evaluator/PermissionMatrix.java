@@ -0,0 +1,134 @@
+package kinggora.portal.web.evaluator;
+
+import kinggora.portal.domain.BoardInfo;
+import kinggora.portal.domain.type.AccessLevel;
+import kinggora.portal.domain.type.BoardAction;
+import kinggora.portal.domain.type.MemberRole;
+import kinggora.portal.service.BoardInfoService;
+import kinggora.portal.service.ReferenceDataRefreshedEvent;
+import kinggora.portal.util.cache.IntObjectMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 게시판 x 요청 종류 x 권한 인가 행렬
+ * 게시판 정보(BoardInfo)의 접근 수준으로부터 미리 계산해 두고, 요청마다 비트 연산으로 인가 여부 확인
+ * <p>
+ * 1. 게시판마다 int[권한 비트마스크] 를 가지며, 각 원소는 허용된 요청 종류(BoardAction.bit)의 비트마스크
+ * 2. 권한 비트마스크는 CustomUserDetails.getRoleMask (익명 사용자는 0)
+ * 3. 게시판 정보 스냅샷이 교체되면(ReferenceDataRefreshedEvent) 행렬 전체를 다시 계산하여 교체
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionMatrix {
+
+    private static final BoardAction[] ACTIONS = BoardAction.values();
+    private static final int ROLE_MASKS = 1 << MemberRole.values().length;
+
+    private final BoardInfoService boardInfoService;
+    private volatile IntObjectMap<int[]> matrix;
+
+    /**
+     * 인가 여부 확인
+     *
+     * @param boardId  게시판 id
+     * @param action   요청 종류
+     * @param roleMask 사용자 권한 비트마스크
+     * @return 인가 결과
+     * @throws kinggora.portal.exception.BizException 게시판이 존재하지 않는 경우 발생
+     */
+    public boolean isPermitted(int boardId, BoardAction action, int roleMask) {
+        return (row(boardId)[roleMask] & action.bit()) != 0;
+    }
+
+    /**
+     * 게시판에서 허용된 요청 종류 조회
+     *
+     * @param boardId  게시판 id
+     * @param roleMask 사용자 권한 비트마스크
+     * @return 허용된 요청 종류
+     * @throws kinggora.portal.exception.BizException 게시판이 존재하지 않는 경우 발생
+     */
+    public Set<BoardAction> permittedActions(int boardId, int roleMask) {
+        int actions = row(boardId)[roleMask];
+        Set<BoardAction> permitted = EnumSet.noneOf(BoardAction.class);
+        for (BoardAction action : ACTIONS) {
+            if ((actions & action.bit()) != 0) {
+                permitted.add(action);
+            }
+        }
+        return permitted;
+    }
+
+    /**
+     * 모든 게시판의 인가 행렬 재계산
+     */
+    @EventListener(ReferenceDataRefreshedEvent.class)
+    public void rebuild() {
+        List<BoardInfo> boardInfos = boardInfoService.findBoardInfos();
+        IntObjectMap<int[]> next = new IntObjectMap<>(boardInfos.size());
+        for (BoardInfo boardInfo : boardInfos) {
+            next.put(boardInfo.getId(), compile(boardInfo));
+        }
+        matrix = next;
+        log.debug("PermissionMatrix.rebuild, boards={}", next.size());
+    }
+
+    /**
+     * 게시판의 인가 행 조회
+     * 행렬에 없는 게시판은 게시판 정보를 직접 조회하여 계산 (조회 시 스냅샷이 교체되면 행렬도 재계산됨)
+     */
+    private int[] row(int boardId) {
+        IntObjectMap<int[]> current = matrix;
+        if (current == null) {
+            rebuild();
+            current = matrix;
+        }
+        int[] row = current.get(boardId);
+        return row != null ? row : compile(boardInfoService.findBoardInfoById(boardId));
+    }
+
+    /**
+     * 권한 비트마스크별로 허용된 요청 종류 계산
+     */
+    private static int[] compile(BoardInfo boardInfo) {
+        int[] row = new int[ROLE_MASKS];
+        for (int roleMask = 0; roleMask < ROLE_MASKS; roleMask++) {
+            for (BoardAction action : ACTIONS) {
+                if (permits(action.accessLevelOf(boardInfo), roleMask)) {
+                    row[roleMask] |= action.bit();
+                }
+            }
+        }
+        return row;
+    }
+
+    /**
+     * 접근 수준에 대해 권한 비트마스크가 인가되는지 확인
+     * - ALL: 항상 허용
+     * - USER, ADMIN: 해당 권한 비트가 있으면 허용
+     * - NONE, 정의되지 않은 값: 항상 거부
+     */
+    private static boolean permits(AccessLevel accessLevel, int roleMask) {
+        if (accessLevel == null) {
+            return false;
+        }
+        switch (accessLevel) {
+            case ALL:
+                return true;
+            case USER:
+                return (roleMask & MemberRole.USER.bit()) != 0;
+            case ADMIN:
+                return (roleMask & MemberRole.ADMIN.bit()) != 0;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+-- 내용(SHA-256) 기준 저장 파일 (같은 내용의 업로드는 스토리지 파일 하나를 공유)
+-- ref_count: 이 저장 파일을 사용하는 file 행(첨부, 본문 이미지) 수, 0 이 되면 행을 지우고 스토리지 파일 삭제
+-- 기존 파일(UUID 저장 파일명)은 등록하지 않으며 이전처럼 행마다 삭제
+CREATE TABLE file_blob
+(
+    content_hash CHAR(64)     NOT NULL PRIMARY KEY,
+    store_name   VARCHAR(255) NOT NULL,
+    size         BIGINT       NOT NULL,
+    ref_count    INT          NOT NULL,
+    reg_date     DATETIME     NOT NULL
+);
+
+CREATE UNIQUE INDEX uk_file_blob_store_name ON file_blob (store_name);
@@ -0,0 +1,19 @@
+-- 직접 업로드(presigned URL) 대기 중인 파일
+-- 발급 시 선언한 파일명, 크기, 타입을 기록하고, 완료 요청 시 스토리지의 파일을 검증한 뒤 file 행으로 옮기며 삭제
+-- expires_at: 완료 요청을 받을 수 있는 마지막 시각 (URL 만료 + finalize-timeout), 지나면 스토리지 파일과 함께 정리
+CREATE TABLE file_presigned_upload
+(
+    id           BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    post_id      INT          NOT NULL,
+    store_name   VARCHAR(255) NOT NULL,
+    orig_name    VARCHAR(255) NOT NULL,
+    ext          VARCHAR(255) NULL,
+    type         CHAR(1)      NOT NULL,
+    size         BIGINT       NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    expires_at   DATETIME     NOT NULL,
+    reg_date     DATETIME     NOT NULL
+);
+
+CREATE UNIQUE INDEX uk_file_presigned_upload_store_name ON file_presigned_upload (store_name);
+CREATE INDEX idx_file_presigned_upload_expires_at ON file_presigned_upload (expires_at, id);
@@ -0,0 +1,33 @@
+-- 분할(chunk) 업로드 세션
+-- 선언한 파일명, 크기, 조각 크기와 스토리지 분할 업로드 id(upload_id)를 기록해 앱 재시작 후에도 이어서 업로드 가능
+-- expires_at: 마지막 조각 업로드 후 expiration 이 지나면 만료, 스토리지 분할 업로드를 취소하고 정리
+CREATE TABLE file_upload_session
+(
+    id           BIGINT        NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    post_id      INT           NOT NULL,
+    store_name   VARCHAR(255)  NOT NULL,
+    orig_name    VARCHAR(255)  NOT NULL,
+    ext          VARCHAR(255)  NULL,
+    type         CHAR(1)       NOT NULL,
+    size         BIGINT        NOT NULL,
+    chunk_size   INT           NOT NULL,
+    content_type VARCHAR(255)  NOT NULL,
+    upload_id    VARCHAR(1024) NOT NULL,
+    expires_at   DATETIME      NOT NULL,
+    reg_date     DATETIME      NOT NULL
+);
+
+CREATE UNIQUE INDEX uk_file_upload_session_store_name ON file_upload_session (store_name);
+CREATE INDEX idx_file_upload_session_expires_at ON file_upload_session (expires_at, id);
+
+-- 받은 조각 (같은 조각을 다시 올리면 etag, size 갱신)
+-- etag: 스토리지가 반환한 조각 식별값, 완료 시 조각 번호 순서대로 전달
+CREATE TABLE file_upload_chunk
+(
+    session_id  BIGINT       NOT NULL,
+    chunk_index INT          NOT NULL,
+    size        BIGINT       NOT NULL,
+    etag        VARCHAR(255) NOT NULL,
+    reg_date    DATETIME     NOT NULL,
+    PRIMARY KEY (session_id, chunk_index)
+);
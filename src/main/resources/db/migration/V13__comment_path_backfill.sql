@@ -0,0 +1,20 @@
+-- V5 이전 댓글의 경로(path) 채우기
+-- path 가 NULL 인 댓글 그룹은 (ref, path) 정렬에서 맨 앞에 오고 커서로 이어 조회할 수 없으므로
+-- CommentPathMigrator 와 같은 규칙으로 변환: 부모 경로 + 부모 안에서의 ref_order 순번 (4자리 36진수)
+UPDATE comment c
+    JOIN (WITH RECURSIVE ordered AS (SELECT id,
+                                            parent,
+                                            ROW_NUMBER() OVER (PARTITION BY parent ORDER BY ref_order, id) AS sibling_order
+                                     FROM comment
+                                     WHERE ref IN (SELECT ref FROM comment WHERE path IS NULL)),
+                         paths AS (SELECT id, CAST('' AS CHAR(64) CHARACTER SET ascii) AS path
+                                   FROM ordered
+                                   WHERE parent IS NULL
+                                   UNION ALL
+                                   SELECT o.id, CONCAT(p.path, LPAD(LOWER(CONV(o.sibling_order, 10, 36)), 4, '0'))
+                                   FROM ordered o
+                                            JOIN paths p ON o.parent = p.id)
+          SELECT id, path
+          FROM paths) t ON c.id = t.id
+SET c.path = t.path
+WHERE c.path IS NULL;
@@ -0,0 +1,4 @@
+-- 분할 업로드 세션 상태
+-- status: U(조각 업로드 중), C(완료 처리 중, 스토리지에서 조각을 합치고 검증하는 동안 트랜잭션 없이 세션을 선점)
+ALTER TABLE file_upload_session
+    ADD COLUMN status CHAR(1) NOT NULL DEFAULT 'U' AFTER upload_id;
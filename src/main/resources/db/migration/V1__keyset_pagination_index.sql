@@ -0,0 +1,7 @@
+-- 키셋(커서) 페이징 인덱스
+-- 게시글 목록: WHERE board_id=? [AND member_id=?] AND (reg_date, id) < (?, ?) ORDER BY reg_date DESC, id DESC
+CREATE INDEX idx_boards_board_id_reg_date ON boards (board_id, reg_date, id);
+CREATE INDEX idx_boards_member_id_reg_date ON boards (member_id, reg_date, id);
+
+-- 댓글 목록: WHERE post_id=? AND (ref, ref_order) > (?, ?) ORDER BY ref, ref_order
+CREATE INDEX idx_comment_post_id_ref ON comment (post_id, ref, ref_order);
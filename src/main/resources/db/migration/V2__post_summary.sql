@@ -0,0 +1,24 @@
+-- 게시글 요약 컬럼 (목록/상세 조회의 상관 서브쿼리 제거)
+-- comment_count : 게시글의 댓글 수 (숨김 댓글 포함)
+-- has_attachment: 삭제되지 않은 첨부 파일(A) 존재 여부
+-- has_image     : 삭제되지 않은 본문 이미지(C) 존재 여부
+-- thumb_url     : 가장 먼저 등록된 썸네일(T) url
+-- child_exists  : 삭제되지 않은 자식(답변) 게시글 존재 여부
+ALTER TABLE boards
+    ADD COLUMN comment_count  INT          NOT NULL DEFAULT 0,
+    ADD COLUMN has_attachment BOOLEAN      NOT NULL DEFAULT false,
+    ADD COLUMN has_image      BOOLEAN      NOT NULL DEFAULT false,
+    ADD COLUMN thumb_url      VARCHAR(500) NULL,
+    ADD COLUMN child_exists   BOOLEAN      NOT NULL DEFAULT false;
+
+-- 요약 컬럼 갱신 시 게시글 단위 조회
+CREATE INDEX idx_file_post_id_type ON file (post_id, type);
+CREATE INDEX idx_boards_parent ON boards (parent);
+
+-- 기존 데이터 채우기 (PostSummaryMapper.reconcile 과 동일)
+UPDATE boards b
+SET b.comment_count  = (SELECT COUNT(id) FROM comment cm WHERE cm.post_id = b.id),
+    b.has_attachment = EXISTS (SELECT id FROM file f WHERE f.post_id = b.id AND f.deleted = false AND f.type = 'A'),
+    b.has_image      = EXISTS (SELECT id FROM file f WHERE f.post_id = b.id AND f.deleted = false AND f.type = 'C'),
+    b.thumb_url      = (SELECT url FROM file f WHERE f.post_id = b.id AND f.deleted = false AND f.type = 'T' ORDER BY f.reg_date LIMIT 1),
+    b.child_exists   = EXISTS (SELECT id FROM boards bb WHERE bb.parent = b.id AND bb.deleted = false);
@@ -0,0 +1,4 @@
+-- 검색 색인 변경분 조회(PostSearchService.catchUp)용 인덱스
+-- (reg_date >= ? OR mod_date >= ?) 조건을 index merge 로 처리
+CREATE INDEX idx_boards_reg_date ON boards (reg_date);
+CREATE INDEX idx_boards_mod_date ON boards (mod_date);
@@ -0,0 +1,11 @@
+-- 시퀀스 테이블 (CommentRefAllocator 가 구간 단위로 예약)
+CREATE TABLE sequence
+(
+    name     VARCHAR(50) NOT NULL PRIMARY KEY,
+    next_val BIGINT      NOT NULL
+);
+
+-- 댓글 그룹(ref): 기존 ref 최댓값 다음부터 발급
+INSERT INTO sequence (name, next_val)
+SELECT 'comment_ref', IFNULL(MAX(ref), 0) + 1
+FROM comment;
@@ -0,0 +1,18 @@
+-- 댓글 정렬 경로 (materialized path, CommentPath)
+-- ref_order 를 갱신하던 답글 등록을 한 번의 INSERT 로 대체
+-- 기존 데이터는 CommentPathMigrator 가 ref_order 순서로 변환하며, 변환 전 댓글은 path 가 NULL
+-- (UNIQUE 인덱스는 NULL 중복을 허용하므로 변환 전에도 생성 가능)
+ALTER TABLE comment
+    ADD COLUMN path VARCHAR(64) CHARACTER SET ascii COLLATE ascii_bin NULL AFTER ref,
+    MODIFY ref_order INT NULL;
+
+CREATE UNIQUE INDEX uk_comment_ref_path ON comment (ref, path);
+-- 답글 등록 시 형제 경로 최댓값 조회 (WHERE parent=? -> MAX(path))
+CREATE INDEX idx_comment_parent_path ON comment (parent, path);
+
+-- 댓글 목록: WHERE post_id=? AND (ref, path) > (?, ?) ORDER BY ref, path
+CREATE INDEX idx_comment_post_id_ref_path ON comment (post_id, ref, path);
+DROP INDEX idx_comment_post_id_ref ON comment;
+
+-- 모든 댓글 변환 후 (SELECT COUNT(*) FROM comment WHERE path IS NULL = 0) 실행
+-- ALTER TABLE comment MODIFY path VARCHAR(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL, DROP COLUMN ref_order;
@@ -0,0 +1,12 @@
+-- 회원 권한 비트마스크 (MemberRoleMaskTypeHandler)
+-- 비트 위치 = MemberRole.ordinal (USER=1, ADMIN=2)
+-- 조회는 role_mask 를 사용하고, 전환 기간 동안 가입 시 roles(CSV)와 role_mask 를 함께 기록
+ALTER TABLE member
+    ADD COLUMN role_mask INT UNSIGNED NOT NULL DEFAULT 0 AFTER roles;
+
+UPDATE member
+SET role_mask = (FIND_IN_SET('ROLE_USER', roles) > 0)
+              | ((FIND_IN_SET('ROLE_ADMIN', roles) > 0) << 1);
+
+-- 모든 서버가 role_mask 를 조회하도록 배포된 후 실행 (MemberMapper.save 의 roles 기록도 함께 제거)
+-- ALTER TABLE member DROP COLUMN roles;
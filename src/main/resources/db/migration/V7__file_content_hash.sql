@@ -0,0 +1,4 @@
+-- 업로드 파일 내용의 SHA-256 (소문자 hex, 업로드 시 한 번 읽으면서 계산)
+-- 기존 파일은 NULL
+ALTER TABLE file
+    ADD COLUMN content_hash CHAR(64) NULL AFTER size;
@@ -0,0 +1,3 @@
+-- 썸네일 비동기 생성: 저장 파일명으로 썸네일 완료 처리, 생성 대기(size=0) 썸네일 재처리 조회
+CREATE INDEX idx_file_store_name ON file (store_name);
+CREATE INDEX idx_file_type_size_reg_date ON file (type, size, reg_date);
@@ -0,0 +1,13 @@
+-- 스토리지 파일 삭제 outbox (메타 데이터 삭제와 같은 트랜잭션에서 기록, FileDeletionService 가 batch 삭제)
+-- 작업 조회에 FOR UPDATE SKIP LOCKED 사용 (MariaDB 10.6 이상)
+CREATE TABLE file_deletion
+(
+    id              BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    store_name      VARCHAR(255) NOT NULL,
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME     NOT NULL,
+    last_error      VARCHAR(500) NULL,
+    reg_date        DATETIME     NOT NULL
+);
+
+CREATE INDEX idx_file_deletion_next_attempt_at ON file_deletion (next_attempt_at, id);
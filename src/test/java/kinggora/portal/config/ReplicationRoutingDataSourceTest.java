@@ -0,0 +1,85 @@
+package kinggora.portal.config;
+
+import kinggora.portal.config.datasource.ReplicationRoutingDataSource;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+class ReplicationRoutingDataSourceTest {
+
+    EmbeddedDatabase primary;
+    EmbeddedDatabase replica;
+    JdbcTemplate jdbcTemplate;
+    DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void init() {
+        primary = createDatabase("primary");
+        replica = createDatabase("replica");
+        DataSource dataSource = DataSourceConfig.lazyConnectionProxy(new ReplicationRoutingDataSource(primary, replica));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void shutdown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica 로 라우팅")
+    void readOnlyTransaction() {
+        Assertions.assertThat(findNodeName(true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("쓰기 트랜잭션은 primary 로 라우팅")
+    void readWriteTransaction() {
+        Assertions.assertThat(findNodeName(false)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 없으면 primary 로 라우팅")
+    void withoutTransaction() {
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("쓰기 트랜잭션에 참여한 읽기 전용 호출은 primary 에서 조회")
+    void readOnlyJoinsReadWriteTransaction() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        String name = outer.execute(status -> {
+            jdbcTemplate.update("UPDATE node SET name = 'written'");
+            return findNodeName(true);
+        });
+        Assertions.assertThat(name).isEqualTo("written");
+    }
+
+    private String findNodeName(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private EmbeddedDatabase createDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate template = new JdbcTemplate(database);
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+}
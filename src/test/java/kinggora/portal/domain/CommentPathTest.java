@@ -0,0 +1,42 @@
+package kinggora.portal.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CommentPathTest {
+
+    @Test
+    @DisplayName("경로 정렬 순서 = 깊이 우선 순서")
+    void depthFirstOrder() {
+        String first = CommentPath.child(CommentPath.ROOT, 1);
+        String firstReply = CommentPath.child(first, 1);
+        String firstReplyReply = CommentPath.child(firstReply, 1);
+        String secondReply = CommentPath.child(first, 2);
+        String second = CommentPath.child(CommentPath.ROOT, 2);
+        String eleventh = CommentPath.child(CommentPath.ROOT, 11);
+        List<String> expected = List.of(CommentPath.ROOT, first, firstReply, firstReplyReply, secondReply, second, eleventh);
+
+        List<String> sorted = new ArrayList<>(expected);
+        Collections.shuffle(sorted);
+        Collections.sort(sorted);
+
+        assertThat(sorted).containsExactlyElementsOf(expected);
+        assertThat(eleventh).isEqualTo("000b");
+    }
+
+    @Test
+    @DisplayName("경로 유효성 검사")
+    void isValid() {
+        assertThat(CommentPath.isValid("")).isTrue();
+        assertThat(CommentPath.isValid("0001000z")).isTrue();
+        assertThat(CommentPath.isValid("001")).isFalse();
+        assertThat(CommentPath.isValid("000A")).isFalse();
+        assertThat(CommentPath.isValid(null)).isFalse();
+    }
+}
@@ -0,0 +1,54 @@
+package kinggora.portal.domain.type.typehandler;
+
+import kinggora.portal.domain.type.CodeEnum;
+import kinggora.portal.domain.type.MemberRole;
+import org.apache.ibatis.type.TypeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class MemberRolesTypeHandlerTest {
+
+    @Test
+    @DisplayName("CSV 와 비트마스크 모두 같은 리스트로 변환")
+    void sameListForBothEncodings() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("roles")).thenReturn("ROLE_ADMIN,ROLE_USER");
+        when(rs.getInt("role_mask")).thenReturn(3);
+        when(rs.wasNull()).thenReturn(false);
+
+        List<CodeEnum> fromCsv = new MemberRolesTypeHandler().getResult(rs, "roles");
+        List<CodeEnum> fromMask = new MemberRoleMaskTypeHandler().getResult(rs, "role_mask");
+
+        assertThat(fromCsv).containsExactly(MemberRole.USER, MemberRole.ADMIN);
+        assertThat(fromMask).isSameAs(fromCsv);
+    }
+
+    @Test
+    @DisplayName("비트마스크 저장")
+    void setMask() throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        new MemberRoleMaskTypeHandler().setParameter(ps, 1, List.of(MemberRole.ADMIN, MemberRole.USER), null);
+
+        verify(ps).setInt(1, 3);
+    }
+
+    @Test
+    @DisplayName("정의되지 않은 code 또는 비트")
+    void unknown() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("ROLE_USER,ROLE_GUEST");
+        when(rs.getInt(1)).thenReturn(4);
+
+        assertThatThrownBy(() -> new MemberRolesTypeHandler().getResult(rs, 1)).isInstanceOf(TypeException.class);
+        assertThatThrownBy(() -> new MemberRoleMaskTypeHandler().getResult(rs, 1)).isInstanceOf(TypeException.class);
+    }
+}
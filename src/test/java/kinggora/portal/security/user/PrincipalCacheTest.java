@@ -0,0 +1,82 @@
+package kinggora.portal.security.user;
+
+import kinggora.portal.domain.Member;
+import kinggora.portal.domain.type.MemberRole;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("ttl 안에서는 한 번만 조회")
+    void cached() {
+        PrincipalCache cache = new PrincipalCache(countingService(), 60_000, 100);
+        UserDetails first = cache.load("user");
+        UserDetails second = cache.load("user");
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("evict 후 다시 조회")
+    void evict() {
+        PrincipalCache cache = new PrincipalCache(countingService(), 60_000, 100);
+        cache.load("user");
+        cache.evict("user");
+        cache.load("user");
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("조회 도중 evict 되면 조회한 값을 저장하지 않음")
+    void evictWhileLoading() {
+        PrincipalCache[] holder = new PrincipalCache[1];
+        UserDetailsService service = username -> {
+            loads.incrementAndGet();
+            holder[0].evict(username);
+            return userDetails(username);
+        };
+        holder[0] = new PrincipalCache(service, 60_000, 100);
+        holder[0].load("user");
+        holder[0].load("user");
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 기존 항목을 제거하고 새 항목 저장")
+    void bounded() {
+        PrincipalCache cache = new PrincipalCache(countingService(), 60_000, 10);
+        for (int i = 0; i < 100; i++) {
+            cache.load("user" + i);
+        }
+        cache.load("user99");
+
+        assertThat(loads.get()).isEqualTo(100);
+    }
+
+    private UserDetailsService countingService() {
+        return username -> {
+            loads.incrementAndGet();
+            return userDetails(username);
+        };
+    }
+
+    private UserDetails userDetails(String username) {
+        return new CustomUserDetails(Member.builder()
+                .username(username)
+                .roles(List.of(MemberRole.USER))
+                .build());
+    }
+}
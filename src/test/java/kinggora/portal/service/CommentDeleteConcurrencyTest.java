@@ -0,0 +1,145 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.Comment;
+import kinggora.portal.domain.Member;
+import kinggora.portal.domain.Post;
+import kinggora.portal.domain.type.MemberRole;
+import kinggora.portal.model.data.request.CommentDto;
+import kinggora.portal.repository.BoardRepository;
+import kinggora.portal.repository.CommentRepository;
+import kinggora.portal.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 형제 댓글 동시 삭제 시 숨김 처리된 조상 댓글이 남지 않는지 확인
+ * 스레드마다 트랜잭션이 필요하므로 @Transactional 을 사용하지 않고
+ * 테스트용 회원, 게시글을 직접 만든 뒤 테스트 후 게시글의 댓글, 게시글, 회원을 모두 삭제
+ */
+@SpringBootTest
+class CommentDeleteConcurrencyTest {
+
+    @Autowired
+    CommentService commentService;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    BoardRepository boardRepository;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    int postId;
+    int memberId;
+
+    @BeforeEach
+    void init() {
+        memberId = memberRepository.save(Member.builder()
+                .username(UUID.randomUUID().toString().substring(0, 8))
+                .password(UUID.randomUUID().toString().substring(0, 8))
+                .name(UUID.randomUUID().toString().substring(0, 5))
+                .roles(List.of(MemberRole.USER))
+                .build());
+        postId = boardRepository.save(Post.builder()
+                .boardId(1)
+                .memberId(memberId)
+                .title("comment concurrency")
+                .content("comment concurrency")
+                .regDate(LocalDateTime.now())
+                .secret(false)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // 실패한 반복에서 남은 댓글까지 정리 (게시글 삭제는 soft delete 이므로 직접 삭제)
+        jdbcTemplate.update("DELETE FROM comment WHERE post_id=?", postId);
+        jdbcTemplate.update("DELETE FROM boards WHERE id=?", postId);
+        memberRepository.deleteById(memberId);
+    }
+
+    @RepeatedTest(5)
+    @DisplayName("숨김 조상 아래의 형제 댓글 동시 삭제")
+    void deleteSiblingsConcurrently() throws Exception {
+        int rootId = commentService.saveRootComment(postId, memberId, new CommentDto("root"));
+        int parentId = commentService.saveChildComment(rootId, memberId, new CommentDto("parent"));
+        List<Integer> siblingIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            siblingIds.add(commentService.saveChildComment(parentId, memberId, new CommentDto("sibling" + i)));
+        }
+        commentService.deleteComment(commentService.findCommentById(rootId));
+        commentService.deleteComment(commentService.findCommentById(parentId));
+
+        List<Comment> siblings = new ArrayList<>();
+        for (int id : siblingIds) {
+            siblings.add(commentService.findCommentById(id));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(siblings.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Comment sibling : siblings) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                commentService.deleteComment(sibling);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(commentRepository.findById(rootId)).isEmpty();
+        assertThat(commentRepository.findById(parentId)).isEmpty();
+        for (int id : siblingIds) {
+            assertThat(commentRepository.findById(id)).isEmpty();
+        }
+    }
+
+    @RepeatedTest(5)
+    @DisplayName("숨김 처리되지 않은 조상은 남김")
+    void keepVisibleAncestor() throws Exception {
+        int rootId = commentService.saveRootComment(postId, memberId, new CommentDto("root"));
+        int first = commentService.saveChildComment(rootId, memberId, new CommentDto("first"));
+        int second = commentService.saveChildComment(rootId, memberId, new CommentDto("second"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Comment firstComment = commentService.findCommentById(first);
+        Comment secondComment = commentService.findCommentById(second);
+        Future<?> a = executor.submit(() -> {
+            start.await();
+            commentService.deleteComment(firstComment);
+            return null;
+        });
+        Future<?> b = executor.submit(() -> {
+            start.await();
+            commentService.deleteComment(secondComment);
+            return null;
+        });
+        start.countDown();
+        a.get(10, TimeUnit.SECONDS);
+        b.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(commentRepository.findById(rootId)).isPresent();
+        assertThat(commentRepository.findById(first)).isEmpty();
+        assertThat(commentRepository.findById(second)).isEmpty();
+        commentService.deleteComment(commentService.findCommentById(rootId));
+    }
+}
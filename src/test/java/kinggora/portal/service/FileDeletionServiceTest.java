@@ -0,0 +1,72 @@
+package kinggora.portal.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kinggora.portal.domain.FileDeletion;
+import kinggora.portal.repository.FileDeletionRepository;
+import kinggora.portal.util.FileStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FileDeletionServiceTest {
+
+    FileDeletionRepository fileDeletionRepository = mock(FileDeletionRepository.class);
+    FileStore fileStore = mock(FileStore.class);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    FileDeletionService fileDeletionService;
+
+    @BeforeEach
+    void init() {
+        fileDeletionService = new FileDeletionService(fileDeletionRepository, fileStore, meterRegistry);
+        ReflectionTestUtils.setField(fileDeletionService, "BATCH_SIZE", 2);
+        ReflectionTestUtils.setField(fileDeletionService, "LEASE_TIMEOUT", 60000L);
+        ReflectionTestUtils.setField(fileDeletionService, "RETRY_BACKOFF", 1000L);
+        ReflectionTestUtils.setField(fileDeletionService, "MAX_BACKOFF", 10000L);
+        ReflectionTestUtils.setField(fileDeletionService, "ALERT_ATTEMPTS", 10);
+        fileDeletionService.init();
+    }
+
+    @Test
+    @DisplayName("한 번의 요청으로 삭제하고, 실패한 파일만 backoff 후 재시도")
+    void deleteInBatch() {
+        when(fileDeletionRepository.claim(any(), any(), eq(2)))
+                .thenReturn(List.of(deletion(1L, "a", 0), deletion(2L, "b", 2)))
+                .thenReturn(List.of(deletion(3L, "c", 0)));
+        when(fileStore.deleteFiles(List.of("a", "b"))).thenReturn(Map.of("b", "InternalError"));
+        when(fileStore.deleteFiles(List.of("c"))).thenReturn(Map.of());
+
+        fileDeletionService.drain();
+
+        verify(fileDeletionRepository).complete(List.of(1L));
+        verify(fileDeletionRepository).complete(List.of(3L));
+        verify(fileDeletionRepository).reschedule(eq(2L), any(LocalDateTime.class), eq("InternalError"));
+        verify(fileStore, never()).deleteFile(anyString());
+        assertThat(meterRegistry.counter("file.deletion.deleted").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("file.deletion.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("재시도 대기 시간은 시도마다 두 배, 최대 max-backoff")
+    void backoff() {
+        assertThat(fileDeletionService.backoff(1)).isEqualTo(1000);
+        assertThat(fileDeletionService.backoff(3)).isEqualTo(4000);
+        assertThat(fileDeletionService.backoff(100)).isEqualTo(10000);
+    }
+
+    private FileDeletion deletion(long id, String storeName, int attempts) {
+        return FileDeletion.builder()
+                .id(id)
+                .storeName(storeName)
+                .attempts(attempts)
+                .build();
+    }
+}
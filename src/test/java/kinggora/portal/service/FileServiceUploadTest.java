@@ -0,0 +1,160 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.exception.BizException;
+import kinggora.portal.model.data.request.FileDto;
+import kinggora.portal.repository.FileBlobRepository;
+import kinggora.portal.repository.FileDeletionRepository;
+import kinggora.portal.repository.FileRepository;
+import kinggora.portal.repository.PostSummaryRepository;
+import kinggora.portal.util.FileStore;
+import kinggora.portal.util.FileValidator;
+import kinggora.portal.util.ThumbnailUtil;
+import kinggora.portal.util.upload.UploadReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FileServiceUploadTest {
+
+    // "content of a.txt" 의 SHA-256
+    static final String SHA256_OF_A = "fe599a5727285b6a0318a50aace211016346c5a82c4aed1614bd3dc03026a2c6";
+
+    FileRepository fileRepository = mock(FileRepository.class);
+    FileStore fileStore = mock(FileStore.class);
+    FileBlobRepository fileBlobRepository = mock(FileBlobRepository.class);
+    FileDeletionRepository fileDeletionRepository = mock(FileDeletionRepository.class);
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    FileService fileService;
+
+    @BeforeEach
+    void init() {
+        FileValidator fileValidator = new FileValidator();
+        ReflectionTestUtils.setField(fileValidator, "ALLOWED_MIME_TYPES", new String[]{"text/plain"});
+        ReflectionTestUtils.setField(fileValidator, "MAXIMUM_FILENAME_LENGTH", 255);
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        fileService = new FileService(fileRepository, mock(PostSummaryRepository.class), fileStore,
+                mock(ThumbnailUtil.class), fileValidator, mock(FileCacheService.class), new UploadReader(1024), executor,
+                mock(ThumbnailService.class), mock(ImageVariantService.class), fileDeletionRepository, fileBlobRepository);
+        ReflectionTestUtils.setField(fileService, "UPLOAD_TIMEOUT", 5000L);
+        when(fileBlobRepository.register(anyString(), anyString(), anyLong())).thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("업로드가 하나라도 실패하면 기록한 파일을 삭제하고 메타 데이터를 저장하지 않음")
+    void deleteWrittenOnFailure() {
+        Queue<String> written = new ConcurrentLinkedQueue<>();
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        when(fileStore.uploadFile(any(InputStream.class), anyLong(), anyString(), anyString())).thenAnswer(invocation -> {
+            String storeName = invocation.getArgument(2);
+            if (storeName.endsWith(".fail")) {
+                firstWritten.await(5, TimeUnit.SECONDS);
+                return false;
+            }
+            invocation.<InputStream>getArgument(0).readAllBytes();
+            written.add(storeName);
+            firstWritten.countDown();
+            return true;
+        });
+        FileDto dto = new FileDto();
+        dto.getAttachment().add(text("a.txt"));
+        dto.getAttachment().add(text("b.fail"));
+
+        assertThatThrownBy(() -> fileService.saveFiles(1, dto)).isInstanceOf(BizException.class);
+        assertThat(written).hasSize(1);
+        verify(fileStore).deleteFile(written.peek());
+        verify(fileRepository, never()).saveFiles(anyList());
+    }
+
+    @Test
+    @DisplayName("모든 파일을 업로드하면 메타 데이터를 한 번에 저장")
+    void saveOnce() {
+        storeAll();
+        FileDto dto = new FileDto();
+        for (int i = 0; i < 5; i++) {
+            dto.getAttachment().add(text(i + ".txt"));
+        }
+
+        fileService.saveFiles(1, dto);
+
+        verify(fileRepository, times(1)).saveFiles(argThat((List<UploadFile> files) -> files.size() == 5));
+        verify(fileStore, never()).deleteFile(anyString());
+    }
+
+    @Test
+    @DisplayName("전송하면서 계산한 SHA-256 을 기록하고, 같은 내용의 저장 파일이 있으면 공유하고 업로드한 파일은 삭제")
+    void shareSameContent() {
+        Queue<String> written = storeAll();
+        when(fileBlobRepository.register(eq(SHA256_OF_A), anyString(), anyLong())).thenReturn("stored.txt");
+        FileDto dto = new FileDto();
+        dto.getAttachment().add(text("a.txt"));
+
+        fileService.saveFiles(1, dto);
+
+        assertThat(written).hasSize(1);
+        verify(fileDeletionRepository).enqueue(List.of(written.peek()));
+        verify(fileRepository).saveFiles(argThat((List<UploadFile> files) -> files.size() == 1
+                && files.get(0).getStoreName().equals("stored.txt") && files.get(0).getContentHash().equals(SHA256_OF_A)));
+    }
+
+    @Test
+    @DisplayName("다른 파일이 참조하는 저장 파일은 삭제하지 않음")
+    void keepReferencedBlob() {
+        UploadFile file = UploadFile.builder()
+                .id(1)
+                .postId(1)
+                .storeName("stored.txt")
+                .contentHash("hash")
+                .type(FileType.ATTACHMENT)
+                .build();
+        when(fileRepository.findById(1)).thenReturn(Optional.of(file));
+        when(fileBlobRepository.release("hash", "stored.txt")).thenReturn(false);
+
+        fileService.deleteFile(1);
+
+        verify(fileRepository).deleteById(1);
+        verify(fileDeletionRepository).enqueue(List.of());
+    }
+
+    /**
+     * 스토리지처럼 전송 스트림을 끝까지 읽고 기록한 파일명을 모음
+     */
+    private Queue<String> storeAll() {
+        Queue<String> written = new ConcurrentLinkedQueue<>();
+        when(fileStore.uploadFile(any(InputStream.class), anyLong(), anyString(), anyString())).thenAnswer(invocation -> {
+            invocation.<InputStream>getArgument(0).readAllBytes();
+            written.add(invocation.getArgument(2));
+            return true;
+        });
+        return written;
+    }
+
+    private MockMultipartFile text(String name) {
+        return new MockMultipartFile("attachment", name, "text/plain", ("content of " + name).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,115 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.exception.BizException;
+import kinggora.portal.util.FileStore;
+import kinggora.portal.util.StoredObject;
+import kinggora.portal.util.ThumbnailUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImageVariantServiceTest {
+
+    FileStore fileStore = mock(FileStore.class);
+    FileCacheService fileCacheService = mock(FileCacheService.class);
+    ImageVariantService imageVariantService;
+
+    UploadFile source = UploadFile.builder()
+            .id(1)
+            .storeName("origin.jpg")
+            .ext("jpg")
+            .type(FileType.CONTENT)
+            .build();
+
+    @BeforeEach
+    void init() {
+        ThumbnailUtil thumbnailUtil = new ThumbnailUtil(fileStore);
+        ReflectionTestUtils.setField(thumbnailUtil, "DECODE_MEMORY", 64L * 1024 * 1024);
+        thumbnailUtil.init();
+        imageVariantService = new ImageVariantService(fileStore, thumbnailUtil, fileCacheService);
+        ReflectionTestUtils.setField(imageVariantService, "WIDTHS", new int[]{160, 320, 640});
+        ReflectionTestUtils.setField(imageVariantService, "QUALITY", 0.8f);
+    }
+
+    @Test
+    @DisplayName("요청 너비 이상인 가장 작은 허용 너비로 맞춤")
+    void resolveAllowedWidth() {
+        assertThat(imageVariantService.resolve(source, 100).getWidth()).isEqualTo(160);
+        assertThat(imageVariantService.resolve(source, 320).getWidth()).isEqualTo(320);
+        assertThat(imageVariantService.resolve(source, 5000).getWidth()).isEqualTo(640);
+        assertThat(imageVariantService.resolve(source, 321).getStoreName()).isEqualTo("w640_origin.jpg");
+        assertThatThrownBy(() -> imageVariantService.resolve(source, 0)).isInstanceOf(BizException.class);
+    }
+
+    @Test
+    @DisplayName("변형 이미지 파일명에서 원본 저장 파일명 추출, 허용 너비가 아니면 empty")
+    void variantSource() {
+        String variantName = imageVariantService.resolve(source, 320).getStoreName();
+
+        assertThat(imageVariantService.variantSource(variantName)).contains("origin");
+        assertThat(imageVariantService.variantSource("w999_origin.jpg")).isEmpty();
+        assertThat(imageVariantService.variantSource("origin.jpg")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 변형 이미지를 동시에 처음 요청하면 한 번만 생성하고 비율을 유지")
+    void generateOnce() throws Exception {
+        int threads = 4;
+        byte[] original = jpeg(1000, 500);
+        CountDownLatch requested = new CountDownLatch(threads);
+        when(fileStore.findObject(anyString())).thenAnswer(invocation -> {
+            requested.countDown();
+            return Optional.empty();
+        });
+        when(fileStore.openObject("origin.jpg")).thenAnswer(invocation -> {
+            requested.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            return new StoredObject(new ByteArrayInputStream(original), original.length, null);
+        });
+        when(fileStore.uploadFile(any(byte[].class), anyString(), anyString())).thenReturn(true);
+        ImageVariantService.Variant variant = imageVariantService.resolve(source, 320);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<StoredObject>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> imageVariantService.load(variant)));
+        }
+        for (Future<StoredObject> future : futures) {
+            BufferedImage image = ImageIO.read(future.get(10, TimeUnit.SECONDS).getContent());
+            assertThat(image.getWidth()).isEqualTo(320);
+            assertThat(image.getHeight()).isEqualTo(160);
+        }
+        executor.shutdown();
+
+        verify(fileStore, times(1)).openObject("origin.jpg");
+        verify(fileStore, times(1)).uploadFile(any(byte[].class), eq("w320_origin.jpg"), eq("image/jpeg"));
+    }
+
+    private byte[] jpeg(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR), "jpg", out);
+        return out.toByteArray();
+    }
+}
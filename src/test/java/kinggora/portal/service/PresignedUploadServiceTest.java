@@ -0,0 +1,190 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.PresignedUpload;
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.exception.BizException;
+import kinggora.portal.repository.FileDeletionRepository;
+import kinggora.portal.repository.PresignedUploadRepository;
+import kinggora.portal.util.DirectUploadSupport;
+import kinggora.portal.util.FileStore;
+import kinggora.portal.util.FileValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PresignedUploadServiceTest {
+
+    static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    static final LocalDateTime EXPIRES_AT = LocalDateTime.of(2023, 5, 1, 12, 0);
+    static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+
+    PresignedUploadRepository presignedUploadRepository = mock(PresignedUploadRepository.class);
+    FileDeletionRepository fileDeletionRepository = mock(FileDeletionRepository.class);
+    FileService fileService = mock(FileService.class);
+    FileStore fileStore = mock(FileStore.class);
+    Map<String, byte[]> stored = new HashMap<>();
+    PresignedUploadService presignedUploadService;
+
+    @BeforeEach
+    void init() {
+        FileValidator fileValidator = new FileValidator();
+        ReflectionTestUtils.setField(fileValidator, "ALLOWED_MIME_TYPES", new String[]{"image/png", "application/pdf", DOCX});
+        ReflectionTestUtils.setField(fileValidator, "MAXIMUM_FILENAME_LENGTH", 255);
+        DirectUploadSupport directUploadSupport = new DirectUploadSupport(fileStore, fileValidator);
+        ReflectionTestUtils.setField(directUploadSupport, "SNIFF_SIZE", 8);
+        presignedUploadService = new PresignedUploadService(presignedUploadRepository, fileDeletionRepository, fileService,
+                fileStore, fileValidator, directUploadSupport);
+        when(fileStore.getUrl(anyString())).thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(0));
+        when(fileStore.findLength(anyString())).thenAnswer(invocation -> {
+            byte[] content = stored.get(invocation.<String>getArgument(0));
+            return content == null ? OptionalLong.empty() : OptionalLong.of(content.length);
+        });
+        when(fileStore.openStream(anyString(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            byte[] content = stored.get(invocation.<String>getArgument(0));
+            int offset = (int) (long) invocation.getArgument(1);
+            int length = (int) (long) invocation.getArgument(2);
+            return new ByteArrayInputStream(content, offset, length);
+        });
+        when(fileStore.copyFile(anyString(), anyString())).thenAnswer(invocation -> {
+            byte[] content = stored.get(invocation.<String>getArgument(0));
+            if (content == null) {
+                return false;
+            }
+            stored.put(invocation.getArgument(1), content.clone());
+            return true;
+        });
+    }
+
+    @Test
+    @DisplayName("크기와 앞부분의 형식이 선언과 맞는 파일만 저장하고, 나머지는 스토리지에서 삭제")
+    void completeValidOnly() {
+        when(presignedUploadRepository.findForUpdate(eq(1), eq(List.of(10L, 11L, 12L)), any())).thenReturn(List.of(
+                upload(10L, "a.png", FileType.CONTENT, PNG_HEADER.length),
+                upload(11L, "b.png", FileType.CONTENT, 5),
+                upload(12L, "c.png", FileType.CONTENT, 4)));
+        stored.put("a.png-stored", PNG_HEADER);
+        stored.put("b.png-stored", "pngs!!".getBytes(StandardCharsets.UTF_8));
+        stored.put("c.png-stored", "text".getBytes(StandardCharsets.UTF_8));
+
+        int saved = presignedUploadService.complete(1, List.of(10L, 11L, 12L, 10L));
+
+        assertThat(saved).isEqualTo(1);
+        verify(presignedUploadRepository).deleteByIds(List.of(10L, 11L, 12L));
+        UploadFile file = savedFile();
+        assertThat(file.getStoreName()).isNotEqualTo("a.png-stored").endsWith(".png");
+        assertThat(file.getUrl()).isEqualTo("https://cdn/" + file.getStoreName());
+        assertThat(file.getContentHash()).isNull();
+        verify(fileStore).openStream(file.getStoreName(), 0, 8);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> rejected = ArgumentCaptor.forClass(List.class);
+        verify(fileDeletionRepository).enqueue(rejected.capture());
+        assertThat(rejected.getValue()).hasSize(2).doesNotContain("b.png-stored", "c.png-stored", file.getStoreName());
+        verify(fileDeletionRepository).enqueue(List.of("a.png-stored"), EXPIRES_AT);
+        verify(fileDeletionRepository).enqueue(List.of("b.png-stored"), EXPIRES_AT);
+        verify(fileDeletionRepository).enqueue(List.of("c.png-stored"), EXPIRES_AT);
+    }
+
+    @Test
+    @DisplayName("완료 후 presigned URL 로 다시 올려도 저장한 파일은 바뀌지 않음")
+    void ignorePutAfterComplete() {
+        when(presignedUploadRepository.findForUpdate(eq(1), eq(List.of(10L)), any()))
+                .thenReturn(List.of(upload(10L, "a.png", FileType.CONTENT, PNG_HEADER.length)));
+        stored.put("a.png-stored", PNG_HEADER);
+
+        presignedUploadService.complete(1, List.of(10L));
+        stored.put("a.png-stored", "<script>".getBytes(StandardCharsets.UTF_8));
+
+        UploadFile file = savedFile();
+        assertThat(file.getStoreName()).isNotEqualTo("a.png-stored");
+        assertThat(stored.get(file.getStoreName())).isEqualTo(PNG_HEADER);
+    }
+
+    @Test
+    @DisplayName("업로드되지 않은 파일이 있으면 아무것도 변경하지 않고 실패")
+    void rejectUnfinishedUpload() {
+        when(presignedUploadRepository.findForUpdate(eq(1), eq(List.of(10L)), any()))
+                .thenReturn(List.of(upload(10L, "a.pdf", FileType.ATTACHMENT, 100)));
+
+        assertThatThrownBy(() -> presignedUploadService.complete(1, List.of(10L))).isInstanceOf(BizException.class);
+        verify(fileStore, never()).copyFile(anyString(), anyString());
+        verify(presignedUploadRepository, never()).deleteByIds(anyList());
+        verify(fileDeletionRepository, never()).enqueue(anyList());
+        verify(fileDeletionRepository, never()).enqueue(anyList(), any());
+        verify(fileService, never()).saveMetadata(anyInt(), anyList());
+    }
+
+    @Test
+    @DisplayName("docx 로 이름만 바꾼 ZIP 은 스토리지에서 중앙 디렉토리를 읽어 판별하고 저장하지 않음")
+    void classifyZipByCentralDirectory() throws IOException {
+        byte[] docx = zip("[Content_Types].xml", "word/document.xml");
+        byte[] renamed = zip("a.txt");
+        when(presignedUploadRepository.findForUpdate(eq(1), eq(List.of(10L, 11L)), any())).thenReturn(List.of(
+                upload(10L, "a.docx", FileType.ATTACHMENT, docx.length),
+                upload(11L, "b.docx", FileType.ATTACHMENT, renamed.length)));
+        stored.put("a.docx-stored", docx);
+        stored.put("b.docx-stored", renamed);
+
+        int saved = presignedUploadService.complete(1, List.of(10L, 11L));
+
+        assertThat(saved).isEqualTo(1);
+        assertThat(stored.get(savedFile().getStoreName())).isEqualTo(docx);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> rejected = ArgumentCaptor.forClass(List.class);
+        verify(fileDeletionRepository).enqueue(rejected.capture());
+        assertThat(rejected.getValue()).singleElement().satisfies(storeName -> assertThat(stored.get(storeName)).isEqualTo(renamed));
+    }
+
+    private UploadFile savedFile() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UploadFile>> files = ArgumentCaptor.forClass(List.class);
+        verify(fileService).saveMetadata(eq(1), files.capture());
+        assertThat(files.getValue()).hasSize(1);
+        return files.getValue().get(0);
+    }
+
+    private byte[] zip(String... names) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (String name : names) {
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write(name.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private PresignedUpload upload(long id, String origName, FileType type, long size) {
+        return PresignedUpload.builder()
+                .id(id)
+                .postId(1)
+                .storeName(origName + "-stored")
+                .origName(origName)
+                .ext(origName.substring(origName.lastIndexOf('.') + 1))
+                .type(type)
+                .size(size)
+                .contentType("image/png")
+                .expiresAt(EXPIRES_AT)
+                .build();
+    }
+}
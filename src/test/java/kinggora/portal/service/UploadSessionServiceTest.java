@@ -0,0 +1,199 @@
+package kinggora.portal.service;
+
+import kinggora.portal.domain.UploadChunk;
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.domain.UploadSession;
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.domain.type.UploadSessionStatus;
+import kinggora.portal.exception.BizException;
+import kinggora.portal.exception.ErrorCode;
+import kinggora.portal.repository.FileDeletionRepository;
+import kinggora.portal.repository.UploadSessionRepository;
+import kinggora.portal.util.DirectUploadSupport;
+import kinggora.portal.util.FileStore;
+import kinggora.portal.util.FileValidator;
+import kinggora.portal.util.S3FileStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UploadSessionServiceTest {
+
+    static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+
+    UploadSessionRepository uploadSessionRepository = mock(UploadSessionRepository.class);
+    FileDeletionRepository fileDeletionRepository = mock(FileDeletionRepository.class);
+    FileService fileService = mock(FileService.class);
+    FileStore fileStore = mock(FileStore.class);
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    AtomicBoolean inTransaction = new AtomicBoolean();
+    UploadSessionService uploadSessionService;
+
+    @BeforeEach
+    void init() {
+        FileValidator fileValidator = new FileValidator();
+        ReflectionTestUtils.setField(fileValidator, "ALLOWED_MIME_TYPES", new String[]{"image/png", "application/pdf"});
+        ReflectionTestUtils.setField(fileValidator, "MAXIMUM_FILENAME_LENGTH", 255);
+        DirectUploadSupport directUploadSupport = new DirectUploadSupport(fileStore, fileValidator);
+        ReflectionTestUtils.setField(directUploadSupport, "SNIFF_SIZE", 8);
+        uploadSessionService = new UploadSessionService(uploadSessionRepository, fileDeletionRepository, fileService,
+                fileStore, fileValidator, directUploadSupport, new TransactionTemplate(transactionManager));
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            return mock(TransactionStatus.class);
+        });
+        doAnswer(invocation -> {
+            inTransaction.set(false);
+            return null;
+        }).when(transactionManager).commit(any());
+        doAnswer(invocation -> {
+            inTransaction.set(false);
+            return null;
+        }).when(transactionManager).rollback(any());
+        ReflectionTestUtils.setField(uploadSessionService, "EXPIRATION", 60000L);
+    }
+
+    @Test
+    @DisplayName("조각 번호와 크기가 맞는 조각만 스토리지로 전송하고 받은 조각으로 기록")
+    void uploadChunk() {
+        UploadSession session = session(PNG_HEADER.length);
+        InputStream content = new ByteArrayInputStream(new byte[4]);
+        when(fileStore.uploadPart("a.png-stored", "upload-1", 4, content, 4)).thenReturn("etag-4");
+
+        assertThatThrownBy(() -> uploadSessionService.uploadChunk(session, 4, content, 4)).isInstanceOf(BizException.class);
+        assertThatThrownBy(() -> uploadSessionService.uploadChunk(session, 3, content, 3)).isInstanceOf(BizException.class);
+        uploadSessionService.uploadChunk(session, 3, content, 4);
+
+        ArgumentCaptor<UploadChunk> chunk = ArgumentCaptor.forClass(UploadChunk.class);
+        verify(uploadSessionRepository).saveChunk(chunk.capture());
+        assertThat(chunk.getValue().getChunkIndex()).isEqualTo(3);
+        assertThat(chunk.getValue().getEtag()).isEqualTo("etag-4");
+        verify(uploadSessionRepository).extend(eq(1L), any());
+        verify(fileStore, times(1)).uploadPart(any(), any(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("받지 못한 조각이 있으면 아무것도 변경하지 않고, 모두 받으면 합친 뒤 검증하여 저장")
+    void complete() {
+        UploadSession session = session(PNG_HEADER.length);
+        when(uploadSessionRepository.findByIdForUpdate(eq(1L), any())).thenReturn(session);
+        when(uploadSessionRepository.findChunks(1L)).thenReturn(List.of(chunk(0), chunk(1), chunk(2)));
+
+        assertThatThrownBy(() -> uploadSessionService.complete(1L)).isInstanceOf(BizException.class);
+        verifyNoInteractions(fileStore, fileService);
+        verify(uploadSessionRepository, never()).updateStatus(anyLong(), any(), any(), any());
+
+        when(uploadSessionRepository.findChunks(1L)).thenReturn(List.of(chunk(0), chunk(1), chunk(2), chunk(3)));
+        when(fileStore.findLength("a.png-stored")).thenReturn(OptionalLong.of(PNG_HEADER.length));
+        when(fileStore.openStream("a.png-stored", 0, 8)).thenReturn(new ByteArrayInputStream(PNG_HEADER));
+
+        assertThat(uploadSessionService.complete(1L)).isEqualTo(1);
+        verify(uploadSessionRepository).updateStatus(eq(1L), eq(UploadSessionStatus.UPLOADING), eq(UploadSessionStatus.COMPLETING), any());
+        verify(fileStore).completeMultipartUpload("a.png-stored", "upload-1", List.of("etag-1", "etag-2", "etag-3", "etag-4"));
+        verify(uploadSessionRepository).deleteByIds(List.of(1L));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UploadFile>> files = ArgumentCaptor.forClass(List.class);
+        verify(fileService).saveMetadata(eq(1), files.capture());
+        assertThat(files.getValue()).singleElement().satisfies(file -> {
+            assertThat(file.getStoreName()).isEqualTo("a.png-stored");
+            assertThat(file.getSize()).isEqualTo(PNG_HEADER.length);
+        });
+        verifyNoInteractions(fileDeletionRepository);
+        verify(uploadSessionRepository, never()).updateStatus(anyLong(), eq(UploadSessionStatus.COMPLETING), any(), any());
+    }
+
+    @Test
+    @DisplayName("조각 합치기와 검증은 트랜잭션 밖에서 수행하고, 실패하면 세션 선점을 되돌림")
+    void completeOutsideTransaction() {
+        UploadSession session = session(PNG_HEADER.length);
+        when(uploadSessionRepository.findByIdForUpdate(eq(1L), any())).thenReturn(session);
+        when(uploadSessionRepository.findChunks(1L)).thenReturn(List.of(chunk(0), chunk(1), chunk(2), chunk(3)));
+        doAnswer(invocation -> {
+            assertThat(inTransaction).isFalse();
+            throw new BizException(ErrorCode.S3_ERROR);
+        }).when(fileStore).completeMultipartUpload(any(), any(), anyList());
+        when(fileStore.findLength("a.png-stored")).thenReturn(OptionalLong.empty());
+
+        assertThatThrownBy(() -> uploadSessionService.complete(1L)).isInstanceOf(BizException.class);
+        verify(uploadSessionRepository).updateStatus(eq(1L), eq(UploadSessionStatus.UPLOADING), eq(UploadSessionStatus.COMPLETING), any());
+        verify(uploadSessionRepository).updateStatus(eq(1L), eq(UploadSessionStatus.COMPLETING), eq(UploadSessionStatus.UPLOADING), any());
+        verify(uploadSessionRepository, never()).deleteByIds(anyList());
+        verifyNoInteractions(fileService, fileDeletionRepository);
+    }
+
+    @Test
+    @DisplayName("완료 처리 중인 세션은 다시 완료하거나 취소할 수 없음")
+    void rejectCompletingSession() {
+        UploadSession session = session(PNG_HEADER.length, UploadSessionStatus.COMPLETING);
+        when(uploadSessionRepository.findByIdForUpdate(eq(1L), any())).thenReturn(session);
+
+        assertThatThrownBy(() -> uploadSessionService.complete(1L)).isInstanceOf(BizException.class);
+        assertThatThrownBy(() -> uploadSessionService.abort(1L)).isInstanceOf(BizException.class);
+        verifyNoInteractions(fileStore);
+        verify(uploadSessionRepository, never()).updateStatus(anyLong(), any(), any(), any());
+        verify(uploadSessionRepository, never()).deleteByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("S3 스토리지의 조각 크기가 5MiB 보다 작으면 시작 시 실패")
+    void rejectSmallChunkSizeForS3() {
+        UploadSessionService s3Service = new UploadSessionService(uploadSessionRepository, fileDeletionRepository, fileService,
+                mock(S3FileStore.class), new FileValidator(), mock(DirectUploadSupport.class), new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(s3Service, "CHUNK_SIZE", 1024 * 1024);
+        assertThatThrownBy(s3Service::init).isInstanceOf(IllegalStateException.class);
+
+        ReflectionTestUtils.setField(s3Service, "CHUNK_SIZE", 5 * 1024 * 1024);
+        s3Service.init();
+        ReflectionTestUtils.setField(uploadSessionService, "CHUNK_SIZE", 1024);
+        uploadSessionService.init();
+    }
+
+    private UploadSession session(long size) {
+        return session(size, UploadSessionStatus.UPLOADING);
+    }
+
+    private UploadSession session(long size, UploadSessionStatus status) {
+        return UploadSession.builder()
+                .id(1L)
+                .postId(1)
+                .storeName("a.png-stored")
+                .origName("a.png")
+                .ext("png")
+                .type(FileType.CONTENT)
+                .size(size)
+                .chunkSize(4)
+                .contentType("image/png")
+                .uploadId("upload-1")
+                .status(status)
+                .expiresAt(LocalDateTime.now().plusMinutes(1))
+                .regDate(LocalDateTime.now())
+                .build();
+    }
+
+    private UploadChunk chunk(int index) {
+        return UploadChunk.builder()
+                .sessionId(1L)
+                .chunkIndex(index)
+                .size(4)
+                .etag("etag-" + (index + 1))
+                .regDate(LocalDateTime.now())
+                .build();
+    }
+}
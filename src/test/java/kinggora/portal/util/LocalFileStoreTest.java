@@ -0,0 +1,137 @@
+package kinggora.portal.util;
+
+import kinggora.portal.exception.BizException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalFileStoreTest {
+
+    @Test
+    @DisplayName("업로드한 파일을 하위 디렉토리에 저장하고 전체, 구간 단위로 읽음")
+    void uploadAndRead(@TempDir Path directory) throws IOException {
+        LocalFileStore fileStore = fileStore(directory, "file-and-directory");
+
+        assertThat(fileStore.uploadFile("hello world".getBytes(StandardCharsets.UTF_8), "a.txt", "text/plain")).isTrue();
+
+        assertThat(fileStore.resolve("a.txt")).exists();
+        assertThat(directory.relativize(fileStore.resolve("a.txt")).getNameCount()).isEqualTo(3);
+        try (InputStream in = fileStore.openStream("a.txt", 6, 3)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("wor");
+        }
+        StoredObject stored = fileStore.openObject("a.txt");
+        try (InputStream in = stored.getContent()) {
+            assertThat(stored.getLength()).isEqualTo(11);
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("hello world");
+        }
+        assertThat(fileStore.findContentType("a.txt")).contains("text/plain");
+    }
+
+    @Test
+    @DisplayName("기록한 크기가 다르면 업로드 실패, 기존 파일은 유지하고 임시 파일은 남기지 않음")
+    void rejectIncompleteUpload(@TempDir Path directory) throws IOException {
+        LocalFileStore fileStore = fileStore(directory, "file");
+        fileStore.uploadFile("old".getBytes(StandardCharsets.UTF_8), "a.txt", "text/plain");
+
+        boolean uploaded = fileStore.uploadFile(new ByteArrayInputStream("new".getBytes(StandardCharsets.UTF_8)), 10, "a.txt", "text/html");
+
+        assertThat(uploaded).isFalse();
+        assertThat(files(directory)).containsExactly("a.txt");
+        assertThat(contentTypes(directory)).containsExactly("a.txt");
+        assertThat(fileStore.findContentType("a.txt")).contains("text/plain");
+        try (InputStream in = fileStore.openObject("a.txt").getContent()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("old");
+        }
+    }
+
+    @Test
+    @DisplayName("삭제한 파일과 없는 파일은 empty, 경로가 포함된 파일명은 거부")
+    void deleteAndFind(@TempDir Path directory) throws IOException {
+        LocalFileStore fileStore = fileStore(directory, "none");
+        fileStore.uploadFile("hello".getBytes(StandardCharsets.UTF_8), "a.txt", "text/plain");
+
+        assertThat(fileStore.deleteFiles(List.of("a.txt", "missing.txt"))).isEmpty();
+        assertThat(fileStore.findObject("a.txt")).isEmpty();
+        assertThat(fileStore.findContentType("a.txt")).isEmpty();
+        assertThat(fileStore.deleteFiles(List.of("../a.txt"))).containsOnlyKeys("../a.txt");
+        assertThatThrownBy(() -> fileStore.openObject("../a.txt")).isInstanceOf(BizException.class);
+    }
+
+    @Test
+    @DisplayName("분할 업로드는 다시 올린 조각을 교체하고, 완료 시 번호 순서대로 합친 뒤 조각을 삭제")
+    void multipartUpload(@TempDir Path directory) throws IOException {
+        LocalFileStore fileStore = fileStore(directory, "file");
+        String uploadId = fileStore.createMultipartUpload("a.txt", "text/plain");
+
+        String second = fileStore.uploadPart("a.txt", uploadId, 2, stream("world"), 5);
+        String first = fileStore.uploadPart("a.txt", uploadId, 1, stream("HELLO "), 6);
+        first = fileStore.uploadPart("a.txt", uploadId, 1, stream("hello "), 6);
+        assertThatThrownBy(() -> fileStore.uploadPart("a.txt", uploadId, 2, stream("wor"), 5)).isInstanceOf(BizException.class);
+        fileStore.completeMultipartUpload("a.txt", uploadId, List.of(first, second));
+
+        try (InputStream in = fileStore.openObject("a.txt").getContent()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("hello world");
+        }
+        assertThat(files(directory)).containsExactly("a.txt");
+        assertThat(fileStore.findContentType("a.txt")).contains("text/plain");
+        assertThatThrownBy(() -> fileStore.uploadPart("a.txt", "../" + uploadId, 1, stream("x"), 1)).isInstanceOf(BizException.class);
+    }
+
+    @Test
+    @DisplayName("시작 시 이전 실행에서 남은 임시 파일 삭제")
+    void removeStaleTemps(@TempDir Path directory) throws IOException {
+        Path shard = Files.createDirectories(directory.resolve("ab").resolve("cd"));
+        Files.write(shard.resolve("a.txt.0000.tmp"), new byte[]{1});
+
+        fileStore(directory, "file");
+
+        assertThat(files(directory)).isEmpty();
+    }
+
+    private LocalFileStore fileStore(Path directory, String fsync) throws IOException {
+        LocalFileStore fileStore = new LocalFileStore();
+        ReflectionTestUtils.setField(fileStore, "directory", directory.toString());
+        ReflectionTestUtils.setField(fileStore, "fsync", fsync);
+        ReflectionTestUtils.setField(fileStore, "baseUrl", "/store");
+        fileStore.init();
+        return fileStore;
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Content-Type 기록을 제외한 파일 이름
+     */
+    private List<String> files(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> !directory.relativize(path).startsWith(".content-type"))
+                    .map(path -> path.getFileName().toString()).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Content-Type 기록 파일 이름
+     */
+    private List<String> contentTypes(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory.resolve(".content-type"))) {
+            return paths.filter(Files::isRegularFile).map(path -> path.getFileName().toString()).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package kinggora.portal.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ThumbnailUtilTest {
+
+    ThumbnailUtil thumbnailUtil = new ThumbnailUtil(mock(FileStore.class));
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(thumbnailUtil, "THUMB_EXT", "jpg");
+        ReflectionTestUtils.setField(thumbnailUtil, "THUMB_WIDTH", 300);
+        ReflectionTestUtils.setField(thumbnailUtil, "THUMB_HEIGHT", 300);
+        ReflectionTestUtils.setField(thumbnailUtil, "DECODE_MEMORY", 1024L * 1024);
+        thumbnailUtil.init();
+    }
+
+    @Test
+    @DisplayName("썸네일 크기 이상을 유지하는 최대 간격으로 건너뛰며 디코딩")
+    void subsampling() {
+        assertThat(ThumbnailUtil.subsampling(4000, 3000, 300, 300)).isEqualTo(10);
+        assertThat(ThumbnailUtil.subsampling(200, 100, 300, 300)).isEqualTo(1);
+        assertThat(ThumbnailUtil.decodedBytes(4000, 3000, 10)).isEqualTo(400L * 300 * 4);
+    }
+
+    @Test
+    @DisplayName("원본 전체 디코딩 크기보다 작은 메모리 한도에서 썸네일 생성")
+    void createThumbnailWithinMemoryLimit() throws Exception {
+        ByteArrayOutputStream source = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4000, 3000, BufferedImage.TYPE_3BYTE_BGR), "jpg", source);
+
+        byte[] thumbnail = thumbnailUtil.createThumbnail(new ByteArrayInputStream(source.toByteArray()), source.size());
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertThat(image.getWidth()).isEqualTo(300);
+        assertThat(image.getHeight()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("이미지가 아니면 IOException")
+    void rejectNonImage() {
+        byte[] text = "hello".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> thumbnailUtil.createThumbnail(new ByteArrayInputStream(text), text.length))
+                .isInstanceOf(IOException.class);
+    }
+}
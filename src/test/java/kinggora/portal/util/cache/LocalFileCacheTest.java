@@ -0,0 +1,184 @@
+package kinggora.portal.util.cache;
+
+import kinggora.portal.util.StoredObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LocalFileCacheTest {
+
+    @Test
+    @DisplayName("같은 파일을 동시에 요청하면 스토리지에서 한 번만 받아옴")
+    void singleFlight(@TempDir Path directory) throws Exception {
+        LocalFileCache cache = new LocalFileCache(directory, 1024, new LocalFileCache.Listener() {
+        });
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                try (LocalFileCache.Lease lease = cache.get("a.txt", () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                    return object("hello");
+                })) {
+                    return read(lease, 0, lease.size());
+                }
+            }));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<String> future : futures) {
+            assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("hello");
+        }
+        executor.shutdown();
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전체 크기를 넘으면 가장 오래 사용하지 않은 파일 제거")
+    void evictLeastRecentlyUsed(@TempDir Path directory) throws IOException {
+        AtomicInteger evictions = new AtomicInteger();
+        LocalFileCache cache = new LocalFileCache(directory, 10, new LocalFileCache.Listener() {
+            @Override
+            public void onEviction(long bytes) {
+                evictions.incrementAndGet();
+            }
+        });
+        cache.get("a", () -> object("aaaa")).close();
+        cache.get("b", () -> object("bbbb")).close();
+        cache.get("a", () -> object("xxxx")).close();
+        cache.get("c", () -> object("cccc")).close();
+
+        assertThat(evictions.get()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(8);
+        try (LocalFileCache.Lease lease = cache.get("a", () -> object("xxxx"))) {
+            assertThat(read(lease, 1, 2)).isEqualTo("aa");
+        }
+    }
+
+    @Test
+    @DisplayName("제거된 파일도 유예 시간 동안 경로로 열 수 있음 (sendfile)")
+    void keepEvictedDataForSendfile(@TempDir Path directory) throws IOException {
+        LocalFileCache cache = new LocalFileCache(directory, 4, new LocalFileCache.Listener() {
+        });
+        Path path;
+        try (LocalFileCache.Lease lease = cache.get("a", () -> object("aaaa"))) {
+            path = lease.path();
+        }
+        cache.get("b", () -> object("bbbb")).close();
+
+        assertThat(cache.count()).isEqualTo(1);
+        assertThat(Files.readString(path)).isEqualTo("aaaa");
+    }
+
+    @Test
+    @DisplayName("삭제를 미룬 파일 크기도 전체 크기 상한에 포함하고, 사용이 끝나면 삭제")
+    void countRetiredSize(@TempDir Path directory) throws IOException {
+        LocalFileCache cache = new LocalFileCache(directory, 8, 0, new LocalFileCache.Listener() {
+        });
+        LocalFileCache.Lease a = cache.get("a", () -> object("aaaa"));
+        cache.get("b", () -> object("bbbb")).close();
+        cache.get("c", () -> object("cccc")).close();
+
+        assertThat(cache.size()).isEqualTo(8);
+        assertThat(cache.retiredSize()).isEqualTo(4);
+
+        cache.get("d", () -> object("dddd")).close();
+
+        assertThat(cache.size() + cache.retiredSize()).isLessThanOrEqualTo(8);
+        assertThat(Files.exists(a.path())).isTrue();
+
+        a.close();
+        cache.purgeRetired();
+
+        assertThat(cache.retiredSize()).isZero();
+        assertThat(Files.exists(a.path())).isFalse();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.filter(file -> file.toString().endsWith(".data")).count()).isEqualTo(cache.count());
+        }
+    }
+
+    @Test
+    @DisplayName("MD5 가 일치하지 않으면 캐시하지 않음")
+    void rejectChecksumMismatch(@TempDir Path directory) throws IOException {
+        LocalFileCache cache = new LocalFileCache(directory, 1024, new LocalFileCache.Listener() {
+        });
+
+        assertThatThrownBy(() -> cache.get("a", () -> new StoredObject(
+                new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)), 5, "00000000000000000000000000000000")))
+                .isInstanceOf(IOException.class);
+        assertThat(cache.count()).isZero();
+        assertThat(directory.toFile().list()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재시작 시 캐시된 파일 복구")
+    void recover(@TempDir Path directory) throws IOException {
+        LocalFileCache cache = new LocalFileCache(directory, 1024, new LocalFileCache.Listener() {
+        });
+        cache.get("a", () -> object("hello")).close();
+
+        LocalFileCache reopened = new LocalFileCache(directory, 1024, new LocalFileCache.Listener() {
+        });
+        try (LocalFileCache.Lease lease = reopened.get("a", () -> object("other"))) {
+            assertThat(read(lease, 0, lease.size())).isEqualTo("hello");
+        }
+    }
+
+    @Test
+    @DisplayName("손상된 메타 파일은 삭제하고 나머지 파일로 복구")
+    void recoverSkipsCorruptedMeta(@TempDir Path directory) throws IOException {
+        LocalFileCache cache = new LocalFileCache(directory, 1024, new LocalFileCache.Listener() {
+        });
+        cache.get("a", () -> object("hello")).close();
+        Files.write(directory.resolve("broken.meta"), List.of("b", "12x", ""), StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("broken.data"), "broken");
+
+        LocalFileCache reopened = new LocalFileCache(directory, 1024, new LocalFileCache.Listener() {
+        });
+
+        assertThat(reopened.count()).isEqualTo(1);
+        assertThat(directory.resolve("broken.meta")).doesNotExist();
+        assertThat(directory.resolve("broken.data")).doesNotExist();
+    }
+
+    private StoredObject object(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return new StoredObject(new ByteArrayInputStream(bytes), bytes.length, null);
+    }
+
+    private String read(LocalFileCache.Lease lease, long position, long count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        lease.transferTo(position, count, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
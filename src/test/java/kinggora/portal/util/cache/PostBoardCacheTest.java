@@ -0,0 +1,52 @@
+package kinggora.portal.util.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostBoardCacheTest {
+
+    @Test
+    @DisplayName("같은 슬롯을 차지한 다른 게시글의 게시판 id 를 반환하지 않음")
+    void collision() {
+        PostBoardCache cache = new PostBoardCache(4);
+        for (int postId = 1; postId <= 64; postId++) {
+            cache.put(postId, postId % 3 + 1);
+        }
+        int hits = 0;
+        for (int postId = 1; postId <= 64; postId++) {
+            int boardId = cache.get(postId);
+            if (boardId != PostBoardCache.MISS) {
+                assertThat(boardId).isEqualTo(postId % 3 + 1);
+                hits++;
+            }
+        }
+        assertThat(hits).isBetween(1, cache.capacity());
+    }
+
+    @Test
+    @DisplayName("제거한 게시글은 미스")
+    void evict() {
+        PostBoardCache cache = new PostBoardCache(1024);
+        cache.put(10, 2);
+        cache.evict(10);
+
+        assertThat(cache.get(10)).isEqualTo(PostBoardCache.MISS);
+    }
+
+    @Test
+    @DisplayName("int 키 맵 조회")
+    void intObjectMap() {
+        IntObjectMap<String> map = new IntObjectMap<>(3);
+        map.put(1, "a");
+        map.put(-7, "b");
+        map.put(1 << 20, "c");
+
+        assertThat(map.get(1)).isEqualTo("a");
+        assertThat(map.get(-7)).isEqualTo("b");
+        assertThat(map.get(1 << 20)).isEqualTo("c");
+        assertThat(map.get(2)).isNull();
+        assertThat(map.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,81 @@
+package kinggora.portal.util.counter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HitAccumulatorTest {
+
+    @Test
+    @DisplayName("동시에 누적하면서 세대를 교체해도 조회수가 유실되지 않음")
+    void concurrentIncrementAndRotate() throws InterruptedException {
+        HitAccumulator accumulator = new HitAccumulator(4, 8, null);
+        int threads = 8;
+        int views = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < views; i++) {
+                    accumulator.increment(i % 32 + 1);
+                }
+                latch.countDown();
+            });
+        }
+        Map<Integer, Long> flushed = new HashMap<>();
+        while (latch.getCount() > 0) {
+            drain(accumulator, flushed);
+        }
+        drain(accumulator, flushed);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+
+        assertThat(flushed.values().stream().mapToLong(Long::longValue).sum()).isEqualTo((long) threads * views);
+        assertThat(flushed).hasSize(32);
+    }
+
+    @Test
+    @DisplayName("DB 반영 전까지 pending 에 포함")
+    void pendingUntilComplete() {
+        HitAccumulator accumulator = new HitAccumulator(2, 4, null);
+        accumulator.increment(7);
+        accumulator.increment(7);
+        HitAccumulator.Batch batch = accumulator.rotate(null);
+        accumulator.increment(7);
+
+        assertThat(accumulator.pending(7)).isEqualTo(3);
+        accumulator.complete(batch);
+        assertThat(accumulator.pending(7)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("저널에 기록된 조회수 복구")
+    void journal(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("hits.journal");
+        HitAccumulator accumulator = new HitAccumulator(2, 4, HitJournal.create(file, 16));
+        accumulator.increment(1);
+        accumulator.increment(2);
+        accumulator.increment(1);
+        accumulator.increment(3);
+
+        assertThat(accumulator.increment(3)).isFalse();
+        assertThat(HitJournal.read(file)).containsEntry(1, 2L).containsEntry(2, 1L).containsEntry(3, 1L);
+    }
+
+    private void drain(HitAccumulator accumulator, Map<Integer, Long> flushed) {
+        HitAccumulator.Batch batch = accumulator.rotate(null);
+        batch.getHits().forEach((postId, count) -> flushed.merge(postId, count, Long::sum));
+        accumulator.complete(batch);
+    }
+}
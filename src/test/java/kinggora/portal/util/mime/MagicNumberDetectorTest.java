@@ -0,0 +1,109 @@
+package kinggora.portal.util.mime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MagicNumberDetectorTest {
+
+    MagicNumberDetector detector = new MagicNumberDetector();
+
+    @Test
+    @DisplayName("이미지, PDF, MP4, 텍스트는 앞부분 시그니처로 판별하고 마크업은 text/plain 으로 판별하지 않음")
+    void signatures() {
+        assertThat(detect(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0})).isEqualTo("image/jpeg");
+        assertThat(detect(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})).isEqualTo("image/png");
+        assertThat(detect(ascii("GIF89a..."))).isEqualTo("image/gif");
+        assertThat(detect(ascii("%PDF-1.7\n"))).isEqualTo("application/pdf");
+        assertThat(detect(new byte[]{0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'i', 's', 'o', 'm'})).isEqualTo("video/mp4");
+        assertThat(detect("안녕하세요\nhello".getBytes(StandardCharsets.UTF_8))).isEqualTo("text/plain");
+        assertThat(detect(ascii("  <!DOCTYPE html><html></html>"))).isEqualTo("text/html");
+        assertThat(detect(new byte[]{1, 2, 0, 3})).isNull();
+    }
+
+    @Test
+    @DisplayName("ZIP 은 앞부분에 없는 항목도 중앙 디렉토리로 판별하고, 앞부분만 있으면 일반 컨테이너로 판별")
+    void zipContainers() throws IOException {
+        byte[] docx = zip(false, "[Content_Types].xml", "docProps/thumbnail.bin", "word/document.xml");
+        byte[] hwpx = zip(true, "mimetype", "Contents/section0.xml");
+        byte[] zip = zip(false, "a.txt");
+
+        assertThat(detector.detect(ByteSource.of(docx, docx.length))).isEqualTo(MagicNumberDetector.DOCX);
+        assertThat(detector.detect(ByteSource.of(hwpx, hwpx.length))).isEqualTo(MagicNumberDetector.HWPX);
+        assertThat(detector.detect(ByteSource.of(zip, zip.length))).isEqualTo(MagicNumberDetector.ZIP);
+
+        String partial = detector.detect(Arrays.copyOf(docx, 4096), 4096);
+        assertThat(detector.isConclusive(partial)).isFalse();
+        assertThat(detector.detect(ByteSource.of(docx, docx.length), Arrays.copyOf(docx, 8), 8)).isEqualTo(MagicNumberDetector.DOCX);
+        assertThat(detector.detect(ByteSource.of(zip, zip.length), Arrays.copyOf(zip, 8), 8)).isEqualTo(MagicNumberDetector.ZIP);
+    }
+
+    @Test
+    @DisplayName("OLE 는 디렉토리 섹터의 스트림 이름으로 판별")
+    void oleContainers() {
+        assertThat(detect(ole("Root Entry", "FileHeader", "DocInfo", "BodyText"))).isEqualTo(MagicNumberDetector.HWP);
+        assertThat(detect(ole("Root Entry", "1Table", "WordDocument"))).isEqualTo(MagicNumberDetector.DOC);
+        assertThat(detect(ole("Root Entry", "Unknown"))).isEqualTo(MagicNumberDetector.OLE);
+    }
+
+    private String detect(byte[] bytes) {
+        return detector.detect(bytes, bytes.length);
+    }
+
+    private byte[] zip(boolean storedMimetype, String... names) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] noise = new byte[16 * 1024];
+        new Random(0).nextBytes(noise);
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (String name : names) {
+                ZipEntry entry = new ZipEntry(name);
+                byte[] content = name.equals("mimetype") ? ascii("application/hwp+zip") : noise;
+                if (storedMimetype && name.equals("mimetype")) {
+                    CRC32 crc = new CRC32();
+                    crc.update(content);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(content.length);
+                    entry.setCrc(crc.getValue());
+                }
+                zip.putNextEntry(entry);
+                zip.write(content);
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] ole(String... names) {
+        ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(new byte[]{(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1});
+        buffer.putShort(30, (short) 9);
+        buffer.putInt(48, 0);
+        for (int i = 0; i < 109; i++) {
+            buffer.putInt(76 + i * 4, -1);
+        }
+        for (int i = 0; i < names.length; i++) {
+            byte[] name = names[i].getBytes(StandardCharsets.UTF_16LE);
+            int entry = 512 + i * 128;
+            buffer.position(entry);
+            buffer.put(name);
+            buffer.putShort(entry + 64, (short) (name.length + 2));
+        }
+        return buffer.array();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
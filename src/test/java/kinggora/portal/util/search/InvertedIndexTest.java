@@ -0,0 +1,97 @@
+package kinggora.portal.util.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvertedIndexTest {
+
+    @Test
+    @DisplayName("bigram 토큰화")
+    void tokenize() {
+        assertThat(BigramTokenizer.tokenize("게시판 검색, A"))
+                .containsExactly("게시", "시판", "검색", "a");
+        assertThat(BigramTokenizer.tokenizeQuery("게시판 검색, A"))
+                .containsExactly("게시", "시판", "검색");
+        assertThat(BigramTokenizer.tokenizeQuery("가")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("전각 문자와 악센트는 LIKE 검색(collation)과 같이 구분하지 않음")
+    void normalizeLikeCollation() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, tokens("Café 게시판"));
+        index.put(2, tokens("ＡＢＣ 공지"));
+
+        assertThat(BigramTokenizer.normalize("Ｃａｆé 한글")).isEqualTo("cafe 한글");
+        assertThat(index.search(BigramTokenizer.tokenizeQuery("cafe"))).containsExactly(1);
+        assertThat(index.search(BigramTokenizer.tokenizeQuery("CAFÉ"))).containsExactly(1);
+        assertThat(index.search(BigramTokenizer.tokenizeQuery("abc"))).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("붙여 쓴 어절의 부분 문자열 검색")
+    void searchSubstring() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, tokens("자유게시판에 오신 것을 환영합니다"));
+        index.put(2, tokens("질문 게시판"));
+        index.put(3, tokens("공지사항"));
+
+        assertThat(index.search(BigramTokenizer.tokenizeQuery("게시판"))).containsExactly(1, 2);
+        assertThat(index.search(BigramTokenizer.tokenizeQuery("환영"))).containsExactly(1);
+        assertThat(index.search(BigramTokenizer.tokenizeQuery("없는말"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("문서 수정/삭제 시 기존 토큰 제거")
+    void updateAndRemove() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, tokens("spring boot"));
+        index.put(1, tokens("mybatis"));
+        index.put(2, tokens("spring security"));
+        index.remove(2);
+
+        assertThat(index.search(BigramTokenizer.tokenizeQuery("spring"))).isEmpty();
+        assertThat(index.search(BigramTokenizer.tokenizeQuery("MyBatis"))).containsExactly(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("세그먼트 기록 후 색인 복원")
+    void segmentStore(@TempDir Path directory) throws IOException {
+        LocalDateTime watermark = LocalDateTime.of(2023, 5, 1, 12, 0);
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, tokens("첫 번째 게시글"));
+        index.put(2, tokens("두 번째 게시글"));
+        SegmentStore store = new SegmentStore(directory);
+        store.compact(index, watermark);
+
+        Map<Integer, String[]> changes = new LinkedHashMap<>();
+        changes.put(2, new String[0]);
+        changes.put(3, tokens("세 번째 게시글"));
+        store.append(changes, watermark.plusMinutes(1));
+
+        InvertedIndex restored = new InvertedIndex();
+        LocalDateTime restoredWatermark = new SegmentStore(directory).load(restored);
+
+        assertThat(restoredWatermark).isEqualTo(watermark.plusMinutes(1));
+        assertThat(restored.search(BigramTokenizer.tokenizeQuery("게시글"))).containsExactly(1, 3);
+
+        store.compact(restored, restoredWatermark);
+        assertThat(store.segmentCount()).isEqualTo(1);
+    }
+
+    private String[] tokens(String text) {
+        Set<String> tokens = BigramTokenizer.tokenize(text);
+        return tokens.toArray(new String[0]);
+    }
+}
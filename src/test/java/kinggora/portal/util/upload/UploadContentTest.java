@@ -0,0 +1,77 @@
+package kinggora.portal.util.upload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class UploadContentTest {
+
+    @Test
+    @DisplayName("앞부분만 메모리에 두고, 한 번 전송하는 동안 SHA-256 계산")
+    void streamOnce() throws IOException, NoSuchAlgorithmException {
+        byte[] bytes = new byte[10_000];
+        new Random(1).nextBytes(bytes);
+
+        try (UploadContent content = UploadContent.open(new ByteArrayResource(bytes), bytes.length, 1024)) {
+            assertThat(content.getSize()).isEqualTo(bytes.length);
+            assertThat(content.newHeaderStream().readAllBytes()).isEqualTo(Arrays.copyOf(bytes, 1024));
+            assertThatThrownBy(content::getHash).isInstanceOf(IllegalStateException.class);
+            try (InputStream in = content.newInputStream()) {
+                assertThat(in.markSupported()).isFalse();
+                assertThat(in.readAllBytes()).isEqualTo(bytes);
+            }
+            assertThat(content.getHash()).isEqualTo(hex(MessageDigest.getInstance("SHA-256").digest(bytes)));
+            assertThatThrownBy(content::newInputStream).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("건너뛴 구간도 SHA-256 에 반영")
+    void digestSkipped() throws IOException, NoSuchAlgorithmException {
+        byte[] bytes = new byte[5_000];
+        new Random(2).nextBytes(bytes);
+
+        try (UploadContent content = UploadContent.open(new ByteArrayResource(bytes), bytes.length, 100)) {
+            try (InputStream in = content.newInputStream()) {
+                assertThat(in.skip(1500)).isEqualTo(1500);
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            assertThat(content.getHash()).isEqualTo(hex(MessageDigest.getInstance("SHA-256").digest(bytes)));
+        }
+    }
+
+    @Test
+    @DisplayName("앞부분 밖의 구간은 업로드 파일을 다시 열어 읽음")
+    void readOutsideHeader() throws IOException {
+        byte[] bytes = new byte[3_000];
+        new Random(3).nextBytes(bytes);
+
+        try (UploadContent content = UploadContent.open(new ByteArrayResource(bytes), bytes.length, 512)) {
+            byte[] b = new byte[100];
+            assertThat(content.read(10, b, 0, 100)).isEqualTo(100);
+            assertThat(b).isEqualTo(Arrays.copyOfRange(bytes, 10, 110));
+            assertThat(content.read(2_950, b, 0, 100)).isEqualTo(50);
+            assertThat(Arrays.copyOf(b, 50)).isEqualTo(Arrays.copyOfRange(bytes, 2_950, 3_000));
+            assertThat(content.read(3_000, b, 0, 100)).isZero();
+        }
+    }
+
+    private String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package kinggora.portal.web.controller;
+
+import kinggora.portal.domain.UploadFile;
+import kinggora.portal.domain.type.FileType;
+import kinggora.portal.model.data.request.Id;
+import kinggora.portal.service.FileCacheService;
+import kinggora.portal.service.FileService;
+import kinggora.portal.util.StoredObject;
+import kinggora.portal.util.cache.LocalFileCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DownloadControllerTest {
+
+    static final int SIZE = 1000;
+
+    FileService fileService = mock(FileService.class);
+    FileCacheService fileCacheService = mock(FileCacheService.class);
+    DownloadController controller;
+    UploadFile uploadFile;
+    byte[] content;
+
+    @BeforeEach
+    void init() {
+        controller = new DownloadController(fileService, fileCacheService);
+        ReflectionTestUtils.setField(controller, "BUFFER_SIZE", 64);
+        content = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            content[i] = (byte) i;
+        }
+        uploadFile = UploadFile.builder()
+                .id(1)
+                .origName("file.bin")
+                .storeName("store")
+                .size(SIZE)
+                .type(FileType.ATTACHMENT)
+                .regDate(LocalDateTime.now())
+                .build();
+        when(fileService.findFileById(1)).thenReturn(uploadFile);
+        when(fileService.openStream(eq(uploadFile), anyLong(), anyLong())).thenAnswer(invocation -> {
+            int offset = (int) (long) invocation.getArgument(1);
+            int length = (int) (long) invocation.getArgument(2);
+            return new ByteArrayInputStream(content, offset, length);
+        });
+    }
+
+    @Test
+    @DisplayName("단일 구간은 206 으로 해당 구간만 응답")
+    void partialContent() throws IOException {
+        MockHttpServletResponse response = download("bytes=100-199");
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 100-199/" + SIZE);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+    }
+
+    @Test
+    @DisplayName("컨테이너가 sendfile 을 지원하면 캐시 파일 경로와 구간만 넘김")
+    void sendfile(@TempDir Path directory) throws IOException {
+        LocalFileCache cache = new LocalFileCache(directory, SIZE, new LocalFileCache.Listener() {
+        });
+        LocalFileCache.Lease lease = cache.get("store", () -> new StoredObject(new ByteArrayInputStream(content), SIZE, null));
+        when(fileCacheService.open(uploadFile)).thenReturn(Optional.of(lease));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download/1");
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.downloadFile(Id.from("1"), new ServletWebRequest(request, response), response);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.getContentLengthLong()).isEqualTo(100);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(lease.path().toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(100L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(200L);
+        verify(fileCacheService).countSendfile(100);
+    }
+
+    @Test
+    @DisplayName("파일 범위를 벗어나거나 길이가 0인 구간은 416")
+    void unsatisfiableRange() throws IOException {
+        for (String range : new String[]{"bytes=1000-", "bytes=5000-", "bytes=5000-6000", "bytes=-0"}) {
+            MockHttpServletResponse response = download(range);
+
+            assertThat(response.getStatus()).as(range).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).as(range).isEqualTo("bytes */" + SIZE);
+            assertThat(response.getContentAsByteArray()).as(range).isEmpty();
+        }
+        verify(fileService, never()).openStream(any(), anyLong(), anyLong());
+    }
+
+    private MockHttpServletResponse download(String range) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download/1");
+        request.addHeader(HttpHeaders.RANGE, range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.downloadFile(Id.from("1"), new ServletWebRequest(request, response), response);
+        return response;
+    }
+}
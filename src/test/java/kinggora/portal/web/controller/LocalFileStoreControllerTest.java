@@ -0,0 +1,118 @@
+package kinggora.portal.web.controller;
+
+import kinggora.portal.exception.BizException;
+import kinggora.portal.service.FileService;
+import kinggora.portal.util.FileValidator;
+import kinggora.portal.util.LocalFileStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LocalFileStoreControllerTest {
+
+    static final byte[] HTML = "hi <script>alert(1)</script>".getBytes(StandardCharsets.UTF_8);
+    static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @TempDir
+    Path directory;
+    LocalFileStore fileStore;
+    FileService fileService = mock(FileService.class);
+    LocalFileStoreController controller;
+
+    @BeforeEach
+    void init() throws IOException {
+        fileStore = new LocalFileStore();
+        ReflectionTestUtils.setField(fileStore, "directory", directory.toString());
+        ReflectionTestUtils.setField(fileStore, "fsync", "none");
+        ReflectionTestUtils.setField(fileStore, "baseUrl", "/store");
+        fileStore.init();
+        FileValidator fileValidator = new FileValidator();
+        ReflectionTestUtils.setField(fileValidator, "ALLOWED_MIME_TYPES", new String[]{"text/plain", "image/png"});
+        controller = new LocalFileStoreController(fileStore, fileValidator, fileService);
+        when(fileService.isPublicFile(anyString())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("첨부 파일은 저장 파일명을 알아도 인증 없이 응답하지 않음")
+    void rejectAttachment() throws IOException {
+        fileStore.uploadFile(HTML, "hash-0001.txt", "text/plain");
+        when(fileService.isPublicFile("hash-0001.txt")).thenReturn(false);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/store/hash-0001.txt");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> controller.file("hash-0001.txt", new ServletWebRequest(request, response), response))
+                .isInstanceOf(BizException.class);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName(".html 첨부 파일은 확장자가 아닌 판별한 Content-Type 으로, 내용 판별 금지, 첨부 파일로 응답")
+    void htmlAttachment() throws IOException {
+        fileStore.uploadFile(HTML, "hash-0000.html", "text/plain");
+
+        MockHttpServletResponse response = request("hash-0000.html");
+
+        assertThat(response.getContentType()).isEqualTo("text/plain");
+        assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).startsWith("attachment");
+        assertThat(response.getContentAsByteArray()).isEqualTo(HTML);
+    }
+
+    @Test
+    @DisplayName("허용하는 이미지는 첨부 파일이 아닌 본문으로 응답")
+    void inlineImage() throws IOException {
+        fileStore.uploadFile(PNG, "hash-0000.png", "image/png");
+
+        MockHttpServletResponse response = request("hash-0000.png");
+
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(PNG);
+    }
+
+    @Test
+    @DisplayName("Content-Type 기록이 없는 파일은 application/octet-stream 첨부 파일로 응답")
+    void missingContentType() throws IOException {
+        fileStore.uploadFile(HTML, "hash-0000.html", "text/html");
+        List<Path> contentTypes;
+        try (Stream<Path> paths = Files.walk(directory.resolve(".content-type"))) {
+            contentTypes = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path contentType : contentTypes) {
+            Files.delete(contentType);
+        }
+
+        MockHttpServletResponse response = request("hash-0000.html");
+
+        assertThat(response.getContentType()).isEqualTo("application/octet-stream");
+        assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).startsWith("attachment");
+    }
+
+    private MockHttpServletResponse request(String fileName) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/store/" + fileName);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.file(fileName, new ServletWebRequest(request, response), response);
+        return response;
+    }
+}
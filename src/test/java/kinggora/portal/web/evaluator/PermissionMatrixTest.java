@@ -0,0 +1,42 @@
+package kinggora.portal.web.evaluator;
+
+import kinggora.portal.domain.BoardInfo;
+import kinggora.portal.domain.type.AccessLevel;
+import kinggora.portal.domain.type.BoardAction;
+import kinggora.portal.domain.type.MemberRole;
+import kinggora.portal.service.BoardInfoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PermissionMatrixTest {
+
+    private static final int ANONYMOUS = 0;
+    private static final int USER = MemberRole.USER.bit();
+    private static final int ADMIN = MemberRole.ADMIN.bit() | MemberRole.USER.bit();
+
+    @Test
+    @DisplayName("게시판 접근 수준에 따른 권한별 인가")
+    void permittedActions() {
+        BoardInfo notice = new BoardInfo(1, "notice", "공지",
+                AccessLevel.ALL, AccessLevel.ADMIN, AccessLevel.ALL, AccessLevel.USER,
+                AccessLevel.ADMIN, AccessLevel.USER, AccessLevel.NONE, "L", false);
+        BoardInfoService boardInfoService = mock(BoardInfoService.class);
+        when(boardInfoService.findBoardInfos()).thenReturn(List.of(notice));
+        PermissionMatrix matrix = new PermissionMatrix(boardInfoService);
+
+        assertThat(matrix.permittedActions(1, ANONYMOUS))
+                .containsExactlyInAnyOrder(BoardAction.LIST, BoardAction.READ);
+        assertThat(matrix.permittedActions(1, USER))
+                .containsExactlyInAnyOrder(BoardAction.LIST, BoardAction.READ, BoardAction.REPLY_READ, BoardAction.COMMENT);
+        assertThat(matrix.permittedActions(1, ADMIN))
+                .containsExactlyInAnyOrder(BoardAction.LIST, BoardAction.READ, BoardAction.WRITE, BoardAction.REPLY_READ,
+                        BoardAction.REPLY_WRITE, BoardAction.COMMENT);
+        assertThat(matrix.isPermitted(1, BoardAction.FILE, ADMIN)).isFalse();
+    }
+}